@@ -0,0 +1,117 @@
+package com.demo.benchmarks;
+
+import com.demo.controller.AdminController;
+import com.demo.dto.DispatchWindowView;
+import com.demo.entity.Order;
+import com.demo.repository.OrderAssignmentRepository;
+import com.demo.service.AdminOrderViewService;
+import com.demo.service.DispatchAvailabilityIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch scheduling paths: splitting an order into trip loads, mixer and driver
+ * conflict checks against the availability index, the day board overlap scan, and
+ * the tracking status shown for every order on the admin screens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmarks {
+
+    private static final int PROBES = 256;
+
+    @Param({"20", "200"})
+    public int fleetSize;
+
+    @Param({"40"})
+    public int windowsPerMixer;
+
+    @Param({"1000"})
+    public int orderCount;
+
+    private AdminController adminController;
+    private MethodHandle calculateTripLoads;
+    private DispatchAvailabilityIndex availabilityIndex;
+    private AdminOrderViewService orderViewService;
+    private List<Order> orders;
+    private String[] probeMixers;
+    private String[] probeDrivers;
+    private LocalDateTime[] probeStarts;
+
+    @Setup
+    public void setUp() {
+        adminController = new AdminController();
+        calculateTripLoads = Stubs.privateMethod(AdminController.class, "calculateTripLoads",
+                MethodType.methodType(List.class, double.class, double.class));
+
+        List<DispatchWindowView> windows = Fixtures.dispatchWindows(fleetSize, windowsPerMixer, 42);
+        OrderAssignmentRepository assignments = Stubs.repository(OrderAssignmentRepository.class,
+                Map.of("findAllDispatchWindows", args -> windows));
+        availabilityIndex = Stubs.inject(new DispatchAvailabilityIndex(), "orderAssignmentRepository", assignments);
+        availabilityIndex.rebuild();
+
+        orderViewService = new AdminOrderViewService();
+        orders = Fixtures.orders(orderCount, fleetSize, 42);
+
+        probeMixers = new String[PROBES];
+        probeDrivers = new String[PROBES];
+        probeStarts = new LocalDateTime[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            DispatchWindowView window = windows.get((i * 7919) % windows.size());
+            probeMixers[i] = window.getTransitMixerNumber();
+            probeDrivers[i] = window.getDriverName();
+            probeStarts[i] = window.getDispatchDateTime().plusMinutes(i % 90 - 45);
+        }
+    }
+
+    @Benchmark
+    public void tripLoads(Blackhole blackhole) throws Throwable {
+        for (Order order : orders) {
+            double capacity = order.getAssignment().getTransitMixer().getCapacityM3();
+            blackhole.consume((List<?>) calculateTripLoads.invoke(adminController, order.getQuantity(), capacity));
+        }
+    }
+
+    @Benchmark
+    public void mixerAndDriverConflicts(Blackhole blackhole) {
+        for (int i = 0; i < PROBES; i++) {
+            LocalDateTime start = probeStarts[i];
+            LocalDateTime end = start.plusMinutes(90);
+            blackhole.consume(availabilityIndex.findMixerConflict(probeMixers[i], start, end, null));
+            blackhole.consume(availabilityIndex.findDriverConflict(probeDrivers[i], start, end, null));
+        }
+    }
+
+    @Benchmark
+    public List<DispatchWindowView> dayBoardOverlapScan() {
+        return availabilityIndex.findOverlapping(Fixtures.DAY_START.plusDays(3), Fixtures.DAY_START.plusDays(4));
+    }
+
+    @Benchmark
+    public void trackingStatus(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(orderViewService.resolveDeliveryStatusLabel(orderViewService.resolveTrackingStatus(order)));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.demo.benchmarks;
+
+import com.demo.dto.DispatchWindowView;
+import com.demo.entity.DeliveryTrackingStatus;
+import com.demo.entity.DispatchTripRecord;
+import com.demo.entity.DispatchTripStatus;
+import com.demo.entity.Driver;
+import com.demo.entity.MixDesignCostLine;
+import com.demo.entity.MixDesignCostSheet;
+import com.demo.entity.Order;
+import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.TransitMixer;
+import com.demo.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic fleets, order books and cost sheets. Everything is drawn from a seeded
+ * {@link Random}, so a given size always produces the same data and runs compare.
+ */
+final class Fixtures {
+
+    static final LocalDateTime DAY_START = LocalDateTime.of(2025, 6, 2, 6, 0);
+    static final String[] GRADES = {"M10", "M15", "M20", "M25", "M30", "M35", "M40"};
+
+    private static final OrderStatus[] ORDER_STATUSES = {
+            OrderStatus.APPROVED, OrderStatus.IN_PRODUCTION, OrderStatus.DISPATCHED,
+            OrderStatus.DISPATCHED, OrderStatus.DELIVERED, OrderStatus.RETURNED};
+    private static final DeliveryTrackingStatus[] TRACKING_STATUSES = {
+            null, DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH, DeliveryTrackingStatus.DISPATCHED,
+            DeliveryTrackingStatus.ON_THE_WAY, DeliveryTrackingStatus.IN_TRANSIT};
+    private static final String[] INGREDIENTS = {
+            "PFA", "OPC Cement", "GGBS", "Water", "Crusher Sand", "Wash Sand", "20mm Aggregate", "10mm Aggregate", "Admixture"};
+    private static final String[] INGREDIENT_UNITS = {"kg", "kg", "kg", "litre", "kg", "kg", "kg", "kg", "kg"};
+
+    private Fixtures() {
+    }
+
+    static List<TransitMixer> mixers(int count) {
+        List<TransitMixer> mixers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TransitMixer mixer = new TransitMixer();
+            mixer.setId((long) i + 1);
+            mixer.setMixerNumber(String.format("TM-%04d", i + 1));
+            mixer.setCapacityM3(i % 3 == 0 ? 8.0 : 6.0);
+            mixers.add(mixer);
+        }
+        return mixers;
+    }
+
+    static List<Driver> drivers(int count) {
+        List<Driver> drivers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Driver driver = new Driver();
+            driver.setId((long) i + 1);
+            driver.setDriverName("Driver " + (i + 1));
+            driver.setDriverShift(i % 2 == 0 ? "MORNING" : "EVENING");
+            drivers.add(driver);
+        }
+        return drivers;
+    }
+
+    /**
+     * Orders for a fleet of {@code fleetSize} mixers and drivers, spread over ten days,
+     * each with a customer, an assignment and a mix of statuses as seen on the admin
+     * board.
+     */
+    static List<Order> orders(int count, int fleetSize, long seed) {
+        Random random = new Random(seed);
+        List<TransitMixer> mixers = mixers(fleetSize);
+        List<Driver> drivers = drivers(fleetSize);
+        List<User> customers = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, count / 20); i++) {
+            User customer = new User();
+            customer.setId((long) i + 1);
+            customer.setName("Customer " + (i + 1));
+            customer.setEmail("customer" + (i + 1) + "@example.com");
+            customer.setNumber(String.format("98%08d", i + 1));
+            customer.setRole("CUSTOMER");
+            customers.add(customer);
+        }
+
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime dispatch = DAY_START.plusDays(i % 10).plusMinutes(random.nextInt(14 * 60));
+            Order order = new Order();
+            order.setId((long) i + 1);
+            order.setOrderId(String.format("ORD-%06d", i + 1));
+            order.setGrade(GRADES[random.nextInt(GRADES.length)]);
+            order.setQuantity(2 + random.nextInt(60) + random.nextInt(100) / 100.0);
+            order.setTotalPrice(order.getQuantity() * 5200);
+            order.setAddress("Site " + (i + 1) + ", Ring Road");
+            order.setUser(customers.get(random.nextInt(customers.size())));
+            order.setStatus(ORDER_STATUSES[random.nextInt(ORDER_STATUSES.length)]);
+            order.setDeliveryTrackingStatus(TRACKING_STATUSES[random.nextInt(TRACKING_STATUSES.length)]);
+            order.setOrderWorkflowStatus("SCHEDULED");
+            order.setPaymentOption(i % 4 == 0 ? "PAY_LATER" : "PAY_NOW");
+            order.setPaymentType(order.getPaymentOption());
+            order.setCreatedAt(dispatch.minusDays(2));
+            order.setDeliveryDate(dispatch.plusHours(1));
+            order.setScheduledDate(dispatch);
+            order.setApprovedAt(dispatch.minusDays(1));
+            order.setDispatchDateTime(dispatch);
+            order.setExpectedArrivalTime(dispatch.plusMinutes(45 + random.nextInt(90)));
+            order.setPlannedTrips((int) Math.ceil(order.getQuantity() / 6.0));
+            order.setCompletedTrips(order.getStatus() == OrderStatus.DELIVERED ? order.getPlannedTrips() : 0);
+            order.setTotalFuelUsedLiters(12.5 * order.getCompletedTrips());
+            order.setLatestNotification("Dispatch Scheduled");
+
+            OrderAssignment assignment = new OrderAssignment();
+            assignment.setId(order.getId());
+            assignment.setOrder(order);
+            assignment.setPlantAllocation("Plant " + (1 + i % 3));
+            assignment.setPriorityLevel(i % 5 == 0 ? "HIGH" : "NORMAL");
+            assignment.setTransitMixer(mixers.get(random.nextInt(fleetSize)));
+            assignment.setDriver(drivers.get(random.nextInt(fleetSize)));
+            order.setAssignment(assignment);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    static Map<Long, List<DispatchTripRecord>> trips(List<Order> orders) {
+        Map<Long, List<DispatchTripRecord>> tripsByOrder = new HashMap<>();
+        long tripId = 1;
+        for (Order order : orders) {
+            List<DispatchTripRecord> trips = new ArrayList<>();
+            for (int number = 1; number <= order.getPlannedTrips(); number++) {
+                DispatchTripRecord trip = new DispatchTripRecord();
+                trip.setId(tripId++);
+                trip.setOrder(order);
+                trip.setTripNumber(number);
+                trip.setStatus(number <= order.getCompletedTrips() ? DispatchTripStatus.DELIVERED : DispatchTripStatus.SCHEDULED);
+                trip.setShift("MORNING");
+                trip.setTripQuantityM3(6.0);
+                trip.setScheduledDispatchTime(order.getDispatchDateTime().plusMinutes(40L * (number - 1)));
+                trip.setEstimatedDeliveryTime(trip.getScheduledDispatchTime().plusMinutes(45));
+                trip.setTransitMixerNumber(order.getAssignment().getTransitMixer().getMixerNumber());
+                trip.setDriverName(order.getAssignment().getDriver().getDriverName());
+                trips.add(trip);
+            }
+            tripsByOrder.put(order.getId(), trips);
+        }
+        return tripsByOrder;
+    }
+
+    /**
+     * Back-to-back dispatch windows for each mixer and driver over ten days, the way
+     * the availability index holds a busy schedule.
+     */
+    static List<DispatchWindowView> dispatchWindows(int fleetSize, int windowsPerMixer, long seed) {
+        Random random = new Random(seed);
+        List<DispatchWindowView> windows = new ArrayList<>(fleetSize * windowsPerMixer);
+        long orderId = 1;
+        for (int mixer = 0; mixer < fleetSize; mixer++) {
+            LocalDateTime cursor = DAY_START;
+            for (int i = 0; i < windowsPerMixer; i++) {
+                cursor = cursor.plusMinutes(15 + random.nextInt(120));
+                LocalDateTime end = cursor.plusMinutes(60 + random.nextInt(120));
+                windows.add(new DispatchWindowView(
+                        orderId,
+                        String.format("ORD-%06d", orderId),
+                        cursor,
+                        end,
+                        String.format("TM-%04d", mixer + 1),
+                        "Driver " + (1 + (mixer + i) % fleetSize)));
+                orderId++;
+                cursor = end;
+            }
+        }
+        return windows;
+    }
+
+    static List<MixDesignCostSheet> costSheets() {
+        List<MixDesignCostSheet> sheets = new ArrayList<>(GRADES.length);
+        for (int g = 0; g < GRADES.length; g++) {
+            MixDesignCostSheet sheet = new MixDesignCostSheet();
+            sheet.setId((long) g + 1);
+            sheet.setGradeCode(GRADES[g]);
+            sheet.setGradeLabel(GRADES[g].charAt(0) + "-" + GRADES[g].substring(1));
+            double totalCost = 0;
+            for (int i = 0; i < INGREDIENTS.length; i++) {
+                double rate = 0.5 + i * 0.75;
+                double quantityPerM3 = 50 + (g + 1) * (i + 1) * 12;
+                MixDesignCostLine line = new MixDesignCostLine();
+                line.setId((long) g * INGREDIENTS.length + i + 1);
+                line.setDisplayOrder(i + 1);
+                line.setIngredientName(INGREDIENTS[i]);
+                line.setUnit(INGREDIENT_UNITS[i]);
+                line.setRate(rate);
+                line.setQuantityPerM3(quantityPerM3);
+                line.setCostPerM3(Math.round(rate * quantityPerM3 * 100.0) / 100.0);
+                sheet.addLine(line);
+                totalCost += line.getCostPerM3();
+            }
+            sheet.setTotalDensity(2400 + g * 10);
+            sheet.setTotalCostPerM3(totalCost);
+            sheets.add(sheet);
+        }
+        return sheets;
+    }
+}
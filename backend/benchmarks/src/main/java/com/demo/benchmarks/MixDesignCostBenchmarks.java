@@ -0,0 +1,68 @@
+package com.demo.benchmarks;
+
+import com.demo.entity.MixDesignCostSheet;
+import com.demo.entity.Order;
+import com.demo.repository.MixDesignCostSheetRepository;
+import com.demo.repository.OrderRepository;
+import com.demo.service.MixDesignCostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mix design costing of single orders against the cached cost catalog, walking the
+ * whole order book so every grade is priced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MixDesignCostBenchmarks {
+
+    @Param({"1000"})
+    public int orderCount;
+
+    private MixDesignCostService costService;
+    private String[] orderNumbers;
+
+    @Setup
+    public void setUp() {
+        List<Order> orders = Fixtures.orders(orderCount, 20, 42);
+        Map<String, Order> ordersByNumber = new HashMap<>();
+        for (Order order : orders) {
+            ordersByNumber.put(order.getOrderId(), order);
+        }
+        List<MixDesignCostSheet> sheets = Fixtures.costSheets();
+
+        costService = new MixDesignCostService();
+        Stubs.inject(costService, "orderRepository", Stubs.repository(OrderRepository.class, Map.of(
+                "findByOrderId", args -> Optional.ofNullable(ordersByNumber.get((String) args[0])))));
+        Stubs.inject(costService, "mixDesignCostSheetRepository", Stubs.repository(MixDesignCostSheetRepository.class, Map.of(
+                "findAllWithLines", args -> sheets)));
+        orderNumbers = ordersByNumber.keySet().toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void calculateForOrder(Blackhole blackhole) {
+        for (String orderNumber : orderNumbers) {
+            blackhole.consume(costService.calculateForOrder(orderNumber));
+        }
+    }
+}
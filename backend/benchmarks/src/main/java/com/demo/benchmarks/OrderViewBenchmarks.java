@@ -0,0 +1,107 @@
+package com.demo.benchmarks;
+
+import com.demo.controller.OrderController;
+import com.demo.entity.DispatchTripRecord;
+import com.demo.entity.Order;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.OrderAssignmentRepository;
+import com.demo.service.AdminOrderViewService;
+import com.demo.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the admin and customer order views and serializing them with the same
+ * Jackson defaults Spring Boot uses. Repositories answer from memory, so this is
+ * the CPU cost of a list response without the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderViewBenchmarks {
+
+    @Param({"100", "1000", "10000"})
+    public int orderCount;
+
+    @Param({"50"})
+    public int fleetSize;
+
+    private AdminOrderViewService adminOrderViewService;
+    private OrderController orderController;
+    private ObjectMapper objectMapper;
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        orders = Fixtures.orders(orderCount, fleetSize, 42);
+        Map<Long, List<DispatchTripRecord>> tripsByOrder = Fixtures.trips(orders);
+
+        DispatchTripRecordRepository tripRepository = Stubs.repository(DispatchTripRecordRepository.class, Map.of(
+                "findByOrderIdsOrderByTripNumber", args -> {
+                    List<DispatchTripRecord> trips = new ArrayList<>();
+                    for (Object orderId : (Collection<?>) args[0]) {
+                        trips.addAll(tripsByOrder.getOrDefault((Long) orderId, List.of()));
+                    }
+                    return trips;
+                },
+                "findByOrder_IdOrderByTripNumberAsc", args -> tripsByOrder.getOrDefault((Long) args[0], List.of())));
+        Map<Long, Order> ordersById = new HashMap<>();
+        for (Order order : orders) {
+            ordersById.put(order.getId(), order);
+        }
+        OrderAssignmentRepository assignmentRepository = Stubs.repository(OrderAssignmentRepository.class, Map.of(
+                "findByOrder_Id", args -> Optional.ofNullable(ordersById.get((Long) args[0])).map(Order::getAssignment)));
+        OrderService orderService = Stubs.repository(OrderService.class, Map.of(
+                "getOrdersByUserId", args -> orders));
+
+        adminOrderViewService = Stubs.inject(new AdminOrderViewService(), "dispatchTripRecordRepository", tripRepository);
+        orderController = new OrderController();
+        Stubs.inject(orderController, "orderService", orderService);
+        Stubs.inject(orderController, "orderAssignmentRepository", assignmentRepository);
+        Stubs.inject(orderController, "dispatchTripRecordRepository", tripRepository);
+
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> adminOrderViews() {
+        return adminOrderViewService.toOrderViews(orders);
+    }
+
+    @Benchmark
+    public byte[] adminOrderViewsJson() throws Exception {
+        return objectMapper.writeValueAsBytes(adminOrderViewService.toOrderViews(orders));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> customerOrderViews() {
+        return orderController.getMyOrders(1L);
+    }
+
+    @Benchmark
+    public byte[] customerOrderViewsJson() throws Exception {
+        return objectMapper.writeValueAsBytes(orderController.getMyOrders(1L));
+    }
+}
@@ -0,0 +1,54 @@
+package com.demo.config;
+
+import com.demo.dto.AuthenticatedUser;
+import com.demo.service.AuthTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests that carry a login token as {@code Authorization: Bearer ...}.
+ * The token is checked in memory; a request without a valid one carries on anonymously
+ * and each endpoint decides whether that is enough. Built by {@link SecurityConfig}
+ * rather than registered as a bean, so it only runs inside the security chain.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthTokenService authTokenService;
+
+    public JwtAuthenticationFilter(AuthTokenService authTokenService) {
+        this.authTokenService = authTokenService;
+    }
+
+    public static String bearerToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return header != null && header.startsWith(BEARER_PREFIX) ? header.substring(BEARER_PREFIX.length()).trim() : null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = bearerToken(request);
+        AuthenticatedUser user = token == null ? null : authTokenService.authenticate(token);
+        if (user != null) {
+            // Only approved accounts get their role as an authority.
+            List<String> roles = user.isApproved() && user.getRole() != null
+                    ? List.of("ROLE_" + user.getRole().toUpperCase())
+                    : List.of();
+            SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                    user, token, AuthorityUtils.createAuthorityList(roles)));
+        }
+        chain.doFilter(request, response);
+    }
+}
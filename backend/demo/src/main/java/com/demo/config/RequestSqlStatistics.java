@@ -0,0 +1,98 @@
+package com.demo.config;
+
+/**
+ * Per-thread tally of the database work done while a recording is open: statements
+ * executed (a JDBC batch counts once), rows read from result sets, entities Hibernate
+ * loaded and the time spent inside statement execution. {@link SqlStatementBudgetFilter}
+ * opens one recording per HTTP request.
+ */
+public final class RequestSqlStatistics {
+
+    /** Request attribute holding the {@link Snapshot} of a finished request. */
+    public static final String REQUEST_ATTRIBUTE = RequestSqlStatistics.class.getName() + ".SNAPSHOT";
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private RequestSqlStatistics() {
+    }
+
+    public static void start() {
+        CURRENT.set(new Recording());
+    }
+
+    public static Snapshot stop() {
+        Recording recording = CURRENT.get();
+        CURRENT.remove();
+        if (recording == null) {
+            return new Snapshot(0, 0, 0, 0);
+        }
+        return new Snapshot(recording.statements, recording.rowsFetched, recording.entitiesLoaded, recording.databaseNanos);
+    }
+
+    static boolean isRecording() {
+        return CURRENT.get() != null;
+    }
+
+    static void statementExecuted(long nanos) {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.statements++;
+            recording.databaseNanos += nanos;
+        }
+    }
+
+    static void rowFetched() {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.rowsFetched++;
+        }
+    }
+
+    static void entityLoaded() {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.entitiesLoaded++;
+        }
+    }
+
+    private static final class Recording {
+        private int statements;
+        private long rowsFetched;
+        private long entitiesLoaded;
+        private long databaseNanos;
+    }
+
+    public static final class Snapshot {
+        private final int statements;
+        private final long rowsFetched;
+        private final long entitiesLoaded;
+        private final long databaseNanos;
+
+        Snapshot(int statements, long rowsFetched, long entitiesLoaded, long databaseNanos) {
+            this.statements = statements;
+            this.rowsFetched = rowsFetched;
+            this.entitiesLoaded = entitiesLoaded;
+            this.databaseNanos = databaseNanos;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getRowsFetched() {
+            return rowsFetched;
+        }
+
+        public long getEntitiesLoaded() {
+            return entitiesLoaded;
+        }
+
+        public long getDatabaseNanos() {
+            return databaseNanos;
+        }
+
+        public double getDatabaseMillis() {
+            return databaseNanos / 1_000_000.0;
+        }
+    }
+}
@@ -1,25 +1,55 @@
 package com.demo.config;
 
+import com.demo.service.AuthTokenService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.io.IOException;
 
 @Configuration
 public class SecurityConfig {
 
+    @Autowired
+    private AuthTokenService authTokenService;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
         http
                 .csrf(csrf -> csrf.disable())   // Disable CSRF for APIs
                 .cors(cors -> {})               // Enable CORS
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Login tokens are checked in memory; admin endpoints read the caller from the token
+                .addFilterBefore(new JwtAuthenticationFilter(authTokenService), UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(auth -> auth
-                        .anyRequest().permitAll()   // Allow all endpoints
+                        // Admin screens need an approved admin's token; handlers may still check the caller
+                        .requestMatchers("/api/admin/**", "/api/quality/admin/**", "/api/delivery-tracking/admin/**").hasRole("ADMIN")
+                        .anyRequest().permitAll()   // Allow all other endpoints
+                )
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint((request, response, e) ->
+                                writeMessage(response, HttpStatus.UNAUTHORIZED, "Admin login required"))
+                        .accessDeniedHandler((request, response, e) ->
+                                writeMessage(response, HttpStatus.FORBIDDEN, "Only admin can perform this action"))
                 )
                 .httpBasic(httpBasic -> httpBasic.disable())   // ❗ Disable default basic auth
                 .formLogin(form -> form.disable());            // ❗ Disable default login form
 
         return http.build();
     }
-}
\ No newline at end of file
+
+    // Same body the controllers send from validateAdmin.
+    private static void writeMessage(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
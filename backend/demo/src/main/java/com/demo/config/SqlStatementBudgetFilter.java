@@ -0,0 +1,77 @@
+package com.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the database work of every request handled by a controller and publishes
+ * it per endpoint (method and URI pattern) under {@code http.server.sql.*}. Requests
+ * that execute more statements than {@code sql.request-budget.statements} are
+ * logged with the controller method that served them.
+ */
+@Component
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql.request-budget.statements:20}")
+    private int statementBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStatistics.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlStatistics.Snapshot snapshot = RequestSqlStatistics.stop();
+            request.setAttribute(RequestSqlStatistics.REQUEST_ATTRIBUTE, snapshot);
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+                record(request, handler, snapshot);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HandlerMethod handler, RequestSqlStatistics.Snapshot snapshot) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+
+        DistributionSummary.builder("http.server.sql.statements").tags(tags).register(meterRegistry)
+                .record(snapshot.getStatements());
+        DistributionSummary.builder("http.server.sql.rows").tags(tags).register(meterRegistry)
+                .record(snapshot.getRowsFetched());
+        DistributionSummary.builder("http.server.sql.entities").tags(tags).register(meterRegistry)
+                .record(snapshot.getEntitiesLoaded());
+        Timer.builder("http.server.sql.time").tags(tags).register(meterRegistry)
+                .record(snapshot.getDatabaseNanos(), TimeUnit.NANOSECONDS);
+
+        if (snapshot.getStatements() > statementBudget) {
+            Counter.builder("http.server.sql.over.budget").tags(tags).register(meterRegistry).increment();
+            log.warn("{} {} ran {} SQL statement(s), budget {}: {} row(s), {} entit(ies), {} ms in the database ({}#{})",
+                    request.getMethod(), request.getRequestURI(), snapshot.getStatements(), statementBudget,
+                    snapshot.getRowsFetched(), snapshot.getEntitiesLoaded(), Math.round(snapshot.getDatabaseMillis()),
+                    handler.getBeanType().getSimpleName(), handler.getMethod().getName());
+        }
+    }
+}
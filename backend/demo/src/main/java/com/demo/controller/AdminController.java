@@ -1,7 +1,12 @@
 package com.demo.controller;
 
+import com.demo.dto.AuthenticatedUser;
+import com.demo.dto.CursorPage;
 import com.demo.dto.DispatchDeliveryStatusRequest;
+import com.demo.dto.DispatchPlanRequest;
 import com.demo.dto.DispatchScheduleRequest;
+import com.demo.dto.DispatchWindowView;
+import com.demo.dto.PageCursor;
 import com.demo.dto.ProductionScheduleRequest;
 import com.demo.dto.RescheduleRequest;
 import com.demo.dto.TripRecordRequest;
@@ -24,23 +29,43 @@ import com.demo.repository.OrderApprovalHistoryRepository;
 import com.demo.repository.OrderAssignmentRepository;
 import com.demo.repository.OrderRepository;
 import com.demo.repository.PaymentRecordRepository;
+import com.demo.repository.PlantRepository;
 import com.demo.repository.QualityInspectionRepository;
 import com.demo.repository.TransitMixerRepository;
 import com.demo.repository.UserRepository;
+import com.demo.service.AdminOrderViewService;
+import com.demo.service.AuthTokenService;
+import com.demo.service.DeliveryTrackingViewService;
+import com.demo.service.DispatchAvailabilityIndex;
+import com.demo.service.DispatchMonitoringBoard;
+import com.demo.service.DispatchPlanService;
+import com.demo.service.MailDeliveryService;
+import com.demo.service.NotificationArchiveService;
 import com.demo.service.OrderNotificationService;
+import com.demo.service.PayLaterReminderService;
+import com.demo.service.ProductionSlotScheduler;
+import com.demo.service.ReferenceDataCache;
+import com.demo.service.TransitMixerService;
+import com.demo.service.TripSummaryService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -53,6 +78,9 @@ public class AdminController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthTokenService authTokenService;
+
     @Autowired
     private OrderAssignmentRepository orderAssignmentRepository;
 
@@ -77,25 +105,79 @@ public class AdminController {
     @Autowired
     private OrderApprovalHistoryRepository approvalHistoryRepository;
 
+    @Autowired
+    private DispatchAvailabilityIndex dispatchAvailabilityIndex;
+
+    @Autowired
+    private ProductionSlotScheduler productionSlotScheduler;
+
+    @Autowired
+    private DispatchMonitoringBoard dispatchMonitoringBoard;
+
+    @Autowired
+    private PlantRepository plantRepository;
+
+    @Autowired
+    private AdminOrderViewService adminOrderViewService;
+
+    @Autowired
+    private TripSummaryService tripSummaryService;
+
+    @Autowired
+    private DeliveryTrackingViewService deliveryTrackingViewService;
+
+    @Autowired
+    private DispatchPlanService dispatchPlanService;
+
+    @Autowired
+    private PayLaterReminderService payLaterReminderService;
+
+    @Autowired
+    private MailDeliveryService mailDeliveryService;
+
+    @Autowired
+    private NotificationArchiveService notificationArchiveService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private TransitMixerService transitMixerService;
+
 
     // ? 1. Get All Orders
+    // Passing limit or cursor switches to the keyset-paginated envelope with filters.
     @GetMapping("/orders")
-    public List<Map<String, Object>> getAllOrders() {
-        List<Map<String, Object>> response = new ArrayList<>();
-        for (Order order : orderRepository.findAll()) {
-            response.add(toOrderView(order));
+    public ResponseEntity<?> getAllOrders(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(adminOrderViewService.getAllOrderViews());
+        }
+        try {
+            OrderStatus statusFilter = status == null || status.isBlank()
+                    ? null
+                    : OrderStatus.valueOf(status.trim().toUpperCase());
+            return ResponseEntity.ok(adminOrderViewService.getOrderViewPage(
+                    statusFilter,
+                    userId,
+                    from != null ? from.atStartOfDay() : null,
+                    to != null ? to.plusDays(1).atStartOfDay() : null,
+                    cursor,
+                    limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid status or cursor"));
         }
-        return response;
     }
 
     // ? 2. Get Pending Orders
     @GetMapping("/orders/pending")
     public List<Map<String, Object>> getPendingOrders() {
-        List<Map<String, Object>> response = new ArrayList<>();
-        for (Order order : orderRepository.findByStatus(OrderStatus.PENDING_APPROVAL)) {
-            response.add(toOrderView(order));
-        }
-        return response;
+        return adminOrderViewService.getOrderViewsByStatus(OrderStatus.PENDING_APPROVAL);
     }
 
     @GetMapping("/pending-orders")
@@ -105,8 +187,8 @@ public class AdminController {
 
     @GetMapping("/pending-credit-orders")
     public List<Map<String, Object>> getPendingCreditOrdersForApprovalPage() {
-        List<Map<String, Object>> response = new ArrayList<>();
-        for (Order order : orderRepository.findAll()) {
+        List<Order> pendingCreditOrders = new ArrayList<>();
+        for (Order order : orderRepository.findAllForAdminView()) {
             String paymentType = normalizeUpper(order.getPaymentType());
             String paymentOption = normalizeUpper(order.getPaymentOption());
             String creditApprovalStatus = normalizeUpper(order.getCreditApprovalStatus());
@@ -115,10 +197,10 @@ public class AdminController {
             boolean isPendingCredit = "PENDING_APPROVAL".equals(creditApprovalStatus) || "PENDING".equals(creditApprovalStatus);
 
             if (isPayLater && isPendingCredit) {
-                response.add(toOrderView(order));
+                pendingCreditOrders.add(order);
             }
         }
-        return response;
+        return adminOrderViewService.toOrderViews(pendingCreditOrders);
     }
 
     // ? 3. Update Order Status (Approve / Reject / Dispatch etc.)
@@ -160,6 +242,9 @@ public class AdminController {
             String stage = newStatus.name().replace('_', ' ');
             order.setLatestNotification("Order status updated to " + stage);
             orderRepository.save(order);
+            dispatchAvailabilityIndex.refresh(order.getId());
+            productionSlotScheduler.refresh(order.getId());
+            dispatchMonitoringBoard.refresh(order);
             orderNotificationService.logOrderUpdate(order, resolveTrackingStatus(order), order.getLatestNotification());
 
             return ResponseEntity.ok(Map.of(
@@ -177,10 +262,10 @@ public class AdminController {
     @PutMapping("/orders/{orderId}/workflow-step")
     public ResponseEntity<?> quickUpdateWorkflowStep(
             @PathVariable String orderId,
-            @RequestParam Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody(required = false) Map<String, Object> payload) {
 
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -217,14 +302,15 @@ public class AdminController {
                 order.setDeliveredAt(null);
                 order.setReturnReason(null);
                 order.setReturnedQuantity(null);
-                if (order.getProductionDate() == null) {
-                    order.setProductionDate(now.toLocalDate());
-                }
                 if (order.getProductionSlotStart() == null) {
-                    order.setProductionSlotStart(now);
+                    assignEarliestProductionSlot(order, now);
                 }
                 if (order.getProductionSlotEnd() == null || !order.getProductionSlotEnd().isAfter(order.getProductionSlotStart())) {
-                    order.setProductionSlotEnd(order.getProductionSlotStart().plusHours(2));
+                    order.setProductionSlotEnd(order.getProductionSlotStart().plusMinutes(
+                            productionSlotScheduler.minimumDurationMinutes(null, order.getQuantity())));
+                }
+                if (order.getProductionDate() == null) {
+                    order.setProductionDate(order.getProductionSlotStart().toLocalDate());
                 }
                 order.setLatestNotification("Order moved to production");
                 break;
@@ -321,6 +407,9 @@ public class AdminController {
         }
 
         orderRepository.save(order);
+        dispatchAvailabilityIndex.refresh(order.getId());
+        productionSlotScheduler.refresh(order.getId());
+        dispatchMonitoringBoard.refresh(order);
         orderNotificationService.logOrderUpdate(order, resolveTrackingStatus(order), order.getLatestNotification());
 
         Map<String, Object> response = new HashMap<>();
@@ -337,10 +426,10 @@ public class AdminController {
     @GetMapping("/orders/{orderId}/dispatch/calculate-trips")
     public ResponseEntity<?> calculateDispatchTrips(
             @PathVariable String orderId,
-            @RequestParam Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestParam(required = false) Double capacityM3) {
 
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -373,8 +462,29 @@ public class AdminController {
 
     // ? 4. Get All Users (Optional Admin Feature)
     @GetMapping("/users")
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String approvalStatus) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(userRepository.findAll());
+        }
+        PageCursor after;
+        try {
+            after = PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        String roleFilter = role == null || role.isBlank() ? null : role.trim().toUpperCase();
+        String approvalFilter = approvalStatus == null || approvalStatus.isBlank()
+                ? null
+                : approvalStatus.trim().toUpperCase();
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<User> fetched = userRepository.findPage(
+                roleFilter, approvalFilter, after != null ? after.getId() : null, PageRequest.of(0, pageSize + 1));
+        Long total = after == null ? userRepository.countForPage(roleFilter, approvalFilter) : null;
+        return ResponseEntity.ok(CursorPage.of(fetched, pageSize, user -> PageCursor.encode(user.getId()), rows -> rows, total));
     }
 
     @GetMapping("/admin-logins/pending")
@@ -393,6 +503,7 @@ public class AdminController {
 
         user.setApprovalStatus("APPROVED");
         userRepository.save(user);
+        authTokenService.revokeUser(userId);
         return ResponseEntity.ok(Map.of("message", "Admin approved successfully"));
     }
 
@@ -407,6 +518,7 @@ public class AdminController {
 
         user.setApprovalStatus("REJECTED");
         userRepository.save(user);
+        authTokenService.revokeUser(userId);
         return ResponseEntity.ok(Map.of("message", "Admin rejected successfully"));
     }
     @PutMapping("/orders/{orderId}/approve")
@@ -595,6 +707,112 @@ public class AdminController {
         ));
     }
 
+    // Runs the daily pay-later reminder job now and returns its run report.
+    @PostMapping("/notifications/pay-later-reminders/run")
+    public ResponseEntity<?> runPayLaterReminders(@AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        return ResponseEntity.ok(payLaterReminderService.sendReminders());
+    }
+
+    @GetMapping("/notifications/pay-later-reminders/last-run")
+    public ResponseEntity<?> getLastPayLaterReminderRun(@AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        PayLaterReminderService.RunReport report = payLaterReminderService.getLastReport();
+        if (report == null) {
+            return ResponseEntity.status(404).body(Map.of("message", "Pay-later reminders have not run since startup"));
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    // Runs the nightly notification archival now and returns its run report.
+    @PostMapping("/notifications/archive/run")
+    public ResponseEntity<?> runNotificationArchive(@AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        return ResponseEntity.ok(notificationArchiveService.archive());
+    }
+
+    @GetMapping("/notifications/archive/last-run")
+    public ResponseEntity<?> getLastNotificationArchiveRun(@AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        NotificationArchiveService.RunReport report = notificationArchiveService.getLastReport();
+        if (report == null) {
+            return ResponseEntity.status(404).body(Map.of("message", "Notification archival has not run since startup"));
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/mail/status")
+    public ResponseEntity<?> getMailStatus(@AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        Map<String, Object> status = new LinkedHashMap<>(mailDeliveryService.getStats());
+        status.put("recentFailures", mailDeliveryService.getRecentFailures());
+        return ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getReferenceCacheStats(@AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        return ResponseEntity.ok(referenceDataCache.getStats());
+    }
+
+    // For data changed outside the application, e.g. by hand in the database.
+    @PostMapping("/cache/evict")
+    public ResponseEntity<?> evictReferenceCache(@AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        referenceDataCache.evictAll();
+        return ResponseEntity.ok(Map.of("message", "Reference data cache cleared"));
+    }
+
+    // Issues the GPS device key of a mixer, replacing any earlier one. The key is only shown here.
+    @PostMapping("/mixers/{mixerId}/telemetry-key")
+    public ResponseEntity<?> issueTelemetryKey(
+            @PathVariable Long mixerId,
+            @AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        try {
+            String key = transitMixerService.issueTelemetryKey(mixerId);
+            return ResponseEntity.ok(Map.of(
+                    "message", "Telemetry key issued; earlier keys of this mixer no longer work",
+                    "mixerId", mixerId,
+                    "telemetryKey", key
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/orders/{orderId}")
     @Transactional
     public ResponseEntity<?> deleteOrder(@PathVariable String orderId) {
@@ -626,6 +844,9 @@ public class AdminController {
             qualityInspectionRepository.deleteByOrder_Id(internalOrderId);
 
             orderRepository.delete(order);
+            dispatchAvailabilityIndex.remove(internalOrderId);
+            productionSlotScheduler.remove(internalOrderId);
+            dispatchMonitoringBoard.remove(internalOrderId);
 
             return ResponseEntity.ok(Map.of(
                     "message", "Order deleted successfully",
@@ -642,10 +863,10 @@ public class AdminController {
     @PutMapping("/orders/{orderId}/schedule/production")
     public ResponseEntity<?> scheduleProduction(
             @PathVariable String orderId,
-            @RequestParam Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody ProductionScheduleRequest request) {
 
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -665,9 +886,35 @@ public class AdminController {
             return ResponseEntity.badRequest().body(Map.of("message", "Production slot end must be after start"));
         }
 
-        order.setProductionDate(request.getProductionDate());
-        order.setProductionSlotStart(request.getProductionSlotStart());
-        order.setProductionSlotEnd(request.getProductionSlotEnd());
+        ProductionSlotScheduler.PlantCapacity plant = productionSlotScheduler.findPlant(request.getPlantAllocation());
+        if (plant == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Unknown plant: " + request.getPlantAllocation()));
+        }
+
+        // Book the plant before saving so two admins cannot both take its last capacity.
+        LocalDateTime slotStart = request.getProductionSlotStart();
+        LocalDateTime slotEnd = request.getProductionSlotEnd();
+        LocalDate productionDate = request.getProductionDate();
+        boolean shifted = false;
+        ProductionSlotScheduler.SlotConflict conflict = productionSlotScheduler.reserve(
+                order.getId(), plant.getPlantId(), order.getQuantity(), slotStart, slotEnd);
+        if (conflict != null) {
+            long durationMinutes = Duration.between(slotStart, slotEnd).toMinutes();
+            ProductionSlotScheduler.SlotProposal proposal = Boolean.TRUE.equals(request.getAutoShift())
+                    ? productionSlotScheduler.reserveEarliest(order.getId(), plant.getPlantId(), order.getQuantity(), slotStart, durationMinutes)
+                    : null;
+            if (proposal == null) {
+                return productionCapacityConflict(order, conflict, slotStart, durationMinutes);
+            }
+            slotStart = proposal.getStart();
+            slotEnd = proposal.getEnd();
+            productionDate = slotStart.toLocalDate();
+            shifted = true;
+        }
+
+        order.setProductionDate(productionDate);
+        order.setProductionSlotStart(slotStart);
+        order.setProductionSlotEnd(slotEnd);
         order.setStatus(OrderStatus.IN_PRODUCTION);
         order.setDeliveryTrackingStatus(null);
         order.setDeliveredAt(null);
@@ -676,25 +923,38 @@ public class AdminController {
         order.setLatestNotification("Production schedule updated by admin");
 
         OrderAssignment assignment = getOrCreateAssignment(order);
-        assignment.setPlantAllocation(request.getPlantAllocation());
+        assignment.setPlantAllocation(plant.getPlantName());
+        assignment.setPlant(plantRepository.getReferenceById(plant.getPlantId()));
         assignment.setPriorityLevel(request.getPriorityLevel());
-        orderAssignmentRepository.save(assignment);
-        orderRepository.save(order);
+        try {
+            orderAssignmentRepository.save(assignment);
+            orderRepository.save(order);
+        } catch (RuntimeException e) {
+            productionSlotScheduler.refresh(order.getId());
+            throw e;
+        }
+        productionSlotScheduler.refresh(order, assignment);
         orderNotificationService.createNotification(order, NotificationType.IN_PRODUCTION);
 
         return ResponseEntity.ok(Map.of(
-                "message", "Production scheduled successfully",
-                "orderId", order.getOrderId()
+                "message", shifted
+                        ? "Production scheduled in the earliest slot with plant capacity"
+                        : "Production scheduled successfully",
+                "orderId", order.getOrderId(),
+                "productionSlotStart", slotStart,
+                "productionSlotEnd", slotEnd,
+                "plantAllocation", plant.getPlantName(),
+                "shifted", shifted
         ));
     }
 
     @PutMapping("/orders/{orderId}/schedule/dispatch")
     public ResponseEntity<?> scheduleDispatch(
             @PathVariable String orderId,
-            @RequestParam Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody DispatchScheduleRequest request) {
 
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -735,46 +995,24 @@ public class AdminController {
             ));
         }
 
-        LocalDateTime requestedDispatchTime = request.getDispatchDateTime();
-        LocalDateTime requestedEta = request.getExpectedArrivalTime();
-        for (OrderAssignment otherAssignment : orderAssignmentRepository.findAll()) {
-            if (otherAssignment.getOrder() == null || Objects.equals(otherAssignment.getOrder().getId(), order.getId())) {
-                continue;
-            }
-            Order otherOrder = otherAssignment.getOrder();
-            if (otherOrder.getDispatchDateTime() == null || otherOrder.getExpectedArrivalTime() == null) {
-                continue;
-            }
-            if (!hasTimeOverlap(requestedDispatchTime, requestedEta, otherOrder.getDispatchDateTime(), otherOrder.getExpectedArrivalTime())) {
-                continue;
-            }
-
-            boolean sameMixer = otherAssignment.getTransitMixer() != null
-                    && !isBlank(otherAssignment.getTransitMixer().getMixerNumber())
-                    && otherAssignment.getTransitMixer().getMixerNumber().trim().equalsIgnoreCase(mixerNumber.trim());
-            if (sameMixer) {
-                return ResponseEntity.badRequest().body(Map.of(
-                        "message", "Transit mixer already allocated in this dispatch window",
-                        "conflictOrderId", otherOrder.getOrderId()
-                ));
-            }
-
-            boolean sameDriver = otherAssignment.getDriver() != null
-                    && !isBlank(otherAssignment.getDriver().getDriverName())
-                    && otherAssignment.getDriver().getDriverName().trim().equalsIgnoreCase(driverName.trim());
-            if (sameDriver) {
-                return ResponseEntity.badRequest().body(Map.of(
-                        "message", "Driver already allocated in this dispatch window",
-                        "conflictOrderId", otherOrder.getOrderId()
-                ));
-            }
-        }
-
         double capacityM3 = resolveTruckCapacity(order, request.getTruckCapacityM3());
         if (capacityM3 <= 0) {
             return ResponseEntity.badRequest().body(Map.of("message", "Truck capacity must be greater than 0"));
         }
 
+        // Checks and books the mixer and driver in one step; undone below if the order cannot be saved.
+        DispatchAvailabilityIndex.WindowConflict conflict = dispatchAvailabilityIndex.reserve(
+                order.getId(), order.getOrderId(), mixerNumber, driverName,
+                request.getDispatchDateTime(), request.getExpectedArrivalTime());
+        if (conflict != null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "message", conflict.isMixer()
+                            ? "Transit mixer already allocated in this dispatch window"
+                            : "Driver already allocated in this dispatch window",
+                    "conflictOrderId", conflict.getWindow().getOrderNumber()
+            ));
+        }
+
         List<Double> tripLoads = calculateTripLoads(order.getQuantity(), capacityM3);
         int plannedTrips = tripLoads.size();
         String tripPlanning = plannedTrips > 1 ? "MULTIPLE_TRIPS" : "SINGLE_TRIP";
@@ -797,7 +1035,14 @@ public class AdminController {
         order.setReturnReason(null);
         order.setReturnedQuantity(null);
         order.setLatestNotification("Order dispatched from plant");
-        orderRepository.save(order);
+        try {
+            orderRepository.save(order);
+        } catch (RuntimeException e) {
+            dispatchAvailabilityIndex.refresh(order.getId());
+            throw e;
+        }
+        dispatchAvailabilityIndex.refresh(order, assignment);
+        productionSlotScheduler.refresh(order, assignment);
 
         mixerNumber = assignment.getTransitMixer() != null ? assignment.getTransitMixer().getMixerNumber() : null;
         driverName = assignment.getDriver() != null ? assignment.getDriver().getDriverName() : null;
@@ -843,6 +1088,10 @@ public class AdminController {
                 dispatchTripRecordRepository.delete(trip);
             }
         }
+        // Rescheduling resets every trip, so the counters are rebuilt rather than patched.
+        tripSummaryService.recalculate(order);
+        orderRepository.save(order);
+        dispatchMonitoringBoard.refresh(order);
 
         orderNotificationService.createNotification(order, NotificationType.DISPATCH_SCHEDULED);
 
@@ -859,10 +1108,10 @@ public class AdminController {
     @PutMapping("/orders/{orderId}/schedule/vehicle")
     public ResponseEntity<?> scheduleVehicleAndDriver(
             @PathVariable String orderId,
-            @RequestParam Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody VehicleScheduleRequest request) {
 
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -891,54 +1140,47 @@ public class AdminController {
         LocalDateTime end = order.getExpectedArrivalTime();
         boolean hasDispatchWindow = start != null && end != null;
 
-        for (OrderAssignment assignment : orderAssignmentRepository.findAll()) {
-            if (assignment.getOrder() == null || Objects.equals(assignment.getOrder().getId(), order.getId())) {
-                continue;
-            }
-            if (!hasDispatchWindow) {
-                continue;
-            }
-            Order otherOrder = assignment.getOrder();
-            if (otherOrder.getDispatchDateTime() == null || otherOrder.getExpectedArrivalTime() == null) {
-                continue;
-            }
-            if (!hasTimeOverlap(start, end, otherOrder.getDispatchDateTime(), otherOrder.getExpectedArrivalTime())) {
-                continue;
-            }
-            if (assignment.getTransitMixer() != null && assignment.getTransitMixer().getMixerNumber() != null
-                    && assignment.getTransitMixer().getMixerNumber().equalsIgnoreCase(request.getTransitMixerNumber().trim())) {
-                return ResponseEntity.badRequest().body(Map.of(
-                        "message", "Transit mixer already allocated in this time slot",
-                        "conflictOrderId", otherOrder.getOrderId()
-                ));
-            }
-            if (assignment.getDriver() != null && assignment.getDriver().getDriverName() != null
-                    && assignment.getDriver().getDriverName().equalsIgnoreCase(request.getDriverName().trim())) {
+        if (hasDispatchWindow) {
+            // Checks and books the mixer and driver in one step; undone below if the assignment cannot be saved.
+            DispatchAvailabilityIndex.WindowConflict conflict = dispatchAvailabilityIndex.reserve(
+                    order.getId(), order.getOrderId(),
+                    request.getTransitMixerNumber().trim(), request.getDriverName().trim(), start, end);
+            if (conflict != null) {
                 return ResponseEntity.badRequest().body(Map.of(
-                        "message", "Driver already allocated in this time slot",
-                        "conflictOrderId", otherOrder.getOrderId()
+                        "message", conflict.isMixer()
+                                ? "Transit mixer already allocated in this time slot"
+                                : "Driver already allocated in this time slot",
+                        "conflictOrderId", conflict.getWindow().getOrderNumber()
                 ));
             }
         }
 
-        Driver driver = upsertDriver(request.getDriverName().trim(), request.getDriverShift());
-        TransitMixer mixer = upsertMixer(request.getTransitMixerNumber().trim());
-        if (request.getTransitMixerCapacityM3() != null && request.getTransitMixerCapacityM3() > 0) {
-            mixer.setCapacityM3(request.getTransitMixerCapacityM3());
-            mixer = transitMixerRepository.save(mixer);
-        }
-        current.setDriver(driver);
-        current.setTransitMixer(mixer);
-        if (!isBlank(request.getBackupDriverName())) {
-            current.setBackupDriver(upsertDriver(request.getBackupDriverName().trim(), request.getDriverShift()));
-        }
-        if (!isBlank(request.getBackupTransitMixerNumber())) {
-            current.setBackupMixer(upsertMixer(request.getBackupTransitMixerNumber().trim()));
-        }
-        orderAssignmentRepository.save(current);
+        try {
+            Driver driver = upsertDriver(request.getDriverName().trim(), request.getDriverShift());
+            TransitMixer mixer = upsertMixer(request.getTransitMixerNumber().trim());
+            if (request.getTransitMixerCapacityM3() != null && request.getTransitMixerCapacityM3() > 0) {
+                mixer.setCapacityM3(request.getTransitMixerCapacityM3());
+                mixer = transitMixerRepository.save(mixer);
+            }
+            current.setDriver(driver);
+            current.setTransitMixer(mixer);
+            if (!isBlank(request.getBackupDriverName())) {
+                current.setBackupDriver(upsertDriver(request.getBackupDriverName().trim(), request.getDriverShift()));
+            }
+            if (!isBlank(request.getBackupTransitMixerNumber())) {
+                current.setBackupMixer(upsertMixer(request.getBackupTransitMixerNumber().trim()));
+            }
+            orderAssignmentRepository.save(current);
 
-        order.setLatestNotification("Vehicle and driver assigned successfully");
-        orderRepository.save(order);
+            order.setLatestNotification("Vehicle and driver assigned successfully");
+            orderRepository.save(order);
+        } catch (RuntimeException e) {
+            dispatchAvailabilityIndex.refresh(order.getId());
+            throw e;
+        }
+        dispatchAvailabilityIndex.refresh(order, current);
+        productionSlotScheduler.refresh(order, current);
+        dispatchMonitoringBoard.refresh(order);
         orderNotificationService.createNotification(order, NotificationType.VEHICLE_ASSIGNED);
 
         return ResponseEntity.ok(Map.of(
@@ -950,10 +1192,10 @@ public class AdminController {
     @PutMapping("/orders/{orderId}/reschedule")
     public ResponseEntity<?> rescheduleOrder(
             @PathVariable String orderId,
-            @RequestParam Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody RescheduleRequest request) {
 
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -982,17 +1224,46 @@ public class AdminController {
         }
 
         OrderAssignment assignment = getOrCreateAssignment(order);
+        ProductionSlotScheduler.PlantCapacity plant = resolveProductionPlant(assignment, request.getPlantAllocation());
+        if (!isBlank(request.getPlantAllocation()) && plant == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Unknown plant: " + request.getPlantAllocation()));
+        }
+        if (plant != null
+                && order.getProductionSlotStart() != null
+                && order.getProductionSlotEnd() != null
+                && productionSlotScheduler.holdsCapacity(order.getStatus())) {
+            ProductionSlotScheduler.SlotConflict conflict = productionSlotScheduler.reserve(
+                    order.getId(), plant.getPlantId(), order.getQuantity(),
+                    order.getProductionSlotStart(), order.getProductionSlotEnd());
+            if (conflict != null) {
+                return productionCapacityConflict(order, conflict, order.getProductionSlotStart(),
+                        Duration.between(order.getProductionSlotStart(), order.getProductionSlotEnd()).toMinutes());
+            }
+        }
+
         if (request.getPlantAllocation() != null) assignment.setPlantAllocation(request.getPlantAllocation());
+        if (!isBlank(request.getPlantAllocation())) {
+            assignment.setPlantAllocation(plant.getPlantName());
+            assignment.setPlant(plantRepository.getReferenceById(plant.getPlantId()));
+        }
         if (request.getPriorityLevel() != null) assignment.setPriorityLevel(request.getPriorityLevel());
         if (request.getDriverName() != null) assignment.setDriver(upsertDriver(request.getDriverName().trim(), request.getDriverShift()));
         if (request.getTransitMixerNumber() != null) assignment.setTransitMixer(upsertMixer(request.getTransitMixerNumber().trim()));
         if (request.getBackupDriverName() != null) assignment.setBackupDriver(upsertDriver(request.getBackupDriverName().trim(), request.getDriverShift()));
         if (request.getBackupTransitMixerNumber() != null) assignment.setBackupMixer(upsertMixer(request.getBackupTransitMixerNumber().trim()));
-        orderAssignmentRepository.save(assignment);
 
         order.setLastRescheduledAt(LocalDateTime.now());
         order.setLatestNotification("Schedule updated due to rescheduling");
-        orderRepository.save(order);
+        try {
+            orderAssignmentRepository.save(assignment);
+            orderRepository.save(order);
+        } catch (RuntimeException e) {
+            productionSlotScheduler.refresh(order.getId());
+            throw e;
+        }
+        dispatchAvailabilityIndex.refresh(order, assignment);
+        productionSlotScheduler.refresh(order, assignment);
+        dispatchMonitoringBoard.refresh(order);
 
         return ResponseEntity.ok(Map.of(
                 "message", "Order rescheduled successfully",
@@ -1000,13 +1271,144 @@ public class AdminController {
         ));
     }
 
+    @GetMapping("/production/earliest-slot")
+    public ResponseEntity<?> findEarliestProductionSlot(
+            @AuthenticationPrincipal AuthenticatedUser admin,
+            @RequestParam String plantAllocation,
+            @RequestParam(required = false) String orderId,
+            @RequestParam(required = false) Double quantity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime notBefore,
+            @RequestParam(required = false) Long durationMinutes) {
+
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        ProductionSlotScheduler.PlantCapacity plant = productionSlotScheduler.findPlant(plantAllocation);
+        if (plant == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Unknown plant: " + plantAllocation));
+        }
+
+        Long internalOrderId = null;
+        if (!isBlank(orderId)) {
+            Order order = orderRepository.findByOrderId(orderId).orElse(null);
+            if (order == null) {
+                return ResponseEntity.status(404).body(Map.of("message", "Order not found"));
+            }
+            internalOrderId = order.getId();
+            if (quantity == null) {
+                quantity = order.getQuantity();
+            }
+        }
+        if (quantity == null || !(quantity > 0)) {
+            return ResponseEntity.badRequest().body(Map.of("message", "quantity or orderId is required"));
+        }
+
+        ProductionSlotScheduler.SlotProposal proposal = productionSlotScheduler.findEarliestSlot(
+                plant.getPlantId(),
+                quantity,
+                notBefore != null ? notBefore : LocalDateTime.now(),
+                durationMinutes != null ? Math.max(0, durationMinutes) : 0,
+                internalOrderId);
+        if (proposal == null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "message", "No production capacity available at " + plant.getPlantName() + " in the next two weeks"
+            ));
+        }
+
+        return ResponseEntity.ok(Map.of(
+                "plantId", plant.getPlantId(),
+                "plantAllocation", plant.getPlantName(),
+                "capacityM3PerHour", plant.getCapacityM3PerHour(),
+                "quantity", quantity,
+                "productionSlotStart", proposal.getStart(),
+                "productionSlotEnd", proposal.getEnd()
+        ));
+    }
+
+    @GetMapping("/production/plants/{plantId}/calendar")
+    public ResponseEntity<?> getPlantProductionCalendar(
+            @PathVariable Long plantId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        ProductionSlotScheduler.PlantCapacity plant = productionSlotScheduler.getPlant(plantId);
+        if (plant == null) {
+            return ResponseEntity.status(404).body(Map.of("message", "Plant not found"));
+        }
+
+        LocalDate day = date != null ? date : LocalDate.now();
+        double capacityPerBucket = plant.getCapacityM3PerHour() * ProductionSlotScheduler.BUCKET_MINUTES / 60.0;
+        double[] booked = productionSlotScheduler.bookedOn(plantId, day);
+        List<Map<String, Object>> buckets = new ArrayList<>(booked.length);
+        for (int i = 0; i < booked.length; i++) {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("start", day.atStartOfDay().plusMinutes((long) i * ProductionSlotScheduler.BUCKET_MINUTES));
+            bucket.put("bookedM3", Math.round(booked[i] * 100.0) / 100.0);
+            bucket.put("availableM3", Math.round(Math.max(0, capacityPerBucket - booked[i]) * 100.0) / 100.0);
+            buckets.add(bucket);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("plantId", plant.getPlantId());
+        response.put("plantAllocation", plant.getPlantName());
+        response.put("capacityM3PerHour", plant.getCapacityM3PerHour());
+        response.put("bucketMinutes", ProductionSlotScheduler.BUCKET_MINUTES);
+        response.put("date", day);
+        response.put("buckets", buckets);
+        return ResponseEntity.ok(response);
+    }
+
+    // Fleet-wide trip plan for one day; nothing is saved until the plan is committed.
+    @PostMapping("/dispatch/plans/preview")
+    public ResponseEntity<?> previewDispatchPlan(
+            @AuthenticationPrincipal AuthenticatedUser admin,
+            @RequestBody(required = false) DispatchPlanRequest request) {
+
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        try {
+            return ResponseEntity.ok(dispatchPlanService.preview(request));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    @PostMapping("/dispatch/plans/{planId}/commit")
+    public ResponseEntity<?> commitDispatchPlan(
+            @PathVariable String planId,
+            @AuthenticationPrincipal AuthenticatedUser admin) {
+
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+
+        try {
+            return ResponseEntity.ok(dispatchPlanService.commit(planId));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(409).body(Map.of("message", ex.getMessage()));
+        }
+    }
+
     @GetMapping("/dispatch/availability")
     public ResponseEntity<?> getDispatchAvailability(
-            @RequestParam Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestParam LocalDateTime windowStart,
             @RequestParam LocalDateTime windowEnd) {
 
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -1031,34 +1433,23 @@ public class AdminController {
             driverIndex.put(driver.getDriverName().trim().toUpperCase(), buildAvailabilityItem(driver.getDriverName().trim()));
         }
 
-        for (OrderAssignment assignment : orderAssignmentRepository.findAll()) {
-            if (assignment.getOrder() == null) {
-                continue;
-            }
-            Order order = assignment.getOrder();
-            if (order.getDispatchDateTime() == null || order.getExpectedArrivalTime() == null) {
-                continue;
-            }
-            if (!hasTimeOverlap(windowStart, windowEnd, order.getDispatchDateTime(), order.getExpectedArrivalTime())) {
-                continue;
-            }
-
-            if (assignment.getTransitMixer() != null && !isBlank(assignment.getTransitMixer().getMixerNumber())) {
-                String key = assignment.getTransitMixer().getMixerNumber().trim().toUpperCase();
+        for (DispatchWindowView window : dispatchAvailabilityIndex.findOverlapping(windowStart, windowEnd)) {
+            if (!isBlank(window.getTransitMixerNumber())) {
+                String key = window.getTransitMixerNumber().trim().toUpperCase();
                 Map<String, Object> row = vehicleIndex.computeIfAbsent(
                         key,
-                        k -> buildAvailabilityItem(assignment.getTransitMixer().getMixerNumber().trim())
+                        k -> buildAvailabilityItem(window.getTransitMixerNumber().trim())
                 );
-                markUnavailable(row, order.getOrderId(), order.getDispatchDateTime(), order.getExpectedArrivalTime());
+                markUnavailable(row, window.getOrderNumber(), window.getDispatchDateTime(), window.getExpectedArrivalTime());
             }
 
-            if (assignment.getDriver() != null && !isBlank(assignment.getDriver().getDriverName())) {
-                String key = assignment.getDriver().getDriverName().trim().toUpperCase();
+            if (!isBlank(window.getDriverName())) {
+                String key = window.getDriverName().trim().toUpperCase();
                 Map<String, Object> row = driverIndex.computeIfAbsent(
                         key,
-                        k -> buildAvailabilityItem(assignment.getDriver().getDriverName().trim())
+                        k -> buildAvailabilityItem(window.getDriverName().trim())
                 );
-                markUnavailable(row, order.getOrderId(), order.getDispatchDateTime(), order.getExpectedArrivalTime());
+                markUnavailable(row, window.getOrderNumber(), window.getDispatchDateTime(), window.getExpectedArrivalTime());
             }
         }
 
@@ -1077,62 +1468,26 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    // Served from the in-memory board; pass the last seen version as since to get only changed rows.
     @GetMapping("/dispatch/monitoring")
-    public ResponseEntity<?> getDispatchMonitoring(@RequestParam Long adminUserId) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+    public ResponseEntity<?> getDispatchMonitoring(
+            @AuthenticationPrincipal AuthenticatedUser admin,
+            @RequestParam(required = false) Long since) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
 
-        List<Map<String, Object>> rows = new ArrayList<>();
-        for (Order order : orderRepository.findAll()) {
-            if (order.getDispatchDateTime() == null
-                    && order.getDeliveryTrackingStatus() == null
-                    && order.getLiveLatitude() == null
-                    && order.getLiveLongitude() == null) {
-                continue;
-            }
-
-            OrderAssignment assignment = orderAssignmentRepository.findByOrder_Id(order.getId()).orElse(null);
-            List<Map<String, Object>> tripRows = dispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc(order.getId())
-                    .stream()
-                    .map(this::toTripView)
-                    .toList();
-
-            Map<String, Object> row = new HashMap<>();
-            row.put("orderId", order.getOrderId());
-            row.put("dispatchStatus", resolveDeliveryStatusLabel(resolveTrackingStatus(order)));
-            row.put("dispatchDateTime", order.getDispatchDateTime());
-            row.put("expectedArrivalTime", order.getExpectedArrivalTime());
-            row.put("vehicleId", assignment != null && assignment.getTransitMixer() != null
-                    ? assignment.getTransitMixer().getMixerNumber()
-                    : null);
-            row.put("driverName", assignment != null && assignment.getDriver() != null
-                    ? assignment.getDriver().getDriverName()
-                    : null);
-            row.put("plannedTrips", order.getPlannedTrips() == null ? 1 : order.getPlannedTrips());
-            row.put("completedTrips", order.getCompletedTrips() == null ? 0 : order.getCompletedTrips());
-            row.put("totalFuelUsedLiters", order.getTotalFuelUsedLiters() == null ? 0.0 : order.getTotalFuelUsedLiters());
-            row.put("liveLatitude", order.getLiveLatitude());
-            row.put("liveLongitude", order.getLiveLongitude());
-            row.put("tripRecords", tripRows);
-            rows.add(row);
-        }
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("generatedAt", LocalDateTime.now());
-        response.put("totalRecords", rows.size());
-        response.put("records", rows);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(dispatchMonitoringBoard.snapshot(since));
     }
 
     @PutMapping("/orders/{orderId}/delivery-status")
     public ResponseEntity<?> updateDeliveryStatus(
             @PathVariable String orderId,
-            @RequestParam Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody DispatchDeliveryStatusRequest request) {
 
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -1193,6 +1548,10 @@ public class AdminController {
         }
 
         orderRepository.save(order);
+        dispatchAvailabilityIndex.refresh(order.getId());
+        productionSlotScheduler.refresh(order.getId());
+        dispatchMonitoringBoard.refresh(order);
+        deliveryTrackingViewService.publishTracking(order);
         if (deliveryStatus == DeliveryTrackingStatus.DELIVERED) {
             orderNotificationService.createNotification(order, NotificationType.ORDER_DELIVERED);
         } else if (deliveryStatus == DeliveryTrackingStatus.RETURNED) {
@@ -1209,18 +1568,20 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    // One transaction under the order's row lock, so concurrent trip writes apply their counter deltas in turn.
     @PostMapping("/orders/{orderId}/trips")
+    @Transactional
     public ResponseEntity<?> upsertTripRecord(
             @PathVariable String orderId,
-            @RequestParam Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody TripRecordRequest request) {
 
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
 
-        Order order = orderRepository.findByOrderId(orderId)
+        Order order = orderRepository.findByOrderIdForUpdate(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         if (request.getTripNumber() == null || request.getTripNumber() < 1) {
@@ -1251,6 +1612,8 @@ public class AdminController {
         DispatchTripRecord tripRecord = dispatchTripRecordRepository
                 .findByOrder_IdAndTripNumber(order.getId(), request.getTripNumber())
                 .orElseGet(DispatchTripRecord::new);
+        boolean wasDelivered = tripRecord.getStatus() == DispatchTripStatus.DELIVERED;
+        Double previousFuelUsedLiters = tripRecord.getFuelUsedLiters();
 
         tripRecord.setOrder(order);
         tripRecord.setTripNumber(request.getTripNumber());
@@ -1308,7 +1671,7 @@ public class AdminController {
         }
 
         dispatchTripRecordRepository.save(tripRecord);
-        refreshTripSummary(order);
+        tripSummaryService.applyTripChange(order, wasDelivered, previousFuelUsedLiters, tripRecord);
 
         if (tripStatus == DispatchTripStatus.DISPATCHED) {
             order.setStatus(OrderStatus.DISPATCHED);
@@ -1347,6 +1710,13 @@ public class AdminController {
         }
 
         orderRepository.save(order);
+        // The in-memory views follow the commit; live events and the outbox entry are already tied to it.
+        afterCommit(() -> {
+            dispatchAvailabilityIndex.refresh(order, assignment);
+            productionSlotScheduler.refresh(order, assignment);
+            dispatchMonitoringBoard.refresh(order.getId());
+        });
+        deliveryTrackingViewService.publishTracking(order);
         if (tripStatus == DispatchTripStatus.DELIVERED && order.getStatus() == OrderStatus.DELIVERED) {
             orderNotificationService.createNotification(order, NotificationType.ORDER_DELIVERED);
         } else if (tripStatus == DispatchTripStatus.RETURNED) {
@@ -1370,9 +1740,9 @@ public class AdminController {
     @GetMapping("/orders/{orderId}/trips")
     public ResponseEntity<?> getTripRecords(
             @PathVariable String orderId,
-            @RequestParam Long adminUserId) {
+            @AuthenticationPrincipal AuthenticatedUser admin) {
 
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -1397,21 +1767,27 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
-    private ResponseEntity<?> validateAdmin(Long adminUserId) {
-        if (adminUserId == null) {
-            return ResponseEntity.badRequest().body(Map.of("message", "adminUserId is required"));
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
         }
+        action.run();
+    }
 
-        User adminUser = userRepository.findById(adminUserId).orElse(null);
-        if (adminUser == null) {
-            return ResponseEntity.status(404).body(Map.of("message", "Admin user not found"));
+    private ResponseEntity<?> validateAdmin(AuthenticatedUser admin) {
+        if (admin == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "Admin login required"));
         }
-        if (!"ADMIN".equalsIgnoreCase(adminUser.getRole())) {
+        if (!admin.isAdmin()) {
             return ResponseEntity.status(403).body(Map.of("message", "Only admin can perform this action"));
         }
-        if (adminUser.getApprovalStatus() != null
-                && !adminUser.getApprovalStatus().isBlank()
-                && !"APPROVED".equalsIgnoreCase(adminUser.getApprovalStatus())) {
+        if (!admin.isApproved()) {
             return ResponseEntity.status(403).body(Map.of("message", "Admin account is not approved"));
         }
         return null;
@@ -1538,131 +1914,79 @@ public class AdminController {
     }
 
     private DeliveryTrackingStatus resolveTrackingStatus(Order order) {
-        if (order.getStatus() == OrderStatus.RETURNED) {
-            return DeliveryTrackingStatus.RETURNED;
-        }
-        if (order.getStatus() == OrderStatus.DELIVERED) {
-            return DeliveryTrackingStatus.DELIVERED;
-        }
-
-        DeliveryTrackingStatus tracking = order.getDeliveryTrackingStatus();
-        if (tracking == DeliveryTrackingStatus.ON_THE_WAY) {
-            tracking = DeliveryTrackingStatus.IN_TRANSIT;
-        }
-
-        if (order.getStatus() == OrderStatus.IN_PRODUCTION) {
-            return null;
-        }
-        if (order.getStatus() == OrderStatus.PENDING_APPROVAL || order.getStatus() == OrderStatus.REJECTED) {
-            return null;
-        }
-        if (order.getStatus() == OrderStatus.APPROVED) {
-            return tracking == DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH ? tracking : null;
-        }
-
-        if (order.getStatus() == OrderStatus.DISPATCHED) {
-            // Ensure stale "SCHEDULED" tracking never overrides a dispatched order.
-            if (tracking == null || tracking == DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH) {
-                return DeliveryTrackingStatus.DISPATCHED;
-            }
-            return tracking;
-        }
-
-        if (tracking != null) {
-            return tracking;
-        }
-
-        if (order.getDispatchDateTime() != null) {
-            return DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH;
-        }
-        return null;
+        return adminOrderViewService.resolveTrackingStatus(order);
     }
 
     private String resolveDeliveryStatusLabel(DeliveryTrackingStatus status) {
-        if (status == null) {
-            return null;
-        }
-        switch (status) {
-            case SCHEDULED_FOR_DISPATCH:
-                return "SCHEDULED";
-            case DISPATCHED:
-                return "DISPATCHED";
-            case IN_TRANSIT:
-            case ON_THE_WAY:
-                return "IN_TRANSIT";
-            case DELIVERED:
-                return "DELIVERED";
-            case RETURNED:
-                return "RETURNED";
-            default:
-                return status.name();
-        }
+        return adminOrderViewService.resolveDeliveryStatusLabel(status);
     }
 
-    private void refreshTripSummary(Order order) {
-        if (order.getId() == null) {
-            return;
-        }
-
-        List<DispatchTripRecord> records = dispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc(order.getId());
-        int completedTrips = 0;
-        double fuel = 0.0;
-        int maxTripNumber = 0;
-        LocalDateTime latestDeliveredAt = null;
+    private Map<String, Object> toTripView(DispatchTripRecord trip) {
+        return adminOrderViewService.toTripView(trip);
+    }
 
-        for (DispatchTripRecord record : records) {
-            if (record.getTripNumber() != null && record.getTripNumber() > maxTripNumber) {
-                maxTripNumber = record.getTripNumber();
-            }
+    private boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
 
-            if (record.getStatus() == DispatchTripStatus.DELIVERED) {
-                completedTrips++;
-                if (record.getDeliveredTime() != null
-                        && (latestDeliveredAt == null || record.getDeliveredTime().isAfter(latestDeliveredAt))) {
-                    latestDeliveredAt = record.getDeliveredTime();
-                }
-            }
-            if (record.getFuelUsedLiters() != null) {
-                fuel += record.getFuelUsedLiters();
-            }
+    // An explicit allocation wins; otherwise the plant already on the assignment.
+    private ProductionSlotScheduler.PlantCapacity resolveProductionPlant(OrderAssignment assignment, String plantAllocation) {
+        if (!isBlank(plantAllocation)) {
+            return productionSlotScheduler.findPlant(plantAllocation);
         }
-
-        if (order.getPlannedTrips() == null) {
-            order.setPlannedTrips(maxTripNumber > 0 ? maxTripNumber : 1);
+        if (assignment == null) {
+            return null;
         }
-        order.setCompletedTrips(completedTrips);
-        order.setTotalFuelUsedLiters(fuel);
-        if (latestDeliveredAt != null) {
-            order.setDeliveredAt(latestDeliveredAt);
+        if (assignment.getPlant() != null) {
+            return productionSlotScheduler.getPlant(assignment.getPlant().getId());
         }
+        return productionSlotScheduler.findPlant(assignment.getPlantAllocation());
     }
 
-    private Map<String, Object> toTripView(DispatchTripRecord trip) {
-        Map<String, Object> row = new HashMap<>();
-        row.put("id", trip.getId());
-        row.put("tripNumber", trip.getTripNumber());
-        row.put("status", trip.getStatus());
-        row.put("shift", trip.getShift());
-        row.put("tripQuantityM3", trip.getTripQuantityM3());
-        row.put("scheduledDispatchTime", trip.getScheduledDispatchTime());
-        row.put("actualDispatchTime", trip.getActualDispatchTime());
-        row.put("estimatedDeliveryTime", trip.getEstimatedDeliveryTime());
-        row.put("deliveredTime", trip.getDeliveredTime());
-        row.put("fuelUsedLiters", trip.getFuelUsedLiters());
-        row.put("remarks", trip.getRemarks());
-        row.put("returnReason", trip.getReturnReason());
-        row.put("returnedQuantity", trip.getReturnedQuantity());
-        row.put("transitMixerNumber", trip.getTransitMixerNumber());
-        row.put("driverName", trip.getDriverName());
-        return row;
-    }
-
-    private boolean hasTimeOverlap(LocalDateTime startA, LocalDateTime endA, LocalDateTime startB, LocalDateTime endB) {
-        return startA.isBefore(endB) && endA.isAfter(startB);
+    // Earliest slot the order's plant can take; without a plant, a slot sized for a default plant starting now.
+    private void assignEarliestProductionSlot(Order order, LocalDateTime notBefore) {
+        OrderAssignment assignment = order.getId() == null
+                ? null
+                : orderAssignmentRepository.findByOrder_Id(order.getId()).orElse(null);
+        ProductionSlotScheduler.PlantCapacity plant = resolveProductionPlant(assignment, null);
+        if (plant != null) {
+            ProductionSlotScheduler.SlotProposal proposal = productionSlotScheduler.reserveEarliest(
+                    order.getId(), plant.getPlantId(), order.getQuantity(), notBefore, 0);
+            if (proposal != null) {
+                order.setProductionSlotStart(proposal.getStart());
+                order.setProductionSlotEnd(proposal.getEnd());
+                return;
+            }
+        }
+        order.setProductionSlotStart(notBefore);
+        order.setProductionSlotEnd(notBefore.plusMinutes(productionSlotScheduler.minimumDurationMinutes(
+                plant != null ? plant.getPlantId() : null, order.getQuantity())));
     }
 
-    private boolean isBlank(String value) {
-        return value == null || value.trim().isEmpty();
+    private ResponseEntity<?> productionCapacityConflict(
+            Order order,
+            ProductionSlotScheduler.SlotConflict conflict,
+            LocalDateTime requestedStart,
+            long durationMinutes) {
+        ProductionSlotScheduler.SlotProposal proposal = productionSlotScheduler.findEarliestSlot(
+                conflict.getPlant().getPlantId(), order.getQuantity(), requestedStart, durationMinutes, order.getId());
+
+        String message = "Plant " + conflict.getPlant().getPlantName() + " is over capacity at " + conflict.getBucketStart();
+        if (proposal != null) {
+            message += ". Earliest feasible slot: " + proposal.getStart() + " to " + proposal.getEnd();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", message);
+        body.put("plantAllocation", conflict.getPlant().getPlantName());
+        body.put("conflictAt", conflict.getBucketStart());
+        body.put("bookedM3", Math.round(conflict.getBookedM3() * 100.0) / 100.0);
+        body.put("requestedM3", Math.round(conflict.getRequestedM3() * 100.0) / 100.0);
+        body.put("capacityM3", Math.round(conflict.getCapacityM3() * 100.0) / 100.0);
+        if (proposal != null) {
+            body.put("suggestedSlotStart", proposal.getStart());
+            body.put("suggestedSlotEnd", proposal.getEnd());
+        }
+        return ResponseEntity.badRequest().body(body);
     }
 
     private OrderAssignment getOrCreateAssignment(Order order) {
@@ -1706,92 +2030,4 @@ public class AdminController {
         return value == null ? "" : value.trim().toUpperCase();
     }
 
-    private Map<String, Object> toOrderView(Order order) {
-        refreshTripSummary(order);
-
-        Map<String, Object> row = new HashMap<>();
-        row.put("id", order.getId());
-        row.put("orderId", order.getOrderId());
-        row.put("grade", order.getGrade());
-        row.put("quantity", order.getQuantity());
-        row.put("totalPrice", order.getTotalPrice());
-        row.put("address", order.getAddress());
-        row.put("status", order.getStatus());
-        row.put("orderWorkflowStatus", order.getOrderWorkflowStatus());
-        row.put("paymentOption", order.getPaymentOption());
-        row.put("paymentType", order.getPaymentType());
-        row.put("creditPeriod", order.getCreditPeriod());
-        row.put("creditDays", order.getCreditDays());
-        row.put("creditStatus", order.getCreditStatus());
-        row.put("creditApprovalStatus", order.getCreditApprovalStatus());
-        row.put("creditRequestedAt", order.getCreditRequestedAt());
-        row.put("creditReviewedAt", order.getCreditReviewedAt());
-        row.put("creditDueDate", order.getCreditDueDate());
-        row.put("creditReviewRemark", order.getCreditReviewRemark());
-        row.put("paymentReceivedAt", order.getPaymentReceivedAt());
-        row.put("createdAt", order.getCreatedAt());
-        row.put("deliveryDate", order.getDeliveryDate());
-        row.put("scheduledDate", order.getScheduledDate());
-        row.put("approvedAt", order.getApprovedAt());
-        row.put("productionDate", order.getProductionDate());
-        row.put("productionSlotStart", order.getProductionSlotStart());
-        row.put("productionSlotEnd", order.getProductionSlotEnd());
-        row.put("dispatchDateTime", order.getDispatchDateTime());
-        row.put("expectedArrivalTime", order.getExpectedArrivalTime());
-        row.put("deliverySequence", order.getDeliverySequence());
-        row.put("tripPlanning", order.getTripPlanning());
-        row.put("plannedTrips", order.getPlannedTrips() == null ? 1 : order.getPlannedTrips());
-        row.put("completedTrips", order.getCompletedTrips() == null ? 0 : order.getCompletedTrips());
-        row.put("totalFuelUsedLiters", order.getTotalFuelUsedLiters() == null ? 0.0 : order.getTotalFuelUsedLiters());
-        row.put("latestNotification", order.getLatestNotification());
-        row.put("deliveryTrackingStatus", resolveTrackingStatus(order));
-        row.put("deliveryTrackingStatusLabel", resolveDeliveryStatusLabel(resolveTrackingStatus(order)));
-        row.put("delayInMinutes", order.getDelayInMinutes());
-        row.put("liveLatitude", order.getLiveLatitude());
-        row.put("liveLongitude", order.getLiveLongitude());
-        row.put("deliveredAt", order.getDeliveredAt());
-        row.put("deliveryConfirmationDetails", order.getDeliveryConfirmationDetails());
-        row.put("returnReason", order.getReturnReason());
-        row.put("returnedQuantity", order.getReturnedQuantity());
-        row.put("userId", order.getUser() != null ? order.getUser().getId() : null);
-        row.put("customerName", order.getUser() != null ? order.getUser().getName() : null);
-        row.put("customerEmail", order.getUser() != null ? order.getUser().getEmail() : null);
-        row.put("customerPhone", order.getUser() != null ? order.getUser().getNumber() : null);
-
-        OrderAssignment assignment = orderAssignmentRepository.findByOrder_Id(order.getId()).orElse(null);
-        if (assignment != null) {
-            row.put("plantAllocation", assignment.getPlantAllocation());
-            row.put("priorityLevel", assignment.getPriorityLevel());
-            row.put("transitMixerNumber",
-                    assignment.getTransitMixer() != null ? assignment.getTransitMixer().getMixerNumber() : null);
-            row.put("transitMixerCapacityM3",
-                    assignment.getTransitMixer() != null ? assignment.getTransitMixer().getCapacityM3() : null);
-            row.put("driverName",
-                    assignment.getDriver() != null ? assignment.getDriver().getDriverName() : null);
-            row.put("driverShift",
-                    assignment.getDriver() != null ? assignment.getDriver().getDriverShift() : null);
-            row.put("backupTransitMixerNumber",
-                    assignment.getBackupMixer() != null ? assignment.getBackupMixer().getMixerNumber() : null);
-            row.put("backupDriverName",
-                    assignment.getBackupDriver() != null ? assignment.getBackupDriver().getDriverName() : null);
-        } else {
-            row.put("plantAllocation", null);
-            row.put("priorityLevel", null);
-            row.put("transitMixerNumber", null);
-            row.put("transitMixerCapacityM3", null);
-            row.put("driverName", null);
-            row.put("driverShift", null);
-            row.put("backupTransitMixerNumber", null);
-            row.put("backupDriverName", null);
-        }
-
-        List<Map<String, Object>> trips = dispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc(order.getId())
-                .stream()
-                .map(this::toTripView)
-                .toList();
-        row.put("tripRecords", trips);
-
-        return row;
-    }
-
-}
+}
\ No newline at end of file
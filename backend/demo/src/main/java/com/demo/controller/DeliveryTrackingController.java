@@ -1,5 +1,6 @@
 package com.demo.controller;
 
+import com.demo.dto.AuthenticatedUser;
 import com.demo.dto.DeliveryTrackingUpdateRequest;
 import com.demo.entity.DeliveryTrackingStatus;
 import com.demo.entity.Driver;
@@ -10,14 +11,21 @@ import com.demo.entity.OrderStatus;
 import com.demo.entity.TransitMixer;
 import com.demo.entity.User;
 import com.demo.repository.DriverRepository;
-import com.demo.repository.DispatchTripRecordRepository;
 import com.demo.repository.OrderAssignmentRepository;
 import com.demo.repository.OrderRepository;
 import com.demo.repository.TransitMixerRepository;
 import com.demo.repository.UserRepository;
+import com.demo.service.AdminOrderViewService;
+import com.demo.service.DeliveryTrackingViewService;
+import com.demo.service.DispatchAvailabilityIndex;
+import com.demo.service.DispatchMonitoringBoard;
+import com.demo.service.LiveUpdateBroker;
 import com.demo.service.OrderNotificationService;
+import com.demo.service.ProductionSlotScheduler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -26,6 +34,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -56,7 +65,22 @@ public class DeliveryTrackingController {
     private OrderNotificationService orderNotificationService;
 
     @Autowired
-    private DispatchTripRecordRepository dispatchTripRecordRepository;
+    private DispatchAvailabilityIndex dispatchAvailabilityIndex;
+
+    @Autowired
+    private ProductionSlotScheduler productionSlotScheduler;
+
+    @Autowired
+    private DispatchMonitoringBoard dispatchMonitoringBoard;
+
+    @Autowired
+    private DeliveryTrackingViewService deliveryTrackingViewService;
+
+    @Autowired
+    private LiveUpdateBroker liveUpdateBroker;
+
+    @Autowired
+    private AdminOrderViewService adminOrderViewService;
 
     @GetMapping("/orders/{orderId}")
     public ResponseEntity<?> getTracking(@PathVariable String orderId, @RequestParam Long userId) {
@@ -73,95 +97,38 @@ public class DeliveryTrackingController {
             return ResponseEntity.status(403).body(Map.of("message", "You are not authorized to view this order"));
         }
 
-        OrderAssignment assignment = orderAssignmentRepository.findByOrder_Id(order.getId()).orElse(null);
-        DeliveryTrackingStatus trackingStatus = resolveTrackingStatus(order);
-        boolean gpsAvailable = order.getLiveLatitude() != null && order.getLiveLongitude() != null;
-        boolean delivered = trackingStatus == DeliveryTrackingStatus.DELIVERED
-                || order.getStatus() == OrderStatus.DELIVERED;
-        boolean returned = trackingStatus == DeliveryTrackingStatus.RETURNED
-                || order.getStatus() == OrderStatus.RETURNED;
-
-        Map<String, Object> dispatchInformation = new HashMap<>();
-        dispatchInformation.put("dispatchStatus", trackingStatus);
-        dispatchInformation.put("assignedTransitMixerNumber", assignment != null && assignment.getTransitMixer() != null
-                ? assignment.getTransitMixer().getMixerNumber()
-                : null);
-        dispatchInformation.put("dispatchDateTime", order.getDispatchDateTime());
-
-        Map<String, Object> driverDetails = new HashMap<>();
-        driverDetails.put("name", assignment != null && assignment.getDriver() != null
-                ? assignment.getDriver().getDriverName()
-                : null);
-        driverDetails.put("shift", assignment != null && assignment.getDriver() != null
-                ? assignment.getDriver().getDriverShift()
-                : null);
-        dispatchInformation.put("driverDetails", driverDetails);
-
-        Map<String, Object> realtimeTracking = new HashMap<>();
-        realtimeTracking.put("deliveryStatus", trackingStatus);
-        realtimeTracking.put("gpsAvailable", gpsAvailable);
-        if (gpsAvailable) {
-            realtimeTracking.put("liveLocation", Map.of(
-                    "latitude", order.getLiveLatitude(),
-                    "longitude", order.getLiveLongitude()
-            ));
-        } else {
-            realtimeTracking.put("liveLocation", null);
-        }
-
-        Map<String, Object> estimatedDelivery = new HashMap<>();
-        estimatedDelivery.put("expectedArrivalTime", order.getExpectedArrivalTime());
-        estimatedDelivery.put("delayInMinutes", order.getDelayInMinutes());
-        estimatedDelivery.put("delayUpdate", order.getLatestNotification());
-
-        Map<String, Object> deliveryConfirmation = new HashMap<>();
-        deliveryConfirmation.put("delivered", delivered);
-        deliveryConfirmation.put("returned", returned);
-        deliveryConfirmation.put("deliveredAt", order.getDeliveredAt());
-        deliveryConfirmation.put("details", order.getDeliveryConfirmationDetails());
-        deliveryConfirmation.put("returnReason", order.getReturnReason());
-        deliveryConfirmation.put("returnedQuantity", order.getReturnedQuantity());
+        return ResponseEntity.ok(deliveryTrackingViewService.toTrackingView(order));
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("orderId", order.getOrderId());
-        response.put("trackingReadOnly", true);
-        response.put("dispatchInformation", dispatchInformation);
-        response.put("realTimeTracking", realtimeTracking);
-        response.put("estimatedDeliveryTime", estimatedDelivery);
-        response.put("deliveryConfirmation", deliveryConfirmation);
-        response.put("tripDetails", dispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc(order.getId())
-                .stream()
-                .map(trip -> {
-                    Map<String, Object> row = new HashMap<>();
-                    row.put("tripNumber", trip.getTripNumber());
-                    row.put("status", trip.getStatus() == null ? "" : trip.getStatus().name());
-                    row.put("shift", trip.getShift() == null ? "" : trip.getShift());
-                    row.put("tripQuantityM3", trip.getTripQuantityM3());
-                    row.put("transitMixerNumber", trip.getTransitMixerNumber() == null ? "" : trip.getTransitMixerNumber());
-                    row.put("driverName", trip.getDriverName() == null ? "" : trip.getDriverName());
-                    row.put("dispatchTime", trip.getScheduledDispatchTime());
-                    row.put("estimatedDeliveryTime", trip.getEstimatedDeliveryTime());
-                    row.put("returnReason", trip.getReturnReason() == null ? "" : trip.getReturnReason());
-                    row.put("returnedQuantity", trip.getReturnedQuantity());
-                    return row;
-                })
-                .toList());
-        response.put("nextStage", delivered ? "BILLING_AND_PAYMENT" : returned ? "DELIVERY_RETURNED" : "DELIVERY_IN_PROGRESS");
+    // Server-sent tracking updates for one order; the first event is the current snapshot.
+    @GetMapping(path = "/orders/{orderId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTracking(@PathVariable String orderId, @RequestParam Long userId) {
+        Order order = orderRepository.findByOrderId(orderId).orElse(null);
+        if (order == null) {
+            return ResponseEntity.status(404).build();
+        }
+        if (order.getUser() == null || !Objects.equals(order.getUser().getId(), userId)) {
+            return ResponseEntity.status(403).build();
+        }
 
-        return ResponseEntity.ok(response);
+        SseEmitter emitter = liveUpdateBroker.subscribe(
+                LiveUpdateBroker.orderTopic(order.getOrderId()),
+                DeliveryTrackingViewService.TRACKING_EVENT,
+                deliveryTrackingViewService.toTrackingView(order)
+        );
+        return ResponseEntity.ok(emitter);
     }
 
     @PutMapping("/admin/orders/{orderId}")
     public ResponseEntity<?> updateTracking(
             @PathVariable String orderId,
-            @RequestParam Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody DeliveryTrackingUpdateRequest request) {
 
-        User adminUser = userRepository.findById(adminUserId).orElse(null);
-        if (adminUser == null) {
-            return ResponseEntity.status(404).body(Map.of("message", "User not found"));
+        if (admin == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "Admin login required"));
         }
-        if (!"ADMIN".equalsIgnoreCase(adminUser.getRole())) {
+        if (!admin.isAdmin() || !admin.isApproved()) {
             return ResponseEntity.status(403).body(Map.of("message", "Only admin can update tracking details"));
         }
 
@@ -206,6 +173,7 @@ public class DeliveryTrackingController {
         if (request.getLiveLatitude() != null && request.getLiveLongitude() != null) {
             order.setLiveLatitude(request.getLiveLatitude());
             order.setLiveLongitude(request.getLiveLongitude());
+            order.setLiveLocationUpdatedAt(LocalDateTime.now());
         }
         if (!isBlank(request.getDeliveryConfirmationDetails())) {
             order.setDeliveryConfirmationDetails(request.getDeliveryConfirmationDetails().trim());
@@ -277,6 +245,10 @@ public class DeliveryTrackingController {
 
         DeliveryTrackingStatus updatedStatus = resolveTrackingStatus(order);
         orderRepository.save(order);
+        dispatchAvailabilityIndex.refresh(order, assignment);
+        productionSlotScheduler.refresh(order, assignment);
+        dispatchMonitoringBoard.refresh(order);
+        deliveryTrackingViewService.publishTracking(order);
         boolean shouldNotify = !Objects.equals(previousStatus, order.getStatus())
                 || !Objects.equals(previousTrackingStatus, updatedStatus)
                 || (!isBlank(order.getLatestNotification()) && !Objects.equals(previousLatestNotification, order.getLatestNotification()));
@@ -309,44 +281,7 @@ public class DeliveryTrackingController {
     }
 
     private DeliveryTrackingStatus resolveTrackingStatus(Order order) {
-        if (order.getStatus() == OrderStatus.RETURNED) {
-            return DeliveryTrackingStatus.RETURNED;
-        }
-        if (order.getStatus() == OrderStatus.DELIVERED) {
-            return DeliveryTrackingStatus.DELIVERED;
-        }
-
-        DeliveryTrackingStatus tracking = order.getDeliveryTrackingStatus();
-        if (tracking == DeliveryTrackingStatus.ON_THE_WAY) {
-            tracking = DeliveryTrackingStatus.IN_TRANSIT;
-        }
-
-        if (order.getStatus() == OrderStatus.IN_PRODUCTION) {
-            return null;
-        }
-        if (order.getStatus() == OrderStatus.PENDING_APPROVAL || order.getStatus() == OrderStatus.REJECTED) {
-            return null;
-        }
-        if (order.getStatus() == OrderStatus.APPROVED) {
-            return tracking == DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH ? tracking : null;
-        }
-
-        if (order.getStatus() == OrderStatus.DISPATCHED) {
-            // If status is dispatched, don't let stale scheduled tracking override it.
-            if (tracking == null || tracking == DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH) {
-                return DeliveryTrackingStatus.DISPATCHED;
-            }
-            return tracking;
-        }
-
-        if (tracking != null) {
-            return tracking;
-        }
-
-        if (order.getDispatchDateTime() != null) {
-            return DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH;
-        }
-        return null;
+        return adminOrderViewService.resolveTrackingStatus(order);
     }
 
     private DeliveryTrackingStatus parseDeliveryStatus(String rawStatus) {
@@ -1,12 +1,24 @@
 package com.demo.controller;
 
+import com.demo.dto.BulkStockMovementRequest;
+import com.demo.dto.CursorPage;
+import com.demo.dto.PageCursor;
+import com.demo.dto.StockMovementRequest;
+import com.demo.dto.StockMovementResult;
+import com.demo.dto.StockRollupTotals;
+import com.demo.entity.InventoryDailyRollup;
 import com.demo.entity.InventoryMovement;
 import com.demo.entity.InventoryPurchaseOrder;
 import com.demo.entity.RawMaterial;
+import com.demo.repository.InventoryDailyRollupRepository;
 import com.demo.repository.InventoryMovementRepository;
 import com.demo.repository.InventoryPurchaseOrderRepository;
 import com.demo.repository.RawMaterialRepository;
+import com.demo.service.InventoryRollupService;
+import com.demo.service.InventoryStockService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -23,12 +35,23 @@ import java.util.stream.Collectors;
 @CrossOrigin("*")
 public class InventoryController {
 
+    private static final int MAX_BULK_MOVEMENTS = 2000;
+
     @Autowired
     private RawMaterialRepository rawMaterialRepository;
 
     @Autowired
     private InventoryMovementRepository inventoryMovementRepository;
 
+    @Autowired
+    private InventoryStockService inventoryStockService;
+
+    @Autowired
+    private InventoryRollupService inventoryRollupService;
+
+    @Autowired
+    private InventoryDailyRollupRepository inventoryDailyRollupRepository;
+
     @Autowired
     private InventoryPurchaseOrderRepository inventoryPurchaseOrderRepository;
 
@@ -80,6 +103,7 @@ public class InventoryController {
             material.setUnit(payload.getUnit());
             material.setSupplier(payload.getSupplier());
             material.setReorderLevel(payload.getReorderLevel());
+            boolean stockEdited = material.getQuantity() != payload.getQuantity();
             material.setQuantity(payload.getQuantity());
             if (payload.getPricePerUnit() > 0) {
                 material.setPricePerUnit(payload.getPricePerUnit());
@@ -90,7 +114,11 @@ public class InventoryController {
                 material.setImageUrl(defaultMaterialImage(material.getName()));
             }
             material.setUpdatedAt(LocalDateTime.now());
-            return ResponseEntity.ok(rawMaterialRepository.save(material));
+            RawMaterial saved = rawMaterialRepository.save(material);
+            if (stockEdited) {
+                inventoryStockService.syncRollupBalance(saved.getId());
+            }
+            return ResponseEntity.ok(saved);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
@@ -106,6 +134,7 @@ public class InventoryController {
                     .orElseThrow(() -> new RuntimeException("Material not found"));
 
             inventoryMovementRepository.deleteByRawMaterial_Id(id);
+            inventoryDailyRollupRepository.deleteByRawMaterialId(id);
             inventoryPurchaseOrderRepository.deleteByRawMaterial_Id(id);
             rawMaterialRepository.delete(material);
 
@@ -135,19 +164,53 @@ public class InventoryController {
 
     @PostMapping("/materials/{id}/restock")
     public ResponseEntity<?> restockMaterial(@PathVariable Long id, @RequestBody Map<String, Object> payload) {
-        return adjustStock(id, payload, "RESTOCK");
+        return adjustStock(id, payload, InventoryStockService.RESTOCK);
     }
 
     @PostMapping("/materials/{id}/consume")
     public ResponseEntity<?> consumeMaterial(@PathVariable Long id, @RequestBody Map<String, Object> payload) {
-        return adjustStock(id, payload, "CONSUMPTION");
+        return adjustStock(id, payload, InventoryStockService.CONSUMPTION);
+    }
+
+    // Shift-end replay of batch plant readings: every line is applied, or none are.
+    @PostMapping("/movements/bulk")
+    public ResponseEntity<?> applyBulkMovements(@RequestBody BulkStockMovementRequest request) {
+        List<StockMovementRequest> movements = request == null ? null : request.getMovements();
+        if (movements == null || movements.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "At least one movement is required"));
+        }
+        if (movements.size() > MAX_BULK_MOVEMENTS) {
+            return ResponseEntity.badRequest().body(Map.of("message", "A bulk request can carry at most " + MAX_BULK_MOVEMENTS + " movements"));
+        }
+
+        List<StockMovementResult> results = inventoryStockService.applyBulk(movements);
+        boolean applied = results.stream().allMatch(r -> StockMovementResult.APPLIED.equals(r.getStatus()));
+        if (!applied) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "message", "No movements were applied; fix the rejected lines and resend",
+                    "results", results
+            ));
+        }
+        return ResponseEntity.ok(Map.of(
+                "message", results.size() + " movements applied",
+                "results", results
+        ));
     }
 
+    // Passing limit or cursor switches to the keyset-paginated envelope; from/to override period.
     @GetMapping("/movements")
-    public List<Map<String, Object>> getMovements(
+    public ResponseEntity<?> getMovements(
             @RequestParam(required = false) Long materialId,
-            @RequestParam(defaultValue = "daily") String period
+            @RequestParam(defaultValue = "daily") String period,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String movementType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
+        if (limit != null || cursor != null) {
+            return getMovementPage(materialId, period, movementType, from, to, cursor, limit);
+        }
         LocalDateTime start = periodStart(period);
         LocalDateTime end = LocalDateTime.now();
         List<InventoryMovement> rows;
@@ -156,43 +219,94 @@ public class InventoryController {
         } else {
             rows = inventoryMovementRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(start, end);
         }
-        return rows.stream().map(this::toMovementView).collect(Collectors.toList());
+        return ResponseEntity.ok(rows.stream().map(this::toMovementView).collect(Collectors.toList()));
+    }
+
+    private ResponseEntity<?> getMovementPage(
+            Long materialId,
+            String period,
+            String movementType,
+            LocalDate from,
+            LocalDate to,
+            String cursor,
+            Integer limit
+    ) {
+        PageCursor after;
+        try {
+            after = PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        LocalDateTime start = from != null ? from.atStartOfDay() : periodStart(period);
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : LocalDateTime.now();
+        String type = movementType == null || movementType.isBlank() ? null : movementType.trim().toUpperCase();
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<InventoryMovement> fetched = inventoryMovementRepository.findPage(
+                materialId,
+                type,
+                start,
+                end,
+                after != null ? after.getTime() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1)
+        );
+        Long total = after == null ? inventoryMovementRepository.countForPage(materialId, type, start, end) : null;
+        return ResponseEntity.ok(CursorPage.of(
+                fetched,
+                pageSize,
+                m -> PageCursor.encode(m.getCreatedAt(), m.getId()),
+                rows -> rows.stream().map(this::toMovementView).collect(Collectors.toList()),
+                total
+        ));
     }
 
+    // Reads only the daily rollups; from/to (inclusive dates) override period.
     @GetMapping("/reports/stock")
-    public List<Map<String, Object>> getStockReport(@RequestParam(defaultValue = "daily") String period) {
-        LocalDateTime start = periodStart(period);
-        LocalDateTime end = LocalDateTime.now();
-        List<InventoryMovement> movements = inventoryMovementRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(start, end);
-
-        Map<Long, Double> totalConsumed = new HashMap<>();
-        Map<Long, Double> totalRestocked = new HashMap<>();
-        Map<Long, Long> movementCount = new HashMap<>();
-
-        for (InventoryMovement movement : movements) {
-            if (movement.getRawMaterial() == null || movement.getRawMaterial().getId() == null) continue;
-            Long key = movement.getRawMaterial().getId();
-            movementCount.put(key, movementCount.getOrDefault(key, 0L) + 1);
-            if ("CONSUMPTION".equalsIgnoreCase(movement.getMovementType())) {
-                totalConsumed.put(key, totalConsumed.getOrDefault(key, 0d) + movement.getQuantity());
-            } else if ("RESTOCK".equalsIgnoreCase(movement.getMovementType())) {
-                totalRestocked.put(key, totalRestocked.getOrDefault(key, 0d) + movement.getQuantity());
-            }
+    public ResponseEntity<?> getStockReport(
+            @RequestParam(defaultValue = "daily") String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LocalDate startDate = from != null ? from : periodStart(period).toLocalDate();
+        LocalDate endDate = to != null ? to : LocalDate.now();
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().body(Map.of("message", "from must not be after to"));
         }
 
-        return rawMaterialRepository.findAll()
+        Map<Long, StockRollupTotals> totals = new HashMap<>();
+        for (StockRollupTotals row : inventoryDailyRollupRepository.sumByMaterial(startDate, endDate)) {
+            totals.put(row.getMaterialId(), row);
+        }
+        Map<Long, Double> closingBalances = new HashMap<>();
+        for (InventoryDailyRollup rollup : inventoryDailyRollupRepository.findLatestOnOrBefore(endDate)) {
+            closingBalances.put(rollup.getRawMaterialId(), rollup.getClosingBalance());
+        }
+
+        List<Map<String, Object>> rows = rawMaterialRepository.findAll()
                 .stream()
-                .map(m -> Map.<String, Object>of(
-                        "id", m.getId(),
-                        "name", m.getName(),
-                        "unit", m.getUnit(),
-                        "currentStock", m.getQuantity(),
-                        "reorderLevel", m.getReorderLevel(),
-                        "totalConsumed", totalConsumed.getOrDefault(m.getId(), 0d),
-                        "totalRestocked", totalRestocked.getOrDefault(m.getId(), 0d),
-                        "movementCount", movementCount.getOrDefault(m.getId(), 0L)
-                ))
+                .map(m -> {
+                    StockRollupTotals materialTotals = totals.get(m.getId());
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("id", m.getId());
+                    row.put("name", m.getName());
+                    row.put("unit", m.getUnit());
+                    row.put("currentStock", m.getQuantity());
+                    row.put("reorderLevel", m.getReorderLevel());
+                    row.put("totalConsumed", materialTotals != null ? materialTotals.getConsumed() : 0d);
+                    row.put("totalRestocked", materialTotals != null ? materialTotals.getRestocked() : 0d);
+                    row.put("movementCount", materialTotals != null ? materialTotals.getMovementCount() : 0L);
+                    row.put("closingBalance", closingBalances.get(m.getId()));
+                    return row;
+                })
                 .collect(Collectors.toList());
+        return ResponseEntity.ok(rows);
+    }
+
+    // Re-derives every daily rollup from the movement ledger.
+    @PostMapping("/reports/stock/rebuild")
+    public ResponseEntity<?> rebuildStockRollups() {
+        int rows = inventoryRollupService.rebuild();
+        return ResponseEntity.ok(Map.of("message", "Stock rollups rebuilt", "rollupRows", rows));
     }
 
     @PostMapping("/purchase-orders")
@@ -245,39 +359,23 @@ public class InventoryController {
 
     private ResponseEntity<?> adjustStock(Long materialId, Map<String, Object> payload, String movementType) {
         try {
-            RawMaterial material = rawMaterialRepository.findById(materialId)
-                    .orElseThrow(() -> new RuntimeException("Material not found"));
-
             double quantity = Double.parseDouble(String.valueOf(payload.getOrDefault("quantity", 0)));
             if (quantity <= 0) {
                 return ResponseEntity.badRequest().body(Map.of("message", "Quantity must be greater than 0"));
             }
 
-            if ("CONSUMPTION".equals(movementType) && material.getQuantity() < quantity) {
-                return ResponseEntity.badRequest().body(Map.of("message", "Insufficient stock"));
-            }
-
-            if ("RESTOCK".equals(movementType)) {
-                material.setQuantity(material.getQuantity() + quantity);
-            } else {
-                material.setQuantity(material.getQuantity() - quantity);
-            }
-            material.setUpdatedAt(LocalDateTime.now());
-            rawMaterialRepository.save(material);
-
-            InventoryMovement movement = new InventoryMovement();
-            movement.setRawMaterial(material);
-            movement.setMovementType(movementType);
-            movement.setQuantity(quantity);
-            movement.setReferenceType(String.valueOf(payload.getOrDefault("referenceType", "MANUAL")));
-            movement.setReferenceId(String.valueOf(payload.getOrDefault("referenceId", "")));
-            movement.setNote(String.valueOf(payload.getOrDefault("note", "")));
-            movement.setCreatedAt(LocalDateTime.now());
-            inventoryMovementRepository.save(movement);
+            double currentStock = inventoryStockService.adjustMaterial(
+                    materialId,
+                    movementType,
+                    quantity,
+                    String.valueOf(payload.getOrDefault("referenceType", "MANUAL")),
+                    String.valueOf(payload.getOrDefault("referenceId", "")),
+                    String.valueOf(payload.getOrDefault("note", ""))
+            );
 
             return ResponseEntity.ok(Map.of(
                     "message", movementType + " successful",
-                    "currentStock", material.getQuantity()
+                    "currentStock", currentStock
             ));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
@@ -1,5 +1,7 @@
 package com.demo.controller;
 
+import com.demo.dto.CursorPage;
+import com.demo.dto.PageCursor;
 import com.demo.entity.EquipmentBreakdown;
 import com.demo.entity.MaintenanceSchedule;
 import com.demo.entity.SparePart;
@@ -9,6 +11,8 @@ import com.demo.repository.MaintenanceScheduleRepository;
 import com.demo.repository.SparePartRepository;
 import com.demo.repository.SparePartUsageRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -140,8 +144,39 @@ public class MaintenanceController {
     }
 
     @GetMapping("/breakdowns")
-    public List<Map<String, Object>> breakdowns() {
-        return breakdownRepository.findAllByOrderByBreakdownTimeDesc().stream().map(this::breakdownView).collect(Collectors.toList());
+    public ResponseEntity<?> breakdowns(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String equipmentType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(breakdownRepository.findAllByOrderByBreakdownTimeDesc().stream().map(this::breakdownView).collect(Collectors.toList()));
+        }
+        PageCursor after;
+        try {
+            after = PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+        String statusFilter = str(status).isBlank() ? null : str(status).toUpperCase();
+        String typeFilter = str(equipmentType).isBlank() ? null : str(equipmentType).toUpperCase();
+        LocalDateTime fromTime = from != null ? from.atStartOfDay() : null;
+        LocalDateTime toTime = to != null ? to.plusDays(1).atStartOfDay() : null;
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<EquipmentBreakdown> fetched = breakdownRepository.findPage(
+                statusFilter, typeFilter, fromTime, toTime,
+                after != null ? after.getTime() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1));
+        Long total = after == null ? breakdownRepository.countForPage(statusFilter, typeFilter, fromTime, toTime) : null;
+        return ResponseEntity.ok(CursorPage.of(
+                fetched,
+                pageSize,
+                b -> PageCursor.encode(b.getBreakdownTime(), b.getId()),
+                rows -> rows.stream().map(this::breakdownView).collect(Collectors.toList()),
+                total));
     }
 
     @PostMapping("/breakdowns")
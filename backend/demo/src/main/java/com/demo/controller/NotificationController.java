@@ -3,8 +3,10 @@ package com.demo.controller;
 import com.demo.entity.OrderNotification;
 import com.demo.entity.User;
 import com.demo.repository.UserRepository;
+import com.demo.service.LiveUpdateBroker;
 import com.demo.service.OrderNotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,8 +15,8 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -30,15 +32,25 @@ public class NotificationController {
     @Autowired
     private OrderNotificationService orderNotificationService;
 
+    @Autowired
+    private LiveUpdateBroker liveUpdateBroker;
+
+    // Without beforeId this is the newest page, served from the inbox cache; older
+    // history is paged by passing the smallest id already shown as beforeId.
     @GetMapping("/my/{userId}")
-    public ResponseEntity<?> getMyNotifications(@PathVariable Long userId) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) {
+    public ResponseEntity<?> getMyNotifications(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        if (!isKnownUser(userId)) {
             return ResponseEntity.status(404).body(Map.of("message", "User not found"));
         }
 
-        List<Map<String, Object>> rows = orderNotificationService
-                .getNotificationsByUser(userId)
+        List<OrderNotification> notifications = beforeId == null
+                ? orderNotificationService.getRecentNotifications(userId)
+                : orderNotificationService.getNotificationsBefore(userId, beforeId, size);
+        List<Map<String, Object>> rows = notifications
                 .stream()
                 .map(this::toView)
                 .collect(Collectors.toList());
@@ -48,14 +60,29 @@ public class NotificationController {
 
     @GetMapping("/my/{userId}/unread-count")
     public ResponseEntity<?> getUnreadCount(@PathVariable Long userId) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) {
+        if (!isKnownUser(userId)) {
             return ResponseEntity.status(404).body(Map.of("message", "User not found"));
         }
 
         return ResponseEntity.ok(Map.of("unreadCount", orderNotificationService.getUnreadCount(userId)));
     }
 
+    // Server-sent notifications and tracking updates for the user's orders.
+    // The first event carries the unread count so the badge is right without a poll.
+    @GetMapping(path = "/my/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(@PathVariable Long userId) {
+        if (!userRepository.existsById(userId)) {
+            return ResponseEntity.status(404).build();
+        }
+
+        SseEmitter emitter = liveUpdateBroker.subscribe(
+                LiveUpdateBroker.userTopic(userId),
+                "unread-count",
+                Map.of("unreadCount", orderNotificationService.getUnreadCount(userId))
+        );
+        return ResponseEntity.ok(emitter);
+    }
+
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<?> markAsRead(
             @PathVariable Long notificationId,
@@ -88,16 +115,12 @@ public class NotificationController {
         ));
     }
 
+    // A cached inbox means the user was already looked up.
+    private boolean isKnownUser(Long userId) {
+        return orderNotificationService.hasCachedInbox(userId) || userRepository.existsById(userId);
+    }
+
     private Map<String, Object> toView(OrderNotification n) {
-        Map<String, Object> row = new HashMap<>();
-        row.put("id", n.getId());
-        row.put("userId", n.getUserId());
-        row.put("orderId", n.getOrderId() == null ? "" : n.getOrderId());
-        row.put("title", n.getTitle() == null ? "" : n.getTitle());
-        row.put("message", n.getMessage() == null ? "" : n.getMessage());
-        row.put("type", n.getType() == null ? "" : n.getType().name());
-        row.put("isRead", n.isRead());
-        row.put("createdAt", n.getCreatedAt());
-        return row;
+        return orderNotificationService.toView(n);
     }
 }
@@ -17,12 +17,15 @@ import com.demo.repository.OrderAssignmentRepository;
 import com.demo.repository.OrderRepository;
 import com.demo.repository.PaymentRecordRepository;
 import com.demo.repository.UserRepository;
+import com.demo.service.InventoryStockService;
 import com.demo.service.OrderService;
 import com.demo.service.OrderNotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -52,6 +55,9 @@ public class OrderController {
     @Autowired
     private ConcreteProductStockRepository productStockRepository;
 
+    @Autowired
+    private InventoryStockService inventoryStockService;
+
     @Autowired
     private OrderAssignmentRepository orderAssignmentRepository;
 
@@ -66,8 +72,30 @@ public class OrderController {
 
     // ✅ GET ALL
     @GetMapping
-    public List<Order> getAllOrders() {
-        return orderService.getAllOrders();
+    public ResponseEntity<?> getAllOrders(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(orderService.getAllOrders());
+        }
+        try {
+            OrderStatus statusFilter = status == null || status.isBlank()
+                    ? null
+                    : OrderStatus.valueOf(status.trim().toUpperCase());
+            return ResponseEntity.ok(orderService.getOrderPage(
+                    statusFilter,
+                    userId,
+                    from != null ? from.atStartOfDay() : null,
+                    to != null ? to.plusDays(1).atStartOfDay() : null,
+                    cursor,
+                    limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid status or cursor"));
+        }
     }
 
     @GetMapping("/my-orders/{userId}")
@@ -253,10 +281,6 @@ public class OrderController {
             if (product == null) {
                 return ResponseEntity.badRequest().body(Map.of("message", "Selected product is not available"));
             }
-            if (product.getAvailableQuantity() < quantity) {
-                return ResponseEntity.badRequest().body(Map.of("message", "Out of stock. Please wait for restock."));
-            }
-
             Order order = new Order();
             LocalDateTime now = LocalDateTime.now();
             order.setOrderId(generateReadableOrderId(grade));
@@ -303,10 +327,17 @@ public class OrderController {
                 order.setLatestNotification("Your order is waiting for admin approval");
             }
 
-            Order saved = orderService.createOrder(order);
-            product.setAvailableQuantity(product.getAvailableQuantity() - quantity);
-            product.setUpdatedAt(LocalDateTime.now());
-            productStockRepository.save(product);
+            // Stock is taken atomically so two orders cannot both claim the last batch.
+            if (!inventoryStockService.reserveProduct(product.getId(), quantity)) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Out of stock. Please wait for restock."));
+            }
+            Order saved;
+            try {
+                saved = orderService.createOrder(order);
+            } catch (RuntimeException e) {
+                inventoryStockService.releaseProduct(product.getId(), quantity);
+                throw e;
+            }
 
             // Log creation history
             approvalHistoryRepository.save(new OrderApprovalHistory(
@@ -2,6 +2,7 @@ package com.demo.controller;
 
 import com.demo.entity.ConcreteProductStock;
 import com.demo.repository.ConcreteProductStockRepository;
+import com.demo.service.InventoryStockService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +21,9 @@ public class ProductStockController {
     @Autowired
     private ConcreteProductStockRepository productRepository;
 
+    @Autowired
+    private InventoryStockService inventoryStockService;
+
     @GetMapping("/api/inventory/products")
     public List<Map<String, Object>> getProductsForCustomer() {
         ensureDefaultProducts();
@@ -74,15 +78,11 @@ public class ProductStockController {
                 return ResponseEntity.badRequest().body(Map.of("message", "Quantity must be greater than 0"));
             }
 
-            ConcreteProductStock product = productRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Product not found"));
-            product.setAvailableQuantity(product.getAvailableQuantity() + qty);
-            product.setUpdatedAt(LocalDateTime.now());
-            productRepository.save(product);
+            double stock = inventoryStockService.restockProduct(id, qty);
 
             return ResponseEntity.ok(Map.of(
                     "message", "Restocked successfully",
-                    "stock", product.getAvailableQuantity()
+                    "stock", stock
             ));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
@@ -1,18 +1,24 @@
 package com.demo.controller;
 
+import com.demo.dto.AuthenticatedUser;
+import com.demo.dto.CursorPage;
+import com.demo.dto.MixDesignBatchCostRequest;
+import com.demo.dto.MixDesignSheetUpdateRequest;
+import com.demo.dto.PageCursor;
 import com.demo.dto.QualityAccessResponse;
 import com.demo.entity.MixDesign;
 import com.demo.entity.Order;
 import com.demo.entity.OrderStatus;
 import com.demo.entity.QualityInspection;
-import com.demo.entity.User;
 import com.demo.repository.MixDesignRepository;
 import com.demo.repository.OrderRepository;
 import com.demo.repository.QualityInspectionRepository;
-import com.demo.repository.UserRepository;
 import com.demo.service.MixDesignCostService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,6 +29,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -46,9 +53,6 @@ public class QualityController {
     @Autowired
     private QualityInspectionRepository qualityInspectionRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private MixDesignCostService mixDesignCostService;
 
@@ -69,14 +73,21 @@ public class QualityController {
     }
 
     @GetMapping("/admin/orders")
-    public ResponseEntity<?> getOrdersForQualityAdmin(@RequestParam(required = false) Long adminUserId) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+    public ResponseEntity<?> getOrdersForQualityAdmin(@AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
 
+        // Two round-trips whatever the order count: the orders with their customers, then
+        // the latest inspection of each. The highest id wins when inspections share a time.
+        Map<Long, QualityInspection> latestByOrderId = new HashMap<>();
+        for (QualityInspection inspection : qualityInspectionRepository.findLatestPerOrder()) {
+            latestByOrderId.putIfAbsent(inspection.getOrder().getId(), inspection);
+        }
+
         List<Map<String, Object>> rows = new ArrayList<>();
-        for (Order order : orderRepository.findAll()) {
+        for (Order order : orderRepository.findAllForAdminView()) {
             Map<String, Object> row = new LinkedHashMap<>();
             row.put("id", order.getId());
             row.put("orderId", order.getOrderId());
@@ -86,9 +97,7 @@ public class QualityController {
             row.put("customerName", order.getUser() != null ? order.getUser().getName() : null);
             row.put("customerEmail", order.getUser() != null ? order.getUser().getEmail() : null);
 
-            QualityInspection latestInspection = qualityInspectionRepository
-                    .findFirstByOrder_IdOrderByRecordedAtDesc(order.getId())
-                    .orElse(null);
+            QualityInspection latestInspection = latestByOrderId.get(order.getId());
             row.put("latestInspection", latestInspection == null ? null : toInspectionSummary(latestInspection));
             rows.add(row);
         }
@@ -96,8 +105,8 @@ public class QualityController {
     }
 
     @GetMapping("/admin/mix-design-cost/orders")
-    public ResponseEntity<?> getOrdersForMixDesignCost(@RequestParam(required = false) Long adminUserId) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+    public ResponseEntity<?> getOrdersForMixDesignCost(@AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -106,10 +115,10 @@ public class QualityController {
 
     @GetMapping("/admin/mix-design-cost/calculate")
     public ResponseEntity<?> calculateMixDesignCost(
-            @RequestParam(required = false) Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestParam String orderId
     ) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -123,9 +132,42 @@ public class QualityController {
         }
     }
 
+    @PostMapping("/admin/mix-design-cost/batch")
+    public ResponseEntity<?> batchMixDesignCost(
+            @AuthenticationPrincipal AuthenticatedUser admin,
+            @RequestBody(required = false) MixDesignBatchCostRequest request
+    ) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+        try {
+            return ResponseEntity.ok(mixDesignCostService.priceBatch(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/admin/mix-design-cost/sheets/{gradeCode}")
+    public ResponseEntity<?> updateMixDesignCostSheet(
+            @AuthenticationPrincipal AuthenticatedUser admin,
+            @PathVariable String gradeCode,
+            @RequestBody MixDesignSheetUpdateRequest request
+    ) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
+        if (adminValidation != null) {
+            return adminValidation;
+        }
+        try {
+            return ResponseEntity.ok(mixDesignCostService.updateSheet(gradeCode, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping("/admin/mix-designs")
-    public ResponseEntity<?> getAllMixDesigns(@RequestParam(required = false) Long adminUserId) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+    public ResponseEntity<?> getAllMixDesigns(@AuthenticationPrincipal AuthenticatedUser admin) {
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -134,10 +176,10 @@ public class QualityController {
 
     @GetMapping("/admin/mix-designs/approved")
     public ResponseEntity<?> getApprovedMixDesigns(
-            @RequestParam(required = false) Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestParam(required = false) String grade
     ) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -153,10 +195,10 @@ public class QualityController {
 
     @PostMapping("/admin/mix-designs")
     public ResponseEntity<?> createMixDesign(
-            @RequestParam(required = false) Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody Map<String, Object> payload
     ) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -190,10 +232,10 @@ public class QualityController {
     @PutMapping("/admin/mix-designs/{id}")
     public ResponseEntity<?> updateMixDesign(
             @PathVariable Long id,
-            @RequestParam(required = false) Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody Map<String, Object> payload
     ) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -234,10 +276,10 @@ public class QualityController {
     @PutMapping("/admin/mix-designs/{id}/approve")
     public ResponseEntity<?> approveMixDesign(
             @PathVariable Long id,
-            @RequestParam(required = false) Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody(required = false) Map<String, Object> payload
     ) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -265,14 +307,23 @@ public class QualityController {
 
     @GetMapping("/admin/inspections")
     public ResponseEntity<?> getInspections(
-            @RequestParam(required = false) Long adminUserId,
-            @RequestParam(required = false) String orderId
+            @AuthenticationPrincipal AuthenticatedUser admin,
+            @RequestParam(required = false) String orderId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean compliancePassed,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
 
+        if (limit != null || cursor != null) {
+            return getInspectionPage(orderId, compliancePassed, from, to, cursor, limit);
+        }
+
         if (orderId != null && !orderId.isBlank()) {
             Order order = orderRepository.findByOrderId(orderId).orElse(null);
             if (order == null) {
@@ -288,12 +339,60 @@ public class QualityController {
         return ResponseEntity.ok(qualityInspectionRepository.findAllByOrderByRecordedAtDesc().stream().map(this::toInspectionView).toList());
     }
 
+    private ResponseEntity<?> getInspectionPage(
+            String orderId,
+            Boolean compliancePassed,
+            LocalDate from,
+            LocalDate to,
+            String cursor,
+            Integer limit
+    ) {
+        PageCursor after;
+        try {
+            after = PageCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+
+        Long orderKey = null;
+        if (orderId != null && !orderId.isBlank()) {
+            Order order = orderRepository.findByOrderId(orderId).orElse(null);
+            if (order == null) {
+                return ResponseEntity.status(404).body(Map.of("message", "Order not found"));
+            }
+            orderKey = order.getId();
+        }
+
+        LocalDateTime fromTime = from != null ? from.atStartOfDay() : null;
+        LocalDateTime toTime = to != null ? to.plusDays(1).atStartOfDay() : null;
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<QualityInspection> fetched = qualityInspectionRepository.findPage(
+                orderKey,
+                compliancePassed,
+                fromTime,
+                toTime,
+                after != null ? after.getTime() : null,
+                after != null ? after.getId() : null,
+                PageRequest.of(0, pageSize + 1)
+        );
+        Long total = after == null
+                ? qualityInspectionRepository.countForPage(orderKey, compliancePassed, fromTime, toTime)
+                : null;
+        return ResponseEntity.ok(CursorPage.of(
+                fetched,
+                pageSize,
+                inspection -> PageCursor.encode(inspection.getRecordedAt(), inspection.getId()),
+                rows -> rows.stream().map(this::toInspectionView).toList(),
+                total
+        ));
+    }
+
     @GetMapping("/admin/orders/{orderId}/history")
     public ResponseEntity<?> getOrderQualityHistory(
             @PathVariable String orderId,
-            @RequestParam(required = false) Long adminUserId
+            @AuthenticationPrincipal AuthenticatedUser admin
     ) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -316,10 +415,10 @@ public class QualityController {
 
     @PostMapping("/admin/inspections")
     public ResponseEntity<?> createInspection(
-            @RequestParam(required = false) Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody Map<String, Object> payload
     ) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -370,7 +469,7 @@ public class QualityController {
         inspection.setOrder(order);
         inspection.setMixDesign(mix);
         inspection.setBatchCode(toStringValue(payload.get("batchCode")));
-        inspection.setRecordedByAdminId(adminUserId);
+        inspection.setRecordedByAdminId(admin.getUserId());
 
         double slumpResult = toDouble(payload.get("slumpTestResultMm"), 0);
         double slumpMin = mix.getSlumpMinMm() > 0 ? mix.getSlumpMinMm() : 75;
@@ -410,10 +509,10 @@ public class QualityController {
     @PutMapping("/admin/inspections/{id}/certificate")
     public ResponseEntity<?> generateCertificate(
             @PathVariable Long id,
-            @RequestParam(required = false) Long adminUserId,
+            @AuthenticationPrincipal AuthenticatedUser admin,
             @RequestBody(required = false) Map<String, Object> payload
     ) {
-        ResponseEntity<?> adminValidation = validateAdmin(adminUserId);
+        ResponseEntity<?> adminValidation = validateAdmin(admin);
         if (adminValidation != null) {
             return adminValidation;
         }
@@ -445,21 +544,14 @@ public class QualityController {
         ));
     }
 
-    private ResponseEntity<?> validateAdmin(Long adminUserId) {
-        if (adminUserId == null) {
-            return ResponseEntity.badRequest().body(Map.of("message", "adminUserId is required"));
-        }
-
-        User adminUser = userRepository.findById(adminUserId).orElse(null);
-        if (adminUser == null) {
-            return ResponseEntity.status(404).body(Map.of("message", "Admin user not found"));
+    private ResponseEntity<?> validateAdmin(AuthenticatedUser admin) {
+        if (admin == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "Admin login required"));
         }
-        if (!"ADMIN".equalsIgnoreCase(adminUser.getRole())) {
+        if (!admin.isAdmin()) {
             return ResponseEntity.status(403).body(Map.of("message", "Only admin can perform this action"));
         }
-        if (adminUser.getApprovalStatus() != null
-                && !adminUser.getApprovalStatus().isBlank()
-                && !"APPROVED".equalsIgnoreCase(adminUser.getApprovalStatus())) {
+        if (!admin.isApproved()) {
             return ResponseEntity.status(403).body(Map.of("message", "Admin account is not approved"));
         }
         return null;
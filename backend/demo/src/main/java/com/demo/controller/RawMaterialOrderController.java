@@ -6,6 +6,7 @@ import com.demo.entity.User;
 import com.demo.repository.RawMaterialOrderRepository;
 import com.demo.repository.RawMaterialRepository;
 import com.demo.repository.UserRepository;
+import com.demo.service.InventoryStockService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -31,6 +32,9 @@ public class RawMaterialOrderController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private InventoryStockService inventoryStockService;
+
     @GetMapping("/api/inventory/raw-materials")
     public List<Map<String, Object>> getRawMaterialsForCustomer() {
         ensureDefaultMaterialsForCustomer();
@@ -56,7 +60,7 @@ public class RawMaterialOrderController {
             RawMaterial material = rawMaterialRepository.findById(materialId)
                     .orElseThrow(() -> new RuntimeException("Raw material not found"));
 
-            if (material.getQuantity() < quantity) {
+            if (!inventoryStockService.consumeMaterial(material.getId(), quantity)) {
                 return ResponseEntity.badRequest().body(Map.of("message", "Insufficient stock for selected raw material"));
             }
 
@@ -74,10 +78,13 @@ public class RawMaterialOrderController {
             order.setStatus("APPROVED");
             order.setCreatedAt(LocalDateTime.now());
 
-            RawMaterialOrder saved = rawMaterialOrderRepository.save(order);
-            material.setQuantity(material.getQuantity() - quantity);
-            material.setUpdatedAt(LocalDateTime.now());
-            rawMaterialRepository.save(material);
+            RawMaterialOrder saved;
+            try {
+                saved = rawMaterialOrderRepository.save(order);
+            } catch (RuntimeException e) {
+                inventoryStockService.releaseMaterial(material.getId(), quantity);
+                throw e;
+            }
 
             return ResponseEntity.ok(Map.of(
                     "message", "Raw material order placed successfully",
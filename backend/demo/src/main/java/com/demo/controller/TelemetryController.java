@@ -0,0 +1,132 @@
+package com.demo.controller;
+
+import com.demo.dto.AuthenticatedUser;
+import com.demo.dto.GpsBatchRequest;
+import com.demo.entity.Order;
+import com.demo.entity.VehiclePosition;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.VehiclePositionRepository;
+import com.demo.service.GpsIngestionService;
+import com.demo.service.TransitMixerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/telemetry")
+@CrossOrigin("*")
+public class TelemetryController {
+
+    public static final String TELEMETRY_KEY_HEADER = "X-Telemetry-Key";
+
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int DEFAULT_ROUTE_LIMIT = 1000;
+    private static final int MAX_ROUTE_LIMIT = 10000;
+
+    @Autowired
+    private GpsIngestionService gpsIngestionService;
+
+    @Autowired
+    private VehiclePositionRepository vehiclePositionRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransitMixerService transitMixerService;
+
+    // Batched pings from transit mixer devices, authenticated by the mixer's telemetry key,
+    // or sent by an admin; positions are written asynchronously.
+    @PostMapping("/gps")
+    public ResponseEntity<?> ingestGps(
+            @RequestHeader(value = TELEMETRY_KEY_HEADER, required = false) String telemetryKey,
+            @AuthenticationPrincipal AuthenticatedUser caller,
+            @RequestBody GpsBatchRequest request) {
+        String deviceMixerNumber = null;
+        if (telemetryKey != null) {
+            deviceMixerNumber = transitMixerService.findMixerNumberByTelemetryKey(telemetryKey);
+            if (deviceMixerNumber == null) {
+                return ResponseEntity.status(401).body(Map.of("message", "Unknown telemetry key"));
+            }
+        } else if (caller == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "A telemetry key or admin login is required"));
+        } else if (!caller.isAdmin() || !caller.isApproved()) {
+            return ResponseEntity.status(403).body(Map.of("message", "Only mixer devices and admins can report positions"));
+        }
+
+        if (request == null || request.getPoints() == null || request.getPoints().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "At least one GPS point is required"));
+        }
+        if (request.getPoints().size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("message", "A batch can carry at most " + MAX_BATCH_SIZE + " points"));
+        }
+
+        GpsIngestionService.IngestResult result = gpsIngestionService.accept(request.getPoints(), deviceMixerNumber);
+        if (result.isOverloaded()) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("message", "Telemetry backlog is full, retry shortly"));
+        }
+        return ResponseEntity.accepted().body(Map.of(
+                "accepted", result.getAccepted(),
+                "rejected", result.getRejected()
+        ));
+    }
+
+    // Recorded route of one order, oldest point first, for replay on the tracking map;
+    // open to the customer who placed the order and to admins.
+    @GetMapping("/orders/{orderId}/positions")
+    public ResponseEntity<?> getRoute(
+            @PathVariable String orderId,
+            @AuthenticationPrincipal AuthenticatedUser caller,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+
+        if (caller == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "Login required"));
+        }
+        Order order = orderRepository.findByOrderId(orderId).orElse(null);
+        if (order == null) {
+            return ResponseEntity.status(404).body(Map.of("message", "Order not found"));
+        }
+        boolean owner = order.getUser() != null && Objects.equals(order.getUser().getId(), caller.getUserId());
+        if (!owner && !(caller.isAdmin() && caller.isApproved())) {
+            return ResponseEntity.status(403).body(Map.of("message", "You are not authorized to view this order"));
+        }
+
+        int resolvedLimit = limit == null || limit <= 0 ? DEFAULT_ROUTE_LIMIT : Math.min(limit, MAX_ROUTE_LIMIT);
+        List<VehiclePosition> positions = vehiclePositionRepository.findRoute(
+                order.getOrderId(), from, to, PageRequest.of(0, resolvedLimit));
+        return ResponseEntity.ok(positions.stream().map(this::toPositionView).toList());
+    }
+
+    private Map<String, Object> toPositionView(VehiclePosition position) {
+        Map<String, Object> view = new HashMap<>();
+        view.put("transitMixerNumber", position.getTransitMixerNumber());
+        view.put("latitude", position.getLatitude());
+        view.put("longitude", position.getLongitude());
+        view.put("speedKmph", position.getSpeedKmph());
+        view.put("headingDegrees", position.getHeadingDegrees());
+        view.put("recordedAt", position.getRecordedAt());
+        return view;
+    }
+}
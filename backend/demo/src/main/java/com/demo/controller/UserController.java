@@ -1,12 +1,15 @@
 package com.demo.controller;
 
+import com.demo.config.JwtAuthenticationFilter;
 import com.demo.dto.ForgotPasswordRequest;
 import com.demo.dto.ResetPasswordRequest;
 import com.demo.dto.UpdateProfileRequest;
 import com.demo.dto.VerifyOtpRequest;
 import com.demo.entity.User;
 import com.demo.repository.UserRepository;
+import com.demo.service.AuthTokenService;
 import com.demo.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +27,8 @@ public class UserController {
     private UserService userService;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private AuthTokenService authTokenService;
 
     // GET ALL
     @GetMapping
@@ -103,10 +108,23 @@ public class UserController {
         response.put("email", user.getEmail());
         response.put("number", user.getNumber());   // can be null safely
         response.put("address", user.getAddress()); // can be null safely
+        // Signed token carrying role and approval; send it as "Authorization: Bearer <token>"
+        response.put("token", authTokenService.issue(user));
+        response.put("tokenType", "Bearer");
+        response.put("expiresIn", authTokenService.getTtlSeconds());
 
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(HttpServletRequest request) {
+        String token = JwtAuthenticationFilter.bearerToken(request);
+        if (token != null) {
+            authTokenService.revoke(token);
+        }
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
+    }
+
     @PostMapping("/forgot-password")
     public ResponseEntity<?> forgotPassword(@RequestBody ForgotPasswordRequest request) {
         try {
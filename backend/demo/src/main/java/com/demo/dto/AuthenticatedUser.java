@@ -0,0 +1,44 @@
+package com.demo.dto;
+
+/**
+ * The caller of a request, as carried by its login token.
+ */
+public class AuthenticatedUser {
+
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final String approvalStatus;
+
+    public AuthenticatedUser(Long userId, String email, String role, String approvalStatus) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.approvalStatus = approvalStatus;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getApprovalStatus() {
+        return approvalStatus;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equalsIgnoreCase(role);
+    }
+
+    // Accounts created before approval existed have no status and count as approved.
+    public boolean isApproved() {
+        return approvalStatus == null || approvalStatus.isBlank() || "APPROVED".equalsIgnoreCase(approvalStatus);
+    }
+}
@@ -0,0 +1,16 @@
+package com.demo.dto;
+
+import java.util.List;
+
+public class BulkStockMovementRequest {
+
+    private List<StockMovementRequest> movements;
+
+    public List<StockMovementRequest> getMovements() {
+        return movements;
+    }
+
+    public void setMovements(List<StockMovementRequest> movements) {
+        this.movements = movements;
+    }
+}
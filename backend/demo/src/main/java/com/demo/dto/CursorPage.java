@@ -0,0 +1,72 @@
+package com.demo.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Response envelope shared by the keyset-paginated list endpoints. Repositories are
+ * asked for {@code limit + 1} rows; the extra row only tells whether another page exists.
+ * {@code totalCount} is computed on the first page only and is null afterwards.
+ */
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+    private final int limit;
+    private final Long totalCount;
+
+    public CursorPage(List<T> items, String nextCursor, boolean hasMore, int limit, Long totalCount) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+        this.totalCount = totalCount;
+    }
+
+    public static int resolveLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * Trims a {@code limit + 1} fetch to the page, maps it and derives the next cursor
+     * from the last row kept.
+     */
+    public static <E, T> CursorPage<T> of(
+            List<E> fetched,
+            int limit,
+            Function<E, String> cursorOf,
+            Function<List<E>, List<T>> mapper,
+            Long totalCount) {
+        boolean hasMore = fetched.size() > limit;
+        List<E> rows = hasMore ? fetched.subList(0, limit) : fetched;
+        String nextCursor = hasMore ? cursorOf.apply(rows.get(rows.size() - 1)) : null;
+        return new CursorPage<>(mapper.apply(rows), nextCursor, hasMore, limit, totalCount);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public Long getTotalCount() {
+        return totalCount;
+    }
+}
@@ -0,0 +1,55 @@
+package com.demo.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class DispatchPlanRequest {
+
+    private LocalDate date;
+    // One-way plant-to-site minutes and on-site unloading minutes for every trip.
+    private Integer travelMinutes;
+    private Integer pourMinutes;
+    private Long timeBudgetMillis;
+    // Optional: plan only these orders instead of every approved/in-production order of the day.
+    private List<String> orderIds;
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Integer getTravelMinutes() {
+        return travelMinutes;
+    }
+
+    public void setTravelMinutes(Integer travelMinutes) {
+        this.travelMinutes = travelMinutes;
+    }
+
+    public Integer getPourMinutes() {
+        return pourMinutes;
+    }
+
+    public void setPourMinutes(Integer pourMinutes) {
+        this.pourMinutes = pourMinutes;
+    }
+
+    public Long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(Long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public List<String> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<String> orderIds) {
+        this.orderIds = orderIds;
+    }
+}
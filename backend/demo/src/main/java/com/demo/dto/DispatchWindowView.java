@@ -0,0 +1,52 @@
+package com.demo.dto;
+
+import java.time.LocalDateTime;
+
+public class DispatchWindowView {
+
+    private final Long orderId;
+    private final String orderNumber;
+    private final LocalDateTime dispatchDateTime;
+    private final LocalDateTime expectedArrivalTime;
+    private final String transitMixerNumber;
+    private final String driverName;
+
+    public DispatchWindowView(
+            Long orderId,
+            String orderNumber,
+            LocalDateTime dispatchDateTime,
+            LocalDateTime expectedArrivalTime,
+            String transitMixerNumber,
+            String driverName) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.dispatchDateTime = dispatchDateTime;
+        this.expectedArrivalTime = expectedArrivalTime;
+        this.transitMixerNumber = transitMixerNumber;
+        this.driverName = driverName;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public LocalDateTime getDispatchDateTime() {
+        return dispatchDateTime;
+    }
+
+    public LocalDateTime getExpectedArrivalTime() {
+        return expectedArrivalTime;
+    }
+
+    public String getTransitMixerNumber() {
+        return transitMixerNumber;
+    }
+
+    public String getDriverName() {
+        return driverName;
+    }
+}
@@ -0,0 +1,16 @@
+package com.demo.dto;
+
+import java.util.List;
+
+public class GpsBatchRequest {
+
+    private List<GpsPointRequest> points;
+
+    public List<GpsPointRequest> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<GpsPointRequest> points) {
+        this.points = points;
+    }
+}
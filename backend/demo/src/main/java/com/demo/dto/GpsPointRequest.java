@@ -0,0 +1,70 @@
+package com.demo.dto;
+
+import java.time.LocalDateTime;
+
+public class GpsPointRequest {
+
+    private String orderId;
+    private String transitMixerNumber;
+    private Double latitude;
+    private Double longitude;
+    private Double speedKmph;
+    private Double headingDegrees;
+    private LocalDateTime recordedAt;
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getTransitMixerNumber() {
+        return transitMixerNumber;
+    }
+
+    public void setTransitMixerNumber(String transitMixerNumber) {
+        this.transitMixerNumber = transitMixerNumber;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getSpeedKmph() {
+        return speedKmph;
+    }
+
+    public void setSpeedKmph(Double speedKmph) {
+        this.speedKmph = speedKmph;
+    }
+
+    public Double getHeadingDegrees() {
+        return headingDegrees;
+    }
+
+    public void setHeadingDegrees(Double headingDegrees) {
+        this.headingDegrees = headingDegrees;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.demo.dto;
+
+import java.util.Map;
+
+public class MixDesignBatchCostRequest {
+
+    // Hypothetical ingredient rates by ingredient name, e.g. {"OPC Cement": 7.5}.
+    private Map<String, Double> rates;
+    private Boolean includeCompleted;
+    private Boolean includeOrders;
+
+    public Map<String, Double> getRates() {
+        return rates;
+    }
+
+    public void setRates(Map<String, Double> rates) {
+        this.rates = rates;
+    }
+
+    public Boolean getIncludeCompleted() {
+        return includeCompleted;
+    }
+
+    public void setIncludeCompleted(Boolean includeCompleted) {
+        this.includeCompleted = includeCompleted;
+    }
+
+    public Boolean getIncludeOrders() {
+        return includeOrders;
+    }
+
+    public void setIncludeOrders(Boolean includeOrders) {
+        this.includeOrders = includeOrders;
+    }
+}
@@ -0,0 +1,32 @@
+package com.demo.dto;
+
+public class MixDesignLineUpdateRequest {
+
+    private String ingredient;
+    private Double rate;
+    private Double quantityPerM3;
+
+    public String getIngredient() {
+        return ingredient;
+    }
+
+    public void setIngredient(String ingredient) {
+        this.ingredient = ingredient;
+    }
+
+    public Double getRate() {
+        return rate;
+    }
+
+    public void setRate(Double rate) {
+        this.rate = rate;
+    }
+
+    public Double getQuantityPerM3() {
+        return quantityPerM3;
+    }
+
+    public void setQuantityPerM3(Double quantityPerM3) {
+        this.quantityPerM3 = quantityPerM3;
+    }
+}
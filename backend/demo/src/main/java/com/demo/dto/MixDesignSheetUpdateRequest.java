@@ -0,0 +1,34 @@
+package com.demo.dto;
+
+import java.util.List;
+
+public class MixDesignSheetUpdateRequest {
+
+    private String gradeLabel;
+    private Double totalDensity;
+    private List<MixDesignLineUpdateRequest> lines;
+
+    public String getGradeLabel() {
+        return gradeLabel;
+    }
+
+    public void setGradeLabel(String gradeLabel) {
+        this.gradeLabel = gradeLabel;
+    }
+
+    public Double getTotalDensity() {
+        return totalDensity;
+    }
+
+    public void setTotalDensity(Double totalDensity) {
+        this.totalDensity = totalDensity;
+    }
+
+    public List<MixDesignLineUpdateRequest> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<MixDesignLineUpdateRequest> lines) {
+        this.lines = lines;
+    }
+}
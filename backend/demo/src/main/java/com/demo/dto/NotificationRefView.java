@@ -0,0 +1,23 @@
+package com.demo.dto;
+
+/**
+ * Id and owner of a notification, for batch jobs that move rows without reading them.
+ */
+public class NotificationRefView {
+
+    private final Long id;
+    private final Long userId;
+
+    public NotificationRefView(Long id, Long userId) {
+        this.id = id;
+        this.userId = userId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
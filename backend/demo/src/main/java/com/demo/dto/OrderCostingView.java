@@ -0,0 +1,43 @@
+package com.demo.dto;
+
+import com.demo.entity.OrderStatus;
+
+/**
+ * The columns of an order that batch mix design costing needs.
+ */
+public class OrderCostingView {
+
+    private final Long id;
+    private final String orderId;
+    private final String grade;
+    private final double quantity;
+    private final OrderStatus status;
+
+    public OrderCostingView(Long id, String orderId, String grade, Double quantity, OrderStatus status) {
+        this.id = id;
+        this.orderId = orderId;
+        this.grade = grade;
+        this.quantity = quantity == null ? 0.0 : quantity;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getGrade() {
+        return grade;
+    }
+
+    public double getQuantity() {
+        return quantity;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+}
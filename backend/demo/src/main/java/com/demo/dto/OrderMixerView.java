@@ -0,0 +1,24 @@
+package com.demo.dto;
+
+/**
+ * A transit mixer that is allowed to report positions for an order: its main or backup
+ * mixer, or the mixer of one of its trips.
+ */
+public class OrderMixerView {
+
+    private final String orderNumber;
+    private final String mixerNumber;
+
+    public OrderMixerView(String orderNumber, String mixerNumber) {
+        this.orderNumber = orderNumber;
+        this.mixerNumber = mixerNumber;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public String getMixerNumber() {
+        return mixerNumber;
+    }
+}
@@ -0,0 +1,29 @@
+package com.demo.dto;
+
+/**
+ * Just enough of an order to address it by id and reach its owner's stream.
+ */
+public class OrderRefView {
+
+    private final Long id;
+    private final String orderId;
+    private final Long userId;
+
+    public OrderRefView(Long id, String orderId, Long userId) {
+        this.id = id;
+        this.orderId = orderId;
+        this.userId = userId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
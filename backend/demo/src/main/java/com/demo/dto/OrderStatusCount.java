@@ -0,0 +1,25 @@
+package com.demo.dto;
+
+import com.demo.entity.OrderStatus;
+
+/**
+ * Number of orders in one status.
+ */
+public class OrderStatusCount {
+
+    private final OrderStatus status;
+    private final long count;
+
+    public OrderStatusCount(OrderStatus status, Long count) {
+        this.status = status;
+        this.count = count == null ? 0L : count;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
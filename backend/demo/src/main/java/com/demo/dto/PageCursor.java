@@ -0,0 +1,61 @@
+package com.demo.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the sort timestamp (optional) and id of the last row of a page,
+ * encoded as URL-safe base64 so clients pass it back unchanged. A row with no sort time
+ * encodes an empty timestamp; time-keyed page queries read that as "past every dated row".
+ */
+public final class PageCursor {
+
+    private final LocalDateTime time;
+    private final Long id;
+
+    private PageCursor(LocalDateTime time, Long id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public static String encode(Long id) {
+        return encode(null, id);
+    }
+
+    public static String encode(LocalDateTime time, Long id) {
+        String raw = (time != null ? time.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a missing cursor and throws {@link IllegalArgumentException}
+     * for one that was not produced by {@link #encode}.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String timePart = raw.substring(0, separator);
+            LocalDateTime time = timePart.isEmpty() ? null : LocalDateTime.parse(timePart);
+            return new PageCursor(time, Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
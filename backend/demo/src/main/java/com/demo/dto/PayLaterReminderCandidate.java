@@ -0,0 +1,43 @@
+package com.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * An unpaid, credit-approved pay-later order with the time of its last reminder.
+ */
+public class PayLaterReminderCandidate {
+
+    private final Long id;
+    private final String orderId;
+    private final Long userId;
+    private final LocalDateTime creditDueDate;
+    private final LocalDateTime lastReminderAt;
+
+    public PayLaterReminderCandidate(Long id, String orderId, Long userId, LocalDateTime creditDueDate, LocalDateTime lastReminderAt) {
+        this.id = id;
+        this.orderId = orderId;
+        this.userId = userId;
+        this.creditDueDate = creditDueDate;
+        this.lastReminderAt = lastReminderAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getCreditDueDate() {
+        return creditDueDate;
+    }
+
+    public LocalDateTime getLastReminderAt() {
+        return lastReminderAt;
+    }
+}
@@ -10,6 +10,7 @@ public class ProductionScheduleRequest {
     private LocalDateTime productionSlotEnd;
     private String plantAllocation;
     private String priorityLevel;
+    private Boolean autoShift;
 
     public LocalDate getProductionDate() {
         return productionDate;
@@ -50,4 +51,12 @@ public class ProductionScheduleRequest {
     public void setPriorityLevel(String priorityLevel) {
         this.priorityLevel = priorityLevel;
     }
+
+    public Boolean getAutoShift() {
+        return autoShift;
+    }
+
+    public void setAutoShift(Boolean autoShift) {
+        this.autoShift = autoShift;
+    }
 }
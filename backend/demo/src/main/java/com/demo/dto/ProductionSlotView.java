@@ -0,0 +1,59 @@
+package com.demo.dto;
+
+import java.time.LocalDateTime;
+
+public class ProductionSlotView {
+
+    private final Long orderId;
+    private final String orderNumber;
+    private final Long plantId;
+    private final String plantAllocation;
+    private final Double quantity;
+    private final LocalDateTime productionSlotStart;
+    private final LocalDateTime productionSlotEnd;
+
+    public ProductionSlotView(
+            Long orderId,
+            String orderNumber,
+            Long plantId,
+            String plantAllocation,
+            Double quantity,
+            LocalDateTime productionSlotStart,
+            LocalDateTime productionSlotEnd) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.plantId = plantId;
+        this.plantAllocation = plantAllocation;
+        this.quantity = quantity;
+        this.productionSlotStart = productionSlotStart;
+        this.productionSlotEnd = productionSlotEnd;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public Long getPlantId() {
+        return plantId;
+    }
+
+    public String getPlantAllocation() {
+        return plantAllocation;
+    }
+
+    public Double getQuantity() {
+        return quantity;
+    }
+
+    public LocalDateTime getProductionSlotStart() {
+        return productionSlotStart;
+    }
+
+    public LocalDateTime getProductionSlotEnd() {
+        return productionSlotEnd;
+    }
+}
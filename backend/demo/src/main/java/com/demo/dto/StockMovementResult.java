@@ -0,0 +1,58 @@
+package com.demo.dto;
+
+/**
+ * Outcome of one line of a bulk stock movement, in request order.
+ */
+public class StockMovementResult {
+
+    public static final String APPLIED = "APPLIED";
+    public static final String REJECTED = "REJECTED";
+    public static final String NOT_APPLIED = "NOT_APPLIED";
+
+    private final int index;
+    private final Long materialId;
+    private final String movementType;
+    private final Double quantity;
+    private final String status;
+    private final String message;
+    private final Double balanceAfter;
+
+    public StockMovementResult(int index, Long materialId, String movementType, Double quantity,
+                               String status, String message, Double balanceAfter) {
+        this.index = index;
+        this.materialId = materialId;
+        this.movementType = movementType;
+        this.quantity = quantity;
+        this.status = status;
+        this.message = message;
+        this.balanceAfter = balanceAfter;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getMaterialId() {
+        return materialId;
+    }
+
+    public String getMovementType() {
+        return movementType;
+    }
+
+    public Double getQuantity() {
+        return quantity;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Double getBalanceAfter() {
+        return balanceAfter;
+    }
+}
@@ -0,0 +1,35 @@
+package com.demo.dto;
+
+/**
+ * Movement totals of one raw material summed over a range of daily rollups.
+ */
+public class StockRollupTotals {
+
+    private final Long materialId;
+    private final double consumed;
+    private final double restocked;
+    private final long movementCount;
+
+    public StockRollupTotals(Long materialId, Double consumed, Double restocked, Long movementCount) {
+        this.materialId = materialId;
+        this.consumed = consumed == null ? 0.0 : consumed;
+        this.restocked = restocked == null ? 0.0 : restocked;
+        this.movementCount = movementCount == null ? 0L : movementCount;
+    }
+
+    public Long getMaterialId() {
+        return materialId;
+    }
+
+    public double getConsumed() {
+        return consumed;
+    }
+
+    public double getRestocked() {
+        return restocked;
+    }
+
+    public long getMovementCount() {
+        return movementCount;
+    }
+}
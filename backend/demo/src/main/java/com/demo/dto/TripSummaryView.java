@@ -0,0 +1,86 @@
+package com.demo.dto;
+
+import com.demo.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trip counters persisted on an order next to the same counters aggregated from its
+ * dispatch trip records, as read by the reconciliation job.
+ */
+public class TripSummaryView {
+
+    private final Long orderId;
+    private final OrderStatus status;
+    private final Integer persistedCompletedTrips;
+    private final Double persistedFuelUsedLiters;
+    private final LocalDateTime persistedDeliveredAt;
+    private final Integer plannedTrips;
+    private final long completedTrips;
+    private final double fuelUsedLiters;
+    private final LocalDateTime latestDeliveredAt;
+    private final Integer maxTripNumber;
+
+    public TripSummaryView(
+            Long orderId,
+            OrderStatus status,
+            Integer persistedCompletedTrips,
+            Double persistedFuelUsedLiters,
+            LocalDateTime persistedDeliveredAt,
+            Integer plannedTrips,
+            Long completedTrips,
+            Double fuelUsedLiters,
+            LocalDateTime latestDeliveredAt,
+            Integer maxTripNumber) {
+        this.orderId = orderId;
+        this.status = status;
+        this.persistedCompletedTrips = persistedCompletedTrips;
+        this.persistedFuelUsedLiters = persistedFuelUsedLiters;
+        this.persistedDeliveredAt = persistedDeliveredAt;
+        this.plannedTrips = plannedTrips;
+        this.completedTrips = completedTrips == null ? 0 : completedTrips;
+        this.fuelUsedLiters = fuelUsedLiters == null ? 0.0 : fuelUsedLiters;
+        this.latestDeliveredAt = latestDeliveredAt;
+        this.maxTripNumber = maxTripNumber;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Integer getPersistedCompletedTrips() {
+        return persistedCompletedTrips;
+    }
+
+    public Double getPersistedFuelUsedLiters() {
+        return persistedFuelUsedLiters;
+    }
+
+    public LocalDateTime getPersistedDeliveredAt() {
+        return persistedDeliveredAt;
+    }
+
+    public Integer getPlannedTrips() {
+        return plannedTrips;
+    }
+
+    public long getCompletedTrips() {
+        return completedTrips;
+    }
+
+    public double getFuelUsedLiters() {
+        return fuelUsedLiters;
+    }
+
+    public LocalDateTime getLatestDeliveredAt() {
+        return latestDeliveredAt;
+    }
+
+    public Integer getMaxTripNumber() {
+        return maxTripNumber;
+    }
+}
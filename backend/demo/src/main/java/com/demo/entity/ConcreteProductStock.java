@@ -1,11 +1,15 @@
 package com.demo.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "concrete_product_stock")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "concrete-product-stock")
 public class ConcreteProductStock {
 
     @Id
@@ -0,0 +1,98 @@
+package com.demo.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row per raw material per day with that day's movement totals and the stock
+ * left after its last movement. Maintained by the movement write path so stock
+ * reports never have to scan inventory_movements.
+ */
+@Entity
+@Table(name = "inventory_daily_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_inventory_daily_rollups_material_date", columnNames = {"raw_material_id", "rollup_date"})
+})
+public class InventoryDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "raw_material_id", nullable = false)
+    private Long rawMaterialId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    private double consumed;
+    private double restocked;
+    private long movementCount;
+    private double closingBalance;
+    private LocalDateTime updatedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getRawMaterialId() {
+        return rawMaterialId;
+    }
+
+    public void setRawMaterialId(Long rawMaterialId) {
+        this.rawMaterialId = rawMaterialId;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public double getConsumed() {
+        return consumed;
+    }
+
+    public void setConsumed(double consumed) {
+        this.consumed = consumed;
+    }
+
+    public double getRestocked() {
+        return restocked;
+    }
+
+    public void setRestocked(double restocked) {
+        this.restocked = restocked;
+    }
+
+    public long getMovementCount() {
+        return movementCount;
+    }
+
+    public void setMovementCount(long movementCount) {
+        this.movementCount = movementCount;
+    }
+
+    public double getClosingBalance() {
+        return closingBalance;
+    }
+
+    public void setClosingBalance(double closingBalance) {
+        this.closingBalance = closingBalance;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.demo.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,6 +13,8 @@ import jakarta.persistence.OrderBy;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -19,6 +22,8 @@ import java.util.List;
 
 @Entity
 @Table(name = "mix_design_cost_sheets")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "mix-design-cost-sheets")
 public class MixDesignCostSheet {
 
     @Id
@@ -39,6 +44,7 @@ public class MixDesignCostSheet {
 
     @OneToMany(mappedBy = "sheet", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     @OrderBy("displayOrder ASC, id ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "mix-design-cost-sheet-lines")
     private List<MixDesignCostLine> lines = new ArrayList<>();
 
     @PrePersist
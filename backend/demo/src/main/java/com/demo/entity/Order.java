@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Pay-later reminder job: credit-approved, unpaid orders walked in id order.
+        @Index(name = "idx_orders_credit_reminder", columnList = "credit_approval_status, payment_received_at, id")
+})
 public class Order {
 
     @Id
@@ -49,6 +52,7 @@ public class Order {
     private Integer delayInMinutes;
     private Double liveLatitude;
     private Double liveLongitude;
+    private LocalDateTime liveLocationUpdatedAt;
     private Integer plannedTrips;
     private Integer completedTrips;
     private Double totalFuelUsedLiters;
@@ -356,6 +360,14 @@ public class Order {
         this.liveLongitude = liveLongitude;
     }
 
+    public LocalDateTime getLiveLocationUpdatedAt() {
+        return liveLocationUpdatedAt;
+    }
+
+    public void setLiveLocationUpdatedAt(LocalDateTime liveLocationUpdatedAt) {
+        this.liveLocationUpdatedAt = liveLocationUpdatedAt;
+    }
+
     public Integer getPlannedTrips() {
         return plannedTrips;
     }
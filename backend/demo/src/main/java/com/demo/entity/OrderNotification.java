@@ -7,12 +7,18 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "order_notifications")
+@Table(name = "order_notifications", indexes = {
+        @Index(name = "idx_order_notifications_user_order_type", columnList = "user_id, order_id, type, created_at"),
+        @Index(name = "idx_order_notifications_user_id", columnList = "user_id, id"),
+        @Index(name = "idx_order_notifications_user_read", columnList = "user_id, is_read"),
+        @Index(name = "idx_order_notifications_created", columnList = "created_at")
+})
 public class OrderNotification {
 
     @Id
@@ -1,12 +1,16 @@
 package com.demo.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 
 
 @Entity
 @Table(name = "plants")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "plants")
 public class Plant {
 
     @Id
@@ -15,6 +19,9 @@ public class Plant {
 
     private String plantName;
 
+    // Batching throughput in m³ per hour; null means the scheduler default.
+    private Double batchingCapacityM3PerHour;
+
     @OneToMany(mappedBy = "plant")
     private List<OrderAssignment> assignments;
 
@@ -36,6 +43,14 @@ public class Plant {
         this.plantName = plantName;
     }
 
+    public Double getBatchingCapacityM3PerHour() {
+        return batchingCapacityM3PerHour;
+    }
+
+    public void setBatchingCapacityM3PerHour(Double batchingCapacityM3PerHour) {
+        this.batchingCapacityM3PerHour = batchingCapacityM3PerHour;
+    }
+
     public List<OrderAssignment> getAssignments() {
         return assignments;
     }
@@ -1,11 +1,15 @@
 package com.demo.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "raw_materials")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "raw-materials")
 public class RawMaterial {
 
     @Id
@@ -1,10 +1,15 @@
 package com.demo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
 @Table(name = "transit_mixers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "transit-mixers")
 public class TransitMixer {
 
     @Id
@@ -14,6 +19,10 @@ public class TransitMixer {
     private String mixerNumber;
     private Double capacityM3;
 
+    // SHA-256 of the mixer's GPS device key; the key itself is only shown when issued.
+    @JsonIgnore
+    private String telemetryKeyHash;
+
     @OneToMany(mappedBy = "transitMixer")
     private List<OrderAssignment> assignments;
 
@@ -43,6 +52,14 @@ public class TransitMixer {
         this.capacityM3 = capacityM3;
     }
 
+    public String getTelemetryKeyHash() {
+        return telemetryKeyHash;
+    }
+
+    public void setTelemetryKeyHash(String telemetryKeyHash) {
+        this.telemetryKeyHash = telemetryKeyHash;
+    }
+
     public List<OrderAssignment> getAssignments() {
         return assignments;
     }
@@ -0,0 +1,112 @@
+package com.demo.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only GPS history used for route replay. Rows are written in batches by the
+ * telemetry flush and never updated; they reference the order by its number rather
+ * than a foreign key so inserts take no locks on {@code orders}.
+ */
+@Entity
+@Table(name = "vehicle_positions", indexes = {
+        @Index(name = "idx_vehicle_positions_order_recorded", columnList = "order_number, recorded_at")
+})
+public class VehiclePosition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String orderNumber;
+
+    private String transitMixerNumber;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    private Double speedKmph;
+    private Double headingDegrees;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+
+    private LocalDateTime receivedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public String getTransitMixerNumber() {
+        return transitMixerNumber;
+    }
+
+    public void setTransitMixerNumber(String transitMixerNumber) {
+        this.transitMixerNumber = transitMixerNumber;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getSpeedKmph() {
+        return speedKmph;
+    }
+
+    public void setSpeedKmph(Double speedKmph) {
+        this.speedKmph = speedKmph;
+    }
+
+    public Double getHeadingDegrees() {
+        return headingDegrees;
+    }
+
+    public void setHeadingDegrees(Double headingDegrees) {
+        this.headingDegrees = headingDegrees;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(LocalDateTime receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+}
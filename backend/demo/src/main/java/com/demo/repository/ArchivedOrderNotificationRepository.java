@@ -0,0 +1,12 @@
+package com.demo.repository;
+
+import com.demo.entity.ArchivedOrderNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ArchivedOrderNotificationRepository extends JpaRepository<ArchivedOrderNotification, Long> {
+
+    List<ArchivedOrderNotification> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long id, Pageable pageable);
+}
@@ -1,10 +1,40 @@
 package com.demo.repository;
 
 import com.demo.entity.ConcreteProductStock;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface ConcreteProductStockRepository extends JpaRepository<ConcreteProductStock, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ConcreteProductStock> findByNameIgnoreCase(String name);
+
+    // Conditional decrement: 0 rows means the product is missing or short of stock.
+    @Modifying
+    @Query("update ConcreteProductStock p set p.availableQuantity = p.availableQuantity - :quantity, "
+            + "p.updatedAt = :updatedAt "
+            + "where p.id = :id and p.availableQuantity >= :quantity")
+    int decrementIfAvailable(
+            @Param("id") Long id,
+            @Param("quantity") double quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("update ConcreteProductStock p set p.availableQuantity = p.availableQuantity + :quantity, "
+            + "p.updatedAt = :updatedAt "
+            + "where p.id = :id")
+    int increment(
+            @Param("id") Long id,
+            @Param("quantity") double quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select p.availableQuantity from ConcreteProductStock p where p.id = :id")
+    Optional<Double> findAvailableQuantityById(@Param("id") Long id);
 }
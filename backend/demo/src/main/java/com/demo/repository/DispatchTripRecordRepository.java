@@ -1,16 +1,60 @@
 package com.demo.repository;
 
+import com.demo.dto.OrderMixerView;
+import com.demo.dto.TripSummaryView;
 import com.demo.entity.DispatchTripRecord;
+import com.demo.entity.DispatchTripStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface DispatchTripRecordRepository extends JpaRepository<DispatchTripRecord, Long> {
 
+    long countByStatusIn(Collection<DispatchTripStatus> statuses);
+
     List<DispatchTripRecord> findByOrder_IdOrderByTripNumberAsc(Long orderId);
 
     Optional<DispatchTripRecord> findByOrder_IdAndTripNumber(Long orderId, Integer tripNumber);
 
     void deleteByOrder_Id(Long orderId);
+
+    @Query("select t from DispatchTripRecord t where t.order.id in :orderIds order by t.order.id, t.tripNumber")
+    List<DispatchTripRecord> findByOrderIdsOrderByTripNumber(@Param("orderIds") Collection<Long> orderIds);
+
+    // Mixers a dispatch plan spread an order's trips over; they may report its GPS position too.
+    @Query("select distinct new com.demo.dto.OrderMixerView(o.orderId, t.transitMixerNumber) "
+            + "from DispatchTripRecord t join t.order o "
+            + "where o.orderId in :orderNumbers and t.transitMixerNumber is not null")
+    List<OrderMixerView> findTripMixersByOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+
+    // Persisted vs. aggregated trip counters per order, walked in order id chunks.
+    @Query("select new com.demo.dto.TripSummaryView("
+            + "o.id, o.status, o.completedTrips, o.totalFuelUsedLiters, o.deliveredAt, o.plannedTrips, "
+            + "sum(case when t.status = com.demo.entity.DispatchTripStatus.DELIVERED then 1 else 0 end), "
+            + "sum(t.fuelUsedLiters), "
+            + "max(case when t.status = com.demo.entity.DispatchTripStatus.DELIVERED then t.deliveredTime end), "
+            + "max(t.tripNumber)) "
+            + "from DispatchTripRecord t join t.order o "
+            + "where o.id > :afterOrderId "
+            + "group by o.id, o.status, o.completedTrips, o.totalFuelUsedLiters, o.deliveredAt, o.plannedTrips "
+            + "order by o.id")
+    List<TripSummaryView> summarizeByOrderAfter(@Param("afterOrderId") Long afterOrderId, Pageable pageable);
+
+    // The same figures for chosen orders, re-read once their rows are locked.
+    @Query("select new com.demo.dto.TripSummaryView("
+            + "o.id, o.status, o.completedTrips, o.totalFuelUsedLiters, o.deliveredAt, o.plannedTrips, "
+            + "sum(case when t.status = com.demo.entity.DispatchTripStatus.DELIVERED then 1 else 0 end), "
+            + "sum(t.fuelUsedLiters), "
+            + "max(case when t.status = com.demo.entity.DispatchTripStatus.DELIVERED then t.deliveredTime end), "
+            + "max(t.tripNumber)) "
+            + "from DispatchTripRecord t join t.order o "
+            + "where o.id in :orderIds "
+            + "group by o.id, o.status, o.completedTrips, o.totalFuelUsedLiters, o.deliveredAt, o.plannedTrips "
+            + "order by o.id")
+    List<TripSummaryView> summarizeByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -1,7 +1,10 @@
 package com.demo.repository;
 
 import com.demo.entity.EquipmentBreakdown;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -11,4 +14,38 @@ public interface EquipmentBreakdownRepository extends JpaRepository<EquipmentBre
     List<EquipmentBreakdown> findAllByOrderByBreakdownTimeDesc();
 
     List<EquipmentBreakdown> findByBreakdownTimeBetween(LocalDateTime from, LocalDateTime to);
+
+    @Query("select count(b) from EquipmentBreakdown b where b.status is null or upper(b.status) <> 'RESOLVED'")
+    long countOpen();
+
+    // Keyset page over (breakdownTime, id) desc, undated rows last by id; every filter is optional.
+    @Query("select b from EquipmentBreakdown b "
+            + "where (:status is null or upper(b.status) = :status) "
+            + "and (:equipmentType is null or upper(b.equipmentType) = :equipmentType) "
+            + "and (:from is null or b.breakdownTime >= :from) "
+            + "and (:to is null or b.breakdownTime < :to) "
+            + "and (:afterId is null "
+            + "or (:afterTime is not null and (b.breakdownTime < :afterTime "
+            + "or (b.breakdownTime = :afterTime and b.id < :afterId) or b.breakdownTime is null)) "
+            + "or (:afterTime is null and b.breakdownTime is null and b.id < :afterId)) "
+            + "order by b.breakdownTime desc, b.id desc")
+    List<EquipmentBreakdown> findPage(
+            @Param("status") String status,
+            @Param("equipmentType") String equipmentType,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("select count(b) from EquipmentBreakdown b "
+            + "where (:status is null or upper(b.status) = :status) "
+            + "and (:equipmentType is null or upper(b.equipmentType) = :equipmentType) "
+            + "and (:from is null or b.breakdownTime >= :from) "
+            + "and (:to is null or b.breakdownTime < :to)")
+    long countForPage(
+            @Param("status") String status,
+            @Param("equipmentType") String equipmentType,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,37 @@
+package com.demo.repository;
+
+import com.demo.dto.StockRollupTotals;
+import com.demo.entity.InventoryDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface InventoryDailyRollupRepository extends JpaRepository<InventoryDailyRollup, Long> {
+
+    Optional<InventoryDailyRollup> findByRawMaterialIdAndRollupDate(Long rawMaterialId, LocalDate rollupDate);
+
+    @Query("select new com.demo.dto.StockRollupTotals(r.rawMaterialId, sum(r.consumed), sum(r.restocked), sum(r.movementCount)) "
+            + "from InventoryDailyRollup r "
+            + "where r.rollupDate >= :from and r.rollupDate <= :to "
+            + "group by r.rawMaterialId")
+    List<StockRollupTotals> sumByMaterial(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Each material's last rollup on or before the date, i.e. its closing balance then.
+    @Query("select r from InventoryDailyRollup r "
+            + "where r.rollupDate = (select max(r2.rollupDate) from InventoryDailyRollup r2 "
+            + "where r2.rawMaterialId = r.rawMaterialId and r2.rollupDate <= :date)")
+    List<InventoryDailyRollup> findLatestOnOrBefore(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query("delete from InventoryDailyRollup r where r.rawMaterialId = :rawMaterialId")
+    int deleteByRawMaterialId(@Param("rawMaterialId") Long rawMaterialId);
+
+    @Modifying
+    @Query("delete from InventoryDailyRollup r")
+    int deleteAllRollups();
+}
@@ -1,7 +1,10 @@
 package com.demo.repository;
 
 import com.demo.entity.InventoryMovement;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -11,4 +14,34 @@ public interface InventoryMovementRepository extends JpaRepository<InventoryMove
     List<InventoryMovement> findByRawMaterial_IdAndCreatedAtBetweenOrderByCreatedAtDesc(Long rawMaterialId, LocalDateTime start, LocalDateTime end);
     List<InventoryMovement> findByRawMaterial_IdOrderByCreatedAtDesc(Long rawMaterialId);
     void deleteByRawMaterial_Id(Long rawMaterialId);
+
+    // Keyset page over (createdAt, id) desc, undated rows last by id; material and movement type are optional.
+    @Query("select m from InventoryMovement m "
+            + "left join fetch m.rawMaterial r "
+            + "where (:materialId is null or r.id = :materialId) "
+            + "and (:movementType is null or m.movementType = :movementType) "
+            + "and m.createdAt >= :from and m.createdAt < :to "
+            + "and (:afterId is null "
+            + "or (:afterTime is not null and (m.createdAt < :afterTime "
+            + "or (m.createdAt = :afterTime and m.id < :afterId) or m.createdAt is null)) "
+            + "or (:afterTime is null and m.createdAt is null and m.id < :afterId)) "
+            + "order by m.createdAt desc, m.id desc")
+    List<InventoryMovement> findPage(
+            @Param("materialId") Long materialId,
+            @Param("movementType") String movementType,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("select count(m) from InventoryMovement m "
+            + "where (:materialId is null or m.rawMaterial.id = :materialId) "
+            + "and (:movementType is null or m.movementType = :movementType) "
+            + "and m.createdAt >= :from and m.createdAt < :to")
+    long countForPage(
+            @Param("materialId") Long materialId,
+            @Param("movementType") String movementType,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,11 @@
+package com.demo.repository;
+
+import com.demo.entity.MailDeliveryFailure;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface MailDeliveryFailureRepository extends JpaRepository<MailDeliveryFailure, Long> {
+
+    List<MailDeliveryFailure> findTop50ByOrderByFailedAtDesc();
+}
@@ -1,10 +1,19 @@
 package com.demo.repository;
 
 import com.demo.entity.MixDesignCostSheet;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface MixDesignCostSheetRepository extends JpaRepository<MixDesignCostSheet, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<MixDesignCostSheet> findByGradeCodeIgnoreCase(String gradeCode);
+
+    @Query("select distinct s from MixDesignCostSheet s left join fetch s.lines")
+    List<MixDesignCostSheet> findAllWithLines();
 }
@@ -1,16 +1,22 @@
 package com.demo.repository;
 
 import com.demo.entity.MixDesign;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface MixDesignRepository extends JpaRepository<MixDesign, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<MixDesign> findByMixDesignId(String mixDesignId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MixDesign> findByApprovedTrueOrderByUpdatedAtDesc();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MixDesign> findByGradeIgnoreCaseAndApprovedTrueOrderByUpdatedAtDesc(String grade);
 }
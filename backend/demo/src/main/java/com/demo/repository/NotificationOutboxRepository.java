@@ -0,0 +1,24 @@
+package com.demo.repository;
+
+import com.demo.entity.NotificationOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntry, Long> {
+
+    // Oldest pending entries first, skipping ones that have failed too often.
+    @Query("select e from NotificationOutboxEntry e where e.attempts < :maxAttempts order by e.id")
+    List<NotificationOutboxEntry> findPending(@Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    @Modifying
+    @Query("update NotificationOutboxEntry e set e.attempts = e.attempts + 1 where e.id in :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+
+    long countByAttemptsLessThan(int maxAttempts);
+}
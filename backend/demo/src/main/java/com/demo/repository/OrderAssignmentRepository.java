@@ -1,9 +1,17 @@
 package com.demo.repository;
 
+import com.demo.dto.DispatchWindowView;
+import com.demo.dto.OrderMixerView;
+import com.demo.dto.ProductionSlotView;
 import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -24,4 +32,27 @@ public interface OrderAssignmentRepository extends JpaRepository<OrderAssignment
 
     void deleteByOrder_Id(Long orderId);
 
+    // 🔍 Dispatch windows of every assigned order (startup load for the availability index)
+    @Query("select new com.demo.dto.DispatchWindowView(o.id, o.orderId, o.dispatchDateTime, o.expectedArrivalTime, m.mixerNumber, d.driverName) "
+            + "from OrderAssignment a join a.order o left join a.transitMixer m left join a.driver d "
+            + "where o.dispatchDateTime is not null and o.expectedArrivalTime is not null "
+            + "and (o.status is null or o.status not in (com.demo.entity.OrderStatus.DELIVERED, com.demo.entity.OrderStatus.RETURNED))")
+    List<DispatchWindowView> findAllDispatchWindows();
+
+    // 🔍 Production slots still ahead of (or just behind) the given time (startup load for the slot scheduler)
+    @Query("select new com.demo.dto.ProductionSlotView(o.id, o.orderId, p.id, a.plantAllocation, o.quantity, o.productionSlotStart, o.productionSlotEnd) "
+            + "from OrderAssignment a join a.order o left join a.plant p "
+            + "where o.productionSlotStart is not null and o.productionSlotEnd is not null "
+            + "and o.productionSlotEnd > :since and o.status in :statuses")
+    List<ProductionSlotView> findProductionSlots(
+            @Param("since") LocalDateTime since,
+            @Param("statuses") Collection<OrderStatus> statuses);
+
+    // 🔍 Main and backup mixer of each order (GPS points are only taken from these)
+    @Query("select new com.demo.dto.OrderMixerView(o.orderId, m.mixerNumber) "
+            + "from OrderAssignment a join a.order o "
+            + "join TransitMixer m on m.id = a.transitMixer.id or m.id = a.backupMixer.id "
+            + "where o.orderId in :orderNumbers")
+    List<OrderMixerView> findMixersByOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+
 }
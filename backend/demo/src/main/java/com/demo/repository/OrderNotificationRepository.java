@@ -1,24 +1,34 @@
 package com.demo.repository;
 
-import com.demo.entity.NotificationType;
+import com.demo.dto.NotificationRefView;
 import com.demo.entity.OrderNotification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface OrderNotificationRepository extends JpaRepository<OrderNotification, Long> {
     List<OrderNotification> findByUserIdOrderByCreatedAtDesc(Long userId);
 
-    List<OrderNotification> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(Long userId);
+    List<OrderNotification> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+
+    List<OrderNotification> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long id, Pageable pageable);
 
     long countByUserIdAndIsReadFalse(Long userId);
 
-    Optional<OrderNotification> findByIdAndUserId(Long id, Long userId);
+    @Modifying
+    @Query("update OrderNotification n set n.isRead = true where n.userId = :userId and n.isRead = false")
+    int markAllReadByUserId(@Param("userId") Long userId);
 
-    Optional<OrderNotification> findTopByUserIdAndOrderIdAndTypeOrderByCreatedAtDesc(
-            Long userId,
-            String orderId,
-            NotificationType type
-    );
+    // Next batch for the archival job; archived rows leave the table, so no offset is needed.
+    @Query("select new com.demo.dto.NotificationRefView(n.id, n.userId) from OrderNotification n "
+            + "where n.createdAt < :cutoff")
+    List<NotificationRefView> findRefsByCreatedAtBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    Optional<OrderNotification> findByIdAndUserId(Long id, Long userId);
 }
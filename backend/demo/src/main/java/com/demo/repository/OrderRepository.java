@@ -1,9 +1,23 @@
 package com.demo.repository;
 
+import com.demo.dto.OrderCostingView;
+import com.demo.dto.OrderRefView;
+import com.demo.dto.OrderStatusCount;
+import com.demo.dto.PayLaterReminderCandidate;
+import com.demo.entity.DeliveryTrackingStatus;
 import com.demo.entity.Order;
 import com.demo.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,9 +25,163 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Optional<Order> findByOrderId(String orderId);
 
+    // Row lock for writers that read-modify-write the order's trip counters.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.orderId = :orderId")
+    Optional<Order> findByOrderIdForUpdate(@Param("orderId") String orderId);
+
+    // Row locks in id order, so a batch repair cannot deadlock with trip writers.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id in :ids order by o.id")
+    List<Order> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.demo.dto.OrderStatusCount(o.status, count(o)) from Order o group by o.status")
+    List<OrderStatusCount> countByStatus();
+
     List<Order> findByStatus(OrderStatus status);
 
     List<Order> findByUserId(Long userId);
 
     int deleteByOrderId(String orderId);
-}
\ No newline at end of file
+
+    // Admin order list: customer and the whole assignment graph in one round-trip.
+    @Query("select distinct o from Order o "
+            + "left join fetch o.user "
+            + "left join fetch o.assignment a "
+            + "left join fetch a.transitMixer "
+            + "left join fetch a.driver "
+            + "left join fetch a.backupMixer "
+            + "left join fetch a.backupDriver "
+            + "left join fetch a.plant "
+            + "order by o.id")
+    List<Order> findAllForAdminView();
+
+    @Query("select distinct o from Order o "
+            + "left join fetch o.user "
+            + "left join fetch o.assignment a "
+            + "left join fetch a.transitMixer "
+            + "left join fetch a.driver "
+            + "left join fetch a.backupMixer "
+            + "left join fetch a.backupDriver "
+            + "left join fetch a.plant "
+            + "where o.status = :status "
+            + "order by o.id")
+    List<Order> findByStatusForAdminView(@Param("status") OrderStatus status);
+
+    // Keyset page over id desc; every filter is optional. Ask for limit + 1 rows.
+    @Query("select o from Order o "
+            + "left join fetch o.user u "
+            + "left join fetch o.assignment a "
+            + "left join fetch a.transitMixer "
+            + "left join fetch a.driver "
+            + "left join fetch a.backupMixer "
+            + "left join fetch a.backupDriver "
+            + "left join fetch a.plant "
+            + "where (:status is null or o.status = :status) "
+            + "and (:userId is null or u.id = :userId) "
+            + "and (:from is null or o.createdAt >= :from) "
+            + "and (:to is null or o.createdAt < :to) "
+            + "and (:afterId is null or o.id < :afterId) "
+            + "order by o.id desc")
+    List<Order> findPage(
+            @Param("status") OrderStatus status,
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("select count(o) from Order o "
+            + "where (:status is null or o.status = :status) "
+            + "and (:userId is null or o.user.id = :userId) "
+            + "and (:from is null or o.createdAt >= :from) "
+            + "and (:to is null or o.createdAt < :to)")
+    long countForPage(
+            @Param("status") OrderStatus status,
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("update Order o set o.completedTrips = :completedTrips, "
+            + "o.totalFuelUsedLiters = :totalFuelUsedLiters, "
+            + "o.deliveredAt = :deliveredAt, "
+            + "o.plannedTrips = :plannedTrips "
+            + "where o.id = :id")
+    int updateTripSummary(
+            @Param("id") Long id,
+            @Param("completedTrips") Integer completedTrips,
+            @Param("totalFuelUsedLiters") Double totalFuelUsedLiters,
+            @Param("deliveredAt") LocalDateTime deliveredAt,
+            @Param("plannedTrips") Integer plannedTrips);
+
+    // Order number -> id and owner, for writers that address orders by number in bulk.
+    @Query("select new com.demo.dto.OrderRefView(o.id, o.orderId, u.id) from Order o "
+            + "left join o.user u "
+            + "where o.orderId in :orderNumbers")
+    List<OrderRefView> findRefsByOrderIds(@Param("orderNumbers") Collection<String> orderNumbers);
+
+    // Mix design costing list, newest first, with the graph the row mapping touches.
+    @Query("select o from Order o "
+            + "left join fetch o.user "
+            + "left join fetch o.assignment a "
+            + "left join fetch a.transitMixer "
+            + "left join fetch a.driver "
+            + "left join fetch a.backupMixer "
+            + "left join fetch a.backupDriver "
+            + "left join fetch a.plant "
+            + "where o.status is null or o.status not in :excluded "
+            + "order by o.id desc")
+    List<Order> findForMixDesignCosting(@Param("excluded") Collection<OrderStatus> excluded);
+
+    @Query("select new com.demo.dto.OrderCostingView(o.id, o.orderId, o.grade, o.quantity, o.status) "
+            + "from Order o where o.status in :statuses")
+    List<OrderCostingView> findCostingRows(@Param("statuses") Collection<OrderStatus> statuses);
+
+    // Unpaid, credit-approved pay-later orders due a reminder, by id after the last chunk, with their latest reminder.
+    @Query("select new com.demo.dto.PayLaterReminderCandidate(o.id, o.orderId, u.id, o.creditDueDate, "
+            + "(select max(n.createdAt) from OrderNotification n "
+            + "where n.userId = u.id and n.orderId = o.orderId and n.title = :reminderTitle)) "
+            + "from Order o join o.user u "
+            + "where o.creditApprovalStatus = 'APPROVED' "
+            + "and o.paymentReceivedAt is null "
+            + "and o.id > :afterId "
+            + "and (o.paymentOption = 'PAY_LATER' or o.paymentType = 'PAY_LATER') "
+            + "and (o.orderWorkflowStatus is null or o.orderWorkflowStatus not in ('COMPLETED', 'PAYMENT_RECEIVED')) "
+            + "and coalesce(o.creditRequestedAt, o.createdAt) <= :requestedBefore "
+            + "order by o.id")
+    List<PayLaterReminderCandidate> findPayLaterReminderCandidates(
+            @Param("afterId") Long afterId,
+            @Param("requestedBefore") LocalDateTime requestedBefore,
+            @Param("reminderTitle") String reminderTitle,
+            Pageable pageable);
+
+    // Orders with dispatch activity that have not reached a terminal state (monitoring board rebuild).
+    @Query("select o from Order o "
+            + "left join fetch o.assignment a "
+            + "left join fetch a.transitMixer "
+            + "left join fetch a.driver "
+            + "where (o.status is null or o.status not in :terminalStatuses) "
+            + "and (o.deliveryTrackingStatus is null or o.deliveryTrackingStatus not in :terminalTracking) "
+            + "and (o.dispatchDateTime is not null or o.deliveryTrackingStatus is not null "
+            + "or o.liveLatitude is not null or o.liveLongitude is not null) "
+            + "order by o.id")
+    List<Order> findForMonitoringBoard(
+            @Param("terminalStatuses") Collection<OrderStatus> terminalStatuses,
+            @Param("terminalTracking") Collection<DeliveryTrackingStatus> terminalTracking);
+
+    // Approved/in-production orders produced, delivered or dispatched on the given day (dispatch planning input).
+    @Query("select distinct o from Order o "
+            + "left join fetch o.assignment "
+            + "where o.status in :statuses "
+            + "and (o.productionDate = :day "
+            + "or (o.productionSlotStart >= :from and o.productionSlotStart < :to) "
+            + "or (o.deliveryDate >= :from and o.deliveryDate < :to) "
+            + "or (o.dispatchDateTime >= :from and o.dispatchDateTime < :to)) "
+            + "order by o.id")
+    List<Order> findForDispatchPlanning(
+            @Param("statuses") Collection<OrderStatus> statuses,
+            @Param("day") LocalDate day,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+}
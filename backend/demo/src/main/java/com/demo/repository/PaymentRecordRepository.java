@@ -2,11 +2,16 @@ package com.demo.repository;
 
 import com.demo.entity.PaymentRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface PaymentRecordRepository extends JpaRepository<PaymentRecord, Long> {
-    List<PaymentRecord> findByOrder_OrderIdOrderByPaidAtDesc(String orderId);
+    // Inner join so the order-number lookup drives the query; the derived finder's
+    // left join made the database read every payment first.
+    @Query("select p from PaymentRecord p join p.order o where o.orderId = :orderId order by p.paidAt desc")
+    List<PaymentRecord> findByOrder_OrderIdOrderByPaidAtDesc(@Param("orderId") String orderId);
     List<PaymentRecord> findByOrder_Id(Long orderId);
 
     void deleteByOrder_Id(Long orderId);
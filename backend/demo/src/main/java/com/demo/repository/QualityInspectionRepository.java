@@ -1,8 +1,12 @@
 package com.demo.repository;
 
 import com.demo.entity.QualityInspection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,5 +18,46 @@ public interface QualityInspectionRepository extends JpaRepository<QualityInspec
 
     List<QualityInspection> findAllByOrderByRecordedAtDesc();
 
+    // Latest inspection of every order that has one; ties on recordedAt return each tied row.
+    @Query("select i from QualityInspection i "
+            + "where i.recordedAt = (select max(l.recordedAt) from QualityInspection l where l.order = i.order) "
+            + "order by i.id desc")
+    List<QualityInspection> findLatestPerOrder();
+
     void deleteByOrder_Id(Long orderId);
+
+    // Keyset page over (recordedAt, id) desc, undated rows last by id with the order graph the view reads.
+    @Query("select i from QualityInspection i "
+            + "join fetch i.order o "
+            + "left join fetch o.user "
+            + "left join fetch o.assignment "
+            + "left join fetch i.mixDesign "
+            + "where (:orderId is null or o.id = :orderId) "
+            + "and (:compliancePassed is null or i.compliancePassed = :compliancePassed) "
+            + "and (:from is null or i.recordedAt >= :from) "
+            + "and (:to is null or i.recordedAt < :to) "
+            + "and (:afterId is null "
+            + "or (:afterTime is not null and (i.recordedAt < :afterTime "
+            + "or (i.recordedAt = :afterTime and i.id < :afterId) or i.recordedAt is null)) "
+            + "or (:afterTime is null and i.recordedAt is null and i.id < :afterId)) "
+            + "order by i.recordedAt desc, i.id desc")
+    List<QualityInspection> findPage(
+            @Param("orderId") Long orderId,
+            @Param("compliancePassed") Boolean compliancePassed,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("select count(i) from QualityInspection i "
+            + "where (:orderId is null or i.order.id = :orderId) "
+            + "and (:compliancePassed is null or i.compliancePassed = :compliancePassed) "
+            + "and (:from is null or i.recordedAt >= :from) "
+            + "and (:to is null or i.recordedAt < :to)")
+    long countForPage(
+            @Param("orderId") Long orderId,
+            @Param("compliancePassed") Boolean compliancePassed,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 }
@@ -1,12 +1,51 @@
 package com.demo.repository;
 
 import com.demo.entity.RawMaterial;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface RawMaterialRepository extends JpaRepository<RawMaterial, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<RawMaterial> findByNameIgnoreCase(String name);
     List<RawMaterial> findByQuantityLessThan(double quantity);
+
+    @Query("select count(m) from RawMaterial m where m.quantity < m.reorderLevel")
+    long countBelowReorderLevel();
+
+    // Conditional decrement: 0 rows means the material is missing or short of stock.
+    @Modifying
+    @Query("update RawMaterial m set m.quantity = m.quantity - :quantity, m.updatedAt = :updatedAt "
+            + "where m.id = :id and m.quantity >= :quantity")
+    int decrementIfAvailable(
+            @Param("id") Long id,
+            @Param("quantity") double quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("update RawMaterial m set m.quantity = m.quantity + :quantity, m.updatedAt = :updatedAt "
+            + "where m.id = :id")
+    int increment(
+            @Param("id") Long id,
+            @Param("quantity") double quantity,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select m.quantity from RawMaterial m where m.id = :id")
+    Optional<Double> findQuantityById(@Param("id") Long id);
+
+    // Row locks in id order, so concurrent bulk movements cannot deadlock each other.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from RawMaterial m where m.id in :ids order by m.id")
+    List<RawMaterial> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -1,13 +1,25 @@
 package com.demo.repository;
 
 import com.demo.entity.TransitMixer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TransitMixerRepository extends JpaRepository<TransitMixer, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TransitMixer> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TransitMixer> findByMixerNumber(String mixerNumber);
 
     boolean existsByMixerNumber(String mixerNumber);
+
+    // Every GPS batch from a device resolves its key here, so it goes through the query cache.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<TransitMixer> findByTelemetryKeyHash(String telemetryKeyHash);
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.demo.repository;
 
 import com.demo.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.List;
@@ -22,4 +25,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRoleAndApprovalStatus(String role, String approvalStatus);
 
     Optional<User> findByEmailAndResetOtp(String email, String resetOtp);
+
+    // Keyset page over id desc for the admin user list; role/status filters are optional.
+    @Query("select u from User u "
+            + "where (:role is null or u.role = :role) "
+            + "and (:approvalStatus is null or u.approvalStatus = :approvalStatus) "
+            + "and (:afterId is null or u.id < :afterId) "
+            + "order by u.id desc")
+    List<User> findPage(
+            @Param("role") String role,
+            @Param("approvalStatus") String approvalStatus,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("select count(u) from User u "
+            + "where (:role is null or u.role = :role) "
+            + "and (:approvalStatus is null or u.approvalStatus = :approvalStatus)")
+    long countForPage(@Param("role") String role, @Param("approvalStatus") String approvalStatus);
 }
@@ -0,0 +1,27 @@
+package com.demo.repository;
+
+import com.demo.entity.VehiclePosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface VehiclePositionRepository extends JpaRepository<VehiclePosition, Long> {
+
+    // Route replay, oldest first; served by the (order_number, recorded_at) index.
+    @Query("select p from VehiclePosition p "
+            + "where p.orderNumber = :orderNumber "
+            + "and (:from is null or p.recordedAt >= :from) "
+            + "and (:to is null or p.recordedAt < :to) "
+            + "order by p.recordedAt asc, p.id asc")
+    List<VehiclePosition> findRoute(
+            @Param("orderNumber") String orderNumber,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable);
+
+    long countByOrderNumber(String orderNumber);
+}
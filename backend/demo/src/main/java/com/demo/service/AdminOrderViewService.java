@@ -0,0 +1,274 @@
+package com.demo.service;
+
+import com.demo.dto.CursorPage;
+import com.demo.dto.PageCursor;
+import com.demo.entity.DeliveryTrackingStatus;
+import com.demo.entity.DispatchTripRecord;
+import com.demo.entity.Order;
+import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read model behind the admin order screens. Orders come with their customer and
+ * assignment graph in one query and trip records are loaded in IN batches, so a
+ * list costs a constant number of statements regardless of its size. Trip counters
+ * are read from the order itself.
+ */
+@Service
+public class AdminOrderViewService {
+
+    private static final int ID_BATCH_SIZE = 1000;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllOrderViews() {
+        return toOrderViews(orderRepository.findAllForAdminView());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getOrderViewsByStatus(OrderStatus status) {
+        return toOrderViews(orderRepository.findByStatusForAdminView(status));
+    }
+
+    /**
+     * Keyset page of admin views, newest first. The total is only counted for the
+     * first page so walking a large table never repeats the COUNT.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getOrderViewPage(
+            OrderStatus status,
+            Long userId,
+            LocalDateTime from,
+            LocalDateTime to,
+            String cursor,
+            Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Order> fetched = orderRepository.findPage(
+                status, userId, from, to, after != null ? after.getId() : null, PageRequest.of(0, pageSize + 1));
+        Long total = after == null ? orderRepository.countForPage(status, userId, from, to) : null;
+        return CursorPage.of(fetched, pageSize, order -> PageCursor.encode(order.getId()), this::toOrderViews, total);
+    }
+
+    /**
+     * Builds admin views for already loaded orders. Assignments are read from
+     * {@link Order#getAssignment()}, so callers should load orders with their
+     * assignment fetched to keep the statement count flat.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> toOrderViews(List<Order> orders) {
+        Map<Long, List<DispatchTripRecord>> tripsByOrder = loadTrips(orders);
+        List<Map<String, Object>> response = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            response.add(toOrderView(order, tripsByOrder.getOrDefault(order.getId(), List.of())));
+        }
+        return response;
+    }
+
+    public Map<String, Object> toTripView(DispatchTripRecord trip) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", trip.getId());
+        row.put("tripNumber", trip.getTripNumber());
+        row.put("status", trip.getStatus());
+        row.put("shift", trip.getShift());
+        row.put("tripQuantityM3", trip.getTripQuantityM3());
+        row.put("scheduledDispatchTime", trip.getScheduledDispatchTime());
+        row.put("actualDispatchTime", trip.getActualDispatchTime());
+        row.put("estimatedDeliveryTime", trip.getEstimatedDeliveryTime());
+        row.put("deliveredTime", trip.getDeliveredTime());
+        row.put("fuelUsedLiters", trip.getFuelUsedLiters());
+        row.put("remarks", trip.getRemarks());
+        row.put("returnReason", trip.getReturnReason());
+        row.put("returnedQuantity", trip.getReturnedQuantity());
+        row.put("transitMixerNumber", trip.getTransitMixerNumber());
+        row.put("driverName", trip.getDriverName());
+        return row;
+    }
+
+    public DeliveryTrackingStatus resolveTrackingStatus(Order order) {
+        if (order.getStatus() == OrderStatus.RETURNED) {
+            return DeliveryTrackingStatus.RETURNED;
+        }
+        if (order.getStatus() == OrderStatus.DELIVERED) {
+            return DeliveryTrackingStatus.DELIVERED;
+        }
+
+        DeliveryTrackingStatus tracking = order.getDeliveryTrackingStatus();
+        if (tracking == DeliveryTrackingStatus.ON_THE_WAY) {
+            tracking = DeliveryTrackingStatus.IN_TRANSIT;
+        }
+
+        if (order.getStatus() == OrderStatus.IN_PRODUCTION) {
+            return null;
+        }
+        if (order.getStatus() == OrderStatus.PENDING_APPROVAL || order.getStatus() == OrderStatus.REJECTED) {
+            return null;
+        }
+        if (order.getStatus() == OrderStatus.APPROVED) {
+            return tracking == DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH ? tracking : null;
+        }
+
+        if (order.getStatus() == OrderStatus.DISPATCHED) {
+            // Ensure stale "SCHEDULED" tracking never overrides a dispatched order.
+            if (tracking == null || tracking == DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH) {
+                return DeliveryTrackingStatus.DISPATCHED;
+            }
+            return tracking;
+        }
+
+        if (tracking != null) {
+            return tracking;
+        }
+
+        if (order.getDispatchDateTime() != null) {
+            return DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH;
+        }
+        return null;
+    }
+
+    public String resolveDeliveryStatusLabel(DeliveryTrackingStatus status) {
+        if (status == null) {
+            return null;
+        }
+        switch (status) {
+            case SCHEDULED_FOR_DISPATCH:
+                return "SCHEDULED";
+            case DISPATCHED:
+                return "DISPATCHED";
+            case IN_TRANSIT:
+            case ON_THE_WAY:
+                return "IN_TRANSIT";
+            case DELIVERED:
+                return "DELIVERED";
+            case RETURNED:
+                return "RETURNED";
+            default:
+                return status.name();
+        }
+    }
+
+    private Map<Long, List<DispatchTripRecord>> loadTrips(List<Order> orders) {
+        List<Long> orderIds = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            if (order.getId() != null) {
+                orderIds.add(order.getId());
+            }
+        }
+
+        Map<Long, List<DispatchTripRecord>> tripsByOrder = new HashMap<>();
+        for (int from = 0; from < orderIds.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = orderIds.subList(from, Math.min(from + ID_BATCH_SIZE, orderIds.size()));
+            for (DispatchTripRecord trip : dispatchTripRecordRepository.findByOrderIdsOrderByTripNumber(batch)) {
+                tripsByOrder.computeIfAbsent(trip.getOrder().getId(), id -> new ArrayList<>()).add(trip);
+            }
+        }
+        return tripsByOrder;
+    }
+
+    private Map<String, Object> toOrderView(Order order, List<DispatchTripRecord> trips) {
+        // Counters are maintained on the order by TripSummaryService; trips are only listed.
+        int plannedTrips = order.getPlannedTrips() != null ? order.getPlannedTrips() : 1;
+        DeliveryTrackingStatus trackingStatus = resolveTrackingStatus(order);
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", order.getId());
+        row.put("orderId", order.getOrderId());
+        row.put("grade", order.getGrade());
+        row.put("quantity", order.getQuantity());
+        row.put("totalPrice", order.getTotalPrice());
+        row.put("address", order.getAddress());
+        row.put("status", order.getStatus());
+        row.put("orderWorkflowStatus", order.getOrderWorkflowStatus());
+        row.put("paymentOption", order.getPaymentOption());
+        row.put("paymentType", order.getPaymentType());
+        row.put("creditPeriod", order.getCreditPeriod());
+        row.put("creditDays", order.getCreditDays());
+        row.put("creditStatus", order.getCreditStatus());
+        row.put("creditApprovalStatus", order.getCreditApprovalStatus());
+        row.put("creditRequestedAt", order.getCreditRequestedAt());
+        row.put("creditReviewedAt", order.getCreditReviewedAt());
+        row.put("creditDueDate", order.getCreditDueDate());
+        row.put("creditReviewRemark", order.getCreditReviewRemark());
+        row.put("paymentReceivedAt", order.getPaymentReceivedAt());
+        row.put("createdAt", order.getCreatedAt());
+        row.put("deliveryDate", order.getDeliveryDate());
+        row.put("scheduledDate", order.getScheduledDate());
+        row.put("approvedAt", order.getApprovedAt());
+        row.put("productionDate", order.getProductionDate());
+        row.put("productionSlotStart", order.getProductionSlotStart());
+        row.put("productionSlotEnd", order.getProductionSlotEnd());
+        row.put("dispatchDateTime", order.getDispatchDateTime());
+        row.put("expectedArrivalTime", order.getExpectedArrivalTime());
+        row.put("deliverySequence", order.getDeliverySequence());
+        row.put("tripPlanning", order.getTripPlanning());
+        row.put("plannedTrips", plannedTrips);
+        row.put("completedTrips", order.getCompletedTrips() == null ? 0 : order.getCompletedTrips());
+        row.put("totalFuelUsedLiters", order.getTotalFuelUsedLiters() == null ? 0.0 : order.getTotalFuelUsedLiters());
+        row.put("latestNotification", order.getLatestNotification());
+        row.put("deliveryTrackingStatus", trackingStatus);
+        row.put("deliveryTrackingStatusLabel", resolveDeliveryStatusLabel(trackingStatus));
+        row.put("delayInMinutes", order.getDelayInMinutes());
+        row.put("liveLatitude", order.getLiveLatitude());
+        row.put("liveLongitude", order.getLiveLongitude());
+        row.put("deliveredAt", order.getDeliveredAt());
+        row.put("deliveryConfirmationDetails", order.getDeliveryConfirmationDetails());
+        row.put("returnReason", order.getReturnReason());
+        row.put("returnedQuantity", order.getReturnedQuantity());
+        row.put("userId", order.getUser() != null ? order.getUser().getId() : null);
+        row.put("customerName", order.getUser() != null ? order.getUser().getName() : null);
+        row.put("customerEmail", order.getUser() != null ? order.getUser().getEmail() : null);
+        row.put("customerPhone", order.getUser() != null ? order.getUser().getNumber() : null);
+
+        OrderAssignment assignment = order.getAssignment();
+        if (assignment != null) {
+            row.put("plantAllocation", assignment.getPlantAllocation());
+            row.put("priorityLevel", assignment.getPriorityLevel());
+            row.put("transitMixerNumber",
+                    assignment.getTransitMixer() != null ? assignment.getTransitMixer().getMixerNumber() : null);
+            row.put("transitMixerCapacityM3",
+                    assignment.getTransitMixer() != null ? assignment.getTransitMixer().getCapacityM3() : null);
+            row.put("driverName",
+                    assignment.getDriver() != null ? assignment.getDriver().getDriverName() : null);
+            row.put("driverShift",
+                    assignment.getDriver() != null ? assignment.getDriver().getDriverShift() : null);
+            row.put("backupTransitMixerNumber",
+                    assignment.getBackupMixer() != null ? assignment.getBackupMixer().getMixerNumber() : null);
+            row.put("backupDriverName",
+                    assignment.getBackupDriver() != null ? assignment.getBackupDriver().getDriverName() : null);
+        } else {
+            row.put("plantAllocation", null);
+            row.put("priorityLevel", null);
+            row.put("transitMixerNumber", null);
+            row.put("transitMixerCapacityM3", null);
+            row.put("driverName", null);
+            row.put("driverShift", null);
+            row.put("backupTransitMixerNumber", null);
+            row.put("backupDriverName", null);
+        }
+
+        List<Map<String, Object>> tripRows = new ArrayList<>(trips.size());
+        for (DispatchTripRecord trip : trips) {
+            tripRows.add(toTripView(trip));
+        }
+        row.put("tripRecords", tripRows);
+
+        return row;
+    }
+}
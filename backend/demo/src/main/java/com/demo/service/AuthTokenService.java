@@ -0,0 +1,144 @@
+package com.demo.service;
+
+import com.demo.dto.AuthenticatedUser;
+import com.demo.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Issues and checks the signed login tokens. A token carries the user's id, email, role
+ * and approval status, so a request is authorised without reading the user row.
+ * Revocations are held in memory until the tokens they cover have expired: single
+ * tokens on logout, and every token a user was issued before a change to their role,
+ * approval, password or account. They are never evicted early, so their number is
+ * bounded by how many logouts and account changes happen within one token lifetime.
+ */
+@Service
+public class AuthTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthTokenService.class);
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final Duration ttl;
+    private final Cache<String, Instant> revokedTokens;
+    private final Cache<Long, Instant> revokedUsers;
+
+    public AuthTokenService(
+            @Value("${security.jwt.secret:}") String secret,
+            @Value("${security.jwt.ttl-minutes:480}") long ttlMinutes) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("security.jwt.secret is not set; login tokens are signed with a random key and will not survive a restart");
+            this.signingKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        } else {
+            this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        }
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        // Expiry only: a size bound would evict revocations and let those tokens back in.
+        this.revokedTokens = Caffeine.newBuilder()
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+        this.revokedUsers = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+    }
+
+    public String issue(User user) {
+        return issue(new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), user.getApprovalStatus()));
+    }
+
+    public String issue(AuthenticatedUser user) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(String.valueOf(user.getUserId()))
+                .claim("email", user.getEmail())
+                .claim("role", user.getRole())
+                .claim("approvalStatus", user.getApprovalStatus())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(ttl)))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public long getTtlSeconds() {
+        return ttl.toSeconds();
+    }
+
+    /**
+     * Returns the caller a token stands for, or null when the token is malformed,
+     * forged, expired or revoked.
+     */
+    public AuthenticatedUser authenticate(String token) {
+        Claims claims = verify(token);
+        if (claims == null || revokedTokens.getIfPresent(claims.getId()) != null) {
+            return null;
+        }
+        Long userId = Long.valueOf(claims.getSubject());
+        Instant revokedAt = revokedUsers.getIfPresent(userId);
+        // Issue times have whole seconds, so a token issued in the revoking second is rejected too.
+        if (revokedAt != null && !claims.getIssuedAt().toInstant().isAfter(revokedAt)) {
+            return null;
+        }
+        return new AuthenticatedUser(userId, claims.get("email", String.class),
+                claims.get("role", String.class), claims.get("approvalStatus", String.class));
+    }
+
+    public void revoke(String token) {
+        Claims claims = verify(token);
+        if (claims != null) {
+            revokedTokens.put(claims.getId(), claims.getExpiration().toInstant());
+        }
+    }
+
+    public void revokeUser(Long userId) {
+        revokedUsers.put(userId, Instant.now());
+    }
+
+    private Claims verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** Keeps a revoked token id until the token itself would have expired. */
+    private static final class UntilTokenExpiry implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenId, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.demo.service;
+
+import com.demo.entity.DeliveryTrackingStatus;
+import com.demo.entity.Order;
+import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.OrderAssignmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the customer tracking payload and pushes it to open tracking streams.
+ * The payload is built once per change and only when someone is listening.
+ */
+@Service
+public class DeliveryTrackingViewService {
+
+    public static final String TRACKING_EVENT = "tracking";
+
+    @Autowired
+    private OrderAssignmentRepository orderAssignmentRepository;
+
+    @Autowired
+    private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+    @Autowired
+    private AdminOrderViewService adminOrderViewService;
+
+    @Autowired
+    private LiveUpdateBroker liveUpdateBroker;
+
+    public Map<String, Object> toTrackingView(Order order) {
+        OrderAssignment assignment = orderAssignmentRepository.findByOrder_Id(order.getId()).orElse(null);
+        DeliveryTrackingStatus trackingStatus = adminOrderViewService.resolveTrackingStatus(order);
+        boolean gpsAvailable = order.getLiveLatitude() != null && order.getLiveLongitude() != null;
+        boolean delivered = trackingStatus == DeliveryTrackingStatus.DELIVERED
+                || order.getStatus() == OrderStatus.DELIVERED;
+        boolean returned = trackingStatus == DeliveryTrackingStatus.RETURNED
+                || order.getStatus() == OrderStatus.RETURNED;
+
+        Map<String, Object> dispatchInformation = new HashMap<>();
+        dispatchInformation.put("dispatchStatus", trackingStatus);
+        dispatchInformation.put("assignedTransitMixerNumber", assignment != null && assignment.getTransitMixer() != null
+                ? assignment.getTransitMixer().getMixerNumber()
+                : null);
+        dispatchInformation.put("dispatchDateTime", order.getDispatchDateTime());
+
+        Map<String, Object> driverDetails = new HashMap<>();
+        driverDetails.put("name", assignment != null && assignment.getDriver() != null
+                ? assignment.getDriver().getDriverName()
+                : null);
+        driverDetails.put("shift", assignment != null && assignment.getDriver() != null
+                ? assignment.getDriver().getDriverShift()
+                : null);
+        dispatchInformation.put("driverDetails", driverDetails);
+
+        Map<String, Object> realtimeTracking = new HashMap<>();
+        realtimeTracking.put("deliveryStatus", trackingStatus);
+        realtimeTracking.put("gpsAvailable", gpsAvailable);
+        if (gpsAvailable) {
+            realtimeTracking.put("liveLocation", Map.of(
+                    "latitude", order.getLiveLatitude(),
+                    "longitude", order.getLiveLongitude()
+            ));
+        } else {
+            realtimeTracking.put("liveLocation", null);
+        }
+
+        Map<String, Object> estimatedDelivery = new HashMap<>();
+        estimatedDelivery.put("expectedArrivalTime", order.getExpectedArrivalTime());
+        estimatedDelivery.put("delayInMinutes", order.getDelayInMinutes());
+        estimatedDelivery.put("delayUpdate", order.getLatestNotification());
+
+        Map<String, Object> deliveryConfirmation = new HashMap<>();
+        deliveryConfirmation.put("delivered", delivered);
+        deliveryConfirmation.put("returned", returned);
+        deliveryConfirmation.put("deliveredAt", order.getDeliveredAt());
+        deliveryConfirmation.put("details", order.getDeliveryConfirmationDetails());
+        deliveryConfirmation.put("returnReason", order.getReturnReason());
+        deliveryConfirmation.put("returnedQuantity", order.getReturnedQuantity());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("orderId", order.getOrderId());
+        response.put("trackingReadOnly", true);
+        response.put("dispatchInformation", dispatchInformation);
+        response.put("realTimeTracking", realtimeTracking);
+        response.put("estimatedDeliveryTime", estimatedDelivery);
+        response.put("deliveryConfirmation", deliveryConfirmation);
+        response.put("tripDetails", dispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc(order.getId())
+                .stream()
+                .map(trip -> {
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("tripNumber", trip.getTripNumber());
+                    row.put("status", trip.getStatus() == null ? "" : trip.getStatus().name());
+                    row.put("shift", trip.getShift() == null ? "" : trip.getShift());
+                    row.put("tripQuantityM3", trip.getTripQuantityM3());
+                    row.put("transitMixerNumber", trip.getTransitMixerNumber() == null ? "" : trip.getTransitMixerNumber());
+                    row.put("driverName", trip.getDriverName() == null ? "" : trip.getDriverName());
+                    row.put("dispatchTime", trip.getScheduledDispatchTime());
+                    row.put("estimatedDeliveryTime", trip.getEstimatedDeliveryTime());
+                    row.put("returnReason", trip.getReturnReason() == null ? "" : trip.getReturnReason());
+                    row.put("returnedQuantity", trip.getReturnedQuantity());
+                    return row;
+                })
+                .toList());
+        response.put("nextStage", delivered ? "BILLING_AND_PAYMENT" : returned ? "DELIVERY_RETURNED" : "DELIVERY_IN_PROGRESS");
+
+        return response;
+    }
+
+    /**
+     * Pushes the order's current tracking snapshot to its order stream and to the
+     * owner's user stream. Call after the order (and its trips) have been saved.
+     */
+    public void publishTracking(Order order) {
+        if (order == null || order.getOrderId() == null) {
+            return;
+        }
+        String orderTopic = LiveUpdateBroker.orderTopic(order.getOrderId());
+        String userTopic = order.getUser() != null && order.getUser().getId() != null
+                ? LiveUpdateBroker.userTopic(order.getUser().getId())
+                : null;
+        boolean orderListening = liveUpdateBroker.hasSubscribers(orderTopic);
+        boolean userListening = userTopic != null && liveUpdateBroker.hasSubscribers(userTopic);
+        if (!orderListening && !userListening) {
+            return;
+        }
+
+        Map<String, Object> view = toTrackingView(order);
+        String coalesceKey = TRACKING_EVENT + ":" + order.getOrderId();
+        if (orderListening) {
+            liveUpdateBroker.publish(orderTopic, TRACKING_EVENT, view, coalesceKey);
+        }
+        if (userListening) {
+            liveUpdateBroker.publish(userTopic, TRACKING_EVENT, view, coalesceKey);
+        }
+    }
+}
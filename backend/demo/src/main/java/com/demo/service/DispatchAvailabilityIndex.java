@@ -0,0 +1,225 @@
+package com.demo.service;
+
+import com.demo.dto.DispatchWindowView;
+import com.demo.entity.Order;
+import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
+import com.demo.repository.OrderAssignmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory dispatch windows of every assigned order, indexed per transit mixer
+ * and per driver so conflict and availability checks never scan order_assignments.
+ * Delivered and returned orders release their mixer and driver.
+ * Write paths that touch an order's window, mixer or driver must call
+ * {@link #refresh} or {@link #remove} after saving; schedulers book through
+ * {@link #reserve} so two requests cannot both claim the same mixer or driver.
+ */
+@Service
+public class DispatchAvailabilityIndex {
+
+    @Autowired
+    private OrderAssignmentRepository orderAssignmentRepository;
+
+    private final Map<Long, DispatchWindowView> windowsByOrder = new HashMap<>();
+    private final Map<String, IntervalTree<DispatchWindowView>> mixerWindows = new HashMap<>();
+    private final Map<String, IntervalTree<DispatchWindowView>> driverWindows = new HashMap<>();
+    private IntervalTree<DispatchWindowView> allWindows = new IntervalTree<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        windowsByOrder.clear();
+        mixerWindows.clear();
+        driverWindows.clear();
+        allWindows = new IntervalTree<>();
+        for (DispatchWindowView window : orderAssignmentRepository.findAllDispatchWindows()) {
+            add(window);
+        }
+    }
+
+    public synchronized void refresh(Order order, OrderAssignment assignment) {
+        if (order == null || order.getId() == null) {
+            return;
+        }
+        removeInternal(order.getId());
+
+        if (assignment == null
+                || order.getDispatchDateTime() == null
+                || order.getExpectedArrivalTime() == null
+                || order.getStatus() == OrderStatus.DELIVERED
+                || order.getStatus() == OrderStatus.RETURNED) {
+            return;
+        }
+        add(new DispatchWindowView(
+                order.getId(),
+                order.getOrderId(),
+                order.getDispatchDateTime(),
+                order.getExpectedArrivalTime(),
+                assignment.getTransitMixer() != null ? assignment.getTransitMixer().getMixerNumber() : null,
+                assignment.getDriver() != null ? assignment.getDriver().getDriverName() : null
+        ));
+    }
+
+    public void refresh(Long orderId) {
+        if (orderId == null) {
+            return;
+        }
+        OrderAssignment assignment = orderAssignmentRepository.findByOrder_Id(orderId).orElse(null);
+        if (assignment == null || assignment.getOrder() == null) {
+            remove(orderId);
+            return;
+        }
+        refresh(assignment.getOrder(), assignment);
+    }
+
+    public synchronized void remove(Long orderId) {
+        if (orderId != null) {
+            removeInternal(orderId);
+        }
+    }
+
+    /**
+     * Returns the first window booked for the mixer that overlaps [start, end),
+     * ignoring the order being scheduled.
+     */
+    public synchronized DispatchWindowView findMixerConflict(String mixerNumber, LocalDateTime start, LocalDateTime end, Long excludeOrderId) {
+        return firstConflict(mixerWindows.get(normalizeKey(mixerNumber)), start, end, excludeOrderId);
+    }
+
+    public synchronized DispatchWindowView findDriverConflict(String driverName, LocalDateTime start, LocalDateTime end, Long excludeOrderId) {
+        return firstConflict(driverWindows.get(normalizeKey(driverName)), start, end, excludeOrderId);
+    }
+
+    /**
+     * Checks the mixer and the driver over [start, end) and, when both are free, books
+     * the order's window in the same step, replacing its previous one. Returns the
+     * first conflict instead when either is taken. A caller whose save then fails puts
+     * the stored window back with {@link #refresh(Long)}.
+     */
+    public synchronized WindowConflict reserve(Long orderId, String orderNumber, String mixerNumber, String driverName,
+                                               LocalDateTime start, LocalDateTime end) {
+        DispatchWindowView mixerConflict = firstConflict(mixerWindows.get(normalizeKey(mixerNumber)), start, end, orderId);
+        if (mixerConflict != null) {
+            return new WindowConflict(true, mixerConflict);
+        }
+        DispatchWindowView driverConflict = firstConflict(driverWindows.get(normalizeKey(driverName)), start, end, orderId);
+        if (driverConflict != null) {
+            return new WindowConflict(false, driverConflict);
+        }
+        removeInternal(orderId);
+        add(new DispatchWindowView(orderId, orderNumber, start, end, mixerNumber, driverName));
+        return null;
+    }
+
+    /**
+     * Every booked window overlapping [start, end), ordered by dispatch time.
+     */
+    public synchronized List<DispatchWindowView> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        List<DispatchWindowView> matches = new ArrayList<>();
+        allWindows.collectOverlapping(start, end, matches);
+        return matches;
+    }
+
+    public synchronized int size() {
+        return windowsByOrder.size();
+    }
+
+    private DispatchWindowView firstConflict(
+            IntervalTree<DispatchWindowView> tree,
+            LocalDateTime start,
+            LocalDateTime end,
+            Long excludeOrderId) {
+        if (tree == null || start == null || end == null) {
+            return null;
+        }
+        List<DispatchWindowView> matches = new ArrayList<>();
+        tree.collectOverlapping(start, end, matches);
+        for (DispatchWindowView window : matches) {
+            if (!Objects.equals(window.getOrderId(), excludeOrderId)) {
+                return window;
+            }
+        }
+        return null;
+    }
+
+    private void add(DispatchWindowView window) {
+        if (window.getOrderId() == null
+                || window.getDispatchDateTime() == null
+                || window.getExpectedArrivalTime() == null) {
+            return;
+        }
+        windowsByOrder.put(window.getOrderId(), window);
+        allWindows.insert(window.getDispatchDateTime(), window.getExpectedArrivalTime(), window.getOrderId(), window);
+
+        String mixerKey = normalizeKey(window.getTransitMixerNumber());
+        if (mixerKey != null) {
+            mixerWindows.computeIfAbsent(mixerKey, key -> new IntervalTree<>())
+                    .insert(window.getDispatchDateTime(), window.getExpectedArrivalTime(), window.getOrderId(), window);
+        }
+        String driverKey = normalizeKey(window.getDriverName());
+        if (driverKey != null) {
+            driverWindows.computeIfAbsent(driverKey, key -> new IntervalTree<>())
+                    .insert(window.getDispatchDateTime(), window.getExpectedArrivalTime(), window.getOrderId(), window);
+        }
+    }
+
+    private void removeInternal(Long orderId) {
+        DispatchWindowView existing = windowsByOrder.remove(orderId);
+        if (existing == null) {
+            return;
+        }
+        allWindows.remove(existing.getDispatchDateTime(), orderId);
+        removeFrom(mixerWindows, normalizeKey(existing.getTransitMixerNumber()), existing);
+        removeFrom(driverWindows, normalizeKey(existing.getDriverName()), existing);
+    }
+
+    private void removeFrom(Map<String, IntervalTree<DispatchWindowView>> trees, String key, DispatchWindowView window) {
+        if (key == null) {
+            return;
+        }
+        IntervalTree<DispatchWindowView> tree = trees.get(key);
+        if (tree == null) {
+            return;
+        }
+        tree.remove(window.getDispatchDateTime(), window.getOrderId());
+        if (tree.isEmpty()) {
+            trees.remove(key);
+        }
+    }
+
+    private String normalizeKey(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim().toUpperCase();
+    }
+
+    public static final class WindowConflict {
+        private final boolean mixer;
+        private final DispatchWindowView window;
+
+        private WindowConflict(boolean mixer, DispatchWindowView window) {
+            this.mixer = mixer;
+            this.window = window;
+        }
+
+        // True when the mixer is taken, false when the driver is.
+        public boolean isMixer() {
+            return mixer;
+        }
+
+        public DispatchWindowView getWindow() {
+            return window;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.demo.service;
+
+import com.demo.entity.DeliveryTrackingStatus;
+import com.demo.entity.DispatchTripRecord;
+import com.demo.entity.Order;
+import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.OrderAssignmentRepository;
+import com.demo.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Materialized rows of the admin dispatch monitoring board, one per active dispatch.
+ * Every change gets a new board version, so screens polling with {@code since} only
+ * receive the rows changed (or dropped) after the version they already hold.
+ * Write paths that touch an order's dispatch, trips or delivery status must call
+ * {@link #refresh} after saving.
+ */
+@Service
+public class DispatchMonitoringBoard {
+
+    private static final List<OrderStatus> TERMINAL_STATUSES = List.of(OrderStatus.DELIVERED, OrderStatus.RETURNED, OrderStatus.REJECTED);
+    private static final List<DeliveryTrackingStatus> TERMINAL_TRACKING = List.of(DeliveryTrackingStatus.DELIVERED, DeliveryTrackingStatus.RETURNED);
+    private static final int MAX_TOMBSTONES = 2_000;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderAssignmentRepository orderAssignmentRepository;
+
+    @Autowired
+    private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+    @Autowired
+    private AdminOrderViewService adminOrderViewService;
+
+    private final Map<Long, Row> rows = new TreeMap<>();
+    // Orders that left the board, by order id, so deltas can tell clients to drop them.
+    private final Map<Long, Row> tombstones = new HashMap<>();
+    // Latest change per order (row or tombstone), keyed by the version it was made at.
+    private final TreeMap<Long, Long> changes = new TreeMap<>();
+    // Seeded from the clock so versions handed out before a restart never look current.
+    private long version = System.currentTimeMillis() * 1_000;
+    // Deltas are only complete for clients holding at least this version.
+    private long oldestDeltaVersion = version;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Order> orders = orderRepository.findForMonitoringBoard(TERMINAL_STATUSES, TERMINAL_TRACKING);
+        Map<Long, List<DispatchTripRecord>> tripsByOrder = new HashMap<>();
+        if (!orders.isEmpty()) {
+            for (DispatchTripRecord trip : dispatchTripRecordRepository.findByOrderIdsOrderByTripNumber(
+                    orders.stream().map(Order::getId).toList())) {
+                tripsByOrder.computeIfAbsent(trip.getOrder().getId(), key -> new ArrayList<>()).add(trip);
+            }
+        }
+
+        rows.clear();
+        tombstones.clear();
+        changes.clear();
+        // Versions handed out before the rebuild fall below the floor; the rebuilt board's own do not.
+        version++;
+        oldestDeltaVersion = version;
+        for (Order order : orders) {
+            if (isActive(order)) {
+                version++;
+                rows.put(order.getId(), new Row(version, order.getOrderId(),
+                        toRow(order, order.getAssignment(), tripsByOrder.getOrDefault(order.getId(), List.of()))));
+                changes.put(version, order.getId());
+            }
+        }
+    }
+
+    /**
+     * Reloads the order's row from the database; orders that are no longer active
+     * dispatches leave the board.
+     */
+    public void refresh(Long orderId) {
+        if (orderId == null) {
+            return;
+        }
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null) {
+            remove(orderId);
+            return;
+        }
+        refresh(order);
+    }
+
+    public void refresh(Order order) {
+        if (order == null || order.getId() == null) {
+            return;
+        }
+        if (!isActive(order)) {
+            remove(order.getId());
+            return;
+        }
+        OrderAssignment assignment = orderAssignmentRepository.findByOrder_Id(order.getId()).orElse(null);
+        List<DispatchTripRecord> trips = dispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc(order.getId());
+        put(order.getId(), order.getOrderId(), toRow(order, assignment, trips));
+    }
+
+    // GPS fixes only move the marker, so the row is patched without touching the database.
+    public synchronized void updatePosition(Long orderId, double latitude, double longitude) {
+        Row current = rows.get(orderId);
+        if (current == null) {
+            return;
+        }
+        Map<String, Object> values = new LinkedHashMap<>(current.values);
+        values.put("liveLatitude", latitude);
+        values.put("liveLongitude", longitude);
+        put(orderId, current.orderNumber, Collections.unmodifiableMap(values));
+    }
+
+    public synchronized void remove(Long orderId) {
+        Row current = orderId == null ? null : rows.remove(orderId);
+        if (current == null) {
+            return;
+        }
+        changes.remove(current.version);
+        version++;
+        tombstones.put(orderId, new Row(version, current.orderNumber, null));
+        changes.put(version, orderId);
+        pruneTombstones();
+    }
+
+    /**
+     * The whole board, or with {@code since} only what changed after that version.
+     * A version the board can no longer answer incrementally (too old, or from before
+     * a restart) gets the whole board with {@code full = true}.
+     */
+    public synchronized Map<String, Object> snapshot(Long since) {
+        boolean full = since == null || since < oldestDeltaVersion || since > version;
+        List<Map<String, Object>> records = new ArrayList<>();
+        List<String> removedOrderIds = new ArrayList<>();
+        if (full) {
+            for (Row row : rows.values()) {
+                records.add(row.values);
+            }
+        } else {
+            for (Long orderId : changes.tailMap(since, false).values()) {
+                Row row = rows.get(orderId);
+                if (row != null) {
+                    records.add(row.values);
+                } else {
+                    removedOrderIds.add(tombstones.get(orderId).orderNumber);
+                }
+            }
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("generatedAt", LocalDateTime.now());
+        response.put("version", version);
+        response.put("full", full);
+        response.put("totalRecords", rows.size());
+        response.put("records", records);
+        response.put("removedOrderIds", removedOrderIds);
+        return response;
+    }
+
+    public synchronized int size() {
+        return rows.size();
+    }
+
+    private synchronized void put(Long orderId, String orderNumber, Map<String, Object> values) {
+        Row current = rows.get(orderId);
+        if (current == null) {
+            current = tombstones.remove(orderId);
+        }
+        if (current != null) {
+            changes.remove(current.version);
+        }
+        version++;
+        rows.put(orderId, new Row(version, orderNumber, values));
+        changes.put(version, orderId);
+    }
+
+    // Drops the oldest half of the tombstones; clients behind them get a full board.
+    private void pruneTombstones() {
+        if (tombstones.size() <= MAX_TOMBSTONES) {
+            return;
+        }
+        Iterator<Map.Entry<Long, Long>> iterator = changes.entrySet().iterator();
+        while (iterator.hasNext() && tombstones.size() > MAX_TOMBSTONES / 2) {
+            Map.Entry<Long, Long> change = iterator.next();
+            if (!rows.containsKey(change.getValue())) {
+                tombstones.remove(change.getValue());
+                iterator.remove();
+                oldestDeltaVersion = change.getKey();
+            }
+        }
+    }
+
+    private boolean isActive(Order order) {
+        if (order.getDispatchDateTime() == null
+                && order.getDeliveryTrackingStatus() == null
+                && order.getLiveLatitude() == null
+                && order.getLiveLongitude() == null) {
+            return false;
+        }
+        if (order.getStatus() != null && TERMINAL_STATUSES.contains(order.getStatus())) {
+            return false;
+        }
+        DeliveryTrackingStatus tracking = adminOrderViewService.resolveTrackingStatus(order);
+        return tracking == null || !TERMINAL_TRACKING.contains(tracking);
+    }
+
+    private Map<String, Object> toRow(Order order, OrderAssignment assignment, List<DispatchTripRecord> trips) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("orderId", order.getOrderId());
+        row.put("dispatchStatus", adminOrderViewService.resolveDeliveryStatusLabel(adminOrderViewService.resolveTrackingStatus(order)));
+        row.put("dispatchDateTime", order.getDispatchDateTime());
+        row.put("expectedArrivalTime", order.getExpectedArrivalTime());
+        row.put("vehicleId", assignment != null && assignment.getTransitMixer() != null
+                ? assignment.getTransitMixer().getMixerNumber()
+                : null);
+        row.put("driverName", assignment != null && assignment.getDriver() != null
+                ? assignment.getDriver().getDriverName()
+                : null);
+        row.put("plannedTrips", order.getPlannedTrips() == null ? 1 : order.getPlannedTrips());
+        row.put("completedTrips", order.getCompletedTrips() == null ? 0 : order.getCompletedTrips());
+        row.put("totalFuelUsedLiters", order.getTotalFuelUsedLiters() == null ? 0.0 : order.getTotalFuelUsedLiters());
+        row.put("liveLatitude", order.getLiveLatitude());
+        row.put("liveLongitude", order.getLiveLongitude());
+        row.put("tripRecords", trips.stream().map(adminOrderViewService::toTripView).toList());
+        return Collections.unmodifiableMap(row);
+    }
+
+    private static final class Row {
+        private final long version;
+        private final String orderNumber;
+        private final Map<String, Object> values;
+
+        private Row(long version, String orderNumber, Map<String, Object> values) {
+            this.version = version;
+            this.orderNumber = orderNumber;
+            this.values = values;
+        }
+    }
+}
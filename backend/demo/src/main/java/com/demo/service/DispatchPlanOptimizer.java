@@ -0,0 +1,455 @@
+package com.demo.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Builds one day's trip plan for a fleet of transit mixers. A candidate plan is encoded
+ * as an order sequence plus, per order, how long a trip may wait for a truck that is
+ * already out before a fresh truck is sent; a greedy decoder turns that encoding into
+ * trips. Worker threads run a local search over the encoding from different starting
+ * points until the time budget runs out or they stop improving, and the cheapest plan
+ * wins. Cost ranks unplanned orders first, then late or broken-up pours, then trucks
+ * used, then truck idle time.
+ * Times are minutes from midnight of the planned day.
+ */
+final class DispatchPlanOptimizer {
+
+    static final int MORNING = 0;
+    static final int EVENING = 1;
+    static final int NO_DUE_TIME = Integer.MAX_VALUE;
+
+    // Same split as the dispatch screen: 06:00-15:00 is the morning shift.
+    private static final int MORNING_SHIFT_START = 6 * 60;
+    private static final int EVENING_SHIFT_START = 15 * 60;
+
+    private static final int[] WAIT_CHOICES = {0, 15, 30, 60, 120, 240};
+    private static final int DEFAULT_WAIT = 60;
+    private static final int STALL_LIMIT = 4_000;
+    private static final double WORSE_MOVE_ACCEPTANCE = 0.02;
+
+    private static final double UNPLANNED_COST = 1_000_000;
+    private static final double LATE_COST_PER_MINUTE = 50;
+    private static final double POUR_GAP_COST_PER_MINUTE = 10;
+    private static final double TRUCK_COST = 1_000;
+    private static final double IDLE_COST_PER_MINUTE = 1;
+    private static final double EPSILON = 1e-9;
+
+    private final OrderInput[] orders;
+    private final TruckInput[] trucks;
+    private final int travelMinutes;
+    private final int pourMinutes;
+    private final int cycleMinutes;
+    private final int latestDeparture;
+    private final DriverPool drivers;
+
+    DispatchPlanOptimizer(List<OrderInput> orders, List<TruckInput> trucks, int travelMinutes, int pourMinutes,
+                          int latestDeparture, DriverPool drivers) {
+        this.orders = orders.toArray(new OrderInput[0]);
+        this.trucks = trucks.toArray(new TruckInput[0]);
+        this.travelMinutes = travelMinutes;
+        this.pourMinutes = pourMinutes;
+        this.cycleMinutes = 2 * travelMinutes + pourMinutes;
+        this.latestDeparture = latestDeparture;
+        this.drivers = drivers;
+    }
+
+    /**
+     * Runs {@code workers} searches on the pool and returns the cheapest plan found.
+     */
+    Plan optimize(ExecutorService pool, int workers, long budgetMillis, long seed) {
+        if (orders.length == 0) {
+            return decode(new int[0], new int[0], true, 0);
+        }
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        List<Future<Search>> futures = new ArrayList<>();
+        for (int worker = 0; worker < workers; worker++) {
+            int workerIndex = worker;
+            Callable<Search> search = () -> search(workerIndex, new Random(seed + workerIndex), deadline);
+            futures.add(pool.submit(search));
+        }
+
+        Search best = null;
+        long iterations = 0;
+        try {
+            for (Future<Search> future : futures) {
+                Search result = future.get();
+                iterations += result.iterations;
+                if (best == null || result.cost < best.cost) {
+                    best = result;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Dispatch planning was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Dispatch planning failed", e.getCause());
+        }
+        return decode(best.sequence, best.waits, true, iterations);
+    }
+
+    private Search search(int worker, Random random, long deadline) {
+        int[] sequence = initialSequence();
+        int[] waits = new int[orders.length];
+        Arrays.fill(waits, DEFAULT_WAIT);
+        if (worker > 0) {
+            // Other workers start elsewhere so they do not all climb the same hill.
+            shuffle(sequence, random);
+            for (int i = 0; i < waits.length; i++) {
+                waits[i] = WAIT_CHOICES[random.nextInt(WAIT_CHOICES.length)];
+            }
+        }
+
+        double currentCost = decode(sequence, waits, false, 0).cost;
+        Search best = new Search(sequence.clone(), waits.clone(), currentCost);
+        int stalled = 0;
+        while (stalled < STALL_LIMIT && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            best.iterations++;
+            int moveType = orders.length > 1 ? random.nextInt(3) : 2;
+            int first = random.nextInt(orders.length);
+            int second = random.nextInt(orders.length);
+            int previousWait = waits[sequence[first]];
+            applyMove(moveType, sequence, waits, first, second, random);
+
+            double cost = decode(sequence, waits, false, 0).cost;
+            if (cost <= currentCost || random.nextDouble() < WORSE_MOVE_ACCEPTANCE) {
+                currentCost = cost;
+                if (cost < best.cost - EPSILON) {
+                    best.sequence = sequence.clone();
+                    best.waits = waits.clone();
+                    best.cost = cost;
+                    stalled = 0;
+                    continue;
+                }
+            } else {
+                undoMove(moveType, sequence, waits, first, second, previousWait);
+            }
+            stalled++;
+        }
+        return best;
+    }
+
+    private void applyMove(int moveType, int[] sequence, int[] waits, int first, int second, Random random) {
+        switch (moveType) {
+            case 0 -> swap(sequence, first, second);
+            case 1 -> move(sequence, first, second);
+            default -> waits[sequence[first]] = WAIT_CHOICES[random.nextInt(WAIT_CHOICES.length)];
+        }
+    }
+
+    private void undoMove(int moveType, int[] sequence, int[] waits, int first, int second, int previousWait) {
+        switch (moveType) {
+            case 0 -> swap(sequence, first, second);
+            case 1 -> move(sequence, second, first);
+            default -> waits[sequence[first]] = previousWait;
+        }
+    }
+
+    // Earliest ready first, bigger pours first on ties.
+    private int[] initialSequence() {
+        Integer[] boxed = new Integer[orders.length];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (left, right) -> {
+            int byReady = Integer.compare(orders[left].readyAt, orders[right].readyAt);
+            return byReady != 0 ? byReady : Double.compare(orders[right].quantity, orders[left].quantity);
+        });
+        int[] sequence = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            sequence[i] = boxed[i];
+        }
+        return sequence;
+    }
+
+    private Plan decode(int[] sequence, int[] waits, boolean keepTrips, long iterations) {
+        int truckCount = trucks.length;
+        int[] freeAt = new int[truckCount];
+        int[] firstDeparture = new int[truckCount];
+        int[] busyMinutes = new int[truckCount];
+        int[] shiftMask = new int[truckCount];
+        boolean[] used = new boolean[truckCount];
+        int[] crews = new int[2];
+
+        boolean[] planned = new boolean[orders.length];
+        List<Trip> trips = keepTrips ? new ArrayList<>() : null;
+        List<Trip> orderTrips = new ArrayList<>();
+        double cost = 0;
+        int lateMinutes = 0;
+        int pourGapMinutes = 0;
+
+        for (int orderIndex : sequence) {
+            OrderInput order = orders[orderIndex];
+            int[] savedFreeAt = freeAt.clone();
+            int[] savedFirstDeparture = firstDeparture.clone();
+            int[] savedBusy = busyMinutes.clone();
+            int[] savedShiftMask = shiftMask.clone();
+            boolean[] savedUsed = used.clone();
+            int[] savedCrews = crews.clone();
+
+            orderTrips.clear();
+            double remaining = order.quantity;
+            int previousArrival = -1;
+            int orderLate = 0;
+            int orderGap = 0;
+            boolean placed = true;
+            while (remaining > EPSILON) {
+                int target = previousArrival < 0
+                        ? (order.dueArrival == NO_DUE_TIME ? order.readyAt : Math.max(order.readyAt, order.dueArrival - travelMinutes))
+                        : Math.max(order.readyAt, previousArrival + pourMinutes - travelMinutes);
+
+                int chosen = -1;
+                int chosenDeparture = 0;
+                boolean chosenReused = false;
+                double chosenWaste = 0;
+                for (int truck = 0; truck < truckCount; truck++) {
+                    int departure = firstFreeDeparture(truck, used[truck] ? Math.max(target, freeAt[truck]) : target);
+                    if (departure > latestDeparture) {
+                        continue;
+                    }
+                    int shiftBit = 1 << shiftOf(departure);
+                    if ((shiftMask[truck] & shiftBit) == 0 && !drivers.canStaff(crews, shiftOf(departure))) {
+                        continue;
+                    }
+                    boolean reused = used[truck] && departure - target <= waits[orderIndex];
+                    double waste = trucks[truck].capacity - Math.min(trucks[truck].capacity, remaining);
+                    if (chosen < 0 || better(reused, departure, waste, chosenReused, chosenDeparture, chosenWaste)) {
+                        chosen = truck;
+                        chosenDeparture = departure;
+                        chosenReused = reused;
+                        chosenWaste = waste;
+                    }
+                }
+                if (chosen < 0) {
+                    placed = false;
+                    break;
+                }
+
+                int shift = shiftOf(chosenDeparture);
+                if ((shiftMask[chosen] & (1 << shift)) == 0) {
+                    shiftMask[chosen] |= 1 << shift;
+                    crews[shift]++;
+                }
+                if (!used[chosen]) {
+                    used[chosen] = true;
+                    firstDeparture[chosen] = chosenDeparture;
+                }
+                freeAt[chosen] = chosenDeparture + cycleMinutes;
+                busyMinutes[chosen] += cycleMinutes;
+
+                double load = Math.min(trucks[chosen].capacity, remaining);
+                remaining -= load;
+                int arrival = chosenDeparture + travelMinutes;
+                if (previousArrival < 0) {
+                    if (order.dueArrival != NO_DUE_TIME && arrival > order.dueArrival) {
+                        orderLate = arrival - order.dueArrival;
+                    }
+                } else if (arrival > previousArrival + pourMinutes) {
+                    orderGap += arrival - previousArrival - pourMinutes;
+                }
+                previousArrival = arrival;
+                orderTrips.add(new Trip(orderIndex, chosen, load, chosenDeparture, arrival, chosenDeparture + cycleMinutes, shift));
+            }
+
+            if (!placed) {
+                System.arraycopy(savedFreeAt, 0, freeAt, 0, truckCount);
+                System.arraycopy(savedFirstDeparture, 0, firstDeparture, 0, truckCount);
+                System.arraycopy(savedBusy, 0, busyMinutes, 0, truckCount);
+                System.arraycopy(savedShiftMask, 0, shiftMask, 0, truckCount);
+                System.arraycopy(savedUsed, 0, used, 0, truckCount);
+                System.arraycopy(savedCrews, 0, crews, 0, 2);
+                cost += UNPLANNED_COST;
+                continue;
+            }
+            planned[orderIndex] = true;
+            lateMinutes += orderLate;
+            pourGapMinutes += orderGap;
+            if (keepTrips) {
+                trips.addAll(orderTrips);
+            }
+        }
+
+        int trucksUsed = 0;
+        int idleMinutes = 0;
+        for (int truck = 0; truck < truckCount; truck++) {
+            if (used[truck]) {
+                trucksUsed++;
+                idleMinutes += freeAt[truck] - firstDeparture[truck] - busyMinutes[truck];
+            }
+        }
+        cost += lateMinutes * LATE_COST_PER_MINUTE
+                + pourGapMinutes * POUR_GAP_COST_PER_MINUTE
+                + trucksUsed * TRUCK_COST
+                + idleMinutes * IDLE_COST_PER_MINUTE;
+        return new Plan(trips, planned, cost, trucksUsed, idleMinutes, lateMinutes, pourGapMinutes, iterations);
+    }
+
+    // Trucks already out that can go within the order's wait allowance beat everything else.
+    private static boolean better(boolean reused, int departure, double waste,
+                                  boolean bestReused, int bestDeparture, double bestWaste) {
+        if (reused != bestReused) {
+            return reused;
+        }
+        if (departure != bestDeparture) {
+            return departure < bestDeparture;
+        }
+        return waste < bestWaste - EPSILON;
+    }
+
+    // Earliest departure at or after the given time whose full round trip avoids the truck's booked windows.
+    private int firstFreeDeparture(int truck, int notBefore) {
+        int[] blocked = trucks[truck].blocked;
+        int departure = notBefore;
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            for (int i = 0; i + 1 < blocked.length; i += 2) {
+                if (departure < blocked[i + 1] && departure + cycleMinutes > blocked[i]) {
+                    departure = blocked[i + 1];
+                    moved = true;
+                }
+            }
+        }
+        return departure;
+    }
+
+    static int shiftOf(int minuteOfDay) {
+        return minuteOfDay >= MORNING_SHIFT_START && minuteOfDay < EVENING_SHIFT_START ? MORNING : EVENING;
+    }
+
+    private static void swap(int[] values, int first, int second) {
+        int value = values[first];
+        values[first] = values[second];
+        values[second] = value;
+    }
+
+    private static void move(int[] values, int from, int to) {
+        int value = values[from];
+        if (from < to) {
+            System.arraycopy(values, from + 1, values, from, to - from);
+        } else if (from > to) {
+            System.arraycopy(values, to, values, to + 1, from - to);
+        }
+        values[to] = value;
+    }
+
+    private static void shuffle(int[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            swap(values, i, random.nextInt(i + 1));
+        }
+    }
+
+    static final class OrderInput {
+        final double quantity;
+        final int readyAt;
+        final int dueArrival;
+
+        OrderInput(double quantity, int readyAt, int dueArrival) {
+            this.quantity = quantity;
+            this.readyAt = readyAt;
+            this.dueArrival = dueArrival;
+        }
+    }
+
+    static final class TruckInput {
+        final double capacity;
+        // Start/end pairs of windows the truck is already booked for.
+        final int[] blocked;
+
+        TruckInput(double capacity, int[] blocked) {
+            this.capacity = capacity;
+            this.blocked = blocked;
+        }
+    }
+
+    /**
+     * Drivers on the morning and evening shift plus drivers without a fixed shift, who
+     * can cover either. Each driver crews one truck per shift. Unlimited when the
+     * fleet has no drivers on record.
+     */
+    static final class DriverPool {
+        final int morning;
+        final int evening;
+        final int flexible;
+        final boolean limited;
+
+        DriverPool(int morning, int evening, int flexible) {
+            this.morning = morning;
+            this.evening = evening;
+            this.flexible = flexible;
+            this.limited = morning + evening + flexible > 0;
+        }
+
+        boolean canStaff(int[] crews, int shift) {
+            if (!limited) {
+                return true;
+            }
+            int morningCrews = crews[MORNING] + (shift == MORNING ? 1 : 0);
+            int eveningCrews = crews[EVENING] + (shift == EVENING ? 1 : 0);
+            return Math.max(0, morningCrews - morning) + Math.max(0, eveningCrews - evening) <= flexible;
+        }
+    }
+
+    static final class Trip {
+        final int order;
+        final int truck;
+        final double load;
+        final int departure;
+        final int arrival;
+        final int returnAt;
+        final int shift;
+
+        Trip(int order, int truck, double load, int departure, int arrival, int returnAt, int shift) {
+            this.order = order;
+            this.truck = truck;
+            this.load = load;
+            this.departure = departure;
+            this.arrival = arrival;
+            this.returnAt = returnAt;
+            this.shift = shift;
+        }
+    }
+
+    static final class Plan {
+        final List<Trip> trips;
+        final boolean[] planned;
+        final double cost;
+        final int trucksUsed;
+        final int idleMinutes;
+        final int lateMinutes;
+        final int pourGapMinutes;
+        final long iterations;
+
+        Plan(List<Trip> trips, boolean[] planned, double cost, int trucksUsed, int idleMinutes,
+             int lateMinutes, int pourGapMinutes, long iterations) {
+            this.trips = trips;
+            this.planned = planned;
+            this.cost = cost;
+            this.trucksUsed = trucksUsed;
+            this.idleMinutes = idleMinutes;
+            this.lateMinutes = lateMinutes;
+            this.pourGapMinutes = pourGapMinutes;
+            this.iterations = iterations;
+        }
+    }
+
+    private static final class Search {
+        private int[] sequence;
+        private int[] waits;
+        private double cost;
+        private long iterations;
+
+        private Search(int[] sequence, int[] waits, double cost) {
+            this.sequence = sequence;
+            this.waits = waits;
+            this.cost = cost;
+        }
+    }
+}
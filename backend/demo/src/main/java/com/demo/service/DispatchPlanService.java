@@ -0,0 +1,670 @@
+package com.demo.service;
+
+import com.demo.dto.DispatchPlanRequest;
+import com.demo.dto.DispatchWindowView;
+import com.demo.entity.DeliveryTrackingStatus;
+import com.demo.entity.DispatchTripRecord;
+import com.demo.entity.DispatchTripStatus;
+import com.demo.entity.Driver;
+import com.demo.entity.NotificationType;
+import com.demo.entity.Order;
+import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.TransitMixer;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.DriverRepository;
+import com.demo.repository.OrderAssignmentRepository;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.TransitMixerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plans every approved and in-production order of a day onto the transit mixer fleet
+ * in one go. {@link #preview} runs the {@link DispatchPlanOptimizer} and keeps the
+ * result for a while under a plan id; {@link #commit} writes it as scheduled trip
+ * records, but only if the orders, fleet, drivers and existing bookings it was built
+ * from are still the same.
+ */
+@Service
+public class DispatchPlanService {
+
+    static final int DEFAULT_TRAVEL_MINUTES = 90;
+    static final int DEFAULT_POUR_MINUTES = 30;
+    static final long DEFAULT_TIME_BUDGET_MS = 2_000;
+    static final long MAX_TIME_BUDGET_MS = 10_000;
+    static final double DEFAULT_TRUCK_CAPACITY_M3 = 6.0;
+
+    private static final int DEFAULT_READY_MINUTE = 6 * 60;
+    private static final int LATEST_DEPARTURE_MINUTE = 24 * 60 - 1;
+    private static final long PLAN_TTL_MINUTES = 30;
+    private static final int MAX_STORED_PLANS = 20;
+    private static final int WORKER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final List<OrderStatus> PLANNABLE_STATUSES = List.of(OrderStatus.APPROVED, OrderStatus.IN_PRODUCTION);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderAssignmentRepository orderAssignmentRepository;
+
+    @Autowired
+    private TransitMixerRepository transitMixerRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+    @Autowired
+    private DispatchAvailabilityIndex dispatchAvailabilityIndex;
+
+    @Autowired
+    private DispatchMonitoringBoard dispatchMonitoringBoard;
+
+    @Autowired
+    private TripSummaryService tripSummaryService;
+
+    @Autowired
+    private OrderNotificationService orderNotificationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(WORKER_THREADS, new PlannerThreadFactory());
+    private final Map<String, StoredPlan> plans = new ConcurrentHashMap<>();
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Not transactional: the inputs are read in their own short transaction so no
+     * connection is held while the optimizer runs for up to its time budget.
+     */
+    public Map<String, Object> preview(DispatchPlanRequest request) {
+        LocalDate day = request != null && request.getDate() != null ? request.getDate() : LocalDate.now();
+        int travelMinutes = positiveOrDefault(request != null ? request.getTravelMinutes() : null, DEFAULT_TRAVEL_MINUTES, "travelMinutes");
+        int pourMinutes = positiveOrDefault(request != null ? request.getPourMinutes() : null, DEFAULT_POUR_MINUTES, "pourMinutes");
+        long budget = request != null && request.getTimeBudgetMillis() != null
+                ? Math.max(50, Math.min(MAX_TIME_BUDGET_MS, request.getTimeBudgetMillis()))
+                : DEFAULT_TIME_BUDGET_MS;
+        List<String> orderFilter = request != null && request.getOrderIds() != null ? List.copyOf(request.getOrderIds()) : List.of();
+
+        PlanInputs inputs = readOnlyTransaction.execute(status -> loadInputs(day, orderFilter, travelMinutes, pourMinutes));
+        if (inputs.mixers.isEmpty() && !inputs.orders.isEmpty()) {
+            throw new IllegalArgumentException("No transit mixers registered");
+        }
+
+        long started = System.nanoTime();
+        DispatchPlanOptimizer.Plan result = inputs.optimizer().optimize(workers, WORKER_THREADS, budget, System.nanoTime());
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000L;
+
+        StoredPlan plan = toStoredPlan(inputs, result, orderFilter);
+        evictExpiredPlans();
+        plans.put(plan.planId, plan);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("orders", inputs.orders.size());
+        summary.put("plannedOrders", plan.orders.size());
+        summary.put("unplannedOrders", plan.unplannedOrders);
+        summary.put("trips", result.trips.size());
+        summary.put("trucksUsed", result.trucksUsed);
+        summary.put("fleetSize", inputs.mixers.size());
+        summary.put("idleMinutes", result.idleMinutes);
+        summary.put("lateMinutes", result.lateMinutes);
+        summary.put("pourGapMinutes", result.pourGapMinutes);
+        summary.put("iterations", result.iterations);
+        summary.put("workers", WORKER_THREADS);
+        summary.put("elapsedMillis", elapsedMillis);
+
+        List<Map<String, Object>> tripRows = new ArrayList<>();
+        for (OrderPlan orderPlan : plan.orders) {
+            for (PlannedTrip trip : orderPlan.trips) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("orderId", orderPlan.orderNumber);
+                row.put("tripNumber", trip.tripNumber);
+                row.put("transitMixerNumber", trip.mixerNumber);
+                row.put("capacityM3", trip.capacityM3);
+                row.put("driverName", trip.driverName);
+                row.put("shift", trip.shift);
+                row.put("loadM3", trip.loadM3);
+                row.put("dispatchTime", trip.departure);
+                row.put("arrivalTime", trip.arrival);
+                row.put("returnTime", trip.returnAt);
+                tripRows.add(row);
+            }
+        }
+        tripRows.sort(Comparator.comparing((Map<String, Object> row) -> (LocalDateTime) row.get("dispatchTime"))
+                .thenComparing(row -> (String) row.get("transitMixerNumber")));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("planId", plan.planId);
+        response.put("date", day);
+        response.put("expiresAt", plan.expiresAt);
+        response.put("summary", summary);
+        response.put("trips", tripRows);
+        response.put("warnings", plan.warnings);
+        return response;
+    }
+
+    /**
+     * Writes a previewed plan: each planned order's trips are replaced by the plan's
+     * trips, its assignment gets the first trip's mixer and driver, and it is marked
+     * scheduled for dispatch. A plan can be committed once.
+     */
+    @Transactional
+    public Map<String, Object> commit(String planId) {
+        StoredPlan plan = planId == null ? null : plans.remove(planId);
+        if (plan == null || plan.expiresAt.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Dispatch plan not found or expired; preview again");
+        }
+        PlanInputs inputs = loadInputs(plan.date, plan.orderFilter, plan.travelMinutes, plan.pourMinutes);
+        if (!inputs.signature.equals(plan.signature)) {
+            throw new IllegalStateException("Orders, fleet or bookings changed since this plan was previewed; preview again");
+        }
+
+        Map<Long, Order> ordersById = new HashMap<>();
+        inputs.orders.forEach(order -> ordersById.put(order.getId(), order));
+        Map<Long, TransitMixer> mixersById = new HashMap<>();
+        inputs.mixers.forEach(mixer -> mixersById.put(mixer.getId(), mixer));
+        Map<Long, Driver> driversById = new HashMap<>();
+        inputs.drivers.forEach(driver -> driversById.put(driver.getId(), driver));
+
+        List<Order> committedOrders = new ArrayList<>();
+        List<OrderAssignment> committedAssignments = new ArrayList<>();
+        int tripCount = 0;
+        for (OrderPlan orderPlan : plan.orders) {
+            Order order = ordersById.get(orderPlan.orderId);
+            dispatchTripRecordRepository.deleteAll(dispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc(order.getId()));
+
+            List<DispatchTripRecord> records = new ArrayList<>();
+            for (PlannedTrip trip : orderPlan.trips) {
+                DispatchTripRecord record = new DispatchTripRecord();
+                record.setOrder(order);
+                record.setTripNumber(trip.tripNumber);
+                record.setStatus(DispatchTripStatus.SCHEDULED);
+                record.setTripQuantityM3(trip.loadM3);
+                record.setShift(trip.shift);
+                record.setScheduledDispatchTime(trip.departure);
+                record.setEstimatedDeliveryTime(trip.arrival);
+                record.setTransitMixerNumber(trip.mixerNumber);
+                record.setDriverName(trip.driverName);
+                records.add(record);
+            }
+            dispatchTripRecordRepository.saveAll(records);
+            tripCount += records.size();
+
+            PlannedTrip first = orderPlan.trips.get(0);
+            PlannedTrip last = orderPlan.trips.get(orderPlan.trips.size() - 1);
+            OrderAssignment assignment = order.getAssignment();
+            if (assignment == null) {
+                assignment = new OrderAssignment();
+                assignment.setOrder(order);
+            }
+            assignment.setTransitMixer(mixersById.get(first.mixerId));
+            if (first.driverId != null) {
+                assignment.setDriver(driversById.get(first.driverId));
+            }
+            orderAssignmentRepository.save(assignment);
+
+            order.setDispatchDateTime(first.departure);
+            order.setExpectedArrivalTime(last.arrival);
+            order.setPlannedTrips(orderPlan.trips.size());
+            order.setTripPlanning(orderPlan.trips.size() > 1 ? "MULTIPLE_TRIPS" : "SINGLE_TRIP");
+            if (order.getTotalFuelUsedLiters() == null) {
+                order.setTotalFuelUsedLiters(0.0);
+            }
+            order.setDeliveryTrackingStatus(DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH);
+            order.setLatestNotification("Dispatch planned: " + orderPlan.trips.size() + " trip(s) from " + first.departure.toLocalTime());
+            tripSummaryService.recalculate(order);
+            orderRepository.save(order);
+            orderNotificationService.createNotification(order, NotificationType.DISPATCH_SCHEDULED);
+
+            committedOrders.add(order);
+            committedAssignments.add(assignment);
+        }
+
+        refreshAvailabilityAfterCommit(committedOrders, committedAssignments);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("message", "Dispatch plan committed");
+        response.put("planId", plan.planId);
+        response.put("orders", committedOrders.size());
+        response.put("trips", tripCount);
+        return response;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private PlanInputs loadInputs(LocalDate day, List<String> orderFilter, int travelMinutes, int pourMinutes) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        Set<String> wanted = new HashSet<>();
+        orderFilter.forEach(orderId -> wanted.add(orderId.trim()));
+
+        List<Order> candidates = new ArrayList<>();
+        for (Order order : orderRepository.findForDispatchPlanning(PLANNABLE_STATUSES, day, dayStart, dayEnd)) {
+            if (order.getQuantity() > 0 && (wanted.isEmpty() || wanted.contains(order.getOrderId()))) {
+                candidates.add(order);
+            }
+        }
+
+        // Orders with a trip already on the road are left to the dispatcher.
+        Set<Long> started = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            for (DispatchTripRecord trip : dispatchTripRecordRepository.findByOrderIdsOrderByTripNumber(
+                    candidates.stream().map(Order::getId).toList())) {
+                if (trip.getStatus() != null && trip.getStatus() != DispatchTripStatus.SCHEDULED) {
+                    started.add(trip.getOrder().getId());
+                }
+            }
+        }
+        List<Order> orders = candidates.stream().filter(order -> !started.contains(order.getId())).toList();
+        Set<Long> plannedOrderIds = new HashSet<>();
+        orders.forEach(order -> plannedOrderIds.add(order.getId()));
+
+        List<TransitMixer> mixers = transitMixerRepository.findAll().stream()
+                .filter(mixer -> mixer.getMixerNumber() != null && !mixer.getMixerNumber().isBlank())
+                .sorted(Comparator.comparing(TransitMixer::getId))
+                .toList();
+        List<Driver> drivers = driverRepository.findAll().stream()
+                .filter(driver -> driver.getDriverName() != null && !driver.getDriverName().isBlank())
+                .sorted(Comparator.comparing(Driver::getId))
+                .toList();
+        List<DispatchWindowView> bookings = dispatchAvailabilityIndex
+                .findOverlapping(dayStart.minusDays(1), dayEnd.plusDays(1)).stream()
+                .filter(window -> !plannedOrderIds.contains(window.getOrderId()))
+                .sorted(Comparator.comparing(DispatchWindowView::getOrderId))
+                .toList();
+
+        StringBuilder signature = new StringBuilder()
+                .append(day).append('|').append(travelMinutes).append('|').append(pourMinutes).append('|').append(orderFilter);
+        for (Order order : orders) {
+            signature.append("|O").append(order.getId()).append(',').append(order.getQuantity()).append(',')
+                    .append(order.getStatus()).append(',').append(order.getProductionSlotStart()).append(',')
+                    .append(order.getDeliveryDate());
+        }
+        for (TransitMixer mixer : mixers) {
+            signature.append("|M").append(mixer.getId()).append(',').append(mixer.getMixerNumber()).append(',').append(mixer.getCapacityM3());
+        }
+        for (Driver driver : drivers) {
+            signature.append("|D").append(driver.getId()).append(',').append(driver.getDriverName()).append(',').append(driver.getDriverShift());
+        }
+        for (DispatchWindowView window : bookings) {
+            signature.append("|B").append(window.getOrderId()).append(',').append(window.getDispatchDateTime()).append(',')
+                    .append(window.getExpectedArrivalTime()).append(',').append(window.getTransitMixerNumber()).append(',')
+                    .append(window.getDriverName());
+        }
+        return new PlanInputs(day, orders, mixers, drivers, bookings, travelMinutes, pourMinutes, signature.toString());
+    }
+
+    private StoredPlan toStoredPlan(PlanInputs inputs, DispatchPlanOptimizer.Plan result, List<String> orderFilter) {
+        Map<Integer, String> driverByCrew = assignDrivers(inputs, result);
+        List<String> warnings = new ArrayList<>();
+        Set<Integer> unstaffed = new HashSet<>();
+
+        Map<Integer, List<DispatchPlanOptimizer.Trip>> tripsByOrder = new HashMap<>();
+        for (DispatchPlanOptimizer.Trip trip : result.trips) {
+            tripsByOrder.computeIfAbsent(trip.order, key -> new ArrayList<>()).add(trip);
+        }
+        Map<String, Driver> driversByName = new HashMap<>();
+        inputs.drivers.forEach(driver -> driversByName.put(driver.getDriverName(), driver));
+
+        List<OrderPlan> orderPlans = new ArrayList<>();
+        List<String> unplanned = new ArrayList<>();
+        for (int index = 0; index < inputs.orders.size(); index++) {
+            Order order = inputs.orders.get(index);
+            List<DispatchPlanOptimizer.Trip> trips = tripsByOrder.get(index);
+            if (!result.planned[index] || trips == null) {
+                unplanned.add(order.getOrderId());
+                continue;
+            }
+            trips.sort(Comparator.comparingInt(trip -> trip.departure));
+            List<PlannedTrip> plannedTrips = new ArrayList<>();
+            for (DispatchPlanOptimizer.Trip trip : trips) {
+                TransitMixer mixer = inputs.mixers.get(trip.truck);
+                int crew = trip.truck * 2 + trip.shift;
+                String driverName = driverByCrew.get(crew);
+                if (driverName == null && !inputs.drivers.isEmpty() && unstaffed.add(crew)) {
+                    warnings.add("No free " + shiftName(trip.shift).toLowerCase() + " driver for " + mixer.getMixerNumber());
+                }
+                Driver driver = driverName != null ? driversByName.get(driverName) : null;
+                plannedTrips.add(new PlannedTrip(
+                        plannedTrips.size() + 1,
+                        mixer.getId(),
+                        mixer.getMixerNumber(),
+                        truckCapacity(mixer),
+                        driver != null ? driver.getId() : null,
+                        driverName,
+                        shiftName(trip.shift),
+                        Math.round(trip.load * 100.0) / 100.0,
+                        inputs.at(trip.departure),
+                        inputs.at(trip.arrival),
+                        inputs.at(trip.returnAt)));
+            }
+            orderPlans.add(new OrderPlan(order.getId(), order.getOrderId(), plannedTrips));
+        }
+        if (!unplanned.isEmpty()) {
+            warnings.add(unplanned.size() + " order(s) could not be fitted on the fleet today");
+        }
+
+        return new StoredPlan(
+                UUID.randomUUID().toString(),
+                inputs.day,
+                inputs.travelMinutes,
+                inputs.pourMinutes,
+                orderFilter,
+                inputs.signature,
+                LocalDateTime.now().plusMinutes(PLAN_TTL_MINUTES),
+                orderPlans,
+                unplanned,
+                warnings);
+    }
+
+    /**
+     * Gives every truck-and-shift the plan uses one driver: a driver of that shift
+     * first, then one without a fixed shift, skipping drivers already booked on other
+     * orders while the truck is out.
+     */
+    private Map<Integer, String> assignDrivers(PlanInputs inputs, DispatchPlanOptimizer.Plan result) {
+        Map<Integer, int[]> spans = new HashMap<>();
+        for (DispatchPlanOptimizer.Trip trip : result.trips) {
+            int[] span = spans.computeIfAbsent(trip.truck * 2 + trip.shift, key -> new int[]{trip.departure, trip.returnAt});
+            span[0] = Math.min(span[0], trip.departure);
+            span[1] = Math.max(span[1], trip.returnAt);
+        }
+
+        Map<Integer, String> driverByCrew = new HashMap<>();
+        Set<String> busy = new HashSet<>();
+        List<Integer> crews = new ArrayList<>(spans.keySet());
+        crews.sort(Comparator.comparingInt((Integer crew) -> spans.get(crew)[0]).thenComparingInt(crew -> crew));
+        for (int crew : crews) {
+            int shift = crew % 2;
+            int[] span = spans.get(crew);
+            String chosen = null;
+            for (boolean flexible : new boolean[]{false, true}) {
+                for (Driver driver : inputs.drivers) {
+                    Integer driverShift = shiftOf(driver.getDriverShift());
+                    boolean matches = flexible ? driverShift == null : driverShift != null && driverShift == shift;
+                    String key = flexible ? driver.getDriverName() : driver.getDriverName() + "|" + shift;
+                    if (matches && !busy.contains(key) && !inputs.isDriverBooked(driver.getDriverName(), span[0], span[1])) {
+                        chosen = driver.getDriverName();
+                        busy.add(key);
+                        break;
+                    }
+                }
+                if (chosen != null) {
+                    break;
+                }
+            }
+            if (chosen != null) {
+                driverByCrew.put(crew, chosen);
+            }
+        }
+        return driverByCrew;
+    }
+
+    private void refreshAvailabilityAfterCommit(List<Order> orders, List<OrderAssignment> assignments) {
+        Runnable refresh = () -> {
+            for (int i = 0; i < orders.size(); i++) {
+                dispatchAvailabilityIndex.refresh(orders.get(i), assignments.get(i));
+                dispatchMonitoringBoard.refresh(orders.get(i).getId());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh.run();
+                }
+            });
+            return;
+        }
+        refresh.run();
+    }
+
+    private void evictExpiredPlans() {
+        LocalDateTime now = LocalDateTime.now();
+        plans.values().removeIf(plan -> plan.expiresAt.isBefore(now));
+        while (plans.size() >= MAX_STORED_PLANS) {
+            plans.values().stream()
+                    .min(Comparator.comparing(plan -> plan.expiresAt))
+                    .ifPresent(oldest -> plans.remove(oldest.planId));
+        }
+    }
+
+    private static int positiveOrDefault(Integer value, int defaultValue, String name) {
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be greater than 0");
+        }
+        return value;
+    }
+
+    private static double truckCapacity(TransitMixer mixer) {
+        return mixer.getCapacityM3() != null && mixer.getCapacityM3() > 0 ? mixer.getCapacityM3() : DEFAULT_TRUCK_CAPACITY_M3;
+    }
+
+    private static Integer shiftOf(String driverShift) {
+        if (driverShift == null) {
+            return null;
+        }
+        return switch (driverShift.trim().toUpperCase()) {
+            case "MORNING" -> DispatchPlanOptimizer.MORNING;
+            case "EVENING" -> DispatchPlanOptimizer.EVENING;
+            default -> null;
+        };
+    }
+
+    private static String shiftName(int shift) {
+        return shift == DispatchPlanOptimizer.MORNING ? "MORNING" : "EVENING";
+    }
+
+    private static final class PlanInputs {
+        private final LocalDate day;
+        private final List<Order> orders;
+        private final List<TransitMixer> mixers;
+        private final List<Driver> drivers;
+        private final List<DispatchWindowView> bookings;
+        private final int travelMinutes;
+        private final int pourMinutes;
+        private final String signature;
+
+        private PlanInputs(LocalDate day, List<Order> orders, List<TransitMixer> mixers, List<Driver> drivers,
+                           List<DispatchWindowView> bookings, int travelMinutes, int pourMinutes, String signature) {
+            this.day = day;
+            this.orders = orders;
+            this.mixers = mixers;
+            this.drivers = drivers;
+            this.bookings = bookings;
+            this.travelMinutes = travelMinutes;
+            this.pourMinutes = pourMinutes;
+            this.signature = signature;
+        }
+
+        private DispatchPlanOptimizer optimizer() {
+            List<DispatchPlanOptimizer.OrderInput> orderInputs = new ArrayList<>();
+            for (Order order : orders) {
+                int readyAt = order.getProductionSlotStart() != null && order.getProductionSlotStart().toLocalDate().equals(day)
+                        ? minuteOf(order.getProductionSlotStart())
+                        : DEFAULT_READY_MINUTE;
+                // A delivery date with a time of day is the customer's requested arrival.
+                int dueArrival = order.getDeliveryDate() != null
+                        && order.getDeliveryDate().toLocalDate().equals(day)
+                        && !order.getDeliveryDate().toLocalTime().equals(LocalTime.MIDNIGHT)
+                        ? minuteOf(order.getDeliveryDate())
+                        : DispatchPlanOptimizer.NO_DUE_TIME;
+                orderInputs.add(new DispatchPlanOptimizer.OrderInput(order.getQuantity(), readyAt, dueArrival));
+            }
+
+            List<DispatchPlanOptimizer.TruckInput> truckInputs = new ArrayList<>();
+            for (TransitMixer mixer : mixers) {
+                List<Integer> blocked = new ArrayList<>();
+                for (DispatchWindowView booking : bookings) {
+                    if (booking.getTransitMixerNumber() != null
+                            && booking.getTransitMixerNumber().trim().equalsIgnoreCase(mixer.getMixerNumber().trim())) {
+                        blocked.add(minuteOf(booking.getDispatchDateTime()));
+                        blocked.add(minuteOf(booking.getExpectedArrivalTime()) + pourMinutes + travelMinutes);
+                    }
+                }
+                truckInputs.add(new DispatchPlanOptimizer.TruckInput(
+                        truckCapacity(mixer), blocked.stream().mapToInt(Integer::intValue).toArray()));
+            }
+
+            int morning = 0;
+            int evening = 0;
+            int flexible = 0;
+            for (Driver driver : drivers) {
+                Integer shift = shiftOf(driver.getDriverShift());
+                if (shift == null) {
+                    flexible++;
+                } else if (shift == DispatchPlanOptimizer.MORNING) {
+                    morning++;
+                } else {
+                    evening++;
+                }
+            }
+            return new DispatchPlanOptimizer(orderInputs, truckInputs, travelMinutes, pourMinutes,
+                    LATEST_DEPARTURE_MINUTE, new DispatchPlanOptimizer.DriverPool(morning, evening, flexible));
+        }
+
+        private boolean isDriverBooked(String driverName, int from, int to) {
+            for (DispatchWindowView booking : bookings) {
+                if (booking.getDriverName() != null
+                        && booking.getDriverName().trim().equalsIgnoreCase(driverName.trim())
+                        && minuteOf(booking.getDispatchDateTime()) < to
+                        && minuteOf(booking.getExpectedArrivalTime()) + pourMinutes + travelMinutes > from) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private LocalDateTime at(int minuteOfDay) {
+            return day.atStartOfDay().plusMinutes(minuteOfDay);
+        }
+
+        // Minutes from midnight of the planned day, clamped to a few days either side.
+        private int minuteOf(LocalDateTime time) {
+            long minutes = Duration.between(day.atStartOfDay(), time).toMinutes();
+            return (int) Math.max(-3 * 24 * 60, Math.min(4 * 24 * 60, minutes));
+        }
+    }
+
+    private static final class StoredPlan {
+        private final String planId;
+        private final LocalDate date;
+        private final int travelMinutes;
+        private final int pourMinutes;
+        private final List<String> orderFilter;
+        private final String signature;
+        private final LocalDateTime expiresAt;
+        private final List<OrderPlan> orders;
+        private final List<String> unplannedOrders;
+        private final List<String> warnings;
+
+        private StoredPlan(String planId, LocalDate date, int travelMinutes, int pourMinutes, List<String> orderFilter,
+                           String signature, LocalDateTime expiresAt, List<OrderPlan> orders,
+                           List<String> unplannedOrders, List<String> warnings) {
+            this.planId = planId;
+            this.date = date;
+            this.travelMinutes = travelMinutes;
+            this.pourMinutes = pourMinutes;
+            this.orderFilter = orderFilter;
+            this.signature = signature;
+            this.expiresAt = expiresAt;
+            this.orders = orders;
+            this.unplannedOrders = unplannedOrders;
+            this.warnings = warnings;
+        }
+    }
+
+    private static final class OrderPlan {
+        private final Long orderId;
+        private final String orderNumber;
+        private final List<PlannedTrip> trips;
+
+        private OrderPlan(Long orderId, String orderNumber, List<PlannedTrip> trips) {
+            this.orderId = orderId;
+            this.orderNumber = orderNumber;
+            this.trips = trips;
+        }
+    }
+
+    private static final class PlannedTrip {
+        private final int tripNumber;
+        private final Long mixerId;
+        private final String mixerNumber;
+        private final double capacityM3;
+        private final Long driverId;
+        private final String driverName;
+        private final String shift;
+        private final double loadM3;
+        private final LocalDateTime departure;
+        private final LocalDateTime arrival;
+        private final LocalDateTime returnAt;
+
+        private PlannedTrip(int tripNumber, Long mixerId, String mixerNumber, double capacityM3, Long driverId,
+                            String driverName, String shift, double loadM3, LocalDateTime departure,
+                            LocalDateTime arrival, LocalDateTime returnAt) {
+            this.tripNumber = tripNumber;
+            this.mixerId = mixerId;
+            this.mixerNumber = mixerNumber;
+            this.capacityM3 = capacityM3;
+            this.driverId = driverId;
+            this.driverName = driverName;
+            this.shift = shift;
+            this.loadM3 = loadM3;
+            this.departure = departure;
+            this.arrival = arrival;
+            this.returnAt = returnAt;
+        }
+    }
+
+    private static final class PlannerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "dispatch-planner-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.demo.service;
+
+import com.demo.dto.GpsPointRequest;
+import com.demo.dto.OrderMixerView;
+import com.demo.dto.OrderRefView;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.OrderAssignmentRepository;
+import com.demo.repository.OrderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers GPS pings from transit mixers and writes them in the background. Every
+ * accepted point is queued for the append-only vehicle_positions history, while the
+ * live position on {@code orders} only receives the newest point per order once per
+ * flush, so a fleet pinging every few seconds costs one row update per order per
+ * second instead of one per ping.
+ */
+@Service
+public class GpsIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(GpsIngestionService.class);
+
+    public static final String POSITION_EVENT = "position";
+
+    static final int MAX_PENDING_POINTS = 200_000;
+    private static final int INSERT_CHUNK_SIZE = 1000;
+    private static final int ORDER_REF_CACHE_LIMIT = 50_000;
+    private static final long MAX_CLOCK_SKEW_MINUTES = 5;
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+    // Mixers can be reassigned, so the allowed set per order is looked up again after this.
+    private static final Duration ASSIGNED_MIXERS_TTL = Duration.ofSeconds(30);
+
+    private static final String INSERT_POSITION_SQL = "insert into vehicle_positions "
+            + "(order_number, transit_mixer_number, latitude, longitude, speed_kmph, heading_degrees, recorded_at, received_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Skips the write when a newer point already reached the order, e.g. from a late batch.
+    private static final String UPDATE_LIVE_POSITION_SQL = "update orders "
+            + "set live_latitude = ?, live_longitude = ?, live_location_updated_at = ? "
+            + "where id = ? and (live_location_updated_at is null or live_location_updated_at <= ?)";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderAssignmentRepository orderAssignmentRepository;
+
+    @Autowired
+    private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LiveUpdateBroker liveUpdateBroker;
+
+    @Autowired
+    private DispatchMonitoringBoard dispatchMonitoringBoard;
+
+    private final ConcurrentLinkedQueue<BufferedPoint> pendingHistory = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Map<String, BufferedPoint> latestByOrder = new ConcurrentHashMap<>();
+    private final Map<String, OrderRefView> orderRefs = new ConcurrentHashMap<>();
+    // Flushes run on their own thread: a long job on the shared scheduler must not hold
+    // GPS writes back until the buffer fills and ingest starts answering 503.
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gps-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Cache<String, Set<String>> assignedMixers = Caffeine.newBuilder()
+            .maximumSize(ORDER_REF_CACHE_LIMIT)
+            .expireAfterWrite(ASSIGNED_MIXERS_TTL)
+            .build();
+
+    /**
+     * Validates and buffers a batch. Points for unknown orders, with coordinates out of
+     * range, recorded too far in the future, or from a mixer that is not assigned to the
+     * order are rejected; the rest are written by the next flush. A batch sent with a
+     * device key carries {@code deviceMixerNumber}, and its points may only report that
+     * mixer. Returns an overloaded result without buffering anything when the history
+     * backlog is full, so devices can retry later.
+     */
+    public IngestResult accept(List<GpsPointRequest> points, String deviceMixerNumber) {
+        if (points == null || points.isEmpty()) {
+            return new IngestResult(0, 0, false);
+        }
+        if (pendingCount.get() + points.size() > MAX_PENDING_POINTS) {
+            return new IngestResult(0, points.size(), true);
+        }
+
+        LocalDateTime receivedAt = LocalDateTime.now();
+        Set<String> orderNumbers = new HashSet<>();
+        for (GpsPointRequest point : points) {
+            if (point != null && !isBlank(point.getOrderId())) {
+                orderNumbers.add(point.getOrderId().trim());
+            }
+        }
+        Map<String, OrderRefView> refs = resolveOrders(orderNumbers);
+        Map<String, Set<String>> mixers = resolveAssignedMixers(refs.keySet());
+
+        int accepted = 0;
+        for (GpsPointRequest point : points) {
+            if (!isValid(point, receivedAt)) {
+                continue;
+            }
+            OrderRefView ref = refs.get(point.getOrderId().trim());
+            if (ref == null) {
+                continue;
+            }
+            String mixerNumber = reportingMixer(point, deviceMixerNumber);
+            if (mixerNumber == null || !mixers.getOrDefault(ref.getOrderId(), Set.of()).contains(normalizeMixer(mixerNumber))) {
+                continue;
+            }
+            BufferedPoint buffered = new BufferedPoint(ref, point, mixerNumber, receivedAt);
+            pendingHistory.add(buffered);
+            pendingCount.incrementAndGet();
+            latestByOrder.merge(ref.getOrderId(), buffered, BufferedPoint::newer);
+            accepted++;
+        }
+        return new IngestResult(accepted, points.size() - accepted, false);
+    }
+
+    @PostConstruct
+    void startFlushing() {
+        flusher.scheduleWithFixedDelay(this::scheduledFlush, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    /**
+     * Writes buffered history in JDBC batches, then moves each order's live position
+     * to its newest buffered point and pushes it to open tracking streams.
+     *
+     * @return number of orders whose live position changed
+     */
+    public synchronized int flush() {
+        flushHistory();
+        return flushLatestPositions();
+    }
+
+    // An exception escaping a periodic task would cancel every later run.
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("GPS flush failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    public int pendingPoints() {
+        return pendingCount.get();
+    }
+
+    private void flushHistory() {
+        int remaining = pendingCount.get();
+        while (remaining > 0) {
+            List<BufferedPoint> chunk = new ArrayList<>(Math.min(remaining, INSERT_CHUNK_SIZE));
+            BufferedPoint point;
+            while (chunk.size() < INSERT_CHUNK_SIZE && (point = pendingHistory.poll()) != null) {
+                chunk.add(point);
+            }
+            if (chunk.isEmpty()) {
+                return;
+            }
+            pendingCount.addAndGet(-chunk.size());
+            remaining -= chunk.size();
+            try {
+                jdbcTemplate.batchUpdate(INSERT_POSITION_SQL, chunk, chunk.size(), (statement, buffered) -> {
+                    statement.setString(1, buffered.ref.getOrderId());
+                    statement.setString(2, buffered.transitMixerNumber);
+                    statement.setDouble(3, buffered.latitude);
+                    statement.setDouble(4, buffered.longitude);
+                    setNullableDouble(statement, 5, buffered.speedKmph);
+                    setNullableDouble(statement, 6, buffered.headingDegrees);
+                    statement.setTimestamp(7, Timestamp.valueOf(buffered.recordedAt));
+                    statement.setTimestamp(8, Timestamp.valueOf(buffered.receivedAt));
+                });
+            } catch (DataAccessException e) {
+                // Keep the points for the next flush rather than losing route history.
+                pendingHistory.addAll(chunk);
+                pendingCount.addAndGet(chunk.size());
+                log.warn("Could not write {} GPS point(s), will retry: {}", chunk.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private int flushLatestPositions() {
+        List<BufferedPoint> latest = new ArrayList<>();
+        for (String orderNumber : latestByOrder.keySet()) {
+            BufferedPoint point = latestByOrder.remove(orderNumber);
+            if (point != null) {
+                latest.add(point);
+            }
+        }
+        if (latest.isEmpty()) {
+            return 0;
+        }
+        // A stable lock order keeps concurrent flushes on several nodes from deadlocking.
+        latest.sort(Comparator.comparing(point -> point.ref.getId()));
+
+        int[][] results;
+        try {
+            results = jdbcTemplate.batchUpdate(UPDATE_LIVE_POSITION_SQL, latest, INSERT_CHUNK_SIZE, (statement, point) -> {
+                Timestamp recordedAt = Timestamp.valueOf(point.recordedAt);
+                statement.setDouble(1, point.latitude);
+                statement.setDouble(2, point.longitude);
+                statement.setTimestamp(3, recordedAt);
+                statement.setLong(4, point.ref.getId());
+                statement.setTimestamp(5, recordedAt);
+            });
+        } catch (DataAccessException e) {
+            for (BufferedPoint point : latest) {
+                latestByOrder.merge(point.ref.getOrderId(), point, BufferedPoint::newer);
+            }
+            log.warn("Could not update live position of {} order(s), will retry: {}", latest.size(), e.getMessage());
+            return 0;
+        }
+
+        int updated = 0;
+        int index = 0;
+        for (int[] chunk : results) {
+            for (int rows : chunk) {
+                BufferedPoint point = latest.get(index++);
+                // Drivers that rewrite batches report "success, row count unknown" (-2).
+                if (rows != 0) {
+                    updated++;
+                    dispatchMonitoringBoard.updatePosition(point.ref.getId(), point.latitude, point.longitude);
+                    publishPosition(point);
+                }
+            }
+        }
+        return updated;
+    }
+
+    private void publishPosition(BufferedPoint point) {
+        String orderTopic = LiveUpdateBroker.orderTopic(point.ref.getOrderId());
+        String userTopic = point.ref.getUserId() != null ? LiveUpdateBroker.userTopic(point.ref.getUserId()) : null;
+        boolean orderListening = liveUpdateBroker.hasSubscribers(orderTopic);
+        boolean userListening = userTopic != null && liveUpdateBroker.hasSubscribers(userTopic);
+        if (!orderListening && !userListening) {
+            return;
+        }
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("orderId", point.ref.getOrderId());
+        payload.put("transitMixerNumber", point.transitMixerNumber);
+        payload.put("latitude", point.latitude);
+        payload.put("longitude", point.longitude);
+        payload.put("speedKmph", point.speedKmph);
+        payload.put("headingDegrees", point.headingDegrees);
+        payload.put("recordedAt", point.recordedAt);
+        String coalesceKey = POSITION_EVENT + ":" + point.ref.getOrderId();
+        if (orderListening) {
+            liveUpdateBroker.publish(orderTopic, POSITION_EVENT, payload, coalesceKey);
+        }
+        if (userListening) {
+            liveUpdateBroker.publish(userTopic, POSITION_EVENT, payload, coalesceKey);
+        }
+    }
+
+    // Order numbers never change, so lookups are cached; misses cost one IN query per batch.
+    private Map<String, OrderRefView> resolveOrders(Set<String> orderNumbers) {
+        Map<String, OrderRefView> resolved = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String orderNumber : orderNumbers) {
+            OrderRefView ref = orderRefs.get(orderNumber);
+            if (ref != null) {
+                resolved.put(orderNumber, ref);
+            } else {
+                missing.add(orderNumber);
+            }
+        }
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        if (orderRefs.size() + missing.size() > ORDER_REF_CACHE_LIMIT) {
+            orderRefs.clear();
+        }
+        for (OrderRefView ref : orderRepository.findRefsByOrderIds(missing)) {
+            resolved.put(ref.getOrderId(), ref);
+            orderRefs.put(ref.getOrderId(), ref);
+        }
+        return resolved;
+    }
+
+    private Map<String, Set<String>> resolveAssignedMixers(Set<String> orderNumbers) {
+        Map<String, Set<String>> resolved = new HashMap<>(assignedMixers.getAllPresent(orderNumbers));
+        Set<String> missing = new HashSet<>(orderNumbers);
+        missing.removeAll(resolved.keySet());
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+
+        Map<String, Set<String>> loaded = new HashMap<>();
+        for (String orderNumber : missing) {
+            loaded.put(orderNumber, new HashSet<>());
+        }
+        List<OrderMixerView> rows = new ArrayList<>(orderAssignmentRepository.findMixersByOrderNumbers(missing));
+        rows.addAll(dispatchTripRecordRepository.findTripMixersByOrderNumbers(missing));
+        for (OrderMixerView row : rows) {
+            if (row.getMixerNumber() != null && loaded.containsKey(row.getOrderNumber())) {
+                loaded.get(row.getOrderNumber()).add(normalizeMixer(row.getMixerNumber()));
+            }
+        }
+        assignedMixers.putAll(loaded);
+        resolved.putAll(loaded);
+        return resolved;
+    }
+
+    // The mixer a point speaks for: a device key pins it, otherwise the point must name one.
+    private String reportingMixer(GpsPointRequest point, String deviceMixerNumber) {
+        String named = isBlank(point.getTransitMixerNumber()) ? null : point.getTransitMixerNumber().trim();
+        if (deviceMixerNumber == null) {
+            return named;
+        }
+        return named == null || named.equalsIgnoreCase(deviceMixerNumber.trim()) ? deviceMixerNumber.trim() : null;
+    }
+
+    private String normalizeMixer(String mixerNumber) {
+        return mixerNumber.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private boolean isValid(GpsPointRequest point, LocalDateTime receivedAt) {
+        if (point == null || isBlank(point.getOrderId())
+                || point.getLatitude() == null || point.getLongitude() == null) {
+            return false;
+        }
+        double latitude = point.getLatitude();
+        double longitude = point.getLongitude();
+        if (!(latitude >= -90.0 && latitude <= 90.0) || !(longitude >= -180.0 && longitude <= 180.0)) {
+            return false;
+        }
+        return point.getRecordedAt() == null
+                || !point.getRecordedAt().isAfter(receivedAt.plusMinutes(MAX_CLOCK_SKEW_MINUTES));
+    }
+
+    private void setNullableDouble(PreparedStatement statement, int index, Double value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.DOUBLE);
+        } else {
+            statement.setDouble(index, value);
+        }
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    public static final class IngestResult {
+        private final int accepted;
+        private final int rejected;
+        private final boolean overloaded;
+
+        IngestResult(int accepted, int rejected, boolean overloaded) {
+            this.accepted = accepted;
+            this.rejected = rejected;
+            this.overloaded = overloaded;
+        }
+
+        public int getAccepted() {
+            return accepted;
+        }
+
+        public int getRejected() {
+            return rejected;
+        }
+
+        public boolean isOverloaded() {
+            return overloaded;
+        }
+    }
+
+    private static final class BufferedPoint {
+        private final OrderRefView ref;
+        private final String transitMixerNumber;
+        private final double latitude;
+        private final double longitude;
+        private final Double speedKmph;
+        private final Double headingDegrees;
+        private final LocalDateTime recordedAt;
+        private final LocalDateTime receivedAt;
+
+        private BufferedPoint(OrderRefView ref, GpsPointRequest point, String transitMixerNumber, LocalDateTime receivedAt) {
+            this.ref = ref;
+            this.transitMixerNumber = transitMixerNumber;
+            this.latitude = point.getLatitude();
+            this.longitude = point.getLongitude();
+            this.speedKmph = point.getSpeedKmph();
+            this.headingDegrees = point.getHeadingDegrees();
+            this.recordedAt = point.getRecordedAt() != null ? point.getRecordedAt() : receivedAt;
+            this.receivedAt = receivedAt;
+        }
+
+        private static BufferedPoint newer(BufferedPoint current, BufferedPoint candidate) {
+            return candidate.recordedAt.isBefore(current.recordedAt) ? current : candidate;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Treap keyed by (start, id) and augmented with the max end of each subtree,
+ * so overlap queries only descend into branches that can still match.
+ * Intervals are half-open: [start, end).
+ */
+final class IntervalTree<T> {
+
+    private static final class Node<T> {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final long id;
+        private final T value;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(LocalDateTime start, LocalDateTime end, long id, T value) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.maxEnd = end;
+        }
+    }
+
+    private static final class Split<T> {
+        private final Node<T> left;
+        private final Node<T> right;
+
+        private Split(Node<T> left, Node<T> right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private Node<T> root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void insert(LocalDateTime start, LocalDateTime end, long id, T value) {
+        Split<T> parts = split(root, start, id, false);
+        root = merge(merge(parts.left, new Node<>(start, end, id, value)), parts.right);
+        size++;
+    }
+
+    boolean remove(LocalDateTime start, long id) {
+        Split<T> lower = split(root, start, id, false);
+        Split<T> upper = split(lower.right, start, id, true);
+        boolean removed = upper.left != null;
+        root = merge(lower.left, upper.right);
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    /**
+     * Collects every value whose interval overlaps [from, to).
+     */
+    void collectOverlapping(LocalDateTime from, LocalDateTime to, List<T> out) {
+        collect(root, from, to, out);
+    }
+
+    private void collect(Node<T> node, LocalDateTime from, LocalDateTime to, List<T> out) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, out);
+        if (!node.start.isBefore(to)) {
+            return;
+        }
+        if (node.end.isAfter(from)) {
+            out.add(node.value);
+        }
+        collect(node.right, from, to, out);
+    }
+
+    /**
+     * Splits into keys below (start, id) and the rest; with {@code inclusive} the
+     * matching key itself goes to the left part.
+     */
+    private Split<T> split(Node<T> node, LocalDateTime start, long id, boolean inclusive) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+        int cmp = compare(node.start, node.id, start, id);
+        boolean goesLeft = inclusive ? cmp <= 0 : cmp < 0;
+        if (goesLeft) {
+            Split<T> parts = split(node.right, start, id, inclusive);
+            node.right = parts.left;
+            update(node);
+            return new Split<>(node, parts.right);
+        }
+        Split<T> parts = split(node.left, start, id, inclusive);
+        node.left = parts.right;
+        update(node);
+        return new Split<>(parts.left, node);
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private void update(Node<T> node) {
+        LocalDateTime maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private int compare(LocalDateTime startA, long idA, LocalDateTime startB, long idB) {
+        int cmp = startA.compareTo(startB);
+        return cmp != 0 ? cmp : Long.compare(idA, idB);
+    }
+}
@@ -0,0 +1,209 @@
+package com.demo.service;
+
+import com.demo.entity.RawMaterial;
+import com.demo.repository.InventoryDailyRollupRepository;
+import com.demo.repository.InventoryMovementRepository;
+import com.demo.repository.RawMaterialRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains inventory_daily_rollups. Movement writers call {@link #record} inside
+ * their own transaction, after the material's stock row has been updated, so the
+ * closing balance written is the one that transaction committed. That row lock also
+ * keeps two writers from both inserting a material's first rollup of a day.
+ * {@link #rebuild} recomputes every rollup from the movement ledger.
+ */
+@Service
+public class InventoryRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryRollupService.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Update first, insert the days that had no row yet. MySQL's upsert form either uses the
+    // deprecated VALUES() function or a row alias that H2 does not parse.
+    private static final String ADD_TO_ROLLUP_SQL = "update inventory_daily_rollups set "
+            + "consumed = consumed + ?, "
+            + "restocked = restocked + ?, "
+            + "movement_count = movement_count + ?, "
+            + "closing_balance = ?, "
+            + "updated_at = ? "
+            + "where raw_material_id = ? and rollup_date = ?";
+
+    private static final String INSERT_ROLLUP_SQL = "insert into inventory_daily_rollups "
+            + "(raw_material_id, rollup_date, consumed, restocked, movement_count, closing_balance, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DAILY_TOTALS_SQL = "select raw_material_id, cast(created_at as date) as movement_date, "
+            + "sum(case when movement_type = 'CONSUMPTION' then quantity else 0 end) as consumed, "
+            + "sum(case when movement_type = 'RESTOCK' then quantity else 0 end) as restocked, "
+            + "count(*) as movement_count "
+            + "from inventory_movements "
+            + "where raw_material_id is not null "
+            + "group by raw_material_id, cast(created_at as date)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryDailyRollupRepository inventoryDailyRollupRepository;
+
+    @Autowired
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    /**
+     * Adds movement totals to each material's rollup for the delta's day and sets its
+     * closing balance. Must run in the transaction that changed the stock.
+     */
+    public void record(List<RollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] updated = jdbcTemplate.batchUpdate(ADD_TO_ROLLUP_SQL, deltas, BATCH_SIZE, (statement, delta) -> {
+            statement.setDouble(1, delta.consumed);
+            statement.setDouble(2, delta.restocked);
+            statement.setLong(3, delta.movementCount);
+            statement.setDouble(4, delta.closingBalance);
+            statement.setTimestamp(5, now);
+            statement.setLong(6, delta.materialId);
+            statement.setDate(7, Date.valueOf(delta.date));
+        });
+
+        // Connector/J reports matched rows, so an update that changes nothing still counts 1.
+        List<RollupDelta> missing = new ArrayList<>();
+        for (int batch = 0; batch < updated.length; batch++) {
+            for (int row = 0; row < updated[batch].length; row++) {
+                if (updated[batch][row] == 0) {
+                    missing.add(deltas.get(batch * BATCH_SIZE + row));
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, missing, BATCH_SIZE, (statement, delta) -> {
+            statement.setLong(1, delta.materialId);
+            statement.setDate(2, Date.valueOf(delta.date));
+            statement.setDouble(3, delta.consumed);
+            statement.setDouble(4, delta.restocked);
+            statement.setLong(5, delta.movementCount);
+            statement.setDouble(6, delta.closingBalance);
+            statement.setTimestamp(7, now);
+        });
+    }
+
+    /**
+     * Sets the day's closing balance without adding movement totals, for stock changes
+     * that have no ledger entry. Same transaction rule as {@link #record}.
+     */
+    public void recordBalance(Long materialId, LocalDate date, double balance) {
+        record(List.of(new RollupDelta(materialId, date, 0.0, 0.0, 0, balance)));
+    }
+
+    /**
+     * Replaces every rollup with totals re-aggregated from inventory_movements. Closing
+     * balances are walked back from today's stock through the ledger, so a past day is
+     * off by any later stock change that has no ledger entry (customer raw material
+     * orders, manual quantity edits). Days without movements get no row.
+     *
+     * @return number of rollup rows written
+     */
+    @Transactional
+    public int rebuild() {
+        inventoryDailyRollupRepository.deleteAllRollups();
+
+        Map<Long, List<DailyTotals>> totalsByMaterial = new HashMap<>();
+        jdbcTemplate.query(DAILY_TOTALS_SQL, resultSet -> {
+            DailyTotals totals = new DailyTotals(
+                    resultSet.getLong("raw_material_id"),
+                    resultSet.getDate("movement_date").toLocalDate(),
+                    resultSet.getDouble("consumed"),
+                    resultSet.getDouble("restocked"),
+                    resultSet.getLong("movement_count"));
+            totalsByMaterial.computeIfAbsent(totals.materialId, key -> new ArrayList<>()).add(totals);
+        });
+
+        Map<Long, Double> currentStock = new HashMap<>();
+        for (RawMaterial material : rawMaterialRepository.findAll()) {
+            currentStock.put(material.getId(), material.getQuantity());
+        }
+
+        List<RollupDelta> rollups = new ArrayList<>();
+        for (Map.Entry<Long, List<DailyTotals>> entry : totalsByMaterial.entrySet()) {
+            List<DailyTotals> days = entry.getValue();
+            days.sort((left, right) -> right.date.compareTo(left.date));
+            double closing = currentStock.getOrDefault(entry.getKey(), 0.0);
+            for (DailyTotals day : days) {
+                rollups.add(new RollupDelta(day.materialId, day.date, day.consumed, day.restocked, day.movementCount, closing));
+                closing -= day.restocked - day.consumed;
+            }
+        }
+        record(rollups);
+        return rollups.size();
+    }
+
+    // First start after the rollup table was introduced: derive it from the ledger.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (inventoryDailyRollupRepository.count() > 0 || inventoryMovementRepository.count() == 0) {
+            return;
+        }
+        log.info("Back-filled {} inventory rollup row(s) from the movement ledger", rebuild());
+    }
+
+    public static final class RollupDelta {
+        private final Long materialId;
+        private final LocalDate date;
+        private final double consumed;
+        private final double restocked;
+        private final long movementCount;
+        private final double closingBalance;
+
+        public RollupDelta(Long materialId, LocalDate date, double consumed, double restocked,
+                           long movementCount, double closingBalance) {
+            this.materialId = materialId;
+            this.date = date;
+            this.consumed = consumed;
+            this.restocked = restocked;
+            this.movementCount = movementCount;
+            this.closingBalance = closingBalance;
+        }
+    }
+
+    private static final class DailyTotals {
+        private final Long materialId;
+        private final LocalDate date;
+        private final double consumed;
+        private final double restocked;
+        private final long movementCount;
+
+        private DailyTotals(Long materialId, LocalDate date, double consumed, double restocked, long movementCount) {
+            this.materialId = materialId;
+            this.date = date;
+            this.consumed = consumed;
+            this.restocked = restocked;
+            this.movementCount = movementCount;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.demo.service;
+
+import com.demo.dto.StockMovementRequest;
+import com.demo.dto.StockMovementResult;
+import com.demo.entity.InventoryMovement;
+import com.demo.entity.RawMaterial;
+import com.demo.repository.ConcreteProductStockRepository;
+import com.demo.repository.InventoryMovementRepository;
+import com.demo.repository.RawMaterialRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Single write path for stock levels. Every change is one conditional UPDATE
+ * ({@code quantity = quantity - ? where quantity >= ?}), so concurrent consumers
+ * only queue on the row lock for the length of that statement and can never take
+ * stock below zero or lose each other's updates.
+ */
+@Service
+public class InventoryStockService {
+
+    public static final String RESTOCK = "RESTOCK";
+    public static final String CONSUMPTION = "CONSUMPTION";
+
+    private static final double QUANTITY_TOLERANCE = 1e-9;
+
+    private static final String INSERT_MOVEMENT_SQL = "insert into inventory_movements "
+            + "(raw_material_id, movement_type, quantity, reference_type, reference_id, note, created_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String APPLY_DELTA_SQL = "update raw_materials "
+            + "set quantity = quantity + ?, updated_at = ? where id = ?";
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    @Autowired
+    private ConcreteProductStockRepository productStockRepository;
+
+    @Autowired
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    @Autowired
+    private InventoryRollupService inventoryRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    /**
+     * Restocks or consumes a raw material and records the movement in the same
+     * transaction.
+     *
+     * @return the material's stock after the change
+     * @throws IllegalArgumentException when the material does not exist
+     * @throws IllegalStateException when a consumption exceeds the available stock
+     */
+    @Transactional
+    public double adjustMaterial(Long materialId, String movementType, double quantity,
+                                 String referenceType, String referenceId, String note) {
+        LocalDateTime now = LocalDateTime.now();
+        applyMaterialChange(materialId, movementType, quantity, now);
+
+        InventoryMovement movement = new InventoryMovement();
+        movement.setRawMaterial(rawMaterialRepository.getReferenceById(materialId));
+        movement.setMovementType(movementType);
+        movement.setQuantity(quantity);
+        movement.setReferenceType(referenceType);
+        movement.setReferenceId(referenceId);
+        movement.setNote(note);
+        movement.setCreatedAt(now);
+        inventoryMovementRepository.save(movement);
+
+        double balance = rawMaterialRepository.findQuantityById(materialId).orElse(0.0);
+        boolean restock = RESTOCK.equals(movementType);
+        inventoryRollupService.record(List.of(new InventoryRollupService.RollupDelta(
+                materialId, now.toLocalDate(), restock ? 0.0 : quantity, restock ? quantity : 0.0, 1, balance)));
+        return balance;
+    }
+
+    /**
+     * Takes stock of a raw material without a ledger entry, for customer raw material
+     * orders; only the day's rollup closing balance follows. Returns false when there is
+     * not enough stock.
+     */
+    @Transactional
+    public boolean consumeMaterial(Long materialId, double quantity) {
+        LocalDateTime now = LocalDateTime.now();
+        if (rawMaterialRepository.decrementIfAvailable(materialId, quantity, now) == 0) {
+            return false;
+        }
+        recordBalanceOutsideLedger(materialId, now.toLocalDate());
+        return true;
+    }
+
+    @Transactional
+    public void releaseMaterial(Long materialId, double quantity) {
+        LocalDateTime now = LocalDateTime.now();
+        if (rawMaterialRepository.increment(materialId, quantity, now) > 0) {
+            recordBalanceOutsideLedger(materialId, now.toLocalDate());
+        }
+    }
+
+    /**
+     * Brings today's rollup closing balance in line with a material's stock after its
+     * quantity was edited directly.
+     */
+    @Transactional
+    public void syncRollupBalance(Long materialId) {
+        if (!rawMaterialRepository.findAllByIdForUpdate(List.of(materialId)).isEmpty()) {
+            recordBalanceOutsideLedger(materialId, LocalDate.now());
+        }
+    }
+
+    /**
+     * Reserves concrete for a new order. Returns false when the product is short of
+     * stock; call {@link #releaseProduct} if the order then fails to save.
+     */
+    @Transactional
+    public boolean reserveProduct(Long productId, double quantity) {
+        return productStockRepository.decrementIfAvailable(productId, quantity, LocalDateTime.now()) > 0;
+    }
+
+    @Transactional
+    public void releaseProduct(Long productId, double quantity) {
+        productStockRepository.increment(productId, quantity, LocalDateTime.now());
+    }
+
+    /**
+     * @return the product's stock after the restock
+     * @throws IllegalArgumentException when the product does not exist
+     */
+    @Transactional
+    public double restockProduct(Long productId, double quantity) {
+        if (productStockRepository.increment(productId, quantity, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Product not found");
+        }
+        return productStockRepository.findAvailableQuantityById(productId).orElse(0.0);
+    }
+
+    /**
+     * Applies a list of restock/consume movements all-or-nothing. Lines are checked in
+     * request order against a running balance per material, with the materials locked
+     * for the duration; if any line is rejected nothing is written and the other lines
+     * come back as NOT_APPLIED. Otherwise each material gets one net update and the
+     * ledger rows go in as a single JDBC batch.
+     *
+     * @return one result per line, in request order
+     */
+    @Transactional
+    public List<StockMovementResult> applyBulk(List<StockMovementRequest> movements) {
+        String[] errors = new String[movements.size()];
+        Set<Long> materialIds = new TreeSet<>();
+        for (int i = 0; i < movements.size(); i++) {
+            errors[i] = validate(movements.get(i));
+            if (errors[i] == null) {
+                materialIds.add(movements.get(i).getMaterialId());
+            }
+        }
+
+        Map<Long, Double> balances = new HashMap<>();
+        if (!materialIds.isEmpty()) {
+            for (RawMaterial material : rawMaterialRepository.findAllByIdForUpdate(materialIds)) {
+                balances.put(material.getId(), material.getQuantity());
+            }
+        }
+
+        Double[] balanceAfter = new Double[movements.size()];
+        Map<Long, Double> deltas = new LinkedHashMap<>();
+        boolean rejected = false;
+        for (int i = 0; i < movements.size(); i++) {
+            if (errors[i] != null) {
+                rejected = true;
+                continue;
+            }
+            StockMovementRequest movement = movements.get(i);
+            Double balance = balances.get(movement.getMaterialId());
+            if (balance == null) {
+                errors[i] = "Material not found";
+                rejected = true;
+                continue;
+            }
+            double delta = isRestock(movement) ? movement.getQuantity() : -movement.getQuantity();
+            if (balance + delta < -QUANTITY_TOLERANCE) {
+                errors[i] = "Insufficient stock";
+                rejected = true;
+                continue;
+            }
+            balances.put(movement.getMaterialId(), balance + delta);
+            deltas.merge(movement.getMaterialId(), delta, Double::sum);
+            balanceAfter[i] = balance + delta;
+        }
+
+        List<StockMovementResult> results = new ArrayList<>(movements.size());
+        for (int i = 0; i < movements.size(); i++) {
+            StockMovementRequest movement = movements.get(i);
+            String status = errors[i] != null
+                    ? StockMovementResult.REJECTED
+                    : rejected ? StockMovementResult.NOT_APPLIED : StockMovementResult.APPLIED;
+            results.add(new StockMovementResult(
+                    i,
+                    movement == null ? null : movement.getMaterialId(),
+                    movement == null ? null : normalizeType(movement.getMovementType()),
+                    movement == null ? null : movement.getQuantity(),
+                    status,
+                    errors[i],
+                    rejected ? null : balanceAfter[i]
+            ));
+        }
+        if (rejected) {
+            return results;
+        }
+
+        LocalDateTime appliedAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(appliedAt);
+        List<Map.Entry<Long, Double>> netChanges = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, netChanges, netChanges.size(), (statement, change) -> {
+            statement.setDouble(1, change.getValue());
+            statement.setTimestamp(2, now);
+            statement.setLong(3, change.getKey());
+        });
+        referenceDataCache.evictAfterCommit(RawMaterial.class, deltas.keySet());
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT_SQL, movements, movements.size(), (statement, movement) -> {
+            statement.setLong(1, movement.getMaterialId());
+            statement.setString(2, normalizeType(movement.getMovementType()));
+            statement.setDouble(3, movement.getQuantity());
+            statement.setString(4, isBlank(movement.getReferenceType()) ? "BULK" : movement.getReferenceType().trim());
+            statement.setString(5, movement.getReferenceId() == null ? "" : movement.getReferenceId().trim());
+            statement.setString(6, movement.getNote() == null ? "" : movement.getNote().trim());
+            statement.setTimestamp(7, now);
+        });
+        inventoryRollupService.record(toRollupDeltas(movements, balances, appliedAt.toLocalDate()));
+        return results;
+    }
+
+    private List<InventoryRollupService.RollupDelta> toRollupDeltas(
+            List<StockMovementRequest> movements, Map<Long, Double> closingBalances, LocalDate date) {
+        Map<Long, double[]> totals = new LinkedHashMap<>();
+        for (StockMovementRequest movement : movements) {
+            // consumed, restocked, movement count
+            double[] materialTotals = totals.computeIfAbsent(movement.getMaterialId(), key -> new double[3]);
+            materialTotals[isRestock(movement) ? 1 : 0] += movement.getQuantity();
+            materialTotals[2]++;
+        }
+        List<InventoryRollupService.RollupDelta> deltas = new ArrayList<>(totals.size());
+        totals.forEach((materialId, materialTotals) -> deltas.add(new InventoryRollupService.RollupDelta(
+                materialId, date, materialTotals[0], materialTotals[1], (long) materialTotals[2],
+                closingBalances.get(materialId))));
+        return deltas;
+    }
+
+    // The caller holds the material's row lock, as record() requires.
+    private void recordBalanceOutsideLedger(Long materialId, LocalDate date) {
+        double balance = rawMaterialRepository.findQuantityById(materialId).orElse(0.0);
+        inventoryRollupService.recordBalance(materialId, date, balance);
+    }
+
+    private String validate(StockMovementRequest movement) {
+        if (movement == null || movement.getMaterialId() == null) {
+            return "materialId is required";
+        }
+        String type = normalizeType(movement.getMovementType());
+        if (!RESTOCK.equals(type) && !CONSUMPTION.equals(type)) {
+            return "movementType must be RESTOCK or CONSUMPTION";
+        }
+        if (movement.getQuantity() == null || !Double.isFinite(movement.getQuantity()) || movement.getQuantity() <= 0) {
+            return "Quantity must be greater than 0";
+        }
+        return null;
+    }
+
+    private boolean isRestock(StockMovementRequest movement) {
+        return RESTOCK.equals(normalizeType(movement.getMovementType()));
+    }
+
+    // Accepts the operator-facing "consume" as well as the ledger's CONSUMPTION.
+    private String normalizeType(String movementType) {
+        if (isBlank(movementType)) {
+            return null;
+        }
+        String normalized = movementType.trim().toUpperCase();
+        return "CONSUME".equals(normalized) ? CONSUMPTION : normalized;
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private void applyMaterialChange(Long materialId, String movementType, double quantity, LocalDateTime now) {
+        int updated = RESTOCK.equals(movementType)
+                ? rawMaterialRepository.increment(materialId, quantity, now)
+                : rawMaterialRepository.decrementIfAvailable(materialId, quantity, now);
+        if (updated > 0) {
+            return;
+        }
+        if (!rawMaterialRepository.existsById(materialId)) {
+            throw new IllegalArgumentException("Material not found");
+        }
+        throw new IllegalStateException("Insufficient stock");
+    }
+}
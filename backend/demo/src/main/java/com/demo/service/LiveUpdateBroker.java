@@ -0,0 +1,284 @@
+package com.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of server-sent events to open tracking and notification screens.
+ * Each subscriber owns a small bounded buffer; when it is full the oldest event is
+ * dropped, and a newer event with the same coalesce key replaces the queued one.
+ * Buffers are drained by a sender pool that grows with the number of subscribers
+ * sending at once, so a client whose socket stops accepting writes holds only its own
+ * sender thread. A subscriber stuck in one send for longer than the send timeout is
+ * dropped from its topic at the next heartbeat and closed once the write gives up.
+ * Events published inside a transaction are sent after it commits.
+ */
+@Service
+public class LiveUpdateBroker {
+
+    static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    static final int SUBSCRIBER_BUFFER_SIZE = 16;
+    static final long SEND_TIMEOUT_MS = 10_000L;
+
+    private final Map<String, List<Subscriber>> subscribersByTopic = new ConcurrentHashMap<>();
+    // Idle threads are released after a minute, so quiet streams hold none.
+    private final ExecutorService sender = Executors.newCachedThreadPool(new SenderThreadFactory());
+
+    public static String orderTopic(String orderNumber) {
+        return "order:" + (orderNumber == null ? "" : orderNumber.trim());
+    }
+
+    public static String userTopic(Long userId) {
+        return "user:" + userId;
+    }
+
+    /**
+     * Opens a stream on the topic; a non-null initial event (usually the current
+     * snapshot) is queued ahead of anything published afterwards.
+     */
+    public SseEmitter subscribe(String topic, String initialEventName, Object initialPayload) {
+        return subscribe(topic, new SseEmitter(EMITTER_TIMEOUT_MS), initialEventName, initialPayload);
+    }
+
+    SseEmitter subscribe(String topic, SseEmitter emitter, String initialEventName, Object initialPayload) {
+        Subscriber subscriber = new Subscriber(topic, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        if (initialEventName != null) {
+            subscriber.offer(new PendingEvent(initialEventName, initialPayload, initialEventName));
+        }
+        subscribersByTopic.compute(topic, (key, subscribers) -> {
+            List<Subscriber> target = subscribers != null ? subscribers : new CopyOnWriteArrayList<>();
+            target.add(subscriber);
+            return target;
+        });
+        if (!subscriber.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+        return emitter;
+    }
+
+    public boolean hasSubscribers(String topic) {
+        List<Subscriber> subscribers = subscribersByTopic.get(topic);
+        return subscribers != null && !subscribers.isEmpty();
+    }
+
+    public int subscriberCount() {
+        int count = 0;
+        for (List<Subscriber> subscribers : subscribersByTopic.values()) {
+            count += subscribers.size();
+        }
+        return count;
+    }
+
+    /**
+     * Queues an event for every subscriber of the topic. A non-null {@code coalesceKey}
+     * lets a newer event replace one still waiting in a subscriber's buffer.
+     */
+    public void publish(String topic, String eventName, Object payload, String coalesceKey) {
+        if (!hasSubscribers(topic)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(topic, new PendingEvent(eventName, payload, coalesceKey));
+                }
+            });
+            return;
+        }
+        dispatch(topic, new PendingEvent(eventName, payload, coalesceKey));
+    }
+
+    // Comment lines keep proxies from closing idle streams and surface dead clients.
+    @Scheduled(fixedRate = 20000)
+    public void heartbeat() {
+        dropStalledSubscribers(System.currentTimeMillis());
+        for (List<Subscriber> subscribers : subscribersByTopic.values()) {
+            for (Subscriber subscriber : subscribers) {
+                enqueue(subscriber, PendingEvent.HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * Stops queueing events for subscribers whose current send started more than
+     * {@link #SEND_TIMEOUT_MS} before {@code now}; their sender closes the stream when
+     * the blocked write returns.
+     *
+     * @return number of subscribers dropped
+     */
+    int dropStalledSubscribers(long now) {
+        int dropped = 0;
+        for (List<Subscriber> subscribers : subscribersByTopic.values()) {
+            for (Subscriber subscriber : subscribers) {
+                long sendingSince = subscriber.sendingSince;
+                if (sendingSince != 0L && now - sendingSince > SEND_TIMEOUT_MS) {
+                    subscriber.stalled = true;
+                    unsubscribe(subscriber);
+                    subscriber.clear();
+                    dropped++;
+                }
+            }
+        }
+        return dropped;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        for (List<Subscriber> subscribers : subscribersByTopic.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        subscribersByTopic.clear();
+    }
+
+    private void dispatch(String topic, PendingEvent event) {
+        List<Subscriber> subscribers = subscribersByTopic.get(topic);
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, event);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, PendingEvent event) {
+        subscriber.offer(event);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            PendingEvent event = subscriber.poll();
+            if (event == null) {
+                subscriber.draining.set(false);
+                // An event may have arrived between the empty poll and releasing the flag.
+                if (subscriber.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            subscriber.sendingSince = System.currentTimeMillis();
+            try {
+                subscriber.emitter.send(event.toBuilder());
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(subscriber);
+                subscriber.emitter.completeWithError(e);
+                subscriber.draining.set(false);
+                return;
+            } finally {
+                subscriber.sendingSince = 0L;
+            }
+            if (subscriber.stalled) {
+                subscriber.emitter.complete();
+                return;
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribersByTopic.computeIfPresent(subscriber.topic, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static final class Subscriber {
+        private final String topic;
+        private final SseEmitter emitter;
+        private final ArrayDeque<PendingEvent> buffer = new ArrayDeque<>(SUBSCRIBER_BUFFER_SIZE);
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        // Start of the send in progress, 0 when none.
+        private volatile long sendingSince;
+        private volatile boolean stalled;
+
+        private Subscriber(String topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+        }
+
+        private synchronized void offer(PendingEvent event) {
+            if (event.coalesceKey != null) {
+                Iterator<PendingEvent> queued = buffer.iterator();
+                while (queued.hasNext()) {
+                    if (Objects.equals(queued.next().coalesceKey, event.coalesceKey)) {
+                        queued.remove();
+                    }
+                }
+            }
+            if (buffer.size() >= SUBSCRIBER_BUFFER_SIZE) {
+                buffer.pollFirst();
+            }
+            buffer.addLast(event);
+        }
+
+        private synchronized PendingEvent poll() {
+            return buffer.pollFirst();
+        }
+
+        private synchronized boolean isEmpty() {
+            return buffer.isEmpty();
+        }
+
+        private synchronized void clear() {
+            buffer.clear();
+        }
+    }
+
+    private static final class PendingEvent {
+        private static final PendingEvent HEARTBEAT = new PendingEvent(null, null, "heartbeat");
+
+        private final String name;
+        private final Object payload;
+        private final String coalesceKey;
+
+        private PendingEvent(String name, Object payload, String coalesceKey) {
+            this.name = name;
+            this.payload = payload;
+            this.coalesceKey = coalesceKey;
+        }
+
+        private SseEmitter.SseEventBuilder toBuilder() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).data(payload);
+        }
+    }
+
+    private static final class SenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "live-update-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
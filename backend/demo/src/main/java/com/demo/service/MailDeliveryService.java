@@ -0,0 +1,187 @@
+package com.demo.service;
+
+import com.demo.entity.MailDeliveryFailure;
+import com.demo.repository.MailDeliveryFailureRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends mail off the request thread. Messages wait in a bounded queue for a small pool
+ * of senders; a failed send is retried with exponential backoff, and a message that
+ * still fails after the last attempt, or that finds the queue full, is written to the
+ * failure log. Queue depth and delivery outcomes are published as {@code mail.*} meters.
+ */
+@Service
+public class MailDeliveryService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDeliveryService.class);
+
+    static final int QUEUE_CAPACITY = 500;
+    static final int MAX_ATTEMPTS = 4;
+    private static final int SENDER_THREADS = 2;
+    // Mail whose text is a credential (a live reset OTP); the failure log keeps no body for it.
+    static final Set<String> SENSITIVE_CATEGORIES = Set.of("PASSWORD_RESET");
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private MailDeliveryFailureRepository mailDeliveryFailureRepository;
+
+    @Value("${mail.delivery.retry-base-millis:2000}")
+    private long retryBaseMillis;
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(SENDER_THREADS, new SenderThreadFactory());
+
+    // Messages waiting for a first send or a retry; bounds the executor's unbounded queue.
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Queues a message for delivery. Returns false, after logging the message as
+     * failed, when the queue is full.
+     */
+    public boolean submit(SimpleMailMessage message, String category) {
+        if (queueDepth.incrementAndGet() > QUEUE_CAPACITY) {
+            queueDepth.decrementAndGet();
+            rejected.incrementAndGet();
+            recordFailure(message, category, 0, "Mail queue is full");
+            return false;
+        }
+        try {
+            executor.execute(() -> attempt(message, category, 1));
+            return true;
+        } catch (RejectedExecutionException e) {
+            queueDepth.decrementAndGet();
+            rejected.incrementAndGet();
+            recordFailure(message, category, 0, "Mail sender is shut down");
+            return false;
+        }
+    }
+
+    public boolean sendOrderUpdate(String email, String orderId, String title, String text) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(email);
+        message.setSubject("RMC ERP Order " + (orderId == null ? "" : orderId + " ") + "- " + title);
+        message.setText(text);
+        return submit(message, "ORDER_UPDATE");
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queueDepth.get());
+        stats.put("queueCapacity", QUEUE_CAPACITY);
+        stats.put("sent", sent.get());
+        stats.put("retried", retried.get());
+        stats.put("failed", failed.get());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Messages waiting for a first send or a retry")
+                .register(registry);
+        Gauge.builder("mail.queue.capacity", () -> QUEUE_CAPACITY)
+                .register(registry);
+        Map.of("sent", sent, "retried", retried, "failed", failed, "rejected", rejected)
+                .forEach((outcome, count) -> FunctionCounter.builder("mail.delivery", count, AtomicLong::get)
+                        .description("Mail send attempts by outcome")
+                        .tag("outcome", outcome)
+                        .register(registry));
+    }
+
+    public List<MailDeliveryFailure> getRecentFailures() {
+        return mailDeliveryFailureRepository.findTop50ByOrderByFailedAtDesc();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void attempt(SimpleMailMessage message, String category, int attempt) {
+        try {
+            mailSender.send(message);
+            queueDepth.decrementAndGet();
+            sent.incrementAndGet();
+            return;
+        } catch (RuntimeException e) {
+            if (attempt < MAX_ATTEMPTS) {
+                long delay = retryBaseMillis << (attempt - 1);
+                log.warn("Could not send {} mail (attempt {}), retrying in {} ms: {}", category, attempt, delay, e.getMessage());
+                try {
+                    executor.schedule(() -> attempt(message, category, attempt + 1), delay, TimeUnit.MILLISECONDS);
+                    retried.incrementAndGet();
+                    return;
+                } catch (RejectedExecutionException shutdown) {
+                    // Fall through and log the failure.
+                }
+            }
+            queueDepth.decrementAndGet();
+            failed.incrementAndGet();
+            log.error("Giving up on {} mail after {} attempt(s): {}", category, attempt, e.getMessage());
+            recordFailure(message, category, attempt, e.getMessage());
+        }
+    }
+
+    private void recordFailure(SimpleMailMessage message, String category, int attempts, String error) {
+        try {
+            MailDeliveryFailure failure = new MailDeliveryFailure();
+            failure.setCategory(category);
+            failure.setRecipients(message.getTo() == null ? null : String.join(",", message.getTo()));
+            failure.setSubject(message.getSubject());
+            if (!SENSITIVE_CATEGORIES.contains(category)) {
+                failure.setBody(truncate(message.getText(), 4000));
+            }
+            failure.setAttempts(attempts);
+            failure.setLastError(truncate(error, 1000));
+            failure.setFailedAt(LocalDateTime.now());
+            mailDeliveryFailureRepository.save(failure);
+        } catch (RuntimeException e) {
+            log.error("Could not record failed {} mail: {}", category, e.getMessage());
+        }
+    }
+
+    private static String truncate(String value, int length) {
+        return value == null || value.length() <= length ? value : value.substring(0, length);
+    }
+
+    private static final class SenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mail-sender-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.demo.service;
+
+import com.demo.entity.MixDesignCostLine;
+import com.demo.entity.MixDesignCostSheet;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable snapshot of the mix design cost sheets, flattened per grade into
+ * parallel primitive arrays so pricing an order is a multiply and re-pricing under
+ * changed ingredient rates is one pass over a handful of doubles.
+ */
+final class MixDesignCostCatalog {
+
+    private final Map<String, GradeCost> byGradeCode;
+    private final Set<String> ingredientKeys;
+
+    private MixDesignCostCatalog(Map<String, GradeCost> byGradeCode, Set<String> ingredientKeys) {
+        this.byGradeCode = byGradeCode;
+        this.ingredientKeys = ingredientKeys;
+    }
+
+    static MixDesignCostCatalog of(List<MixDesignCostSheet> sheets) {
+        Map<String, GradeCost> byGradeCode = new LinkedHashMap<>();
+        Set<String> ingredientKeys = new TreeSet<>();
+        for (MixDesignCostSheet sheet : sheets) {
+            GradeCost grade = new GradeCost(sheet);
+            byGradeCode.put(normalizeGradeCode(sheet.getGradeCode()), grade);
+            Collections.addAll(ingredientKeys, grade.ingredientKeys);
+        }
+        return new MixDesignCostCatalog(
+                Collections.unmodifiableMap(byGradeCode),
+                Collections.unmodifiableSet(ingredientKeys));
+    }
+
+    GradeCost find(String grade) {
+        String gradeCode = normalizeGradeCode(grade);
+        return gradeCode == null ? null : byGradeCode.get(gradeCode);
+    }
+
+    Collection<GradeCost> grades() {
+        return byGradeCode.values();
+    }
+
+    boolean hasIngredient(String ingredientKey) {
+        return ingredientKeys.contains(ingredientKey);
+    }
+
+    static String normalizeGradeCode(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toUpperCase().replace(" ", "").replace("-", "");
+        return normalized.isBlank() ? null : normalized;
+    }
+
+    static String ingredientKey(String ingredientName) {
+        return ingredientName == null ? "" : ingredientName.trim().toUpperCase();
+    }
+
+    static final class GradeCost {
+        final String gradeCode;
+        final String gradeLabel;
+        final double totalDensity;
+        final double totalCostPerM3;
+
+        final String[] ingredientNames;
+        final String[] ingredientKeys;
+        final String[] units;
+        final double[] rates;
+        final double[] quantityPerM3;
+        final double[] costPerM3;
+
+        final double sandQuantityPerM3;
+        final double sandCostPerM3;
+        final double aggregateQuantityPerM3;
+        final double aggregateCostPerM3;
+
+        private GradeCost(MixDesignCostSheet sheet) {
+            List<MixDesignCostLine> lines = sheet.getLines();
+            int size = lines.size();
+            gradeCode = sheet.getGradeCode();
+            gradeLabel = sheet.getGradeLabel();
+            totalDensity = sheet.getTotalDensity();
+            totalCostPerM3 = sheet.getTotalCostPerM3();
+            ingredientNames = new String[size];
+            ingredientKeys = new String[size];
+            units = new String[size];
+            rates = new double[size];
+            quantityPerM3 = new double[size];
+            costPerM3 = new double[size];
+
+            double sandQuantity = 0;
+            double sandCost = 0;
+            double aggregateQuantity = 0;
+            double aggregateCost = 0;
+            for (int i = 0; i < size; i++) {
+                MixDesignCostLine line = lines.get(i);
+                ingredientNames[i] = line.getIngredientName();
+                ingredientKeys[i] = ingredientKey(line.getIngredientName());
+                units[i] = line.getUnit();
+                rates[i] = line.getRate();
+                quantityPerM3[i] = line.getQuantityPerM3();
+                costPerM3[i] = line.getCostPerM3();
+
+                if (ingredientKeys[i].contains("SAND")) {
+                    sandQuantity += quantityPerM3[i];
+                    sandCost += costPerM3[i];
+                }
+                if ("20MM".equals(ingredientKeys[i]) || "10MM".equals(ingredientKeys[i])) {
+                    aggregateQuantity += quantityPerM3[i];
+                    aggregateCost += costPerM3[i];
+                }
+            }
+            sandQuantityPerM3 = sandQuantity;
+            sandCostPerM3 = sandCost;
+            aggregateQuantityPerM3 = aggregateQuantity;
+            aggregateCostPerM3 = aggregateCost;
+        }
+
+        /**
+         * Cost per m³ if the given ingredients (keyed by {@link #ingredientKey}) were
+         * bought at the given rates; other lines keep their sheet cost.
+         */
+        double costPerM3With(Map<String, Double> ratesByIngredient) {
+            double cost = totalCostPerM3;
+            if (ratesByIngredient.isEmpty()) {
+                return cost;
+            }
+            for (int i = 0; i < ingredientKeys.length; i++) {
+                Double rate = ratesByIngredient.get(ingredientKeys[i]);
+                if (rate != null) {
+                    cost += rate * quantityPerM3[i] - costPerM3[i];
+                }
+            }
+            return cost;
+        }
+    }
+}
@@ -1,31 +1,52 @@
 package com.demo.service;
 
+import com.demo.dto.MixDesignBatchCostRequest;
+import com.demo.dto.MixDesignLineUpdateRequest;
+import com.demo.dto.MixDesignSheetUpdateRequest;
+import com.demo.dto.OrderCostingView;
 import com.demo.entity.MixDesignCostLine;
 import com.demo.entity.MixDesignCostSheet;
 import com.demo.entity.Order;
 import com.demo.entity.OrderStatus;
 import com.demo.repository.MixDesignCostSheetRepository;
 import com.demo.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
+@Timed(value = "rmc.mix.design.cost", description = "Mix design costing calls")
 public class MixDesignCostService {
 
+    private static final List<OrderStatus> EXCLUDED_STATUSES = List.of(
+            OrderStatus.PENDING_APPROVAL, OrderStatus.REJECTED);
+    private static final List<OrderStatus> ACTIVE_STATUSES = List.of(
+            OrderStatus.APPROVED, OrderStatus.IN_PRODUCTION, OrderStatus.DISPATCHED);
+    private static final List<OrderStatus> COSTED_STATUSES_WITH_COMPLETED = List.of(
+            OrderStatus.APPROVED, OrderStatus.IN_PRODUCTION, OrderStatus.DISPATCHED,
+            OrderStatus.DELIVERED, OrderStatus.RETURNED);
+
     @Autowired
     private MixDesignCostSheetRepository mixDesignCostSheetRepository;
 
     @Autowired
     private OrderRepository orderRepository;
 
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private volatile MixDesignCostCatalog catalog;
+
     @Transactional
     public void ensureSeedData() {
         if (mixDesignCostSheetRepository.count() > 0) {
@@ -122,18 +143,24 @@ public class MixDesignCostService {
         );
     }
 
-    public List<Map<String, Object>> getRelevantOrders() {
+    /**
+     * Seeds the default cost sheets on first start and loads the catalog, so requests
+     * never pay for either.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
         ensureSeedData();
-        return orderRepository.findAll().stream()
-                .filter(this::isRelevantOrder)
-                .sorted(Comparator.comparing(Order::getId).reversed())
+        invalidate();
+        catalog();
+    }
+
+    public List<Map<String, Object>> getRelevantOrders() {
+        return orderRepository.findForMixDesignCosting(EXCLUDED_STATUSES).stream()
                 .map(this::toOrderRow)
                 .toList();
     }
 
     public Map<String, Object> calculateForOrder(String orderId) {
-        ensureSeedData();
-
         Order order = orderRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found"));
 
@@ -141,68 +168,259 @@ public class MixDesignCostService {
             throw new IllegalArgumentException("Mix design costing is available only for approved or active orders");
         }
 
-        String gradeCode = normalizeGradeCode(order.getGrade());
-        if (gradeCode == null || gradeCode.isBlank()) {
+        String gradeCode = MixDesignCostCatalog.normalizeGradeCode(order.getGrade());
+        if (gradeCode == null) {
             throw new IllegalArgumentException("Selected order does not have a valid concrete grade");
         }
 
-        MixDesignCostSheet sheet = mixDesignCostSheetRepository.findByGradeCodeIgnoreCase(gradeCode)
-                .orElseThrow(() -> new IllegalArgumentException("No mix design cost master available for grade " + gradeCode));
+        MixDesignCostCatalog.GradeCost sheet = catalog().find(gradeCode);
+        if (sheet == null) {
+            throw new IllegalArgumentException("No mix design cost master available for grade " + gradeCode);
+        }
 
         double orderQuantity = safe(order.getQuantity());
-        List<Map<String, Object>> ingredientRows = new ArrayList<>();
-        double totalCostForOrder = round(sheet.getTotalCostPerM3() * orderQuantity);
-
-        double sandQuantityPerM3 = 0;
-        double sandCostPerM3 = 0;
-        double aggregateQuantityPerM3 = 0;
-        double aggregateCostPerM3 = 0;
-
-        for (MixDesignCostLine line : sheet.getLines()) {
-            double quantityForOrder = round(line.getQuantityPerM3() * orderQuantity);
-            double costForOrder = round(line.getCostPerM3() * orderQuantity);
-
+        List<Map<String, Object>> ingredientRows = new ArrayList<>(sheet.ingredientNames.length);
+        for (int i = 0; i < sheet.ingredientNames.length; i++) {
             Map<String, Object> row = new LinkedHashMap<>();
-            row.put("ingredient", line.getIngredientName());
-            row.put("unit", line.getUnit());
-            row.put("rate", round(line.getRate()));
-            row.put("quantityPerM3", round(line.getQuantityPerM3()));
-            row.put("costPerM3", round(line.getCostPerM3()));
-            row.put("quantityForOrder", quantityForOrder);
-            row.put("costForOrder", costForOrder);
+            row.put("ingredient", sheet.ingredientNames[i]);
+            row.put("unit", sheet.units[i]);
+            row.put("rate", round(sheet.rates[i]));
+            row.put("quantityPerM3", round(sheet.quantityPerM3[i]));
+            row.put("costPerM3", round(sheet.costPerM3[i]));
+            row.put("quantityForOrder", round(sheet.quantityPerM3[i] * orderQuantity));
+            row.put("costForOrder", round(sheet.costPerM3[i] * orderQuantity));
             ingredientRows.add(row);
-
-            String key = line.getIngredientName().trim().toUpperCase();
-            if (key.contains("SAND")) {
-                sandQuantityPerM3 += line.getQuantityPerM3();
-                sandCostPerM3 += line.getCostPerM3();
-            }
-            if ("20MM".equals(key) || "10MM".equals(key)) {
-                aggregateQuantityPerM3 += line.getQuantityPerM3();
-                aggregateCostPerM3 += line.getCostPerM3();
-            }
         }
 
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("order", toOrderRow(order));
         response.put("sheet", Map.of(
-                "gradeCode", sheet.getGradeCode(),
-                "gradeLabel", sheet.getGradeLabel()
+                "gradeCode", sheet.gradeCode,
+                "gradeLabel", sheet.gradeLabel
         ));
         response.put("ingredients", ingredientRows);
         response.put("summary", Map.of(
-                "totalDensity", round(sheet.getTotalDensity()),
-                "costPerM3", round(sheet.getTotalCostPerM3()),
-                "totalCostForOrder", totalCostForOrder,
+                "totalDensity", round(sheet.totalDensity),
+                "costPerM3", round(sheet.totalCostPerM3),
+                "totalCostForOrder", round(sheet.totalCostPerM3 * orderQuantity),
                 "orderQuantity", round(orderQuantity),
-                "sandQuantityPerM3", round(sandQuantityPerM3),
-                "sandCostPerM3", round(sandCostPerM3),
-                "aggregateQuantityPerM3", round(aggregateQuantityPerM3),
-                "aggregateCostPerM3", round(aggregateCostPerM3)
+                "sandQuantityPerM3", round(sheet.sandQuantityPerM3),
+                "sandCostPerM3", round(sheet.sandCostPerM3),
+                "aggregateQuantityPerM3", round(sheet.aggregateQuantityPerM3),
+                "aggregateCostPerM3", round(sheet.aggregateCostPerM3)
         ));
         return response;
     }
 
+    /**
+     * Prices every active order (approved, in production or dispatched; optionally
+     * delivered and returned too) in one pass. With {@code rates} set, each order is
+     * also priced as if those ingredients cost that much, next to its sheet cost.
+     */
+    public Map<String, Object> priceBatch(MixDesignBatchCostRequest request) {
+        MixDesignCostCatalog current = catalog();
+        Map<String, Double> rates = resolveRateOverrides(current, request != null ? request.getRates() : null);
+        boolean includeCompleted = request != null && Boolean.TRUE.equals(request.getIncludeCompleted());
+        boolean includeOrders = request == null || !Boolean.FALSE.equals(request.getIncludeOrders());
+
+        // Per-grade costs are worked out once; each order is then a lookup and a multiply.
+        List<MixDesignCostCatalog.GradeCost> grades = new ArrayList<>(current.grades());
+        Map<String, Integer> gradeIndex = new HashMap<>();
+        double[] baselinePerM3 = new double[grades.size()];
+        double[] scenarioPerM3 = new double[grades.size()];
+        for (int i = 0; i < grades.size(); i++) {
+            MixDesignCostCatalog.GradeCost grade = grades.get(i);
+            gradeIndex.put(MixDesignCostCatalog.normalizeGradeCode(grade.gradeCode), i);
+            baselinePerM3[i] = grade.totalCostPerM3;
+            scenarioPerM3[i] = grade.costPerM3With(rates);
+        }
+
+        int[] orderCount = new int[grades.size()];
+        double[] quantity = new double[grades.size()];
+        Map<String, Integer> indexByRawGrade = new HashMap<>();
+        List<Map<String, Object>> orderRows = new ArrayList<>();
+        List<String> unpriced = new ArrayList<>();
+        List<OrderCostingView> orders = orderRepository.findCostingRows(
+                includeCompleted ? COSTED_STATUSES_WITH_COMPLETED : ACTIVE_STATUSES);
+        for (OrderCostingView order : orders) {
+            String rawGrade = order.getGrade() == null ? "" : order.getGrade();
+            Integer index = indexByRawGrade.computeIfAbsent(rawGrade,
+                    key -> gradeIndex.getOrDefault(MixDesignCostCatalog.normalizeGradeCode(key), -1));
+            if (index < 0) {
+                unpriced.add(order.getOrderId());
+                continue;
+            }
+            double orderQuantity = safe(order.getQuantity());
+            orderCount[index]++;
+            quantity[index] += orderQuantity;
+            if (includeOrders) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("orderId", order.getOrderId());
+                row.put("grade", order.getGrade());
+                row.put("status", order.getStatus() != null ? order.getStatus().name() : null);
+                row.put("quantity", round(orderQuantity));
+                row.put("costPerM3", round(scenarioPerM3[index]));
+                row.put("totalCost", round(scenarioPerM3[index] * orderQuantity));
+                row.put("baselineTotalCost", round(baselinePerM3[index] * orderQuantity));
+                orderRows.add(row);
+            }
+        }
+
+        double totalCost = 0;
+        double baselineTotalCost = 0;
+        List<Map<String, Object>> gradeRows = new ArrayList<>();
+        for (int i = 0; i < grades.size(); i++) {
+            if (orderCount[i] == 0) {
+                continue;
+            }
+            double gradeCost = scenarioPerM3[i] * quantity[i];
+            double gradeBaseline = baselinePerM3[i] * quantity[i];
+            totalCost += gradeCost;
+            baselineTotalCost += gradeBaseline;
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("gradeCode", grades.get(i).gradeCode);
+            row.put("orderCount", orderCount[i]);
+            row.put("quantity", round(quantity[i]));
+            row.put("costPerM3", round(scenarioPerM3[i]));
+            row.put("baselineCostPerM3", round(baselinePerM3[i]));
+            row.put("totalCost", round(gradeCost));
+            row.put("baselineTotalCost", round(gradeBaseline));
+            gradeRows.add(row);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("orderCount", orders.size());
+        response.put("pricedOrderCount", orders.size() - unpriced.size());
+        response.put("unpricedOrders", unpriced);
+        response.put("totalCost", round(totalCost));
+        response.put("baselineTotalCost", round(baselineTotalCost));
+        response.put("costDelta", round(totalCost - baselineTotalCost));
+        response.put("grades", gradeRows);
+        if (includeOrders) {
+            response.put("orders", orderRows);
+        }
+        return response;
+    }
+
+    /**
+     * Edits the rate and/or quantity of ingredient lines on one grade's sheet. Line cost
+     * is recomputed as rate × quantity and the sheet total moves by the same amount.
+     * The cached catalog is dropped once the change commits.
+     */
+    @Transactional
+    public Map<String, Object> updateSheet(String gradeCode, MixDesignSheetUpdateRequest request) {
+        String normalized = MixDesignCostCatalog.normalizeGradeCode(gradeCode);
+        MixDesignCostSheet sheet = normalized == null ? null : mixDesignCostSheetRepository.findAllWithLines().stream()
+                .filter(candidate -> normalized.equals(MixDesignCostCatalog.normalizeGradeCode(candidate.getGradeCode())))
+                .findFirst()
+                .orElse(null);
+        if (sheet == null) {
+            throw new IllegalArgumentException("No mix design cost master available for grade " + gradeCode);
+        }
+
+        if (request.getGradeLabel() != null && !request.getGradeLabel().isBlank()) {
+            sheet.setGradeLabel(request.getGradeLabel().trim());
+        }
+        if (request.getTotalDensity() != null) {
+            if (!Double.isFinite(request.getTotalDensity()) || request.getTotalDensity() <= 0) {
+                throw new IllegalArgumentException("Total density must be greater than 0");
+            }
+            sheet.setTotalDensity(request.getTotalDensity());
+        }
+        if (request.getLines() != null) {
+            for (MixDesignLineUpdateRequest update : request.getLines()) {
+                applyLineUpdate(sheet, update);
+            }
+        }
+        mixDesignCostSheetRepository.save(sheet);
+        invalidateAfterCommit();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("gradeCode", sheet.getGradeCode());
+        response.put("gradeLabel", sheet.getGradeLabel());
+        response.put("totalDensity", round(sheet.getTotalDensity()));
+        response.put("costPerM3", round(sheet.getTotalCostPerM3()));
+        return response;
+    }
+
+    // Drops the cached catalog; the next reader rebuilds it from the sheets.
+    public void invalidate() {
+        catalogVersion.incrementAndGet();
+        catalog = null;
+    }
+
+    MixDesignCostCatalog catalog() {
+        MixDesignCostCatalog current = catalog;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = catalog;
+            if (current == null) {
+                long version = catalogVersion.get();
+                current = MixDesignCostCatalog.of(mixDesignCostSheetRepository.findAllWithLines());
+                // An edit committed while we were loading; serve this snapshot but don't keep it.
+                if (version == catalogVersion.get()) {
+                    catalog = current;
+                }
+            }
+            return current;
+        }
+    }
+
+    private void applyLineUpdate(MixDesignCostSheet sheet, MixDesignLineUpdateRequest update) {
+        String key = MixDesignCostCatalog.ingredientKey(update == null ? null : update.getIngredient());
+        MixDesignCostLine line = sheet.getLines().stream()
+                .filter(candidate -> key.equals(MixDesignCostCatalog.ingredientKey(candidate.getIngredientName())))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown ingredient " + (update == null ? "" : update.getIngredient())
+                        + " for grade " + sheet.getGradeCode()));
+
+        double rate = update.getRate() != null ? update.getRate() : line.getRate();
+        double quantityPerM3 = update.getQuantityPerM3() != null ? update.getQuantityPerM3() : line.getQuantityPerM3();
+        if (!Double.isFinite(rate) || rate < 0 || !Double.isFinite(quantityPerM3) || quantityPerM3 < 0) {
+            throw new IllegalArgumentException("Rate and quantity must not be negative");
+        }
+        double costPerM3 = round(rate * quantityPerM3);
+        sheet.setTotalCostPerM3(sheet.getTotalCostPerM3() + costPerM3 - line.getCostPerM3());
+        line.setRate(rate);
+        line.setQuantityPerM3(quantityPerM3);
+        line.setCostPerM3(costPerM3);
+    }
+
+    private Map<String, Double> resolveRateOverrides(MixDesignCostCatalog current, Map<String, Double> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Double> rates = new HashMap<>();
+        for (Map.Entry<String, Double> entry : requested.entrySet()) {
+            String key = MixDesignCostCatalog.ingredientKey(entry.getKey());
+            if (!current.hasIngredient(key)) {
+                throw new IllegalArgumentException("Unknown ingredient " + entry.getKey());
+            }
+            Double rate = entry.getValue();
+            if (rate == null || !Double.isFinite(rate) || rate < 0) {
+                throw new IllegalArgumentException("Rate for " + entry.getKey() + " must not be negative");
+            }
+            rates.put(key, rate);
+        }
+        return rates;
+    }
+
+    private void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+            return;
+        }
+        invalidate();
+    }
+
     private Map<String, Object> toOrderRow(Order order) {
         Map<String, Object> row = new LinkedHashMap<>();
         row.put("id", order.getId());
@@ -223,14 +441,6 @@ public class MixDesignCostService {
                 && order.getStatus() != OrderStatus.REJECTED;
     }
 
-    private String normalizeGradeCode(String value) {
-        if (value == null) {
-            return null;
-        }
-        String normalized = value.trim().toUpperCase().replace(" ", "").replace("-", "");
-        return normalized.isBlank() ? null : normalized;
-    }
-
     private double safe(double value) {
         return Double.isFinite(value) ? value : 0;
     }
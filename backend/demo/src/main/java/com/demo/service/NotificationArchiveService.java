@@ -0,0 +1,165 @@
+package com.demo.service;
+
+import com.demo.dto.NotificationRefView;
+import com.demo.repository.OrderNotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Nightly job that keeps order_notifications small: notifications older than the
+ * configured age are copied into order_notifications_archive, or just purged, in
+ * batches of {@link #BATCH_SIZE}, each in its own short transaction. Inboxes that
+ * lost rows are dropped from the inbox cache and reload on next use.
+ */
+@Service
+public class NotificationArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationArchiveService.class);
+
+    static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private OrderNotificationRepository orderNotificationRepository;
+
+    @Autowired
+    private NotificationInboxCache notificationInboxCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${notifications.archive.after-days:180}")
+    private long archiveAfterDays;
+
+    @Value("${notifications.archive.purge:false}")
+    private boolean purge;
+
+    private volatile RunReport lastReport;
+
+    // Nightly jobs are staggered (archive 01:30, trip reconcile 02:30, slot rebuild 03:30).
+    @Scheduled(cron = "0 30 1 * * *")
+    public synchronized RunReport archive() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        LocalDateTime cutoff = startedAt.minusDays(archiveAfterDays);
+
+        int moved = 0;
+        int batches = 0;
+        while (true) {
+            List<Long> userIds = new ArrayList<>();
+            Integer batchSize = transactionTemplate.execute(status -> archiveBatch(cutoff, startedAt, userIds));
+            if (batchSize == null || batchSize == 0) {
+                break;
+            }
+            batches++;
+            moved += batchSize;
+            userIds.forEach(notificationInboxCache::evict);
+            if (batchSize < BATCH_SIZE) {
+                break;
+            }
+        }
+
+        RunReport report = new RunReport(startedAt, LocalDateTime.now(), cutoff, purge, moved, batches,
+                (System.nanoTime() - started) / 1_000_000L);
+        lastReport = report;
+        log.info("Notification archival: {} notification(s) {} in {} batch(es), {} ms",
+                moved, purge ? "purged" : "archived", batches, report.getElapsedMillis());
+        return report;
+    }
+
+    public RunReport getLastReport() {
+        return lastReport;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff, LocalDateTime archivedAt, List<Long> userIds) {
+        List<NotificationRefView> batch = orderNotificationRepository.findRefsByCreatedAtBefore(cutoff, PageRequest.of(0, BATCH_SIZE));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = batch.stream().map(NotificationRefView::getId).toList();
+        if (!purge) {
+            // Copied inside the database in one statement; rows never travel to the app.
+            String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            List<Object> args = new ArrayList<>();
+            args.add(Timestamp.valueOf(archivedAt));
+            args.addAll(ids);
+            jdbcTemplate.update("insert into order_notifications_archive "
+                    + "(id, user_id, order_id, title, message, type, is_read, created_at, archived_at) "
+                    + "select id, user_id, order_id, title, message, type, is_read, created_at, ? "
+                    + "from order_notifications where id in (" + placeholders + ")", args.toArray());
+        }
+        orderNotificationRepository.deleteAllByIdInBatch(ids);
+
+        Set<Long> affectedUsers = new LinkedHashSet<>();
+        batch.forEach(notification -> affectedUsers.add(notification.getUserId()));
+        userIds.addAll(affectedUsers);
+        return batch.size();
+    }
+
+    public static final class RunReport {
+        private final LocalDateTime startedAt;
+        private final LocalDateTime finishedAt;
+        private final LocalDateTime cutoff;
+        private final boolean purged;
+        private final int notificationsMoved;
+        private final int batches;
+        private final long elapsedMillis;
+
+        RunReport(LocalDateTime startedAt, LocalDateTime finishedAt, LocalDateTime cutoff, boolean purged,
+                  int notificationsMoved, int batches, long elapsedMillis) {
+            this.startedAt = startedAt;
+            this.finishedAt = finishedAt;
+            this.cutoff = cutoff;
+            this.purged = purged;
+            this.notificationsMoved = notificationsMoved;
+            this.batches = batches;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public LocalDateTime getFinishedAt() {
+            return finishedAt;
+        }
+
+        public LocalDateTime getCutoff() {
+            return cutoff;
+        }
+
+        public boolean isPurged() {
+            return purged;
+        }
+
+        public int getNotificationsMoved() {
+            return notificationsMoved;
+        }
+
+        public int getBatches() {
+            return batches;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.demo.service;
+
+import com.demo.entity.OrderNotification;
+import com.demo.repository.OrderNotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-customer inbox held in memory: the unread count and the most recent notifications,
+ * newest first. An inbox is loaded on first use and then kept current by the writers
+ * (stored, read, all read) after they commit; the least recently used inboxes are
+ * dropped once {@link #MAX_INBOXES} are held.
+ */
+@Service
+public class NotificationInboxCache {
+
+    static final int RECENT_LIMIT = 50;
+    static final int MAX_INBOXES = 5000;
+
+    @Autowired
+    private OrderNotificationRepository orderNotificationRepository;
+
+    private final Map<Long, Inbox> inboxes = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Inbox> eldest) {
+            return size() > MAX_INBOXES;
+        }
+    };
+
+    // Bumped by every write so a load that raced with one is not cached stale.
+    private long writes;
+
+    public long unreadCount(Long userId) {
+        return inbox(userId).unreadCount;
+    }
+
+    /**
+     * Up to {@link #RECENT_LIMIT} of the user's newest notifications, as copies.
+     */
+    public List<OrderNotification> recent(Long userId) {
+        Inbox inbox = inbox(userId);
+        synchronized (this) {
+            return inbox.recent.stream().map(NotificationInboxCache::copy).toList();
+        }
+    }
+
+    public synchronized boolean isCached(Long userId) {
+        return inboxes.containsKey(userId);
+    }
+
+    public synchronized void added(OrderNotification notification) {
+        writes++;
+        Inbox inbox = inboxes.get(notification.getUserId());
+        if (inbox == null) {
+            return;
+        }
+        if (!notification.isRead()) {
+            inbox.unreadCount++;
+        }
+        int index = 0;
+        while (index < inbox.recent.size() && inbox.recent.get(index).getId() > notification.getId()) {
+            index++;
+        }
+        inbox.recent.add(index, copy(notification));
+        if (inbox.recent.size() > RECENT_LIMIT) {
+            inbox.recent.remove(inbox.recent.size() - 1);
+        }
+    }
+
+    public synchronized void markedRead(Long userId, Long notificationId) {
+        writes++;
+        Inbox inbox = inboxes.get(userId);
+        if (inbox == null) {
+            return;
+        }
+        inbox.unreadCount = Math.max(0, inbox.unreadCount - 1);
+        for (OrderNotification notification : inbox.recent) {
+            if (notification.getId().equals(notificationId)) {
+                notification.setRead(true);
+            }
+        }
+    }
+
+    public synchronized void markedAllRead(Long userId) {
+        writes++;
+        Inbox inbox = inboxes.get(userId);
+        if (inbox == null) {
+            return;
+        }
+        inbox.unreadCount = 0;
+        for (OrderNotification notification : inbox.recent) {
+            notification.setRead(true);
+        }
+    }
+
+    public synchronized void evict(Long userId) {
+        writes++;
+        inboxes.remove(userId);
+    }
+
+    public synchronized int size() {
+        return inboxes.size();
+    }
+
+    private Inbox inbox(Long userId) {
+        long writesBeforeLoad;
+        synchronized (this) {
+            Inbox cached = inboxes.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            writesBeforeLoad = writes;
+        }
+
+        // Loaded outside the lock so one slow load does not hold up every other inbox.
+        Inbox loaded = new Inbox(
+                orderNotificationRepository.countByUserIdAndIsReadFalse(userId),
+                new ArrayList<>(orderNotificationRepository
+                        .findByUserIdOrderByIdDesc(userId, PageRequest.of(0, RECENT_LIMIT))
+                        .stream()
+                        .map(NotificationInboxCache::copy)
+                        .toList()));
+
+        synchronized (this) {
+            Inbox cached = inboxes.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            if (writes == writesBeforeLoad) {
+                inboxes.put(userId, loaded);
+            }
+            return loaded;
+        }
+    }
+
+    // Cached rows are detached copies so callers and the persistence context never share them.
+    private static OrderNotification copy(OrderNotification source) {
+        OrderNotification copy = new OrderNotification();
+        copy.setId(source.getId());
+        copy.setUserId(source.getUserId());
+        copy.setOrderId(source.getOrderId());
+        copy.setTitle(source.getTitle());
+        copy.setMessage(source.getMessage());
+        copy.setType(source.getType());
+        copy.setRead(source.isRead());
+        copy.setCreatedAt(source.getCreatedAt());
+        return copy;
+    }
+
+    private static final class Inbox {
+        private long unreadCount;
+        private final List<OrderNotification> recent;
+
+        private Inbox(long unreadCount, List<OrderNotification> recent) {
+            this.unreadCount = unreadCount;
+            this.recent = recent;
+        }
+    }
+}
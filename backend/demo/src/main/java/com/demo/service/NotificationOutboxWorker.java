@@ -0,0 +1,301 @@
+package com.demo.service;
+
+import com.demo.entity.NotificationOutboxEntry;
+import com.demo.entity.OrderNotification;
+import com.demo.entity.User;
+import com.demo.repository.NotificationOutboxRepository;
+import com.demo.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the notification outbox in the background: drops repeats of a message sent
+ * to the same customer for the same order in the last two minutes, batch-inserts the
+ * rest into order_notifications and deletes the drained entries. The new notifications
+ * then go to the inbox cache and live listeners, and order milestones are mailed when
+ * that is switched on. Runs right after a transaction that wrote entries commits, and
+ * every few seconds for anything left behind.
+ */
+@Service
+public class NotificationOutboxWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutboxWorker.class);
+
+    static final int BATCH_SIZE = 200;
+    static final int MAX_ATTEMPTS = 5;
+    private static final long DEDUPE_WINDOW_MINUTES = 2;
+    private static final int RECENT_CACHE_LIMIT = 10_000;
+    // Titles of the milestones customers also get by mail.
+    private static final Set<String> MAILED_TITLES = Set.of(
+            "Order Approved", "Dispatch Scheduled", "Order Delivered", "Pay Later Reminder");
+    private static final String INSERT_NOTIFICATION_SQL = "insert into order_notifications "
+            + "(user_id, order_id, title, message, type, is_read, created_at) values (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+
+    @Autowired
+    private OrderNotificationService orderNotificationService;
+
+    @Autowired
+    private LiveUpdateBroker liveUpdateBroker;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NotificationInboxCache notificationInboxCache;
+
+    @Autowired
+    private MailDeliveryService mailDeliveryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${mail.order-updates.enabled:false}")
+    private boolean mailOrderUpdates;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    // Last message per customer, order and type; only touched while draining.
+    private final Map<String, RecentMessage> recentMessages = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RecentMessage> eldest) {
+            return size() > RECENT_CACHE_LIMIT;
+        }
+    };
+
+    /**
+     * Published by writers after adding an entry; runs once the writing transaction
+     * has committed, or straight away when there was none.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntryWritten(EntryWritten event) {
+        if (!drainQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                drainQueued.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            drainQueued.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelay = 5000)
+    public synchronized int drain() {
+        int delivered = 0;
+        while (true) {
+            List<NotificationOutboxEntry> batch = notificationOutboxRepository.findPending(MAX_ATTEMPTS, PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return delivered;
+            }
+
+            try {
+                delivered += complete(transactionTemplate.execute(status -> deliver(batch)));
+            } catch (RuntimeException e) {
+                log.warn("Could not deliver {} outbox notification(s) as a batch, retrying one by one: {}", batch.size(), e.getMessage());
+                return delivered + deliverOneByOne(batch);
+            }
+            if (batch.size() < BATCH_SIZE) {
+                return delivered;
+            }
+        }
+    }
+
+    public long pendingCount() {
+        return notificationOutboxRepository.countByAttemptsLessThan(MAX_ATTEMPTS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Isolates the entry that broke the batch; it is retried later and parked after MAX_ATTEMPTS.
+    private int deliverOneByOne(List<NotificationOutboxEntry> batch) {
+        int delivered = 0;
+        for (NotificationOutboxEntry entry : batch) {
+            try {
+                delivered += complete(transactionTemplate.execute(status -> deliver(List.of(entry))));
+            } catch (RuntimeException e) {
+                transactionTemplate.executeWithoutResult(status -> notificationOutboxRepository.incrementAttempts(List.of(entry.getId())));
+                log.warn("Could not deliver outbox notification {} (attempt {}): {}", entry.getId(), entry.getAttempts() + 1, e.getMessage());
+            }
+        }
+        return delivered;
+    }
+
+    private int complete(DeliveredBatch result) {
+        recentMessages.putAll(result.accepted);
+        for (OrderNotification notification : result.notifications) {
+            notificationInboxCache.added(notification);
+            push(notification);
+        }
+        if (mailOrderUpdates) {
+            mail(result.notifications);
+        }
+        return result.notifications.size();
+    }
+
+    private DeliveredBatch deliver(List<NotificationOutboxEntry> batch) {
+        // Cache updates wait for the commit so a rolled-back batch is not treated as sent.
+        Map<String, RecentMessage> accepted = new HashMap<>();
+        List<OrderNotification> notifications = new ArrayList<>();
+        for (NotificationOutboxEntry entry : batch) {
+            LocalDateTime createdAt = entry.getCreatedAt() != null ? entry.getCreatedAt() : LocalDateTime.now();
+            String key = entry.getUserId() + "|" + entry.getOrderId() + "|" + entry.getType();
+            String message = normalize(entry.getMessage());
+            RecentMessage last = accepted.containsKey(key) ? accepted.get(key) : recentMessages.get(key);
+            if (last != null
+                    && last.message.equals(message)
+                    && createdAt.isBefore(last.sentAt.plusMinutes(DEDUPE_WINDOW_MINUTES))) {
+                continue;
+            }
+            accepted.put(key, new RecentMessage(message, createdAt));
+
+            OrderNotification notification = new OrderNotification();
+            notification.setUserId(entry.getUserId());
+            notification.setOrderId(entry.getOrderId());
+            notification.setTitle(entry.getTitle());
+            notification.setMessage(entry.getMessage());
+            notification.setType(entry.getType());
+            notification.setRead(false);
+            notification.setCreatedAt(createdAt);
+            notifications.add(notification);
+        }
+
+        insert(notifications);
+        notificationOutboxRepository.deleteAllByIdInBatch(batch.stream().map(NotificationOutboxEntry::getId).toList());
+        return new DeliveredBatch(notifications, accepted);
+    }
+
+    // order_notifications uses IDENTITY ids, so the batch goes through JDBC to keep both the batching and the keys.
+    private void insert(List<OrderNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_NOTIFICATION_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (OrderNotification notification : notifications) {
+                    statement.setLong(1, notification.getUserId());
+                    statement.setString(2, notification.getOrderId());
+                    statement.setString(3, notification.getTitle());
+                    statement.setString(4, notification.getMessage());
+                    statement.setString(5, notification.getType().name());
+                    statement.setBoolean(6, false);
+                    statement.setTimestamp(7, Timestamp.valueOf(notification.getCreatedAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    int index = 0;
+                    while (keys.next() && index < notifications.size()) {
+                        notifications.get(index++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // A listener that cannot be reached must not undo a notification that is already stored.
+    private void push(OrderNotification notification) {
+        try {
+            liveUpdateBroker.publish(LiveUpdateBroker.userTopic(notification.getUserId()),
+                    OrderNotificationService.NOTIFICATION_EVENT, orderNotificationService.toView(notification), null);
+        } catch (RuntimeException e) {
+            log.warn("Could not push notification {} to user {}: {}", notification.getId(), notification.getUserId(), e.getMessage());
+        }
+    }
+
+    private void mail(List<OrderNotification> notifications) {
+        List<OrderNotification> milestones = notifications.stream()
+                .filter(notification -> MAILED_TITLES.contains(notification.getTitle()))
+                .toList();
+        if (milestones.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, String> emails = new HashMap<>();
+            for (User user : userRepository.findAllById(milestones.stream().map(OrderNotification::getUserId).distinct().toList())) {
+                emails.put(user.getId(), user.getEmail());
+            }
+            for (OrderNotification notification : milestones) {
+                String email = emails.get(notification.getUserId());
+                if (email != null && !email.isBlank()) {
+                    mailDeliveryService.sendOrderUpdate(email, notification.getOrderId(), notification.getTitle(), notification.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not queue order update mail for {} notification(s): {}", milestones.size(), e.getMessage());
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Event a writer publishes after adding an outbox entry.
+     */
+    public static final class EntryWritten {
+    }
+
+    private static final class RecentMessage {
+        private final String message;
+        private final LocalDateTime sentAt;
+
+        private RecentMessage(String message, LocalDateTime sentAt) {
+            this.message = message;
+            this.sentAt = sentAt;
+        }
+    }
+
+    private static final class DeliveredBatch {
+        private final List<OrderNotification> notifications;
+        private final Map<String, RecentMessage> accepted;
+
+        private DeliveredBatch(List<OrderNotification> notifications, Map<String, RecentMessage> accepted) {
+            this.notifications = notifications;
+            this.accepted = accepted;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.demo.service;
+
+import com.demo.dto.OrderStatusCount;
+import com.demo.entity.DispatchTripStatus;
+import com.demo.entity.OrderStatus;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.EquipmentBreakdownRepository;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.RawMaterialRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Domain gauges for the operations dashboard: orders per status, trips on the road,
+ * open equipment breakdowns and raw materials below their reorder level. A handful of
+ * count queries refresh them every 30 seconds, so a scrape never reaches the database.
+ */
+@Service
+public class OperationalMetrics implements MeterBinder {
+
+    private static final EnumSet<DispatchTripStatus> ACTIVE_TRIP_STATUSES =
+            EnumSet.of(DispatchTripStatus.DISPATCHED, DispatchTripStatus.IN_TRANSIT);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+    @Autowired
+    private EquipmentBreakdownRepository equipmentBreakdownRepository;
+
+    @Autowired
+    private RawMaterialRepository rawMaterialRepository;
+
+    private final Map<OrderStatus, AtomicLong> ordersByStatus = new EnumMap<>(OrderStatus.class);
+    private final AtomicLong activeDispatchTrips = new AtomicLong();
+    private final AtomicLong openBreakdowns = new AtomicLong();
+    private final AtomicLong materialsBelowReorderLevel = new AtomicLong();
+
+    public OperationalMetrics() {
+        for (OrderStatus status : OrderStatus.values()) {
+            ordersByStatus.put(status, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ordersByStatus.forEach((status, count) -> Gauge.builder("rmc.orders", count, AtomicLong::get)
+                .description("Orders in each status")
+                .tag("status", status.name())
+                .register(registry));
+        Gauge.builder("rmc.dispatch.trips.active", activeDispatchTrips, AtomicLong::get)
+                .description("Trips dispatched or in transit")
+                .register(registry);
+        Gauge.builder("rmc.equipment.breakdowns.open", openBreakdowns, AtomicLong::get)
+                .description("Equipment breakdowns not yet resolved")
+                .register(registry);
+        Gauge.builder("rmc.raw.materials.below.reorder.level", materialsBelowReorderLevel, AtomicLong::get)
+                .description("Raw materials whose stock is under their reorder level")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelay = 30000)
+    public void refresh() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatusCount row : orderRepository.countByStatus()) {
+            if (row.getStatus() != null) {
+                counts.put(row.getStatus(), row.getCount());
+            }
+        }
+        ordersByStatus.forEach((status, count) -> count.set(counts.getOrDefault(status, 0L)));
+        activeDispatchTrips.set(dispatchTripRecordRepository.countByStatusIn(ACTIVE_TRIP_STATUSES));
+        openBreakdowns.set(equipmentBreakdownRepository.countOpen());
+        materialsBelowReorderLevel.set(rawMaterialRepository.countBelowReorderLevel());
+    }
+}
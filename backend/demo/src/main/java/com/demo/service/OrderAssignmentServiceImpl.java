@@ -13,6 +13,15 @@ public class OrderAssignmentServiceImpl implements OrderAssignmentService {
     @Autowired
     private OrderAssignmentRepository repository;
 
+    @Autowired
+    private DispatchAvailabilityIndex dispatchAvailabilityIndex;
+
+    @Autowired
+    private ProductionSlotScheduler productionSlotScheduler;
+
+    @Autowired
+    private DispatchMonitoringBoard dispatchMonitoringBoard;
+
     @Override
     public List<OrderAssignment> getAllAssignments() {
         return repository.findAll();
@@ -32,7 +41,13 @@ public class OrderAssignmentServiceImpl implements OrderAssignmentService {
 
     @Override
     public OrderAssignment createAssignment(OrderAssignment assignment) {
-        return repository.save(assignment);
+        OrderAssignment saved = repository.save(assignment);
+        if (saved.getOrder() != null) {
+            dispatchAvailabilityIndex.refresh(saved.getOrder().getId());
+            productionSlotScheduler.refresh(saved.getOrder().getId());
+            dispatchMonitoringBoard.refresh(saved.getOrder().getId());
+        }
+        return saved;
     }
 
     @Override
@@ -48,11 +63,23 @@ public class OrderAssignmentServiceImpl implements OrderAssignmentService {
         existing.setBackupMixer(updatedAssignment.getBackupMixer());
         existing.setPlant(updatedAssignment.getPlant());
 
-        return repository.save(existing);
+        OrderAssignment saved = repository.save(existing);
+        if (saved.getOrder() != null) {
+            dispatchAvailabilityIndex.refresh(saved.getOrder().getId());
+            productionSlotScheduler.refresh(saved.getOrder().getId());
+            dispatchMonitoringBoard.refresh(saved.getOrder().getId());
+        }
+        return saved;
     }
 
     @Override
     public void deleteAssignment(Long id) {
+        OrderAssignment existing = repository.findById(id).orElse(null);
         repository.deleteById(id);
+        if (existing != null && existing.getOrder() != null) {
+            dispatchAvailabilityIndex.remove(existing.getOrder().getId());
+            productionSlotScheduler.remove(existing.getOrder().getId());
+            dispatchMonitoringBoard.refresh(existing.getOrder().getId());
+        }
     }
 }
\ No newline at end of file
@@ -1,100 +1,60 @@
 package com.demo.service;
 
+import com.demo.entity.ArchivedOrderNotification;
 import com.demo.entity.DeliveryTrackingStatus;
 import com.demo.entity.NotificationType;
+import com.demo.entity.NotificationOutboxEntry;
 import com.demo.entity.Order;
 import com.demo.entity.OrderNotification;
 import com.demo.entity.OrderStatus;
+import com.demo.repository.ArchivedOrderNotificationRepository;
+import com.demo.repository.NotificationOutboxRepository;
 import com.demo.repository.OrderNotificationRepository;
-import com.demo.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Objects;
+import java.util.Map;
 
 @Service
+@Timed(value = "rmc.order.notifications", description = "Order notification service calls")
 public class OrderNotificationService {
 
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String INSERT_OUTBOX_SQL = "insert into notification_outbox "
+            + "(user_id, order_id, title, message, type, created_at, attempts) values (?, ?, ?, ?, ?, ?, 0)";
+
     @Autowired
     private OrderNotificationRepository orderNotificationRepository;
 
     @Autowired
-    private OrderRepository orderRepository;
+    private NotificationOutboxRepository notificationOutboxRepository;
 
-    @Scheduled(cron = "0 0 10 * * *")
-    @Transactional
-    public void sendPayLaterReminders() {
-        LocalDateTime now = LocalDateTime.now();
-        for (Order order : orderRepository.findAll()) {
-            if (order == null || order.getUser() == null || order.getUser().getId() == null) {
-                continue;
-            }
-
-            boolean isPayLater = "PAY_LATER".equalsIgnoreCase(String.valueOf(order.getPaymentOption()))
-                    || "PAY_LATER".equalsIgnoreCase(String.valueOf(order.getPaymentType()));
-            if (!isPayLater) {
-                continue;
-            }
-
-            if (order.getPaymentReceivedAt() != null) {
-                continue;
-            }
-
-            if ("COMPLETED".equalsIgnoreCase(String.valueOf(order.getOrderWorkflowStatus()))
-                    || "PAYMENT_RECEIVED".equalsIgnoreCase(String.valueOf(order.getOrderWorkflowStatus()))) {
-                continue;
-            }
-
-            String creditApproval = normalize(order.getCreditApprovalStatus());
-            String creditStatus = normalize(order.getCreditStatus());
-            if (!("approved".equals(creditApproval) || "approved".equals(creditStatus))) {
-                continue;
-            }
-
-            String workflow = normalize(order.getOrderWorkflowStatus());
-            if ("completed".equals(workflow)) {
-                continue;
-            }
-
-            LocalDateTime referenceTime = order.getCreditRequestedAt() != null
-                    ? order.getCreditRequestedAt()
-                    : order.getCreatedAt();
-
-            if (referenceTime == null || now.isBefore(referenceTime.plusDays(2))) {
-                continue;
-            }
-
-            OrderNotification latestReminder = orderNotificationRepository
-                    .findTopByUserIdAndOrderIdAndTypeOrderByCreatedAtDesc(
-                            order.getUser().getId(),
-                            order.getOrderId() == null ? "" : order.getOrderId(),
-                            NotificationType.PAY_LATER_REMINDER
-                    )
-                    .orElse(null);
-
-            if (latestReminder != null
-                    && latestReminder.getCreatedAt() != null
-                    && latestReminder.getCreatedAt().isAfter(now.minusDays(2))) {
-                continue;
-            }
-
-            String dueText = order.getCreditDueDate() == null
-                    ? ""
-                    : " Due date: " + order.getCreditDueDate();
-
-            String reminderMessage = "Pay Later reminder: payment is pending for order "
-                    + (order.getOrderId() == null ? "" : order.getOrderId())
-                    + "."
-                    + dueText;
-
-            createNotification(order, NotificationType.PAY_LATER_REMINDER, reminderMessage);
-        }
-    }
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationInboxCache notificationInboxCache;
+
+    @Autowired
+    private ArchivedOrderNotificationRepository archivedOrderNotificationRepository;
 
     public void logOrderUpdate(Order order, DeliveryTrackingStatus trackingStatus, String message) {
         NotificationType type = resolveType(order, trackingStatus, message);
@@ -108,38 +68,59 @@ public class OrderNotificationService {
         createNotification(order, type, null);
     }
 
+    /**
+     * Queues the notification in the outbox as part of the caller's transaction; the
+     * {@link NotificationOutboxWorker} stores and pushes it after the commit.
+     */
     public void createNotification(Order order, NotificationType type, String messageOverride) {
         if (order == null || order.getUser() == null || order.getUser().getId() == null || type == null) {
             return;
         }
 
-        NotificationType persistedType = toPersistedType(type);
-
-        String orderId = order.getOrderId() == null ? "" : order.getOrderId().trim();
-        Long userId = order.getUser().getId();
-        String title = getTitle(type);
-        String message = isBlank(messageOverride) ? getDefaultMessage(type) : messageOverride.trim();
-
-        OrderNotification latestOfSameType = orderNotificationRepository
-                .findTopByUserIdAndOrderIdAndTypeOrderByCreatedAtDesc(userId, orderId, persistedType)
-                .orElse(null);
+        notificationOutboxRepository.save(toOutboxEntry(order.getUser().getId(), order.getOrderId(), type, messageOverride));
+        eventPublisher.publishEvent(new NotificationOutboxWorker.EntryWritten());
+    }
 
-        if (latestOfSameType != null
-                && Objects.equals(normalize(latestOfSameType.getMessage()), normalize(message))
-                && latestOfSameType.getCreatedAt() != null
-                && latestOfSameType.getCreatedAt().isAfter(LocalDateTime.now().minusMinutes(2))) {
+    /**
+     * Queues many notifications with one batched insert, for jobs that notify in bulk.
+     */
+    public void queueAll(List<NotificationOutboxEntry> entries) {
+        if (entries.isEmpty()) {
             return;
         }
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, entries, entries.size(), (statement, entry) -> {
+            statement.setLong(1, entry.getUserId());
+            statement.setString(2, entry.getOrderId());
+            statement.setString(3, entry.getTitle());
+            statement.setString(4, entry.getMessage());
+            statement.setString(5, entry.getType().name());
+            statement.setTimestamp(6, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+        eventPublisher.publishEvent(new NotificationOutboxWorker.EntryWritten());
+    }
 
-        OrderNotification notification = new OrderNotification();
-        notification.setUserId(userId);
-        notification.setOrderId(orderId);
-        notification.setTitle(title);
-        notification.setMessage(message);
-        notification.setType(persistedType);
-        notification.setRead(false);
-        notification.setCreatedAt(LocalDateTime.now());
-        orderNotificationRepository.save(notification);
+    public NotificationOutboxEntry toOutboxEntry(Long userId, String orderId, NotificationType type, String messageOverride) {
+        NotificationOutboxEntry entry = new NotificationOutboxEntry();
+        entry.setUserId(userId);
+        entry.setOrderId(orderId == null ? "" : orderId.trim());
+        entry.setTitle(getTitle(type));
+        entry.setMessage(isBlank(messageOverride) ? getDefaultMessage(type) : messageOverride.trim());
+        entry.setType(toPersistedType(type));
+        entry.setCreatedAt(LocalDateTime.now());
+        return entry;
+    }
+
+    public Map<String, Object> toView(OrderNotification n) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", n.getId());
+        row.put("userId", n.getUserId());
+        row.put("orderId", n.getOrderId() == null ? "" : n.getOrderId());
+        row.put("title", n.getTitle() == null ? "" : n.getTitle());
+        row.put("message", n.getMessage() == null ? "" : n.getMessage());
+        row.put("type", n.getType() == null ? "" : n.getType().name());
+        row.put("isRead", n.isRead());
+        row.put("createdAt", n.getCreatedAt());
+        return row;
     }
 
     private NotificationType toPersistedType(NotificationType type) {
@@ -154,8 +135,36 @@ public class OrderNotificationService {
         return orderNotificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
+    /**
+     * The user's newest notifications, answered from the inbox cache.
+     */
+    public List<OrderNotification> getRecentNotifications(Long userId) {
+        return notificationInboxCache.recent(userId);
+    }
+
+    /**
+     * Older history, newest first, starting below {@code beforeId}. Continues into the
+     * archive once the live table runs out.
+     */
+    public List<OrderNotification> getNotificationsBefore(Long userId, Long beforeId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<OrderNotification> page = new ArrayList<>(orderNotificationRepository
+                .findByUserIdAndIdLessThanOrderByIdDesc(userId, beforeId, PageRequest.of(0, pageSize)));
+        if (page.size() < pageSize) {
+            long archiveBeforeId = page.isEmpty() ? beforeId : page.get(page.size() - 1).getId();
+            archivedOrderNotificationRepository
+                    .findByUserIdAndIdLessThanOrderByIdDesc(userId, archiveBeforeId, PageRequest.of(0, pageSize - page.size()))
+                    .forEach(archived -> page.add(fromArchive(archived)));
+        }
+        return page;
+    }
+
     public long getUnreadCount(Long userId) {
-        return orderNotificationRepository.countByUserIdAndIsReadFalse(userId);
+        return notificationInboxCache.unreadCount(userId);
+    }
+
+    public boolean hasCachedInbox(Long userId) {
+        return notificationInboxCache.isCached(userId);
     }
 
     @Transactional
@@ -171,22 +180,45 @@ public class OrderNotificationService {
         if (!notification.isRead()) {
             notification.setRead(true);
             orderNotificationRepository.save(notification);
+            afterCommit(() -> notificationInboxCache.markedRead(userId, notificationId));
         }
         return true;
     }
 
     @Transactional
     public int markAllAsRead(Long userId) {
-        List<OrderNotification> unread = orderNotificationRepository.findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId);
-        if (unread.isEmpty()) {
-            return 0;
+        int updated = orderNotificationRepository.markAllReadByUserId(userId);
+        if (updated > 0) {
+            afterCommit(() -> notificationInboxCache.markedAllRead(userId));
         }
+        return updated;
+    }
 
-        for (OrderNotification notification : unread) {
-            notification.setRead(true);
+    private static OrderNotification fromArchive(ArchivedOrderNotification archived) {
+        OrderNotification notification = new OrderNotification();
+        notification.setId(archived.getId());
+        notification.setUserId(archived.getUserId());
+        notification.setOrderId(archived.getOrderId());
+        notification.setTitle(archived.getTitle());
+        notification.setMessage(archived.getMessage());
+        notification.setType(archived.getType());
+        notification.setRead(archived.isRead());
+        notification.setCreatedAt(archived.getCreatedAt());
+        return notification;
+    }
+
+    // The inbox cache only follows committed changes.
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
         }
-        orderNotificationRepository.saveAll(unread);
-        return unread.size();
+        action.run();
     }
 
     private NotificationType resolveType(Order order, DeliveryTrackingStatus trackingStatus, String message) {
@@ -271,7 +303,7 @@ public class OrderNotificationService {
         return null;
     }
 
-    private String getTitle(NotificationType type) {
+    public String getTitle(NotificationType type) {
         return switch (type) {
             case PAY_LATER_REQUESTED -> "Pay Later Requested";
             case CREDIT_APPROVED -> "Credit Approved";
@@ -1,7 +1,10 @@
 package com.demo.service;
 
+import com.demo.dto.CursorPage;
 import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderService {
@@ -9,6 +12,14 @@ public interface OrderService {
     List<Order> getAllOrders();
     List<Order> getOrdersByUserId(Long userId);
 
+    CursorPage<Order> getOrderPage(
+            OrderStatus status,
+            Long userId,
+            LocalDateTime from,
+            LocalDateTime to,
+            String cursor,
+            Integer limit);
+
     Order getOrderById(Long id);
 
     Order getOrderByOrderId(String orderId);
@@ -1,10 +1,15 @@
 package com.demo.service;
 
+import com.demo.dto.CursorPage;
+import com.demo.dto.PageCursor;
 import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
 import com.demo.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -13,6 +18,15 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private DispatchAvailabilityIndex dispatchAvailabilityIndex;
+
+    @Autowired
+    private ProductionSlotScheduler productionSlotScheduler;
+
+    @Autowired
+    private DispatchMonitoringBoard dispatchMonitoringBoard;
+
     @Override
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
@@ -23,6 +37,22 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository.findByUserId(userId);
     }
 
+    @Override
+    public CursorPage<Order> getOrderPage(
+            OrderStatus status,
+            Long userId,
+            LocalDateTime from,
+            LocalDateTime to,
+            String cursor,
+            Integer limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Order> fetched = orderRepository.findPage(
+                status, userId, from, to, after != null ? after.getId() : null, PageRequest.of(0, pageSize + 1));
+        Long total = after == null ? orderRepository.countForPage(status, userId, from, to) : null;
+        return CursorPage.of(fetched, pageSize, order -> PageCursor.encode(order.getId()), rows -> rows, total);
+    }
+
     @Override
     public Order getOrderById(Long id) {
         return orderRepository.findById(id)
@@ -53,7 +83,11 @@ public class OrderServiceImpl implements OrderService {
         order.setDeliveryDate(updatedOrder.getDeliveryDate());
         order.setStatus(updatedOrder.getStatus());
 
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        dispatchAvailabilityIndex.refresh(saved.getId());
+        productionSlotScheduler.refresh(saved.getId());
+        dispatchMonitoringBoard.refresh(saved.getId());
+        return saved;
     }
 
     @Override
@@ -64,5 +98,8 @@ public class OrderServiceImpl implements OrderService {
         }
 
         orderRepository.deleteById(id);
+        dispatchAvailabilityIndex.remove(id);
+        productionSlotScheduler.remove(id);
+        dispatchMonitoringBoard.remove(id);
     }
 }
@@ -0,0 +1,154 @@
+package com.demo.service;
+
+import com.demo.dto.PayLaterReminderCandidate;
+import com.demo.entity.NotificationOutboxEntry;
+import com.demo.entity.NotificationType;
+import com.demo.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Daily reminders for unpaid pay-later orders whose credit was approved at least two
+ * days ago and that have not been reminded in the last two days. Eligible orders come
+ * from one indexed query that also returns each order's last reminder, walked in id
+ * order; every chunk queues its reminders with one batched insert in its own short
+ * transaction.
+ */
+@Service
+public class PayLaterReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(PayLaterReminderService.class);
+
+    static final int CHUNK_SIZE = 500;
+    private static final long REMINDER_INTERVAL_DAYS = 2;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderNotificationService orderNotificationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private volatile RunReport lastReport;
+
+    @Scheduled(cron = "0 0 10 * * *")
+    public synchronized RunReport sendReminders() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        LocalDateTime dueBefore = startedAt.minusDays(REMINDER_INTERVAL_DAYS);
+        String reminderTitle = orderNotificationService.getTitle(NotificationType.PAY_LATER_REMINDER);
+
+        long afterId = 0;
+        int scanned = 0;
+        int sent = 0;
+        int chunks = 0;
+        while (true) {
+            long chunkAfterId = afterId;
+            ChunkResult chunk = transactionTemplate.execute(status -> remindChunk(chunkAfterId, dueBefore, reminderTitle));
+            chunks++;
+            scanned += chunk.scanned;
+            sent += chunk.sent;
+            if (chunk.scanned < CHUNK_SIZE) {
+                break;
+            }
+            afterId = chunk.lastId;
+        }
+
+        RunReport report = new RunReport(startedAt, LocalDateTime.now(), scanned, sent, chunks,
+                (System.nanoTime() - started) / 1_000_000L);
+        lastReport = report;
+        log.info("Pay-later reminders: {} order(s) scanned, {} reminder(s) queued in {} chunk(s), {} ms",
+                scanned, sent, chunks, report.getElapsedMillis());
+        return report;
+    }
+
+    public RunReport getLastReport() {
+        return lastReport;
+    }
+
+    private ChunkResult remindChunk(long afterId, LocalDateTime dueBefore, String reminderTitle) {
+        List<PayLaterReminderCandidate> candidates = orderRepository.findPayLaterReminderCandidates(
+                afterId, dueBefore, reminderTitle, PageRequest.of(0, CHUNK_SIZE));
+
+        List<NotificationOutboxEntry> reminders = new ArrayList<>();
+        for (PayLaterReminderCandidate candidate : candidates) {
+            if (candidate.getLastReminderAt() != null && candidate.getLastReminderAt().isAfter(dueBefore)) {
+                continue;
+            }
+            String orderNumber = candidate.getOrderId() == null ? "" : candidate.getOrderId();
+            String dueText = candidate.getCreditDueDate() == null ? "" : " Due date: " + candidate.getCreditDueDate();
+            String message = "Pay Later reminder: payment is pending for order " + orderNumber + "." + dueText;
+            reminders.add(orderNotificationService.toOutboxEntry(
+                    candidate.getUserId(), orderNumber, NotificationType.PAY_LATER_REMINDER, message));
+        }
+        orderNotificationService.queueAll(reminders);
+
+        long lastId = candidates.isEmpty() ? afterId : candidates.get(candidates.size() - 1).getId();
+        return new ChunkResult(candidates.size(), reminders.size(), lastId);
+    }
+
+    public static final class RunReport {
+        private final LocalDateTime startedAt;
+        private final LocalDateTime finishedAt;
+        private final int ordersScanned;
+        private final int remindersSent;
+        private final int chunks;
+        private final long elapsedMillis;
+
+        RunReport(LocalDateTime startedAt, LocalDateTime finishedAt, int ordersScanned, int remindersSent, int chunks, long elapsedMillis) {
+            this.startedAt = startedAt;
+            this.finishedAt = finishedAt;
+            this.ordersScanned = ordersScanned;
+            this.remindersSent = remindersSent;
+            this.chunks = chunks;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public LocalDateTime getStartedAt() {
+            return startedAt;
+        }
+
+        public LocalDateTime getFinishedAt() {
+            return finishedAt;
+        }
+
+        public int getOrdersScanned() {
+            return ordersScanned;
+        }
+
+        public int getRemindersSent() {
+            return remindersSent;
+        }
+
+        public int getChunks() {
+            return chunks;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+
+    private static final class ChunkResult {
+        private final int scanned;
+        private final int sent;
+        private final long lastId;
+
+        private ChunkResult(int scanned, int sent, long lastId) {
+            this.scanned = scanned;
+            this.sent = sent;
+            this.lastId = lastId;
+        }
+    }
+}
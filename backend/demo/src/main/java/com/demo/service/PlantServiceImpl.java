@@ -13,6 +13,9 @@ public class PlantServiceImpl implements PlantService {
     @Autowired
     private PlantRepository plantRepository;
 
+    @Autowired
+    private ProductionSlotScheduler productionSlotScheduler;
+
     @Override
     public List<Plant> getAllPlants() {
         return plantRepository.findAll();
@@ -30,8 +33,11 @@ public class PlantServiceImpl implements PlantService {
         if (plantRepository.existsByPlantName(plant.getPlantName())) {
             throw new RuntimeException("Plant already exists");
         }
+        validateCapacity(plant.getBatchingCapacityM3PerHour());
 
-        return plantRepository.save(plant);
+        Plant saved = plantRepository.save(plant);
+        productionSlotScheduler.rebuild();
+        return saved;
     }
 
     @Override
@@ -41,8 +47,14 @@ public class PlantServiceImpl implements PlantService {
                 .orElseThrow(() -> new RuntimeException("Plant not found"));
 
         plant.setPlantName(updatedPlant.getPlantName());
+        if (updatedPlant.getBatchingCapacityM3PerHour() != null) {
+            validateCapacity(updatedPlant.getBatchingCapacityM3PerHour());
+            plant.setBatchingCapacityM3PerHour(updatedPlant.getBatchingCapacityM3PerHour());
+        }
 
-        return plantRepository.save(plant);
+        Plant saved = plantRepository.save(plant);
+        productionSlotScheduler.rebuild();
+        return saved;
     }
 
     @Override
@@ -53,5 +65,12 @@ public class PlantServiceImpl implements PlantService {
         }
 
         plantRepository.deleteById(id);
+        productionSlotScheduler.rebuild();
+    }
+
+    private void validateCapacity(Double capacityM3PerHour) {
+        if (capacityM3PerHour != null && (!Double.isFinite(capacityM3PerHour) || capacityM3PerHour <= 0)) {
+            throw new RuntimeException("Batching capacity must be greater than 0");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,443 @@
+package com.demo.service;
+
+import com.demo.dto.ProductionSlotView;
+import com.demo.entity.Order;
+import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.Plant;
+import com.demo.repository.OrderAssignmentRepository;
+import com.demo.repository.PlantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory production capacity calendar of every plant. Each plant's day is cut into
+ * 15-minute buckets holding the m³ already booked in them; an order's quantity is spread
+ * over its production slot in proportion to the time it covers, and a bucket may hold at
+ * most the plant's hourly batching capacity scaled to the bucket. Slot checks and
+ * earliest-slot searches only touch these arrays.
+ * Write paths that change an order's slot, status, quantity or plant must call
+ * {@link #refresh} or {@link #remove} after saving.
+ */
+@Service
+public class ProductionSlotScheduler {
+
+    public static final int BUCKET_MINUTES = 15;
+    public static final double DEFAULT_CAPACITY_M3_PER_HOUR = 60.0;
+
+    private static final long BUCKET_SECONDS = BUCKET_MINUTES * 60L;
+    private static final int BUCKETS_PER_DAY = 24 * 60 / BUCKET_MINUTES;
+    private static final int SEARCH_HORIZON_DAYS = 14;
+    private static final double TOLERANCE = 1e-6;
+    private static final List<OrderStatus> BOOKED_STATUSES = List.of(
+            OrderStatus.APPROVED, OrderStatus.IN_PRODUCTION, OrderStatus.DISPATCHED);
+
+    @Autowired
+    private OrderAssignmentRepository orderAssignmentRepository;
+
+    @Autowired
+    private PlantRepository plantRepository;
+
+    private final Map<Long, PlantCalendar> calendars = new HashMap<>();
+    private final Map<String, Long> plantIdsByName = new HashMap<>();
+    private final Map<Long, Booking> bookingsByOrder = new HashMap<>();
+
+    // Also runs nightly so days that have passed are dropped from the calendar.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 30 3 * * *")
+    public synchronized void rebuild() {
+        calendars.clear();
+        plantIdsByName.clear();
+        bookingsByOrder.clear();
+        for (Plant plant : plantRepository.findAll()) {
+            double capacity = plant.getBatchingCapacityM3PerHour() != null && plant.getBatchingCapacityM3PerHour() > 0
+                    ? plant.getBatchingCapacityM3PerHour()
+                    : DEFAULT_CAPACITY_M3_PER_HOUR;
+            calendars.put(plant.getId(), new PlantCalendar(plant.getId(), plant.getPlantName(), capacity));
+            String key = normalizeKey(plant.getPlantName());
+            if (key != null) {
+                plantIdsByName.putIfAbsent(key, plant.getId());
+            }
+        }
+
+        LocalDateTime since = LocalDate.now().minusDays(1).atStartOfDay();
+        for (ProductionSlotView slot : orderAssignmentRepository.findProductionSlots(since, BOOKED_STATUSES)) {
+            Long plantId = slot.getPlantId() != null ? slot.getPlantId() : plantIdsByName.get(normalizeKey(slot.getPlantAllocation()));
+            add(slot.getOrderId(), plantId,
+                    slot.getQuantity() != null ? slot.getQuantity() : 0,
+                    slot.getProductionSlotStart(), slot.getProductionSlotEnd());
+        }
+    }
+
+    public synchronized void refresh(Order order, OrderAssignment assignment) {
+        if (order == null || order.getId() == null) {
+            return;
+        }
+        removeInternal(order.getId());
+
+        if (assignment == null || !holdsCapacity(order.getStatus())) {
+            return;
+        }
+        Long plantId = assignment.getPlant() != null
+                ? assignment.getPlant().getId()
+                : plantIdsByName.get(normalizeKey(assignment.getPlantAllocation()));
+        add(order.getId(), plantId, order.getQuantity(),
+                order.getProductionSlotStart(), order.getProductionSlotEnd());
+    }
+
+    public void refresh(Long orderId) {
+        if (orderId == null) {
+            return;
+        }
+        OrderAssignment assignment = orderAssignmentRepository.findByOrder_Id(orderId).orElse(null);
+        if (assignment == null || assignment.getOrder() == null) {
+            remove(orderId);
+            return;
+        }
+        refresh(assignment.getOrder(), assignment);
+    }
+
+    public synchronized void remove(Long orderId) {
+        if (orderId != null) {
+            removeInternal(orderId);
+        }
+    }
+
+    /**
+     * The plant whose name matches a free-text plant allocation, or null.
+     */
+    public synchronized PlantCapacity findPlant(String plantAllocation) {
+        Long plantId = plantIdsByName.get(normalizeKey(plantAllocation));
+        return plantId == null ? null : calendars.get(plantId).view();
+    }
+
+    public synchronized PlantCapacity getPlant(Long plantId) {
+        PlantCalendar calendar = plantId == null ? null : calendars.get(plantId);
+        return calendar == null ? null : calendar.view();
+    }
+
+    /**
+     * Shortest slot, in whole buckets, in which the plant (or a default plant when
+     * {@code plantId} is unknown) can batch the quantity.
+     */
+    public synchronized long minimumDurationMinutes(Long plantId, double quantity) {
+        PlantCalendar calendar = plantId == null ? null : calendars.get(plantId);
+        double perBucket = (calendar != null ? calendar.capacityPerHour : DEFAULT_CAPACITY_M3_PER_HOUR) * BUCKET_MINUTES / 60.0;
+        long buckets = (long) Math.ceil(quantity / perBucket - TOLERANCE);
+        return Math.max(1, buckets) * BUCKET_MINUTES;
+    }
+
+    /**
+     * Returns the first bucket that batching the quantity over [start, end) would push
+     * past the plant's capacity, ignoring the order's own current booking; null if the
+     * slot fits.
+     */
+    public synchronized SlotConflict findConflict(Long plantId, double quantity, LocalDateTime start, LocalDateTime end, Long excludeOrderId) {
+        PlantCalendar calendar = requireCalendar(plantId);
+        long startSecond = toSecond(start);
+        long endSecond = toSecond(end);
+        long bucket = firstOverloadedBucket(calendar, quantity, startSecond, endSecond, bookingsByOrder.get(excludeOrderId));
+        return bucket < 0 ? null : conflictAt(calendar, bucket, quantity, startSecond, endSecond, bookingsByOrder.get(excludeOrderId));
+    }
+
+    /**
+     * Books the order into [start, end) if the plant has room, replacing its previous
+     * booking. Returns the conflict instead when it does not fit.
+     */
+    public synchronized SlotConflict reserve(Long orderId, Long plantId, double quantity, LocalDateTime start, LocalDateTime end) {
+        SlotConflict conflict = findConflict(plantId, quantity, start, end, orderId);
+        if (conflict != null) {
+            return conflict;
+        }
+        removeInternal(orderId);
+        add(orderId, plantId, quantity, start, end);
+        return null;
+    }
+
+    /**
+     * Earliest bucket-aligned slot at or after {@code notBefore} in which the plant can
+     * batch the quantity. The slot lasts {@code durationMinutes} rounded up to whole
+     * buckets, or longer if the plant cannot batch the quantity that fast. Searches
+     * {@value #SEARCH_HORIZON_DAYS} days ahead; null if nothing fits.
+     */
+    public synchronized SlotProposal findEarliestSlot(Long plantId, double quantity, LocalDateTime notBefore,
+                                                      long durationMinutes, Long excludeOrderId) {
+        PlantCalendar calendar = requireCalendar(plantId);
+        long buckets = Math.max(
+                (durationMinutes + BUCKET_MINUTES - 1) / BUCKET_MINUTES,
+                minimumDurationMinutes(plantId, quantity) / BUCKET_MINUTES);
+        Booking excluded = bookingsByOrder.get(excludeOrderId);
+
+        long startBucket = Math.floorDiv(toSecond(notBefore) + BUCKET_SECONDS - 1, BUCKET_SECONDS);
+        long lastStartBucket = startBucket + (long) SEARCH_HORIZON_DAYS * BUCKETS_PER_DAY;
+        while (startBucket <= lastStartBucket) {
+            long startSecond = startBucket * BUCKET_SECONDS;
+            long endSecond = startSecond + buckets * BUCKET_SECONDS;
+            long overloaded = firstOverloadedBucket(calendar, quantity, startSecond, endSecond, excluded);
+            if (overloaded < 0) {
+                return new SlotProposal(calendar.view(), toDateTime(startSecond), toDateTime(endSecond));
+            }
+            // Every aligned slot of this length that still covers the full bucket gets the same share, so skip past it.
+            startBucket = overloaded + 1;
+        }
+        return null;
+    }
+
+    /**
+     * {@link #findEarliestSlot} and {@link #reserve} in one step, so no other booking can
+     * take the slot in between. Null if nothing fits within the search horizon.
+     */
+    public synchronized SlotProposal reserveEarliest(Long orderId, Long plantId, double quantity,
+                                                     LocalDateTime notBefore, long durationMinutes) {
+        SlotProposal proposal = findEarliestSlot(plantId, quantity, notBefore, durationMinutes, orderId);
+        if (proposal != null) {
+            removeInternal(orderId);
+            add(orderId, plantId, quantity, proposal.getStart(), proposal.getEnd());
+        }
+        return proposal;
+    }
+
+    // Orders in these states keep their production slot booked on the plant.
+    public boolean holdsCapacity(OrderStatus status) {
+        return status != null && BOOKED_STATUSES.contains(status);
+    }
+
+    /**
+     * m³ booked in each bucket of the given day, starting at midnight.
+     */
+    public synchronized double[] bookedOn(Long plantId, LocalDate day) {
+        double[] booked = requireCalendar(plantId).days.get(day.toEpochDay());
+        return booked == null ? new double[BUCKETS_PER_DAY] : booked.clone();
+    }
+
+    private long firstOverloadedBucket(PlantCalendar calendar, double quantity, long startSecond, long endSecond, Booking excluded) {
+        if (endSecond <= startSecond) {
+            return Math.floorDiv(startSecond, BUCKET_SECONDS);
+        }
+        boolean excludeHere = excluded != null && calendar.plantId.equals(excluded.plantId);
+        long first = Math.floorDiv(startSecond, BUCKET_SECONDS);
+        long last = Math.floorDiv(endSecond - 1, BUCKET_SECONDS);
+        for (long bucket = first; bucket <= last; bucket++) {
+            double booked = calendar.load(bucket);
+            if (excludeHere) {
+                booked -= share(excluded.quantity, excluded.startSecond, excluded.endSecond, bucket);
+            }
+            if (booked + share(quantity, startSecond, endSecond, bucket) > calendar.capacityPerBucket + TOLERANCE) {
+                return bucket;
+            }
+        }
+        return -1;
+    }
+
+    private SlotConflict conflictAt(PlantCalendar calendar, long bucket, double quantity, long startSecond, long endSecond, Booking excluded) {
+        double booked = calendar.load(bucket);
+        if (excluded != null && calendar.plantId.equals(excluded.plantId)) {
+            booked -= share(excluded.quantity, excluded.startSecond, excluded.endSecond, bucket);
+        }
+        return new SlotConflict(
+                calendar.view(),
+                toDateTime(bucket * BUCKET_SECONDS),
+                Math.max(0, booked),
+                share(quantity, startSecond, endSecond, bucket),
+                calendar.capacityPerBucket);
+    }
+
+    private void add(Long orderId, Long plantId, double quantity, LocalDateTime start, LocalDateTime end) {
+        if (orderId == null || plantId == null || start == null || end == null || !end.isAfter(start) || quantity <= 0) {
+            return;
+        }
+        PlantCalendar calendar = calendars.get(plantId);
+        if (calendar == null) {
+            return;
+        }
+        Booking booking = new Booking(plantId, quantity, toSecond(start), toSecond(end));
+        apply(calendar, booking, 1);
+        bookingsByOrder.put(orderId, booking);
+    }
+
+    private void removeInternal(Long orderId) {
+        Booking existing = bookingsByOrder.remove(orderId);
+        if (existing == null) {
+            return;
+        }
+        PlantCalendar calendar = calendars.get(existing.plantId);
+        if (calendar != null) {
+            apply(calendar, existing, -1);
+        }
+    }
+
+    private void apply(PlantCalendar calendar, Booking booking, int sign) {
+        long first = Math.floorDiv(booking.startSecond, BUCKET_SECONDS);
+        long last = Math.floorDiv(booking.endSecond - 1, BUCKET_SECONDS);
+        for (long bucket = first; bucket <= last; bucket++) {
+            calendar.add(bucket, sign * share(booking.quantity, booking.startSecond, booking.endSecond, bucket));
+        }
+    }
+
+    // Part of the quantity batched in the bucket, assuming an even rate over the slot.
+    private static double share(double quantity, long startSecond, long endSecond, long bucket) {
+        long from = Math.max(startSecond, bucket * BUCKET_SECONDS);
+        long to = Math.min(endSecond, (bucket + 1) * BUCKET_SECONDS);
+        return to <= from ? 0 : quantity * (to - from) / (endSecond - startSecond);
+    }
+
+    private PlantCalendar requireCalendar(Long plantId) {
+        PlantCalendar calendar = plantId == null ? null : calendars.get(plantId);
+        if (calendar == null) {
+            throw new IllegalArgumentException("Plant not found");
+        }
+        return calendar;
+    }
+
+    private static long toSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long second) {
+        return LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC);
+    }
+
+    private String normalizeKey(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim().toUpperCase();
+    }
+
+    public static final class PlantCapacity {
+        private final Long plantId;
+        private final String plantName;
+        private final double capacityM3PerHour;
+
+        private PlantCapacity(Long plantId, String plantName, double capacityM3PerHour) {
+            this.plantId = plantId;
+            this.plantName = plantName;
+            this.capacityM3PerHour = capacityM3PerHour;
+        }
+
+        public Long getPlantId() {
+            return plantId;
+        }
+
+        public String getPlantName() {
+            return plantName;
+        }
+
+        public double getCapacityM3PerHour() {
+            return capacityM3PerHour;
+        }
+    }
+
+    public static final class SlotProposal {
+        private final PlantCapacity plant;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private SlotProposal(PlantCapacity plant, LocalDateTime start, LocalDateTime end) {
+            this.plant = plant;
+            this.start = start;
+            this.end = end;
+        }
+
+        public PlantCapacity getPlant() {
+            return plant;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+    }
+
+    public static final class SlotConflict {
+        private final PlantCapacity plant;
+        private final LocalDateTime bucketStart;
+        private final double bookedM3;
+        private final double requestedM3;
+        private final double capacityM3;
+
+        private SlotConflict(PlantCapacity plant, LocalDateTime bucketStart, double bookedM3, double requestedM3, double capacityM3) {
+            this.plant = plant;
+            this.bucketStart = bucketStart;
+            this.bookedM3 = bookedM3;
+            this.requestedM3 = requestedM3;
+            this.capacityM3 = capacityM3;
+        }
+
+        public PlantCapacity getPlant() {
+            return plant;
+        }
+
+        public LocalDateTime getBucketStart() {
+            return bucketStart;
+        }
+
+        public double getBookedM3() {
+            return bookedM3;
+        }
+
+        public double getRequestedM3() {
+            return requestedM3;
+        }
+
+        public double getCapacityM3() {
+            return capacityM3;
+        }
+    }
+
+    private static final class Booking {
+        private final Long plantId;
+        private final double quantity;
+        private final long startSecond;
+        private final long endSecond;
+
+        private Booking(Long plantId, double quantity, long startSecond, long endSecond) {
+            this.plantId = plantId;
+            this.quantity = quantity;
+            this.startSecond = startSecond;
+            this.endSecond = endSecond;
+        }
+    }
+
+    private static final class PlantCalendar {
+        private final Long plantId;
+        private final String plantName;
+        private final double capacityPerHour;
+        private final double capacityPerBucket;
+        private final Map<Long, double[]> days = new HashMap<>();
+
+        private PlantCalendar(Long plantId, String plantName, double capacityPerHour) {
+            this.plantId = plantId;
+            this.plantName = plantName;
+            this.capacityPerHour = capacityPerHour;
+            this.capacityPerBucket = capacityPerHour * BUCKET_MINUTES / 60.0;
+        }
+
+        private double load(long bucket) {
+            double[] day = days.get(Math.floorDiv(bucket, BUCKETS_PER_DAY));
+            return day == null ? 0 : day[Math.floorMod(bucket, BUCKETS_PER_DAY)];
+        }
+
+        private void add(long bucket, double quantity) {
+            days.computeIfAbsent(Math.floorDiv(bucket, BUCKETS_PER_DAY), key -> new double[BUCKETS_PER_DAY])
+                    [Math.floorMod(bucket, BUCKETS_PER_DAY)] += quantity;
+        }
+
+        private PlantCapacity view() {
+            return new PlantCapacity(plantId, plantName, capacityPerHour);
+        }
+    }
+}
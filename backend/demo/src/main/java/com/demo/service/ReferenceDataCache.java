@@ -0,0 +1,99 @@
+package com.demo.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hit and miss counters for the Hibernate second-level cache that holds reference
+ * data (fleet, plants, mix designs, stock items), and eviction for writes that go
+ * around Hibernate. Writes made through JPA keep the cache current on their own.
+ */
+@Service
+public class ReferenceDataCache {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Drops the given rows after the current transaction commits, and right away so
+     * nothing reads the old values in between. For rows changed with plain JDBC.
+     */
+    public void evictAfterCommit(Class<?> entityType, Collection<Long> ids) {
+        List<Long> evicted = new ArrayList<>(ids);
+        evict(entityType, evicted);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(entityType, evicted);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    public Map<String, Object> getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Map<String, Object>> regions = new ArrayList<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("region", regionName);
+            row.put("hits", region.getHitCount());
+            row.put("misses", region.getMissCount());
+            row.put("puts", region.getPutCount());
+            row.put("hitRatio", ratio(region.getHitCount(), region.getMissCount()));
+            row.put("entries", region.getElementCountInMemory());
+            regions.add(row);
+        }
+
+        Map<String, Object> queryCache = new LinkedHashMap<>();
+        queryCache.put("hits", statistics.getQueryCacheHitCount());
+        queryCache.put("misses", statistics.getQueryCacheMissCount());
+        queryCache.put("puts", statistics.getQueryCachePutCount());
+        queryCache.put("hitRatio", ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        stats.put("since", statistics.getStart());
+        stats.put("entityHits", statistics.getSecondLevelCacheHitCount());
+        stats.put("entityMisses", statistics.getSecondLevelCacheMissCount());
+        stats.put("entityHitRatio", ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+        stats.put("queryCache", queryCache);
+        stats.put("regions", regions);
+        return stats;
+    }
+
+    private void evict(Class<?> entityType, Collection<Long> ids) {
+        for (Long id : ids) {
+            entityManagerFactory.getCache().evict(entityType, id);
+        }
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : Math.round(hits * 1000.0 / total) / 1000.0;
+    }
+}
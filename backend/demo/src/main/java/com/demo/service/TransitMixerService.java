@@ -14,4 +14,8 @@ public interface TransitMixerService {
     TransitMixer updateMixer(Long id, TransitMixer updatedMixer);
 
     void deleteMixer(Long id);
+
+    String issueTelemetryKey(Long id);
+
+    String findMixerNumberByTelemetryKey(String telemetryKey);
 }
\ No newline at end of file
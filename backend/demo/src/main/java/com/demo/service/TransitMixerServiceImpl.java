@@ -5,14 +5,25 @@ import com.demo.repository.TransitMixerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
 
 @Service
 public class TransitMixerServiceImpl implements TransitMixerService {
 
+    private static final SecureRandom KEY_RANDOM = new SecureRandom();
+
     @Autowired
     private TransitMixerRepository repository;
 
+    @Autowired
+    private DispatchAvailabilityIndex dispatchAvailabilityIndex;
+
     @Override
     public List<TransitMixer> getAllMixers() {
         return repository.findAll();
@@ -42,7 +53,10 @@ public class TransitMixerServiceImpl implements TransitMixerService {
 
         mixer.setMixerNumber(updatedMixer.getMixerNumber());
 
-        return repository.save(mixer);
+        TransitMixer saved = repository.save(mixer);
+        // Windows are keyed by mixer number, so a rename has to re-key the index.
+        dispatchAvailabilityIndex.rebuild();
+        return saved;
     }
 
     @Override
@@ -53,5 +67,40 @@ public class TransitMixerServiceImpl implements TransitMixerService {
         }
 
         repository.deleteById(id);
+        dispatchAvailabilityIndex.rebuild();
+    }
+
+    // A new key replaces the previous one, so a lost or leaked device key is revoked by reissuing.
+    @Override
+    public String issueTelemetryKey(Long id) {
+
+        TransitMixer mixer = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Transit mixer not found"));
+
+        byte[] bytes = new byte[32];
+        KEY_RANDOM.nextBytes(bytes);
+        String key = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        mixer.setTelemetryKeyHash(hash(key));
+        repository.save(mixer);
+        return key;
+    }
+
+    @Override
+    public String findMixerNumberByTelemetryKey(String telemetryKey) {
+        if (telemetryKey == null || telemetryKey.isBlank()) {
+            return null;
+        }
+        return repository.findByTelemetryKeyHash(hash(telemetryKey.trim()))
+                .map(TransitMixer::getMixerNumber)
+                .orElse(null);
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,196 @@
+package com.demo.service;
+
+import com.demo.dto.TripSummaryView;
+import com.demo.entity.DispatchTripRecord;
+import com.demo.entity.DispatchTripStatus;
+import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps the trip counters on {@link Order} (completed trips, fuel, delivered time)
+ * in step with its dispatch trip records, so read paths can show them without
+ * touching dispatch_trip_records. Writers apply deltas as trips change; a nightly
+ * job re-aggregates the trip table and repairs any order that drifted.
+ */
+@Service
+public class TripSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(TripSummaryService.class);
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+    private static final double FUEL_TOLERANCE = 0.0001;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Applies one trip write to the order's counters. {@code wasDelivered} and
+     * {@code previousFuelUsedLiters} describe the trip before the write (false/null for
+     * a new trip). The caller holds the order's row lock and saves the order.
+     */
+    public void applyTripChange(Order order, boolean wasDelivered, Double previousFuelUsedLiters, DispatchTripRecord trip) {
+        boolean delivered = trip.getStatus() == DispatchTripStatus.DELIVERED;
+        int completedTrips = order.getCompletedTrips() == null ? 0 : order.getCompletedTrips();
+        if (delivered != wasDelivered) {
+            completedTrips += delivered ? 1 : -1;
+        }
+        order.setCompletedTrips(Math.max(0, completedTrips));
+
+        double fuel = order.getTotalFuelUsedLiters() == null ? 0.0 : order.getTotalFuelUsedLiters();
+        fuel += valueOf(trip.getFuelUsedLiters()) - valueOf(previousFuelUsedLiters);
+        order.setTotalFuelUsedLiters(Math.max(0.0, fuel));
+
+        if (order.getPlannedTrips() == null) {
+            order.setPlannedTrips(trip.getTripNumber() != null && trip.getTripNumber() > 0 ? trip.getTripNumber() : 1);
+        }
+        if (delivered && trip.getDeliveredTime() != null
+                && (order.getDeliveredAt() == null || trip.getDeliveredTime().isAfter(order.getDeliveredAt()))) {
+            order.setDeliveredAt(trip.getDeliveredTime());
+        }
+    }
+
+    /**
+     * Recomputes the counters from the order's trip records. Used after writes that
+     * rewrite several trips at once, such as scheduling a dispatch. The caller saves the order.
+     */
+    public void recalculate(Order order) {
+        if (order.getId() == null) {
+            return;
+        }
+
+        int completedTrips = 0;
+        double fuel = 0.0;
+        int maxTripNumber = 0;
+        LocalDateTime latestDeliveredAt = null;
+        for (DispatchTripRecord record : dispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc(order.getId())) {
+            if (record.getTripNumber() != null && record.getTripNumber() > maxTripNumber) {
+                maxTripNumber = record.getTripNumber();
+            }
+            if (record.getStatus() == DispatchTripStatus.DELIVERED) {
+                completedTrips++;
+                if (record.getDeliveredTime() != null
+                        && (latestDeliveredAt == null || record.getDeliveredTime().isAfter(latestDeliveredAt))) {
+                    latestDeliveredAt = record.getDeliveredTime();
+                }
+            }
+            if (record.getFuelUsedLiters() != null) {
+                fuel += record.getFuelUsedLiters();
+            }
+        }
+
+        if (order.getPlannedTrips() == null) {
+            order.setPlannedTrips(maxTripNumber > 0 ? maxTripNumber : 1);
+        }
+        order.setCompletedTrips(completedTrips);
+        order.setTotalFuelUsedLiters(fuel);
+        if (latestDeliveredAt != null) {
+            order.setDeliveredAt(latestDeliveredAt);
+        }
+    }
+
+    /**
+     * Re-aggregates trip records per order and rewrites the counters of every order
+     * whose persisted values disagree. Orders without trip records are left alone,
+     * since their counters are set directly by delivery status updates. Each chunk
+     * repairs in its own transaction, re-checking drift under the order row locks so a
+     * trip write that commits mid-run is not overwritten with a stale aggregate.
+     *
+     * @return number of orders repaired
+     */
+    @Scheduled(cron = "0 30 2 * * *")
+    public int reconcile() {
+        int repaired = 0;
+        long afterOrderId = 0L;
+        List<TripSummaryView> chunk;
+        do {
+            chunk = dispatchTripRecordRepository.summarizeByOrderAfter(afterOrderId, PageRequest.of(0, RECONCILE_CHUNK_SIZE));
+            List<Long> drifted = new ArrayList<>();
+            for (TripSummaryView summary : chunk) {
+                afterOrderId = summary.getOrderId();
+                if (hasDrifted(summary)) {
+                    drifted.add(summary.getOrderId());
+                }
+            }
+            if (!drifted.isEmpty()) {
+                repaired += transactionTemplate.execute(status -> repair(drifted));
+            }
+        } while (chunk.size() == RECONCILE_CHUNK_SIZE);
+
+        if (repaired > 0) {
+            log.warn("Repaired trip counters on {} order(s)", repaired);
+        }
+        return repaired;
+    }
+
+    private int repair(List<Long> orderIds) {
+        orderRepository.findAllByIdForUpdate(orderIds);
+        int repaired = 0;
+        for (TripSummaryView summary : dispatchTripRecordRepository.summarizeByOrderIds(orderIds)) {
+            if (hasDrifted(summary)) {
+                orderRepository.updateTripSummary(
+                        summary.getOrderId(),
+                        (int) summary.getCompletedTrips(),
+                        summary.getFuelUsedLiters(),
+                        expectedDeliveredAt(summary),
+                        expectedPlannedTrips(summary));
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    private boolean hasDrifted(TripSummaryView summary) {
+        Integer persistedCompleted = summary.getPersistedCompletedTrips();
+        if (persistedCompleted == null || persistedCompleted != summary.getCompletedTrips()) {
+            return true;
+        }
+        Double persistedFuel = summary.getPersistedFuelUsedLiters();
+        if (persistedFuel == null || Math.abs(persistedFuel - summary.getFuelUsedLiters()) > FUEL_TOLERANCE) {
+            return true;
+        }
+        return summary.getPlannedTrips() == null
+                || !Objects.equals(summary.getPersistedDeliveredAt(), expectedDeliveredAt(summary));
+    }
+
+    // Only fills in or moves forward the delivered time of delivered orders, like applyTripChange.
+    private LocalDateTime expectedDeliveredAt(TripSummaryView summary) {
+        LocalDateTime persisted = summary.getPersistedDeliveredAt();
+        LocalDateTime latest = summary.getLatestDeliveredAt();
+        if (summary.getStatus() != OrderStatus.DELIVERED || latest == null) {
+            return persisted;
+        }
+        return persisted == null || latest.isAfter(persisted) ? latest : persisted;
+    }
+
+    private Integer expectedPlannedTrips(TripSummaryView summary) {
+        if (summary.getPlannedTrips() != null) {
+            return summary.getPlannedTrips();
+        }
+        Integer maxTripNumber = summary.getMaxTripNumber();
+        return maxTripNumber != null && maxTripNumber > 0 ? maxTripNumber : 1;
+    }
+
+    private double valueOf(Double value) {
+        return value == null ? 0.0 : value;
+    }
+}
@@ -4,11 +4,11 @@ import com.demo.entity.User;
 import com.demo.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Random;
 
 @Service
@@ -17,7 +17,11 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private JavaMailSender mailSender;
+    private MailDeliveryService mailDeliveryService;
+    @Autowired
+    private NotificationInboxCache notificationInboxCache;
+    @Autowired
+    private AuthTokenService authTokenService;
 
     @Override
     public List<User> getAllUsers() {
@@ -66,10 +70,16 @@ public class UserServiceImpl implements UserService {
         user.setEmail(updatedUser.getEmail());
         user.setNumber(updatedUser.getNumber());
         user.setAddress(updatedUser.getAddress());
+        boolean accessChanged = !Objects.equals(user.getRole(), updatedUser.getRole())
+                || !Objects.equals(user.getApprovalStatus(), updatedUser.getApprovalStatus());
         user.setRole(updatedUser.getRole());
         user.setApprovalStatus(updatedUser.getApprovalStatus());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        if (accessChanged) {
+            authTokenService.revokeUser(id);
+        }
+        return saved;
     }
 
     @Override
@@ -80,6 +90,8 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.deleteById(id);
+        notificationInboxCache.evict(id);
+        authTokenService.revokeUser(id);
     }
 
     @Override
@@ -99,7 +111,9 @@ public class UserServiceImpl implements UserService {
                 "Your password reset OTP is: " + otp + "\n" +
                         "This OTP will expire in 10 minutes."
         );
-        mailSender.send(message);
+        if (!mailDeliveryService.submit(message, "PASSWORD_RESET")) {
+            throw new RuntimeException("Mail service is busy, please try again");
+        }
     }
 
     @Override
@@ -123,5 +137,6 @@ public class UserServiceImpl implements UserService {
         user.setResetOtp(null);
         user.setResetOtpExpiry(null);
         userRepository.save(user);
+        authTokenService.revokeUser(user.getId());
     }
 }
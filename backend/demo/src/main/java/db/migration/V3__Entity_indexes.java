@@ -0,0 +1,56 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Indexes declared on the notification and order entities. Builds that still ran with
+ * ddl-auto=update may have created some of them already, and one that has since been
+ * widened, so each is checked against the catalog instead of created blindly.
+ */
+public class V3__Entity_indexes extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        // Replaced by idx_order_notifications_user_order_type in the next migration.
+        if (indexExists(connection, "order_notifications", "idx_order_notifications_user_order")) {
+            execute(connection, "drop index idx_order_notifications_user_order on order_notifications");
+        }
+        createIfMissing(connection, "order_notifications", "idx_order_notifications_user_id", "user_id, id");
+        createIfMissing(connection, "order_notifications", "idx_order_notifications_user_read", "user_id, is_read");
+        createIfMissing(connection, "order_notifications", "idx_order_notifications_created", "created_at");
+        createIfMissing(connection, "orders", "idx_orders_credit_reminder", "credit_approval_status, payment_received_at, id");
+    }
+
+    private void createIfMissing(Connection connection, String table, String index, String columns) throws SQLException {
+        if (!indexExists(connection, table, index)) {
+            execute(connection, "create index " + index + " on " + table + " (" + columns + ")");
+        }
+    }
+
+    private boolean indexExists(Connection connection, String table, String index) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, false)) {
+            while (indexes.next()) {
+                if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
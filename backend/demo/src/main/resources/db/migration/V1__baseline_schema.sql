@@ -0,0 +1,462 @@
+-- Schema as Hibernate generated it with ddl-auto=update before migrations took over.
+-- Databases that already have these tables are baselined at version 1 and skip this file.
+
+create table concrete_product_stock (
+    available_quantity float(53) not null,
+    price_per_unit float(53) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    image_url varchar(255),
+    name varchar(255) not null,
+    unit varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table customer_notifications (
+    deleted bit not null,
+    `read` bit not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint,
+    message varchar(2000),
+    order_id varchar(255),
+    reminder_key varchar(255),
+    title varchar(255),
+    type varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table dispatch_trip_records (
+    fuel_used_liters float(53),
+    returned_quantity float(53),
+    trip_number integer,
+    trip_quantitym3 float(53),
+    actual_dispatch_time datetime(6),
+    delivered_time datetime(6),
+    estimated_delivery_time datetime(6),
+    id bigint not null auto_increment,
+    order_id bigint,
+    scheduled_dispatch_time datetime(6),
+    driver_name varchar(255),
+    remarks varchar(255),
+    return_reason varchar(255),
+    shift varchar(255),
+    transit_mixer_number varchar(255),
+    status enum ('DELIVERED','DISPATCHED','IN_TRANSIT','RETURNED','SCHEDULED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table drivers (
+    id bigint not null auto_increment,
+    driver_name varchar(255),
+    driver_shift varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table equipment_breakdowns (
+    downtime_hours float(53) not null,
+    maintenance_cost float(53) not null,
+    repair_hours float(53) not null,
+    breakdown_time datetime(6),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    repair_completed_at datetime(6),
+    updated_at datetime(6),
+    assigned_technician varchar(255),
+    breakdown_details varchar(255),
+    equipment_type varchar(255),
+    machine_name varchar(255),
+    note varchar(255),
+    status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table inventory_movements (
+    quantity float(53) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    raw_material_id bigint,
+    movement_type varchar(255),
+    note varchar(255),
+    reference_id varchar(255),
+    reference_type varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table inventory_purchase_orders (
+    quantity float(53) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    raw_material_id bigint,
+    status varchar(255),
+    supplier varchar(255),
+    unit varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table maintenance_schedules (
+    maintenance_date date,
+    reminder_days_before integer not null,
+    completed_at datetime(6),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    equipment_type varchar(255),
+    machine_name varchar(255),
+    maintenance_category varchar(255),
+    note varchar(255),
+    status varchar(255),
+    task_description varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table mix_design_cost_lines (
+    cost_perm3 float(53) not null,
+    display_order integer not null,
+    quantity_perm3 float(53) not null,
+    rate float(53) not null,
+    id bigint not null auto_increment,
+    sheet_id bigint,
+    ingredient_name varchar(255),
+    unit varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table mix_design_cost_sheets (
+    total_cost_perm3 float(53) not null,
+    total_density float(53) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    grade_code varchar(255) not null,
+    grade_label varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table mix_designs (
+    admixtures float(53) not null,
+    aggregate float(53) not null,
+    approved bit not null,
+    cement float(53) not null,
+    required_strength_mpa float(53) not null,
+    sand float(53) not null,
+    slump_max_mm float(53) not null,
+    slump_min_mm float(53) not null,
+    water float(53) not null,
+    approved_at datetime(6),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    approval_remarks varchar(255),
+    grade varchar(255) not null,
+    mix_design_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table order_approval_history (
+    action_time datetime(6) not null,
+    id bigint not null auto_increment,
+    remarks varchar(1000),
+    action_by varchar(255),
+    order_id varchar(255) not null,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table order_assignments (
+    backup_driver_id bigint,
+    backup_mixer_id bigint,
+    driver_id bigint,
+    id bigint not null auto_increment,
+    mixer_id bigint,
+    order_id bigint,
+    plant_id bigint,
+    plant_allocation varchar(255),
+    priority_level varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table order_notifications (
+    is_read bit not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint,
+    message varchar(500),
+    order_id varchar(255),
+    title varchar(255),
+    type enum ('CREDIT_APPROVED','CREDIT_REJECTED','DELIVERY_STATUS_UPDATED','DISPATCH_SCHEDULED','IN_PRODUCTION','ORDER_APPROVED','ORDER_DELIVERED','ORDER_RETURNED','PAY_LATER_REMINDER','PAY_LATER_REQUESTED','VEHICLE_ASSIGNED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table orders (
+    completed_trips integer,
+    credit_days integer,
+    delay_in_minutes integer,
+    live_latitude float(53),
+    live_longitude float(53),
+    planned_trips integer,
+    production_date date,
+    quantity float(53) not null,
+    returned_quantity float(53),
+    total_fuel_used_liters float(53),
+    total_price float(53) not null,
+    approved_at datetime(6),
+    created_at datetime(6),
+    credit_due_date datetime(6),
+    credit_requested_at datetime(6),
+    credit_reviewed_at datetime(6),
+    delivered_at datetime(6),
+    delivery_date datetime(6),
+    dispatch_date_time datetime(6),
+    expected_arrival_time datetime(6),
+    id bigint not null auto_increment,
+    last_rescheduled_at datetime(6),
+    payment_received_at datetime(6),
+    production_slot_end datetime(6),
+    production_slot_start datetime(6),
+    scheduled_date datetime(6),
+    user_id bigint,
+    address varchar(255),
+    credit_approval_status varchar(255),
+    credit_period varchar(255),
+    credit_review_remark varchar(255),
+    credit_status varchar(255),
+    delivery_confirmation_details varchar(255),
+    delivery_sequence varchar(255),
+    grade varchar(255),
+    latest_notification varchar(255),
+    order_id varchar(255),
+    order_workflow_status varchar(255),
+    payment_option varchar(255),
+    payment_type varchar(255),
+    reschedule_reason varchar(255),
+    return_reason varchar(255),
+    trip_planning varchar(255),
+    delivery_tracking_status enum ('DELIVERED','DISPATCHED','IN_TRANSIT','ON_THE_WAY','RETURNED','SCHEDULED_FOR_DISPATCH'),
+    status enum ('APPROVED','DELIVERED','DISPATCHED','IN_PRODUCTION','PENDING_APPROVAL','REJECTED','RETURNED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table payment_records (
+    amount float(53) not null,
+    id bigint not null auto_increment,
+    order_id bigint,
+    paid_at datetime(6),
+    method varchar(255),
+    transaction_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table plants (
+    id bigint not null auto_increment,
+    plant_name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table quality_inspections (
+    compliance_passed bit not null,
+    cube14day_within_standard bit not null,
+    cube28day_within_standard bit not null,
+    cube7day_within_standard bit not null,
+    cube_strength14day_mpa float(53) not null,
+    cube_strength28day_mpa float(53) not null,
+    cube_strength7day_mpa float(53) not null,
+    quality_certificate_generated bit not null,
+    required_strength_mpa float(53) not null,
+    slump_max_mm float(53) not null,
+    slump_min_mm float(53) not null,
+    slump_test_result_mm float(53) not null,
+    slump_within_standard bit not null,
+    id bigint not null auto_increment,
+    mix_design_id bigint,
+    order_id bigint not null,
+    quality_certificate_generated_at datetime(6),
+    recorded_at datetime(6),
+    recorded_by_admin_id bigint,
+    updated_at datetime(6),
+    batch_code varchar(255),
+    inspection_number varchar(255) not null,
+    quality_certificate_number varchar(255),
+    quality_remarks varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table raw_material_orders (
+    price_per_unit float(53) not null,
+    quantity float(53) not null,
+    total_price float(53) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint,
+    address varchar(255),
+    customer_email varchar(255),
+    customer_name varchar(255),
+    customer_phone varchar(255),
+    material_name varchar(255),
+    status varchar(255),
+    unit varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table raw_materials (
+    price_per_unit float(53) not null,
+    quantity float(53) not null,
+    reorder_level float(53) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    image_url varchar(255),
+    name varchar(255) not null,
+    supplier varchar(255),
+    unit varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table spare_part_usages (
+    quantity_used float(53) not null,
+    total_cost float(53) not null,
+    breakdown_id bigint,
+    id bigint not null auto_increment,
+    spare_part_id bigint,
+    used_at datetime(6),
+    note varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table spare_parts (
+    minimum_stock_level float(53) not null,
+    quantity_in_stock float(53) not null,
+    unit_cost float(53) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    part_name varchar(255) not null,
+    part_number varchar(255),
+    unit varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table transit_mixers (
+    capacitym3 float(53),
+    id bigint not null auto_increment,
+    mixer_number varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    id bigint not null auto_increment,
+    reset_otp_expiry datetime(6),
+    address varchar(255),
+    approval_status varchar(255),
+    email varchar(255),
+    name varchar(255),
+    number varchar(255),
+    password varchar(255),
+    reset_otp varchar(255),
+    role varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+alter table concrete_product_stock
+   add constraint UKj2v86evv6jfrmg97gvubwjkgb unique (name);
+
+alter table mix_design_cost_sheets
+   add constraint UKs0o49c34yvbupn9dr81ji2kyk unique (grade_code);
+
+alter table mix_designs
+   add constraint UK9knv036a4pnnwnndrvo245jwy unique (mix_design_id);
+
+alter table order_assignments
+   add constraint UK7u7va8cxuigkcbldjiufwjhjq unique (order_id);
+
+alter table quality_inspections
+   add constraint UKc9cb921g16vi3y2xe6cjfibuy unique (inspection_number);
+
+alter table raw_materials
+   add constraint UKlqke1hs0jat5cf3f28qy4csgk unique (name);
+
+alter table spare_parts
+   add constraint UK4l4juy7y02bxy4p6hgdmbh9j8 unique (part_name);
+
+alter table customer_notifications
+   add constraint FKbl36f5vcfdv25x6hec2cc73fq
+   foreign key (user_id)
+   references users (id);
+
+alter table dispatch_trip_records
+   add constraint FKni3wnt00wwys2bvlbl8bjslxx
+   foreign key (order_id)
+   references orders (id);
+
+alter table inventory_movements
+   add constraint FKntw5g1rm0r9ahqtrvcsyj4q2e
+   foreign key (raw_material_id)
+   references raw_materials (id);
+
+alter table inventory_purchase_orders
+   add constraint FK5ijxnpjx0bh43n1275d6tb77i
+   foreign key (raw_material_id)
+   references raw_materials (id);
+
+alter table mix_design_cost_lines
+   add constraint FKrd1f9p6h52uab4foj3mtudtql
+   foreign key (sheet_id)
+   references mix_design_cost_sheets (id);
+
+alter table order_assignments
+   add constraint FKh8v7g02drtpaq8m9yg8erko06
+   foreign key (backup_driver_id)
+   references drivers (id);
+
+alter table order_assignments
+   add constraint FKrub6g7gfj20vx7388uc67mimu
+   foreign key (backup_mixer_id)
+   references transit_mixers (id);
+
+alter table order_assignments
+   add constraint FK7kx1317wpcrbd2d0wtwtrhvys
+   foreign key (driver_id)
+   references drivers (id);
+
+alter table order_assignments
+   add constraint FKhhu5nv7c14yxx28s4fotonkkk
+   foreign key (order_id)
+   references orders (id);
+
+alter table order_assignments
+   add constraint FKoj05fvx3t4a1w9ocbbypyiv3n
+   foreign key (plant_id)
+   references plants (id);
+
+alter table order_assignments
+   add constraint FKdrjoflw089ockto01mta2xn9k
+   foreign key (mixer_id)
+   references transit_mixers (id);
+
+alter table orders
+   add constraint FK32ql8ubntj5uh44ph9659tiih
+   foreign key (user_id)
+   references users (id);
+
+alter table payment_records
+   add constraint FKcqu2d790mp868g1ogc678ygaj
+   foreign key (order_id)
+   references orders (id);
+
+alter table quality_inspections
+   add constraint FKl7itgvihw3b8cpo7nc055lodn
+   foreign key (mix_design_id)
+   references mix_designs (id);
+
+alter table quality_inspections
+   add constraint FKsdb37kqvnvsxfi0vfmnvh775q
+   foreign key (order_id)
+   references orders (id);
+
+alter table spare_part_usages
+   add constraint FKo4t6vpkw5e6qg9ksvvjqx8fhc
+   foreign key (breakdown_id)
+   references equipment_breakdowns (id);
+
+alter table spare_part_usages
+   add constraint FKfb5ifldrqo4caeggti0e7gsea
+   foreign key (spare_part_id)
+   references spare_parts (id);
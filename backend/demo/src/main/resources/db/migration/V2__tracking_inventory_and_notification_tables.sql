@@ -0,0 +1,85 @@
+-- Tables, columns and indexes added on top of the baseline: GPS history and live
+-- position time, plant batching capacity, daily stock rollups, the notification
+-- outbox and archive, and the mail failure log.
+
+-- Notification types added after some databases were created; this used to be
+-- altered by a startup runner.
+alter table order_notifications
+   modify column type enum ('CREDIT_APPROVED','CREDIT_REJECTED','DELIVERY_STATUS_UPDATED','DISPATCH_SCHEDULED','IN_PRODUCTION','ORDER_APPROVED','ORDER_DELIVERED','ORDER_RETURNED','PAY_LATER_REMINDER','PAY_LATER_REQUESTED','VEHICLE_ASSIGNED') not null;
+
+alter table orders
+   add column live_location_updated_at datetime(6);
+
+alter table plants
+   add column batching_capacitym3per_hour float(53);
+
+create table vehicle_positions (
+    heading_degrees float(53),
+    latitude float(53) not null,
+    longitude float(53) not null,
+    speed_kmph float(53),
+    id bigint not null auto_increment,
+    received_at datetime(6),
+    recorded_at datetime(6) not null,
+    order_number varchar(255) not null,
+    transit_mixer_number varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_vehicle_positions_order_recorded
+   on vehicle_positions (order_number, recorded_at);
+
+create table inventory_daily_rollups (
+    closing_balance float(53) not null,
+    consumed float(53) not null,
+    restocked float(53) not null,
+    rollup_date date not null,
+    id bigint not null auto_increment,
+    movement_count bigint not null,
+    raw_material_id bigint not null,
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+alter table inventory_daily_rollups
+   add constraint uk_inventory_daily_rollups_material_date unique (raw_material_id, rollup_date);
+
+create table notification_outbox (
+    attempts integer not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    message varchar(500),
+    order_id varchar(255),
+    title varchar(255),
+    type enum ('CREDIT_APPROVED','CREDIT_REJECTED','DELIVERY_STATUS_UPDATED','DISPATCH_SCHEDULED','IN_PRODUCTION','ORDER_APPROVED','ORDER_DELIVERED','ORDER_RETURNED','PAY_LATER_REMINDER','PAY_LATER_REQUESTED','VEHICLE_ASSIGNED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table order_notifications_archive (
+    is_read bit not null,
+    archived_at datetime(6),
+    created_at datetime(6),
+    id bigint not null,
+    user_id bigint,
+    message varchar(500),
+    order_id varchar(255),
+    title varchar(255),
+    type enum ('CREDIT_APPROVED','CREDIT_REJECTED','DELIVERY_STATUS_UPDATED','DISPATCH_SCHEDULED','IN_PRODUCTION','ORDER_APPROVED','ORDER_DELIVERED','ORDER_RETURNED','PAY_LATER_REMINDER','PAY_LATER_REQUESTED','VEHICLE_ASSIGNED'),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_order_notifications_archive_user_id
+   on order_notifications_archive (user_id, id);
+
+create table mail_delivery_failures (
+    attempts integer not null,
+    failed_at datetime(6),
+    id bigint not null auto_increment,
+    last_error varchar(1000),
+    body varchar(4000),
+    category varchar(255),
+    recipients varchar(255),
+    subject varchar(255),
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,40 @@
+-- Indexes for the lookups the services run on every request, so none of them
+-- depends on ddl-auto having created it.
+
+-- Order numbers are generated unique; the index enforces it and serves findByOrderId.
+create unique index uk_orders_order_id
+   on orders (order_id);
+
+create index idx_order_approval_history_order_time
+   on order_approval_history (order_id, action_time);
+
+create index idx_dispatch_trip_records_order_trip
+   on dispatch_trip_records (order_id, trip_number);
+
+-- Serves every (user_id, order_id) lookup, and the per-type ones too.
+create index idx_order_notifications_user_order_type
+   on order_notifications (user_id, order_id, type, created_at);
+
+create index idx_inventory_movements_material_created
+   on inventory_movements (raw_material_id, created_at);
+
+create index idx_inventory_movements_created
+   on inventory_movements (created_at, id);
+
+create index idx_quality_inspections_order_recorded
+   on quality_inspections (order_id, recorded_at);
+
+create index idx_quality_inspections_recorded
+   on quality_inspections (recorded_at, id);
+
+create index idx_equipment_breakdowns_time
+   on equipment_breakdowns (breakdown_time, id);
+
+create index idx_raw_material_orders_user_created
+   on raw_material_orders (user_id, created_at);
+
+create index idx_users_email
+   on users (email);
+
+create index idx_users_number
+   on users (number);
@@ -0,0 +1,6 @@
+-- GPS devices authenticate with a per-mixer key; only its SHA-256 is stored.
+alter table transit_mixers
+   add column telemetry_key_hash varchar(64);
+
+create unique index uk_transit_mixers_telemetry_key_hash
+   on transit_mixers (telemetry_key_hash);
@@ -0,0 +1,4 @@
+-- Failed password reset mails were logged with their text, which holds the reset OTP.
+update mail_delivery_failures
+   set body = null
+ where category = 'PASSWORD_RESET';
@@ -0,0 +1,146 @@
+package com.demo.controller;
+
+import com.demo.config.RequestSqlStatistics;
+import com.demo.dto.AuthenticatedUser;
+import com.demo.entity.DispatchTripRecord;
+import com.demo.entity.DispatchTripStatus;
+import com.demo.entity.Driver;
+import com.demo.entity.Order;
+import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.TransitMixer;
+import com.demo.entity.User;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.DriverRepository;
+import com.demo.repository.OrderAssignmentRepository;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.TransitMixerRepository;
+import com.demo.repository.UserRepository;
+import com.demo.service.AuthTokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AdminOrderListQueryCountTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderAssignmentRepository orderAssignmentRepository;
+
+	@Autowired
+	private DriverRepository driverRepository;
+
+	@Autowired
+	private TransitMixerRepository transitMixerRepository;
+
+	@Autowired
+	private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+	@Test
+	void adminOrderListStatementCountDoesNotGrowWithOrderCount() throws Exception {
+		seedOrders("small", 5);
+		long smallListStatements = countStatementsForOrderList();
+
+		seedOrders("large", 60);
+		long largeListStatements = countStatementsForOrderList();
+
+		assertThat(largeListStatements).isEqualTo(smallListStatements);
+		assertThat(largeListStatements).isLessThanOrEqualTo(3);
+	}
+
+	private long countStatementsForOrderList() throws Exception {
+		long expectedOrders = orderRepository.count();
+
+		// Counted per request, so background jobs sharing the database do not skew it.
+		MvcResult result = mockMvc.perform(get("/api/admin/orders")
+						.header(HttpHeaders.AUTHORIZATION, adminBearer()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(expectedOrders))
+				.andExpect(jsonPath("$[-1].tripRecords.length()").value(2))
+				.andExpect(jsonPath("$[-1].completedTrips").value(1))
+				.andExpect(jsonPath("$[-1].driverName").isNotEmpty())
+				.andReturn();
+
+		RequestSqlStatistics.Snapshot snapshot = (RequestSqlStatistics.Snapshot) result.getRequest()
+				.getAttribute(RequestSqlStatistics.REQUEST_ATTRIBUTE);
+		return snapshot.getStatements();
+	}
+
+	private void seedOrders(String prefix, int count) {
+		for (int i = 0; i < count; i++) {
+			User user = new User();
+			user.setName(prefix + " customer " + i);
+			user.setEmail(prefix + i + "@example.com");
+			user.setRole("CUSTOMER");
+			user = userRepository.save(user);
+
+			Driver driver = new Driver();
+			driver.setDriverName(prefix + " driver " + i);
+			driver.setDriverShift("MORNING");
+			driver = driverRepository.save(driver);
+
+			TransitMixer mixer = new TransitMixer();
+			mixer.setMixerNumber(prefix.toUpperCase() + "-TM-" + i);
+			mixer.setCapacityM3(6.0);
+			mixer = transitMixerRepository.save(mixer);
+
+			Order order = new Order();
+			order.setOrderId("ORD-" + prefix.toUpperCase() + "-" + i);
+			order.setGrade("M20");
+			order.setQuantity(12);
+			order.setUser(user);
+			order.setStatus(OrderStatus.DISPATCHED);
+			order.setPlannedTrips(2);
+			order.setCompletedTrips(1);
+			order.setTotalFuelUsedLiters(40.0);
+			order.setCreatedAt(LocalDateTime.now());
+			order.setDispatchDateTime(LocalDateTime.now().plusDays(i + 1));
+			order.setExpectedArrivalTime(LocalDateTime.now().plusDays(i + 1).plusHours(2));
+			order = orderRepository.save(order);
+
+			OrderAssignment assignment = new OrderAssignment();
+			assignment.setOrder(order);
+			assignment.setDriver(driver);
+			assignment.setTransitMixer(mixer);
+			orderAssignmentRepository.save(assignment);
+
+			for (int tripNumber = 1; tripNumber <= 2; tripNumber++) {
+				DispatchTripRecord trip = new DispatchTripRecord();
+				trip.setOrder(order);
+				trip.setTripNumber(tripNumber);
+				trip.setTripQuantityM3(6.0);
+				trip.setStatus(tripNumber == 1 ? DispatchTripStatus.DELIVERED : DispatchTripStatus.SCHEDULED);
+				trip.setFuelUsedLiters(20.0);
+				dispatchTripRecordRepository.save(trip);
+			}
+		}
+	}
+
+	private String adminBearer() {
+		return "Bearer " + authTokenService.issue(new AuthenticatedUser(0L, "orders.admin@example.com", "ADMIN", "APPROVED"));
+	}
+}
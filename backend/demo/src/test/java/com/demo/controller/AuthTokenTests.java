@@ -0,0 +1,128 @@
+package com.demo.controller;
+
+import com.demo.dto.AuthenticatedUser;
+import com.demo.entity.User;
+import com.demo.repository.UserRepository;
+import com.demo.service.AuthTokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthTokenTests {
+
+	private static final String ADMIN_ENDPOINT = "/api/admin/dispatch/monitoring";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void adminEndpointsTakeTheCallerFromTheLoginToken() throws Exception {
+		User admin = saveUser("token.admin@example.com", "ADMIN", "APPROVED");
+		User customer = saveUser("token.customer@example.com", "CUSTOMER", null);
+
+		JsonNode login = login(admin);
+		assertThat(login.path("tokenType").asText()).isEqualTo("Bearer");
+		assertThat(login.path("expiresIn").asLong()).isPositive();
+		String adminToken = login.path("token").asText();
+
+		mockMvc.perform(get(ADMIN_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+				.andExpect(status().isOk());
+		// The old query parameter no longer identifies anyone.
+		mockMvc.perform(get(ADMIN_ENDPOINT).param("adminUserId", admin.getId().toString()))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get(ADMIN_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken + "x"))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get(ADMIN_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + login(customer).path("token").asText()))
+				.andExpect(status().isForbidden())
+				.andExpect(jsonPath("$.message").value("Only admin can perform this action"));
+	}
+
+	@Test
+	void logoutAndAdminRejectionRevokeTokens() throws Exception {
+		User admin = saveUser("revoke.admin@example.com", "ADMIN", "APPROVED");
+		User approver = saveUser("revoke.approver@example.com", "ADMIN", "APPROVED");
+		String loggedOut = login(admin).path("token").asText();
+		String rejected = login(admin).path("token").asText();
+
+		mockMvc.perform(post("/api/users/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + loggedOut))
+				.andExpect(status().isOk());
+		mockMvc.perform(get(ADMIN_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + loggedOut))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get(ADMIN_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + rejected))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(put("/api/admin/admin-logins/{userId}/reject", admin.getId())
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + login(approver).path("token").asText()))
+				.andExpect(status().isOk());
+		mockMvc.perform(get(ADMIN_ENDPOINT).header(HttpHeaders.AUTHORIZATION, "Bearer " + rejected))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void adminAccountsCannotBeApprovedAnonymously() throws Exception {
+		User pending = saveUser("pending.admin@example.com", "ADMIN", "PENDING");
+		User customer = saveUser("pending.customer@example.com", "CUSTOMER", null);
+
+		mockMvc.perform(put("/api/admin/admin-logins/{userId}/approve", pending.getId()))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(put("/api/admin/admin-logins/{userId}/approve", pending.getId())
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + login(customer).path("token").asText()))
+				.andExpect(status().isForbidden());
+
+		assertThat(userRepository.findById(pending.getId()).orElseThrow().getApprovalStatus()).isEqualTo("PENDING");
+	}
+
+	@Test
+	void revokedTokensStayRevokedUnderManyLogouts() {
+		AuthTokenService tokens = new AuthTokenService("", 60);
+		AuthenticatedUser caller = new AuthenticatedUser(1L, "flood@example.com", "CUSTOMER", null);
+		String revoked = tokens.issue(caller);
+		tokens.revoke(revoked);
+
+		for (int i = 0; i < 12_000; i++) {
+			tokens.revoke(tokens.issue(caller));
+		}
+
+		assertThat(tokens.authenticate(revoked)).isNull();
+		assertThat(tokens.authenticate(tokens.issue(caller))).isNotNull();
+	}
+
+	private JsonNode login(User user) throws Exception {
+		String body = mockMvc.perform(post("/api/users/login")
+						.contentType("application/json")
+						.content("{\"email\": \"" + user.getEmail() + "\", \"password\": \"secret\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private User saveUser(String email, String role, String approvalStatus) {
+		User user = new User();
+		user.setName("Token " + role.toLowerCase());
+		user.setEmail(email);
+		user.setPassword("secret");
+		user.setRole(role);
+		user.setApprovalStatus(approvalStatus);
+		return userRepository.save(user);
+	}
+}
@@ -0,0 +1,105 @@
+package com.demo.controller;
+
+import com.demo.dto.AuthenticatedUser;
+import com.demo.entity.RawMaterial;
+import com.demo.repository.InventoryMovementRepository;
+import com.demo.repository.RawMaterialRepository;
+import com.demo.service.AuthTokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkStockMovementTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private RawMaterialRepository rawMaterialRepository;
+
+	@Autowired
+	private InventoryMovementRepository inventoryMovementRepository;
+
+	@Test
+	void shiftReplayIsAppliedInOneRequest() throws Exception {
+		RawMaterial cement = saveMaterial("Bulk Cement", 100);
+		RawMaterial sand = saveMaterial("Bulk Sand", 50);
+
+		StringJoiner lines = new StringJoiner(",");
+		for (int i = 0; i < 150; i++) {
+			lines.add(line(cement.getId(), "CONSUMPTION", 0.5));
+			lines.add(line(sand.getId(), i % 3 == 0 ? "RESTOCK" : "consume", 1.0));
+		}
+
+		mockMvc.perform(post("/api/admin/inventory/movements/bulk")
+						.header(HttpHeaders.AUTHORIZATION, adminBearer())
+						.contentType("application/json")
+						.content("{\"movements\": [" + lines + "]}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.results.length()").value(300))
+				.andExpect(jsonPath("$.results[0].status").value("APPLIED"))
+				.andExpect(jsonPath("$.results[0].balanceAfter").value(99.5))
+				.andExpect(jsonPath("$.results[299].balanceAfter").value(0.0));
+
+		assertThat(rawMaterialRepository.findById(cement.getId()).orElseThrow().getQuantity()).isEqualTo(25.0);
+		assertThat(rawMaterialRepository.findById(sand.getId()).orElseThrow().getQuantity()).isZero();
+		assertThat(inventoryMovementRepository.findByRawMaterial_IdOrderByCreatedAtDesc(cement.getId())).hasSize(150);
+		assertThat(inventoryMovementRepository.findByRawMaterial_IdOrderByCreatedAtDesc(sand.getId())).hasSize(150);
+	}
+
+	@Test
+	void anyRejectedLineLeavesStockUntouched() throws Exception {
+		RawMaterial gravel = saveMaterial("Bulk Gravel", 10);
+
+		mockMvc.perform(post("/api/admin/inventory/movements/bulk")
+						.header(HttpHeaders.AUTHORIZATION, adminBearer())
+						.contentType("application/json")
+						.content("{\"movements\": ["
+								+ line(gravel.getId(), "CONSUMPTION", 6.0) + ","
+								+ line(gravel.getId(), "CONSUMPTION", 6.0) + ","
+								+ line(Long.MAX_VALUE, "RESTOCK", 1.0) + ","
+								+ line(gravel.getId(), "TRANSFER", 1.0)
+								+ "]}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.results[0].status").value("NOT_APPLIED"))
+				.andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+				.andExpect(jsonPath("$.results[1].message").value("Insufficient stock"))
+				.andExpect(jsonPath("$.results[2].message").value("Material not found"))
+				.andExpect(jsonPath("$.results[3].status").value("REJECTED"));
+
+		assertThat(rawMaterialRepository.findById(gravel.getId()).orElseThrow().getQuantity()).isEqualTo(10.0);
+		assertThat(inventoryMovementRepository.findByRawMaterial_IdOrderByCreatedAtDesc(gravel.getId())).isEmpty();
+	}
+
+	private String line(Long materialId, String movementType, double quantity) {
+		return "{\"materialId\": " + materialId + ", \"movementType\": \"" + movementType + "\", "
+				+ "\"quantity\": " + quantity + ", \"referenceType\": \"BATCH_PLANT\"}";
+	}
+
+	private RawMaterial saveMaterial(String name, double quantity) {
+		RawMaterial material = new RawMaterial();
+		material.setName(name);
+		material.setUnit("Tons");
+		material.setQuantity(quantity);
+		return rawMaterialRepository.save(material);
+	}
+
+	private String adminBearer() {
+		return "Bearer " + authTokenService.issue(new AuthenticatedUser(0L, "bulk.admin@example.com", "ADMIN", "APPROVED"));
+	}
+}
@@ -0,0 +1,125 @@
+package com.demo.controller;
+
+import com.demo.entity.DeliveryTrackingStatus;
+import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.User;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.UserRepository;
+import com.demo.service.AuthTokenService;
+import com.demo.service.DispatchMonitoringBoard;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DispatchMonitoringBoardTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private DispatchMonitoringBoard dispatchMonitoringBoard;
+
+	@Test
+	void sinceReturnsOnlyRowsChangedAfterTheClientsVersion() throws Exception {
+		User admin = saveUser("board.admin@example.com", "ADMIN");
+		User customer = saveUser("board.customer@example.com", "CUSTOMER");
+		long initialVersion = board(admin, null).get("version").asLong();
+
+		Order order = new Order();
+		order.setOrderId("ORD-BOARD-1");
+		order.setGrade("M30");
+		order.setQuantity(6);
+		order.setUser(customer);
+		order.setStatus(OrderStatus.DISPATCHED);
+		order.setDeliveryTrackingStatus(DeliveryTrackingStatus.DISPATCHED);
+		order.setDispatchDateTime(LocalDateTime.of(2031, 4, 2, 9, 0));
+		order.setExpectedArrivalTime(LocalDateTime.of(2031, 4, 2, 10, 30));
+		dispatchMonitoringBoard.refresh(orderRepository.save(order));
+
+		JsonNode delta = board(admin, initialVersion);
+		assertThat(delta.get("full").asBoolean()).isFalse();
+		assertThat(delta.get("records")).hasSize(1);
+		assertThat(delta.at("/records/0/orderId").asText()).isEqualTo("ORD-BOARD-1");
+		assertThat(delta.at("/records/0/dispatchStatus").asText()).isEqualTo("DISPATCHED");
+		long seenVersion = delta.get("version").asLong();
+
+		JsonNode unchanged = board(admin, seenVersion);
+		assertThat(unchanged.get("records")).isEmpty();
+		assertThat(unchanged.get("removedOrderIds")).isEmpty();
+
+		mockMvc.perform(put("/api/admin/orders/{orderId}/delivery-status", "ORD-BOARD-1")
+						.header(HttpHeaders.AUTHORIZATION, bearer(admin))
+						.contentType("application/json")
+						.content("{\"deliveryStatus\": \"Delivered\"}"))
+				.andExpect(status().isOk());
+
+		JsonNode afterDelivery = board(admin, seenVersion);
+		assertThat(afterDelivery.get("records")).isEmpty();
+		assertThat(afterDelivery.get("removedOrderIds").get(0).asText()).isEqualTo("ORD-BOARD-1");
+
+		JsonNode full = board(admin, null);
+		assertThat(full.get("full").asBoolean()).isTrue();
+		assertThat(full.get("records").findValuesAsText("orderId")).doesNotContain("ORD-BOARD-1");
+	}
+
+	@Test
+	void unknownVersionGetsTheWholeBoard() throws Exception {
+		User admin = saveUser("board.admin2@example.com", "ADMIN");
+
+		JsonNode response = board(admin, 1L);
+		assertThat(response.get("full").asBoolean()).isTrue();
+		assertThat(response.get("totalRecords").asInt()).isEqualTo(response.get("records").size());
+	}
+
+	private JsonNode board(User admin, Long since) throws Exception {
+		MockHttpServletRequestBuilder request = get("/api/admin/dispatch/monitoring")
+				.header(HttpHeaders.AUTHORIZATION, bearer(admin));
+		if (since != null) {
+			request.param("since", since.toString());
+		}
+		String body = mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private User saveUser(String email, String role) {
+		User user = new User();
+		user.setName("Board " + role.toLowerCase());
+		user.setEmail(email);
+		user.setRole(role);
+		return userRepository.save(user);
+	}
+
+	private String bearer(User user) {
+		return "Bearer " + authTokenService.issue(user);
+	}
+}
@@ -0,0 +1,190 @@
+package com.demo.controller;
+
+import com.demo.entity.DeliveryTrackingStatus;
+import com.demo.entity.DispatchTripRecord;
+import com.demo.entity.Driver;
+import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.TransitMixer;
+import com.demo.entity.User;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.DriverRepository;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.TransitMixerRepository;
+import com.demo.repository.UserRepository;
+import com.demo.service.AuthTokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DispatchPlanTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private TransitMixerRepository transitMixerRepository;
+
+	@Autowired
+	private DriverRepository driverRepository;
+
+	@Autowired
+	private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+	@Test
+	void previewPlansEveryOrderWithinTruckCapacityAndCommitWritesTrips() throws Exception {
+		User admin = saveUser("plan.admin@example.com", "ADMIN");
+		User customer = saveUser("plan.customer@example.com", "CUSTOMER");
+		saveMixer("PLAN-TM-1", 7.0);
+		saveMixer("PLAN-TM-2", 9.0);
+		saveDriver("Plan Driver Morning", "MORNING");
+		saveDriver("Plan Driver Morning 2", "MORNING");
+		saveDriver("Plan Driver Evening", "EVENING");
+		saveDriver("Plan Driver Relief", "ANY");
+		LocalDate day = LocalDate.of(2031, 3, 5);
+		saveOrder("ORD-PLAN-1", 20, day, customer);
+		saveOrder("ORD-PLAN-2", 8, day, customer);
+		saveOrder("ORD-PLAN-3", 12.5, day, customer);
+
+		JsonNode plan = preview(admin, day, "\"ORD-PLAN-1\", \"ORD-PLAN-2\", \"ORD-PLAN-3\"");
+		assertThat(plan.at("/summary/plannedOrders").asInt()).isEqualTo(3);
+		assertThat(plan.at("/summary/unplannedOrders")).isEmpty();
+
+		Map<String, Double> plannedQuantity = new HashMap<>();
+		Map<String, List<JsonNode>> tripsByMixer = new HashMap<>();
+		for (JsonNode trip : plan.get("trips")) {
+			assertThat(trip.get("loadM3").asDouble()).isLessThanOrEqualTo(trip.get("capacityM3").asDouble());
+			plannedQuantity.merge(trip.get("orderId").asText(), trip.get("loadM3").asDouble(), Double::sum);
+			tripsByMixer.computeIfAbsent(trip.get("transitMixerNumber").asText(), key -> new ArrayList<>()).add(trip);
+		}
+		assertThat(plannedQuantity.get("ORD-PLAN-1")).isCloseTo(20.0, offset(0.01));
+		assertThat(plannedQuantity.get("ORD-PLAN-2")).isCloseTo(8.0, offset(0.01));
+		assertThat(plannedQuantity.get("ORD-PLAN-3")).isCloseTo(12.5, offset(0.01));
+
+		// A truck is only sent out again once it is back from the previous trip.
+		for (List<JsonNode> trips : tripsByMixer.values()) {
+			for (int i = 1; i < trips.size(); i++) {
+				LocalDateTime previousReturn = LocalDateTime.parse(trips.get(i - 1).get("returnTime").asText());
+				LocalDateTime departure = LocalDateTime.parse(trips.get(i).get("dispatchTime").asText());
+				assertThat(departure).isAfterOrEqualTo(previousReturn);
+			}
+		}
+
+		mockMvc.perform(post("/api/admin/dispatch/plans/{planId}/commit", plan.get("planId").asText())
+						.header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.orders").value(3))
+				.andExpect(jsonPath("$.trips").value(plan.get("trips").size()));
+
+		Order committed = orderRepository.findByOrderId("ORD-PLAN-1").orElseThrow();
+		List<DispatchTripRecord> records = dispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc(committed.getId());
+		assertThat(records).isNotEmpty();
+		assertThat(records.stream().mapToDouble(DispatchTripRecord::getTripQuantityM3).sum()).isCloseTo(20.0, offset(0.01));
+		assertThat(committed.getPlannedTrips()).isEqualTo(records.size());
+		assertThat(committed.getDeliveryTrackingStatus()).isEqualTo(DeliveryTrackingStatus.SCHEDULED_FOR_DISPATCH);
+		assertThat(committed.getDispatchDateTime()).isEqualTo(records.get(0).getScheduledDispatchTime());
+
+		// A plan is used up once committed.
+		mockMvc.perform(post("/api/admin/dispatch/plans/{planId}/commit", plan.get("planId").asText())
+						.header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void commitIsRejectedWhenOrdersChangedAfterPreview() throws Exception {
+		User admin = saveUser("plan.admin2@example.com", "ADMIN");
+		User customer = saveUser("plan.customer2@example.com", "CUSTOMER");
+		saveMixer("PLAN-TM-3", 6.0);
+		LocalDate day = LocalDate.of(2031, 3, 6);
+		saveOrder("ORD-PLAN-4", 10, day, customer);
+
+		JsonNode plan = preview(admin, day, "\"ORD-PLAN-4\"");
+		Order order = orderRepository.findByOrderId("ORD-PLAN-4").orElseThrow();
+		order.setQuantity(16);
+		orderRepository.save(order);
+
+		mockMvc.perform(post("/api/admin/dispatch/plans/{planId}/commit", plan.get("planId").asText())
+						.header(HttpHeaders.AUTHORIZATION, bearer(admin)))
+				.andExpect(status().isConflict());
+		assertThat(dispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc(order.getId())).isEmpty();
+	}
+
+	private JsonNode preview(User admin, LocalDate day, String orderIds) throws Exception {
+		String body = mockMvc.perform(post("/api/admin/dispatch/plans/preview")
+						.header(HttpHeaders.AUTHORIZATION, bearer(admin))
+						.contentType("application/json")
+						.content("{\"date\": \"" + day + "\", \"timeBudgetMillis\": 300, \"orderIds\": [" + orderIds + "]}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private User saveUser(String email, String role) {
+		User user = new User();
+		user.setName("Plan " + role.toLowerCase());
+		user.setEmail(email);
+		user.setRole(role);
+		return userRepository.save(user);
+	}
+
+	private void saveMixer(String mixerNumber, double capacity) {
+		TransitMixer mixer = new TransitMixer();
+		mixer.setMixerNumber(mixerNumber);
+		mixer.setCapacityM3(capacity);
+		transitMixerRepository.save(mixer);
+	}
+
+	private void saveDriver(String name, String shift) {
+		Driver driver = new Driver();
+		driver.setDriverName(name);
+		driver.setDriverShift(shift);
+		driverRepository.save(driver);
+	}
+
+	private void saveOrder(String orderNumber, double quantity, LocalDate productionDate, User customer) {
+		Order order = new Order();
+		order.setOrderId(orderNumber);
+		order.setGrade("M25");
+		order.setQuantity(quantity);
+		order.setUser(customer);
+		order.setStatus(OrderStatus.APPROVED);
+		order.setProductionDate(productionDate);
+		orderRepository.save(order);
+	}
+
+	private String bearer(User user) {
+		return "Bearer " + authTokenService.issue(user);
+	}
+}
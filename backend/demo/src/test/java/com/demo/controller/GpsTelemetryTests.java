@@ -0,0 +1,232 @@
+package com.demo.controller;
+
+import com.demo.entity.Order;
+import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.TransitMixer;
+import com.demo.entity.User;
+import com.demo.repository.OrderAssignmentRepository;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.TransitMixerRepository;
+import com.demo.repository.UserRepository;
+import com.demo.repository.VehiclePositionRepository;
+import com.demo.service.AuthTokenService;
+import com.demo.service.GpsIngestionService;
+import com.demo.service.TransitMixerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GpsTelemetryTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private VehiclePositionRepository vehiclePositionRepository;
+
+	@Autowired
+	private GpsIngestionService gpsIngestionService;
+
+	@Autowired
+	private TransitMixerRepository transitMixerRepository;
+
+	@Autowired
+	private OrderAssignmentRepository orderAssignmentRepository;
+
+	@Autowired
+	private TransitMixerService transitMixerService;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Test
+	void batchIsCoalescedToLatestPositionAndKeptAsHistory() throws Exception {
+		TransitMixer mixer = saveMixer("TM-GPS-1");
+		Order first = saveOrder("ORD-GPS-1", "gps.one@example.com", mixer);
+		Order second = saveOrder("ORD-GPS-2", "gps.two@example.com", mixer);
+		String deviceKey = transitMixerService.issueTelemetryKey(mixer.getId());
+
+		mockMvc.perform(post("/api/telemetry/gps")
+						.header(TelemetryController.TELEMETRY_KEY_HEADER, deviceKey)
+						.contentType("application/json")
+						.content("{\"points\": ["
+								+ point("ORD-GPS-1", 12.90, 77.50, "2026-04-01T10:00:00") + ","
+								+ point("ORD-GPS-1", 12.95, 77.55, "2026-04-01T10:00:10") + ","
+								+ point("ORD-GPS-1", 12.92, 77.52, "2026-04-01T10:00:05") + ","
+								+ point("ORD-GPS-2", 13.01, 77.61, "2026-04-01T10:00:03") + ","
+								+ point("ORD-GPS-UNKNOWN", 13.00, 77.60, "2026-04-01T10:00:03") + ","
+								+ point("ORD-GPS-2", 95.00, 77.60, "2026-04-01T10:00:04")
+								+ "]}"))
+				.andExpect(status().isAccepted())
+				.andExpect(jsonPath("$.accepted").value(4))
+				.andExpect(jsonPath("$.rejected").value(2));
+
+		gpsIngestionService.flush();
+
+		Order firstAfter = orderRepository.findById(first.getId()).orElseThrow();
+		assertThat(firstAfter.getLiveLatitude()).isEqualTo(12.95);
+		assertThat(firstAfter.getLiveLongitude()).isEqualTo(77.55);
+		assertThat(orderRepository.findById(second.getId()).orElseThrow().getLiveLatitude()).isEqualTo(13.01);
+		assertThat(vehiclePositionRepository.countByOrderNumber("ORD-GPS-1")).isEqualTo(3);
+
+		mockMvc.perform(get("/api/telemetry/orders/{orderId}/positions", "ORD-GPS-1")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + authTokenService.issue(first.getUser())))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(3))
+				.andExpect(jsonPath("$[0].latitude").value(12.90))
+				.andExpect(jsonPath("$[1].latitude").value(12.92))
+				.andExpect(jsonPath("$[2].latitude").value(12.95));
+
+		mockMvc.perform(get("/api/telemetry/orders/{orderId}/positions", "ORD-GPS-1")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + authTokenService.issue(second.getUser())))
+				.andExpect(status().isForbidden());
+		// A user id alone no longer identifies the caller.
+		mockMvc.perform(get("/api/telemetry/orders/{orderId}/positions", "ORD-GPS-1")
+						.param("userId", String.valueOf(first.getUser().getId())))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void latePointDoesNotMoveLivePositionBackwards() throws Exception {
+		TransitMixer mixer = saveMixer("TM-GPS-3");
+		Order order = saveOrder("ORD-GPS-3", "gps.three@example.com", mixer);
+		String deviceKey = transitMixerService.issueTelemetryKey(mixer.getId());
+
+		mockMvc.perform(post("/api/telemetry/gps")
+						.header(TelemetryController.TELEMETRY_KEY_HEADER, deviceKey)
+						.contentType("application/json")
+						.content("{\"points\": [" + point("ORD-GPS-3", 11.10, 76.10, "2026-04-01T11:00:30") + "]}"))
+				.andExpect(status().isAccepted());
+		gpsIngestionService.flush();
+
+		mockMvc.perform(post("/api/telemetry/gps")
+						.header(TelemetryController.TELEMETRY_KEY_HEADER, deviceKey)
+						.contentType("application/json")
+						.content("{\"points\": [" + point("ORD-GPS-3", 11.00, 76.00, "2026-04-01T11:00:00") + "]}"))
+				.andExpect(status().isAccepted());
+		gpsIngestionService.flush();
+
+		Order after = orderRepository.findById(order.getId()).orElseThrow();
+		assertThat(after.getLiveLatitude()).isEqualTo(11.10);
+		assertThat(vehiclePositionRepository.countByOrderNumber("ORD-GPS-3")).isEqualTo(2);
+	}
+
+	@Test
+	void positionsNeedADeviceKeyOrAdminAndTheAssignedMixer() throws Exception {
+		TransitMixer assigned = saveMixer("TM-GPS-4");
+		TransitMixer other = saveMixer("TM-GPS-5");
+		Order order = saveOrder("ORD-GPS-4", "gps.four@example.com", assigned);
+		String assignedKey = transitMixerService.issueTelemetryKey(assigned.getId());
+		String otherKey = transitMixerService.issueTelemetryKey(other.getId());
+		String body = "{\"points\": [" + point("ORD-GPS-4", "TM-GPS-4", 10.10, 75.10, "2026-04-01T12:00:00") + "]}";
+
+		mockMvc.perform(post("/api/telemetry/gps").contentType("application/json").content(body))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/api/telemetry/gps")
+						.header(TelemetryController.TELEMETRY_KEY_HEADER, "not-a-key")
+						.contentType("application/json").content(body))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/api/telemetry/gps")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + authTokenService.issue(order.getUser()))
+						.contentType("application/json").content(body))
+				.andExpect(status().isForbidden());
+
+		// Another mixer's device can neither report for this order nor claim to be the assigned mixer.
+		mockMvc.perform(post("/api/telemetry/gps")
+						.header(TelemetryController.TELEMETRY_KEY_HEADER, otherKey)
+						.contentType("application/json")
+						.content("{\"points\": [" + point("ORD-GPS-4", "TM-GPS-5", 10.20, 75.20, "2026-04-01T12:00:10") + ","
+								+ point("ORD-GPS-4", "TM-GPS-4", 10.30, 75.30, "2026-04-01T12:00:20") + "]}"))
+				.andExpect(status().isAccepted())
+				.andExpect(jsonPath("$.accepted").value(0))
+				.andExpect(jsonPath("$.rejected").value(2));
+
+		// A superseded key stops working once the mixer gets a new one.
+		String reissuedKey = transitMixerService.issueTelemetryKey(assigned.getId());
+		mockMvc.perform(post("/api/telemetry/gps")
+						.header(TelemetryController.TELEMETRY_KEY_HEADER, assignedKey)
+						.contentType("application/json").content(body))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(post("/api/telemetry/gps")
+						.header(TelemetryController.TELEMETRY_KEY_HEADER, reissuedKey)
+						.contentType("application/json").content(body))
+				.andExpect(status().isAccepted())
+				.andExpect(jsonPath("$.accepted").value(1));
+
+		User admin = new User();
+		admin.setName("GPS admin");
+		admin.setEmail("gps.admin@example.com");
+		admin.setRole("ADMIN");
+		admin.setApprovalStatus("APPROVED");
+		admin = userRepository.save(admin);
+		mockMvc.perform(post("/api/telemetry/gps")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + authTokenService.issue(admin))
+						.contentType("application/json")
+						.content("{\"points\": [" + point("ORD-GPS-4", "TM-GPS-4", 10.40, 75.40, "2026-04-01T12:00:30") + ","
+								+ point("ORD-GPS-4", "TM-GPS-5", 10.50, 75.50, "2026-04-01T12:00:40") + "]}"))
+				.andExpect(status().isAccepted())
+				.andExpect(jsonPath("$.accepted").value(1))
+				.andExpect(jsonPath("$.rejected").value(1));
+
+		gpsIngestionService.flush();
+		assertThat(vehiclePositionRepository.countByOrderNumber("ORD-GPS-4")).isEqualTo(2);
+		assertThat(orderRepository.findById(order.getId()).orElseThrow().getLiveLatitude()).isEqualTo(10.40);
+	}
+
+	private String point(String orderNumber, double latitude, double longitude, String recordedAt) {
+		return point(orderNumber, null, latitude, longitude, recordedAt);
+	}
+
+	private String point(String orderNumber, String mixerNumber, double latitude, double longitude, String recordedAt) {
+		return "{\"orderId\": \"" + orderNumber + "\", "
+				+ (mixerNumber == null ? "" : "\"transitMixerNumber\": \"" + mixerNumber + "\", ")
+				+ "\"latitude\": " + latitude + ", \"longitude\": " + longitude + ", "
+				+ "\"recordedAt\": \"" + recordedAt + "\"}";
+	}
+
+	private TransitMixer saveMixer(String mixerNumber) {
+		TransitMixer mixer = new TransitMixer();
+		mixer.setMixerNumber(mixerNumber);
+		return transitMixerRepository.save(mixer);
+	}
+
+	private Order saveOrder(String orderNumber, String email, TransitMixer mixer) {
+		User customer = new User();
+		customer.setName("GPS customer");
+		customer.setEmail(email);
+		customer.setRole("CUSTOMER");
+		customer = userRepository.save(customer);
+
+		Order order = new Order();
+		order.setOrderId(orderNumber);
+		order.setGrade("M25");
+		order.setQuantity(6);
+		order.setUser(customer);
+		order.setStatus(OrderStatus.DISPATCHED);
+		order = orderRepository.save(order);
+
+		OrderAssignment assignment = new OrderAssignment();
+		assignment.setOrder(order);
+		assignment.setTransitMixer(mixer);
+		orderAssignmentRepository.save(assignment);
+		return order;
+	}
+}
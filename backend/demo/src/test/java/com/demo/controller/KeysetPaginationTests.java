@@ -0,0 +1,150 @@
+package com.demo.controller;
+
+import com.demo.dto.AuthenticatedUser;
+import com.demo.entity.EquipmentBreakdown;
+import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.User;
+import com.demo.repository.EquipmentBreakdownRepository;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.UserRepository;
+import com.demo.service.AuthTokenService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class KeysetPaginationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private EquipmentBreakdownRepository breakdownRepository;
+
+	@Test
+	void adminOrderPagesWalkEveryFilteredOrderOnce() throws Exception {
+		User customer = new User();
+		customer.setName("Paged customer");
+		customer.setEmail("paged.customer@example.com");
+		customer.setRole("CUSTOMER");
+		customer = userRepository.save(customer);
+
+		for (int i = 0; i < 7; i++) {
+			Order order = new Order();
+			order.setOrderId("ORD-PAGED-" + i);
+			order.setGrade("M25");
+			order.setQuantity(6);
+			order.setUser(customer);
+			order.setStatus(i == 0 ? OrderStatus.REJECTED : OrderStatus.APPROVED);
+			order.setCreatedAt(LocalDateTime.now());
+			orderRepository.save(order);
+		}
+
+		Long customerId = customer.getId();
+		List<Integer> ids = walkPages(() -> get("/api/admin/orders")
+				.param("userId", String.valueOf(customerId))
+				.param("status", "approved"), 6);
+
+		assertThat(ids).hasSize(6).doesNotHaveDuplicates();
+		assertThat(ids).isSortedAccordingTo((a, b) -> Integer.compare(b, a));
+	}
+
+	@Test
+	void breakdownPagesBreakTimestampTiesById() throws Exception {
+		LocalDateTime sameTime = LocalDateTime.of(2026, 1, 15, 10, 30);
+		for (int i = 0; i < 5; i++) {
+			EquipmentBreakdown breakdown = new EquipmentBreakdown();
+			breakdown.setEquipmentType("PAGED_PUMP");
+			breakdown.setMachineName("Pump " + i);
+			breakdown.setStatus("REPORTED");
+			breakdown.setBreakdownTime(sameTime);
+			breakdownRepository.save(breakdown);
+		}
+
+		List<Integer> ids = walkPages(() -> get("/api/admin/maintenance/breakdowns")
+				.param("equipmentType", "paged_pump"), 5);
+
+		assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void breakdownPagesContinuePastRowsWithoutATime() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			EquipmentBreakdown breakdown = new EquipmentBreakdown();
+			breakdown.setEquipmentType("UNDATED_PUMP");
+			breakdown.setMachineName("Undated pump " + i);
+			breakdown.setStatus("REPORTED");
+			breakdown.setBreakdownTime(i < 2 ? LocalDateTime.of(2026, 1, 16, 9, i) : null);
+			breakdownRepository.save(breakdown);
+		}
+
+		List<Integer> ids = walkPages(() -> get("/api/admin/maintenance/breakdowns")
+				.param("equipmentType", "undated_pump"), 5);
+
+		assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void malformedCursorIsRejected() throws Exception {
+		mockMvc.perform(get("/api/admin/orders")
+						.header(HttpHeaders.AUTHORIZATION, adminBearer())
+						.param("cursor", "not a cursor"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private List<Integer> walkPages(Supplier<MockHttpServletRequestBuilder> request, int expectedTotal) throws Exception {
+		List<Integer> ids = new ArrayList<>();
+		String cursor = null;
+		boolean firstPage = true;
+		do {
+			MockHttpServletRequestBuilder pageRequest = request.get()
+					.header(HttpHeaders.AUTHORIZATION, adminBearer())
+					.param("limit", "2");
+			if (cursor != null) {
+				pageRequest = pageRequest.param("cursor", cursor);
+			}
+			String body = mockMvc.perform(pageRequest)
+					.andExpect(status().isOk())
+					.andExpect(firstPage
+							? jsonPath("$.totalCount").value(expectedTotal)
+							: jsonPath("$.totalCount").doesNotExist())
+					.andReturn().getResponse().getContentAsString();
+
+			ids.addAll(JsonPath.read(body, "$.items[*].id"));
+			cursor = JsonPath.read(body, "$.nextCursor");
+			firstPage = false;
+			assertThat(ids).as("pages walked so far").hasSizeLessThanOrEqualTo(expectedTotal);
+		} while (cursor != null);
+		return ids;
+	}
+
+	private String adminBearer() {
+		return "Bearer " + authTokenService.issue(new AuthenticatedUser(0L, "paging.admin@example.com", "ADMIN", "APPROVED"));
+	}
+}
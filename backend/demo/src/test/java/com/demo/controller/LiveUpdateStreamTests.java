@@ -0,0 +1,126 @@
+package com.demo.controller;
+
+import com.demo.entity.NotificationType;
+import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.User;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.UserRepository;
+import com.demo.service.AuthTokenService;
+import com.demo.service.OrderNotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+// The result printer reads response headers while the open stream is still writing them.
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class LiveUpdateStreamTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderNotificationService orderNotificationService;
+
+	@Test
+	void notificationStreamPushesNewNotifications() throws Exception {
+		Order order = saveOrder("ORD-STREAM-1", "stream.one@example.com");
+		Long userId = order.getUser().getId();
+
+		MvcResult stream = mockMvc.perform(get("/api/notifications/my/{userId}/stream", userId))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		awaitContent(stream.getResponse(), "event:unread-count");
+
+		orderNotificationService.createNotification(order, NotificationType.ORDER_APPROVED);
+
+		String content = awaitContent(stream.getResponse(), "event:notification");
+		assertThat(content).contains("Order Approved").contains("ORD-STREAM-1");
+	}
+
+	@Test
+	void trackingStreamPushesAdminTrackingUpdates() throws Exception {
+		Order order = saveOrder("ORD-STREAM-2", "stream.two@example.com");
+		User admin = new User();
+		admin.setName("Stream admin");
+		admin.setEmail("stream.admin@example.com");
+		admin.setRole("ADMIN");
+		admin = userRepository.save(admin);
+
+		MvcResult stream = mockMvc.perform(get("/api/delivery-tracking/orders/{orderId}/stream", order.getOrderId())
+						.param("userId", String.valueOf(order.getUser().getId())))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		awaitContent(stream.getResponse(), "event:tracking");
+
+		mockMvc.perform(put("/api/delivery-tracking/admin/orders/{orderId}", order.getOrderId())
+						.header(HttpHeaders.AUTHORIZATION, bearer(admin))
+						.contentType("application/json")
+						.content("{\"liveLatitude\": 12.97, \"liveLongitude\": 77.59}"))
+				.andExpect(status().isOk());
+
+		assertThat(awaitContent(stream.getResponse(), "77.59")).contains("\"gpsAvailable\":true");
+	}
+
+	@Test
+	void trackingStreamRejectsOtherCustomers() throws Exception {
+		Order order = saveOrder("ORD-STREAM-3", "stream.three@example.com");
+
+		mockMvc.perform(get("/api/delivery-tracking/orders/{orderId}/stream", order.getOrderId())
+						.param("userId", String.valueOf(order.getUser().getId() + 1000)))
+				.andExpect(status().isForbidden());
+	}
+
+	private Order saveOrder(String orderNumber, String email) {
+		User customer = new User();
+		customer.setName("Stream customer");
+		customer.setEmail(email);
+		customer.setRole("CUSTOMER");
+		customer = userRepository.save(customer);
+
+		Order order = new Order();
+		order.setOrderId(orderNumber);
+		order.setGrade("M20");
+		order.setQuantity(6);
+		order.setUser(customer);
+		order.setStatus(OrderStatus.APPROVED);
+		return orderRepository.save(order);
+	}
+
+	private String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+		long deadline = System.currentTimeMillis() + 5000;
+		String content = response.getContentAsString();
+		while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			content = response.getContentAsString();
+		}
+		assertThat(content).contains(expected);
+		return content;
+	}
+
+	private String bearer(User user) {
+		return "Bearer " + authTokenService.issue(user);
+	}
+}
@@ -0,0 +1,127 @@
+package com.demo.controller;
+
+import com.demo.config.RequestSqlStatistics;
+import com.demo.entity.NotificationType;
+import com.demo.entity.Order;
+import com.demo.entity.OrderNotification;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.User;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.UserRepository;
+import com.demo.service.NotificationOutboxWorker;
+import com.demo.service.OrderNotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NotificationInboxTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private OrderNotificationService orderNotificationService;
+
+	@Autowired
+	private NotificationOutboxWorker notificationOutboxWorker;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	void inboxPollIsServedFromCacheAndFollowsWrites() throws Exception {
+		Order order = saveOrder("ORD-INBOX-1", "inbox.customer@example.com");
+		Long userId = order.getUser().getId();
+		orderNotificationService.createNotification(order, NotificationType.ORDER_APPROVED);
+		notificationOutboxWorker.drain();
+		mockMvc.perform(get("/api/notifications/my/" + userId + "/unread-count"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.unreadCount").value(1));
+
+		orderNotificationService.createNotification(order, NotificationType.DISPATCH_SCHEDULED);
+		notificationOutboxWorker.drain();
+		MvcResult countPoll = mockMvc.perform(get("/api/notifications/my/" + userId + "/unread-count"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.unreadCount").value(2))
+				.andReturn();
+		MvcResult inboxPoll = mockMvc.perform(get("/api/notifications/my/" + userId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].title").value("Dispatch Scheduled"))
+				.andReturn();
+		assertThat(statementsOf(countPoll)).isZero();
+		assertThat(statementsOf(inboxPoll)).isZero();
+
+		Long newestId = orderNotificationService.getRecentNotifications(userId).get(0).getId();
+		mockMvc.perform(put("/api/notifications/" + newestId + "/read").param("userId", userId.toString()))
+				.andExpect(status().isOk());
+		assertThat(orderNotificationService.getUnreadCount(userId)).isEqualTo(1);
+		assertThat(orderNotificationService.getRecentNotifications(userId).get(0).isRead()).isTrue();
+
+		mockMvc.perform(put("/api/notifications/my/" + userId + "/read-all"))
+				.andExpect(status().isOk());
+		assertThat(orderNotificationService.getUnreadCount(userId)).isZero();
+		assertThat(orderNotificationService.getRecentNotifications(userId)).allMatch(OrderNotification::isRead);
+	}
+
+	@Test
+	void olderHistoryIsPagedByBeforeId() throws Exception {
+		Order order = saveOrder("ORD-INBOX-2", "inbox.customer2@example.com");
+		Long userId = order.getUser().getId();
+		orderNotificationService.createNotification(order, NotificationType.ORDER_APPROVED);
+		orderNotificationService.createNotification(order, NotificationType.IN_PRODUCTION);
+		orderNotificationService.createNotification(order, NotificationType.DISPATCH_SCHEDULED);
+		notificationOutboxWorker.drain();
+
+		List<OrderNotification> recent = orderNotificationService.getRecentNotifications(userId);
+		assertThat(recent).hasSize(3);
+		Long newestId = recent.get(0).getId();
+
+		mockMvc.perform(get("/api/notifications/my/" + userId).param("beforeId", newestId.toString()).param("size", "1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].id").value(recent.get(1).getId()));
+		mockMvc.perform(get("/api/notifications/my/" + userId).param("beforeId", recent.get(2).getId().toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(0));
+	}
+
+	// Counted per request, so the outbox drain running in the background does not skew it.
+	private int statementsOf(MvcResult result) {
+		RequestSqlStatistics.Snapshot snapshot = (RequestSqlStatistics.Snapshot) result.getRequest()
+				.getAttribute(RequestSqlStatistics.REQUEST_ATTRIBUTE);
+		return snapshot.getStatements();
+	}
+
+	private Order saveOrder(String orderNumber, String email) {
+		User customer = new User();
+		customer.setName("Inbox customer");
+		customer.setEmail(email);
+		customer.setRole("CUSTOMER");
+		userRepository.save(customer);
+
+		Order order = new Order();
+		order.setOrderId(orderNumber);
+		order.setGrade("M20");
+		order.setQuantity(3);
+		order.setUser(customer);
+		order.setStatus(OrderStatus.APPROVED);
+		return orderRepository.save(order);
+	}
+}
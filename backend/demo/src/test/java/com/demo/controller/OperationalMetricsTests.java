@@ -0,0 +1,101 @@
+package com.demo.controller;
+
+import com.demo.dto.AuthenticatedUser;
+import com.demo.entity.EquipmentBreakdown;
+import com.demo.entity.RawMaterial;
+import com.demo.repository.EquipmentBreakdownRepository;
+import com.demo.repository.RawMaterialRepository;
+import com.demo.service.AuthTokenService;
+import com.demo.service.OperationalMetrics;
+import com.demo.service.OrderNotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class OperationalMetricsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private OperationalMetrics operationalMetrics;
+
+	@Autowired
+	private OrderNotificationService orderNotificationService;
+
+	@Autowired
+	private EquipmentBreakdownRepository equipmentBreakdownRepository;
+
+	@Autowired
+	private RawMaterialRepository rawMaterialRepository;
+
+	@Test
+	void prometheusScrapeCarriesDomainPoolServiceAndRequestMeters() throws Exception {
+		EquipmentBreakdown breakdown = new EquipmentBreakdown();
+		breakdown.setEquipmentType("BATCHING_PLANT");
+		breakdown.setMachineName("Metrics mixer drive");
+		breakdown.setBreakdownTime(LocalDateTime.now());
+		breakdown.setStatus("OPEN");
+		equipmentBreakdownRepository.save(breakdown);
+		RawMaterial material = new RawMaterial();
+		material.setName("Metrics low cement");
+		material.setQuantity(5);
+		material.setReorderLevel(50);
+		rawMaterialRepository.save(material);
+
+		operationalMetrics.refresh();
+		orderNotificationService.getUnreadCount(-1L);
+		mockMvc.perform(get("/api/admin/orders")
+						.header(HttpHeaders.AUTHORIZATION, adminBearer()))
+				.andExpect(status().isOk());
+
+		String scrape = mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(sample(scrape, "rmc_equipment_breakdowns_open", "")).isGreaterThanOrEqualTo(1);
+		assertThat(sample(scrape, "rmc_raw_materials_below_reorder_level", "")).isGreaterThanOrEqualTo(1);
+		assertThat(sample(scrape, "rmc_orders", "status=\"PENDING_APPROVAL\"")).isGreaterThanOrEqualTo(0);
+		assertThat(sample(scrape, "rmc_dispatch_trips_active", "")).isGreaterThanOrEqualTo(0);
+		assertThat(sample(scrape, "rmc_order_notifications_seconds_count", "method=\"getUnreadCount\"")).isGreaterThanOrEqualTo(1);
+		assertThat(sample(scrape, "http_server_requests_seconds_count", "uri=\"/api/admin/orders\"")).isGreaterThanOrEqualTo(1);
+		assertThat(sample(scrape, "http_server_sql_statements_count", "uri=\"/api/admin/orders\"")).isGreaterThanOrEqualTo(1);
+		assertThat(sample(scrape, "hikaricp_connections_pending", "")).isGreaterThanOrEqualTo(0);
+		assertThat(sample(scrape, "hikaricp_connections_acquire_seconds_count", "")).isGreaterThanOrEqualTo(1);
+		assertThat(sample(scrape, "mail_queue_depth", "")).isGreaterThanOrEqualTo(0);
+		assertThat(scrape).contains("tasks_scheduled_execution_seconds_count");
+	}
+
+	// Value of the first sample of a metric whose labels contain the given text; fails when absent.
+	private double sample(String scrape, String metric, String label) {
+		Matcher matcher = Pattern.compile("(?m)^" + Pattern.quote(metric) + "(\\{[^}]*})? (\\S+)$").matcher(scrape);
+		while (matcher.find()) {
+			if (matcher.group(1) == null ? label.isEmpty() : matcher.group(1).contains(label)) {
+				return Double.parseDouble(matcher.group(2));
+			}
+		}
+		throw new AssertionError("No " + metric + " sample with " + label + " in the scrape");
+	}
+
+	private String adminBearer() {
+		return "Bearer " + authTokenService.issue(new AuthenticatedUser(0L, "metrics.admin@example.com", "ADMIN", "APPROVED"));
+	}
+}
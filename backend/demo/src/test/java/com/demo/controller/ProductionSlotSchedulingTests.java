@@ -0,0 +1,133 @@
+package com.demo.controller;
+
+import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.User;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.UserRepository;
+import com.demo.service.AuthTokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductionSlotSchedulingTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	void overlappingSlotsAreRejectedOrShiftedToFreeCapacity() throws Exception {
+		// 20 m3/h: 5 m3 per 15-minute bucket.
+		mockMvc.perform(post("/api/plants")
+						.contentType("application/json")
+						.content("{\"plantName\": \"Slot Plant North\", \"batchingCapacityM3PerHour\": 20}"))
+				.andExpect(status().isOk());
+		User admin = saveUser("slot.admin@example.com", "ADMIN");
+		User customer = saveUser("slot.customer@example.com", "CUSTOMER");
+		saveOrder("ORD-SLOT-1", 20, customer);
+		saveOrder("ORD-SLOT-2", 10, customer);
+		saveOrder("ORD-SLOT-3", 30, customer);
+
+		schedule("ORD-SLOT-1", admin, "slot plant north", "2030-01-10T08:00:00", "2030-01-10T09:00:00", false)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.shifted").value(false));
+
+		schedule("ORD-SLOT-2", admin, "Slot Plant North", "2030-01-10T08:30:00", "2030-01-10T09:30:00", false)
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", containsString("over capacity")))
+				.andExpect(jsonPath("$.conflictAt").value("2030-01-10T08:30:00"))
+				.andExpect(jsonPath("$.suggestedSlotStart").value("2030-01-10T09:00:00"))
+				.andExpect(jsonPath("$.suggestedSlotEnd").value("2030-01-10T10:00:00"));
+
+		schedule("ORD-SLOT-2", admin, "Slot Plant North", "2030-01-10T08:30:00", "2030-01-10T09:30:00", true)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.shifted").value(true))
+				.andExpect(jsonPath("$.productionSlotStart").value("2030-01-10T09:00:00"));
+
+		Order shifted = orderRepository.findByOrderId("ORD-SLOT-2").orElseThrow();
+		assertThat(shifted.getProductionSlotEnd()).hasToString("2030-01-10T10:00");
+		assertThat(shifted.getProductionDate()).hasToString("2030-01-10");
+
+		// 30 m3 cannot be batched in one hour at 20 m3/h, even on an empty day.
+		schedule("ORD-SLOT-3", admin, "Slot Plant North", "2030-01-11T08:00:00", "2030-01-11T09:00:00", false)
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.suggestedSlotEnd").value("2030-01-11T09:30:00"));
+
+		mockMvc.perform(get("/api/admin/production/earliest-slot")
+						.header(HttpHeaders.AUTHORIZATION, bearer(admin))
+						.param("plantAllocation", "Slot Plant North")
+						.param("quantity", "10")
+						.param("notBefore", "2030-01-10T07:50:00"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.productionSlotStart").value("2030-01-10T10:00:00"))
+				.andExpect(jsonPath("$.productionSlotEnd").value("2030-01-10T10:30:00"));
+	}
+
+	@Test
+	void unknownPlantIsRejected() throws Exception {
+		User admin = saveUser("slot.admin2@example.com", "ADMIN");
+		saveOrder("ORD-SLOT-4", 5, saveUser("slot.customer2@example.com", "CUSTOMER"));
+
+		schedule("ORD-SLOT-4", admin, "Nowhere Plant", "2030-02-01T08:00:00", "2030-02-01T09:00:00", false)
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Unknown plant: Nowhere Plant"));
+	}
+
+	private ResultActions schedule(String orderNumber, User admin, String plant, String start, String end, boolean autoShift)
+			throws Exception {
+		return mockMvc.perform(put("/api/admin/orders/{orderId}/schedule/production", orderNumber)
+				.header(HttpHeaders.AUTHORIZATION, bearer(admin))
+				.contentType("application/json")
+				.content("{\"productionDate\": \"" + start.substring(0, 10) + "\", "
+						+ "\"productionSlotStart\": \"" + start + "\", "
+						+ "\"productionSlotEnd\": \"" + end + "\", "
+						+ "\"plantAllocation\": \"" + plant + "\", "
+						+ "\"priorityLevel\": \"NORMAL\", "
+						+ "\"autoShift\": " + autoShift + "}"));
+	}
+
+	private User saveUser(String email, String role) {
+		User user = new User();
+		user.setName("Slot " + role.toLowerCase());
+		user.setEmail(email);
+		user.setRole(role);
+		return userRepository.save(user);
+	}
+
+	private void saveOrder(String orderNumber, double quantity, User customer) {
+		Order order = new Order();
+		order.setOrderId(orderNumber);
+		order.setGrade("M25");
+		order.setQuantity(quantity);
+		order.setUser(customer);
+		order.setStatus(OrderStatus.APPROVED);
+		orderRepository.save(order);
+	}
+
+	private String bearer(User user) {
+		return "Bearer " + authTokenService.issue(user);
+	}
+}
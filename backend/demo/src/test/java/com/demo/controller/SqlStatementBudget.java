@@ -0,0 +1,33 @@
+package com.demo.controller;
+
+import com.demo.config.RequestSqlStatistics;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs a request through MockMvc and returns the database work the application's
+ * SQL instrumentation recorded for it, so tests can hold an endpoint to a budget.
+ */
+final class SqlStatementBudget {
+
+	private SqlStatementBudget() {
+	}
+
+	static RequestSqlStatistics.Snapshot measure(MockMvc mockMvc, RequestBuilder request) throws Exception {
+		MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+		Object snapshot = result.getRequest().getAttribute(RequestSqlStatistics.REQUEST_ATTRIBUTE);
+		assertThat(snapshot).as("SQL statistics recorded for the request").isNotNull();
+		return (RequestSqlStatistics.Snapshot) snapshot;
+	}
+
+	static RequestSqlStatistics.Snapshot assertWithinBudget(MockMvc mockMvc, RequestBuilder request, int maxStatements)
+			throws Exception {
+		RequestSqlStatistics.Snapshot snapshot = measure(mockMvc, request);
+		assertThat(snapshot.getStatements()).as("SQL statements executed").isLessThanOrEqualTo(maxStatements);
+		return snapshot;
+	}
+}
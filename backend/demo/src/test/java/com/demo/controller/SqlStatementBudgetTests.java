@@ -0,0 +1,142 @@
+package com.demo.controller;
+
+import com.demo.config.RequestSqlStatistics;
+import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.QualityInspection;
+import com.demo.entity.User;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.QualityInspectionRepository;
+import com.demo.repository.UserRepository;
+import com.demo.service.AuthTokenService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementBudgetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private QualityInspectionRepository qualityInspectionRepository;
+
+	@Test
+	void adminListsStayWithinTheirStatementBudgetAsOrdersGrow() throws Exception {
+		User admin = new User();
+		admin.setName("Budget admin");
+		admin.setEmail("budget.admin@example.com");
+		admin.setRole("ADMIN");
+		userRepository.save(admin);
+		String adminToken = bearer(admin);
+		long qualitySamples = sqlStatementSamples("/api/quality/admin/orders");
+		long monitoringSamples = sqlStatementSamples("/api/admin/dispatch/monitoring");
+
+		seedInspectedOrders("small", 3);
+		RequestSqlStatistics.Snapshot smallOrders = SqlStatementBudget.assertWithinBudget(mockMvc,
+				get("/api/admin/orders").header(HttpHeaders.AUTHORIZATION, adminToken), 3);
+		RequestSqlStatistics.Snapshot smallQuality = SqlStatementBudget.assertWithinBudget(mockMvc,
+				get("/api/quality/admin/orders").header(HttpHeaders.AUTHORIZATION, adminToken), 2);
+
+		seedInspectedOrders("large", 30);
+		RequestSqlStatistics.Snapshot largeOrders = SqlStatementBudget.assertWithinBudget(mockMvc,
+				get("/api/admin/orders").header(HttpHeaders.AUTHORIZATION, adminToken), 3);
+		RequestSqlStatistics.Snapshot largeQuality = SqlStatementBudget.assertWithinBudget(mockMvc,
+				get("/api/quality/admin/orders").header(HttpHeaders.AUTHORIZATION, adminToken), 2);
+		SqlStatementBudget.assertWithinBudget(mockMvc,
+				get("/api/admin/dispatch/monitoring").header(HttpHeaders.AUTHORIZATION, adminToken), 0);
+
+		assertThat(largeOrders.getStatements()).isEqualTo(smallOrders.getStatements());
+		assertThat(largeQuality.getStatements()).isEqualTo(smallQuality.getStatements());
+		assertThat(largeQuality.getRowsFetched()).isGreaterThan(smallQuality.getRowsFetched());
+		assertThat(largeQuality.getEntitiesLoaded()).isGreaterThanOrEqualTo(2L * 33);
+		assertThat(largeQuality.getDatabaseNanos()).isPositive();
+
+		assertThat(sqlStatementSamples("/api/quality/admin/orders")).isEqualTo(qualitySamples + 2);
+		assertThat(sqlStatementSamples("/api/admin/dispatch/monitoring")).isEqualTo(monitoringSamples + 1);
+	}
+
+	@Test
+	void latestInspectionOfEachOrderIsListedForQualityAdmins() throws Exception {
+		User admin = new User();
+		admin.setName("Budget quality admin");
+		admin.setEmail("budget.quality.admin@example.com");
+		admin.setRole("ADMIN");
+		userRepository.save(admin);
+		Order order = seedInspectedOrders("latest", 1);
+
+		RequestBuilder request = get("/api/quality/admin/orders").header(HttpHeaders.AUTHORIZATION, bearer(admin));
+		mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[?(@.orderId == '" + order.getOrderId() + "')].latestInspection.compliancePassed")
+						.value(true));
+	}
+
+	private long sqlStatementSamples(String uri) {
+		DistributionSummary summary = meterRegistry.find("http.server.sql.statements")
+				.tag("method", "GET").tag("uri", uri).summary();
+		return summary == null ? 0 : summary.count();
+	}
+
+	private Order seedInspectedOrders(String prefix, int count) {
+		Order last = null;
+		for (int i = 0; i < count; i++) {
+			User customer = new User();
+			customer.setName(prefix + " budget customer " + i);
+			customer.setEmail(prefix + ".budget" + i + "@example.com");
+			customer.setRole("CUSTOMER");
+			userRepository.save(customer);
+
+			Order order = new Order();
+			order.setOrderId("ORD-BUDGET-" + prefix.toUpperCase() + "-" + i);
+			order.setGrade("M25");
+			order.setQuantity(6);
+			order.setUser(customer);
+			order.setStatus(OrderStatus.DELIVERED);
+			order.setCreatedAt(LocalDateTime.now());
+			last = orderRepository.save(order);
+
+			saveInspection(order, false);
+			saveInspection(order, true);
+		}
+		return last;
+	}
+
+	private void saveInspection(Order order, boolean passed) {
+		QualityInspection inspection = new QualityInspection();
+		inspection.setOrder(order);
+		inspection.setCompliancePassed(passed);
+		qualityInspectionRepository.save(inspection);
+	}
+
+	private String bearer(User user) {
+		return "Bearer " + authTokenService.issue(user);
+	}
+}
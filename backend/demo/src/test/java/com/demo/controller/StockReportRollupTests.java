@@ -0,0 +1,173 @@
+package com.demo.controller;
+
+import com.demo.dto.AuthenticatedUser;
+import com.demo.entity.InventoryDailyRollup;
+import com.demo.entity.InventoryMovement;
+import com.demo.entity.RawMaterial;
+import com.demo.repository.InventoryDailyRollupRepository;
+import com.demo.repository.InventoryMovementRepository;
+import com.demo.repository.RawMaterialRepository;
+import com.demo.service.AuthTokenService;
+import com.demo.service.InventoryStockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StockReportRollupTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private RawMaterialRepository rawMaterialRepository;
+
+	@Autowired
+	private InventoryMovementRepository inventoryMovementRepository;
+
+	@Autowired
+	private InventoryDailyRollupRepository inventoryDailyRollupRepository;
+
+	@Autowired
+	private InventoryStockService inventoryStockService;
+
+	@Test
+	void movementWritesKeepTodaysRollupCurrent() throws Exception {
+		RawMaterial material = saveMaterial("Rollup Flyash", 40);
+		Long id = material.getId();
+
+		consume(id, "/consume", 5);
+		consume(id, "/restock", 12);
+		mockMvc.perform(post("/api/admin/inventory/movements/bulk")
+						.header(HttpHeaders.AUTHORIZATION, adminBearer())
+						.contentType("application/json")
+						.content("{\"movements\": ["
+								+ "{\"materialId\": " + id + ", \"movementType\": \"CONSUMPTION\", \"quantity\": 3},"
+								+ "{\"materialId\": " + id + ", \"movementType\": \"CONSUMPTION\", \"quantity\": 4}"
+								+ "]}"))
+				.andExpect(status().isOk());
+
+		InventoryDailyRollup rollup = inventoryDailyRollupRepository
+				.findByRawMaterialIdAndRollupDate(id, LocalDate.now()).orElseThrow();
+		assertThat(rollup.getConsumed()).isEqualTo(12.0);
+		assertThat(rollup.getRestocked()).isEqualTo(12.0);
+		assertThat(rollup.getMovementCount()).isEqualTo(4);
+		assertThat(rollup.getClosingBalance()).isEqualTo(40.0);
+
+		String row = "$[?(@.id == " + id + ")]";
+		mockMvc.perform(get("/api/admin/inventory/reports/stock")
+						.header(HttpHeaders.AUTHORIZATION, adminBearer())
+						.param("period", "monthly"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath(row + ".totalConsumed", contains(12.0)))
+				.andExpect(jsonPath(row + ".totalRestocked", contains(12.0)))
+				.andExpect(jsonPath(row + ".movementCount", contains(4)))
+				.andExpect(jsonPath(row + ".closingBalance", contains(40.0)));
+	}
+
+	@Test
+	void stockChangesOutsideTheLedgerMoveOnlyTheClosingBalance() throws Exception {
+		RawMaterial material = saveMaterial("Rollup Gypsum", 30);
+		Long id = material.getId();
+
+		consume(id, "/consume", 5);
+		mockMvc.perform(put("/api/admin/inventory/materials/{id}", id)
+						.header(HttpHeaders.AUTHORIZATION, adminBearer())
+						.contentType("application/json")
+						.content("{\"name\": \"Rollup Gypsum\", \"unit\": \"Kg\", \"quantity\": 50}"))
+				.andExpect(status().isOk());
+		assertThat(inventoryStockService.consumeMaterial(id, 7)).isTrue();
+
+		InventoryDailyRollup rollup = inventoryDailyRollupRepository
+				.findByRawMaterialIdAndRollupDate(id, LocalDate.now()).orElseThrow();
+		assertThat(rollup.getConsumed()).isEqualTo(5.0);
+		assertThat(rollup.getMovementCount()).isEqualTo(1);
+		assertThat(rollup.getClosingBalance()).isEqualTo(43.0);
+	}
+
+	@Test
+	void rebuildBackfillsHistoryForArbitraryRanges() throws Exception {
+		RawMaterial material = saveMaterial("Rollup Admixture", 20);
+		Long id = material.getId();
+		LocalDate threeDaysAgo = LocalDate.now().minusDays(3);
+		LocalDate twoDaysAgo = LocalDate.now().minusDays(2);
+		saveHistoricMovement(material, "RESTOCK", 10, threeDaysAgo);
+		saveHistoricMovement(material, "CONSUMPTION", 4, threeDaysAgo);
+		saveHistoricMovement(material, "CONSUMPTION", 6, twoDaysAgo);
+
+		mockMvc.perform(post("/api/admin/inventory/reports/stock/rebuild")
+						.header(HttpHeaders.AUTHORIZATION, adminBearer()))
+				.andExpect(status().isOk());
+
+		InventoryDailyRollup older = inventoryDailyRollupRepository
+				.findByRawMaterialIdAndRollupDate(id, threeDaysAgo).orElseThrow();
+		assertThat(older.getRestocked()).isEqualTo(10.0);
+		assertThat(older.getConsumed()).isEqualTo(4.0);
+		// Walked back from today's 20 units: 20 + 6 consumed two days ago.
+		assertThat(older.getClosingBalance()).isEqualTo(26.0);
+
+		String row = "$[?(@.id == " + id + ")]";
+		mockMvc.perform(get("/api/admin/inventory/reports/stock")
+						.header(HttpHeaders.AUTHORIZATION, adminBearer())
+						.param("from", threeDaysAgo.toString())
+						.param("to", twoDaysAgo.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath(row + ".totalConsumed", contains(10.0)))
+				.andExpect(jsonPath(row + ".movementCount", contains(3)))
+				.andExpect(jsonPath(row + ".closingBalance", contains(20.0)));
+
+		mockMvc.perform(get("/api/admin/inventory/reports/stock")
+						.header(HttpHeaders.AUTHORIZATION, adminBearer())
+						.param("from", threeDaysAgo.toString())
+						.param("to", threeDaysAgo.toString()))
+				.andExpect(jsonPath(row + ".totalConsumed", contains(4.0)))
+				.andExpect(jsonPath(row + ".closingBalance", contains(26.0)));
+	}
+
+	private void consume(Long materialId, String action, double quantity) throws Exception {
+		mockMvc.perform(post("/api/admin/inventory/materials/{id}" + action, materialId)
+						.header(HttpHeaders.AUTHORIZATION, adminBearer())
+						.contentType("application/json")
+						.content("{\"quantity\": " + quantity + "}"))
+				.andExpect(status().isOk());
+	}
+
+	private void saveHistoricMovement(RawMaterial material, String movementType, double quantity, LocalDate day) {
+		InventoryMovement movement = new InventoryMovement();
+		movement.setRawMaterial(material);
+		movement.setMovementType(movementType);
+		movement.setQuantity(quantity);
+		movement.setReferenceType("TEST");
+		movement.setCreatedAt(day.atTime(10, 0));
+		inventoryMovementRepository.save(movement);
+	}
+
+	private RawMaterial saveMaterial(String name, double quantity) {
+		RawMaterial material = new RawMaterial();
+		material.setName(name);
+		material.setUnit("Kg");
+		material.setQuantity(quantity);
+		return rawMaterialRepository.save(material);
+	}
+
+	private String adminBearer() {
+		return "Bearer " + authTokenService.issue(new AuthenticatedUser(0L, "rollup.admin@example.com", "ADMIN", "APPROVED"));
+	}
+}
@@ -0,0 +1,34 @@
+package com.demo.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread while capture is on.
+ * Registered for the whole test context in application.properties.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+	private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+	public static void start() {
+		CAPTURED.set(new ArrayList<>());
+	}
+
+	public static List<String> stop() {
+		List<String> statements = CAPTURED.get();
+		CAPTURED.remove();
+		return statements == null ? List.of() : statements;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		List<String> statements = CAPTURED.get();
+		if (statements != null) {
+			statements.add(sql);
+		}
+		return sql;
+	}
+}
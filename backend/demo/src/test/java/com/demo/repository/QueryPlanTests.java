@@ -0,0 +1,176 @@
+package com.demo.repository;
+
+import com.demo.entity.DeliveryTrackingStatus;
+import com.demo.entity.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each lookup finder once, EXPLAINs the SQL it issued against the migrated
+ * schema and fails when the plan reads any table end to end. Whole-table reads
+ * (admin lists, startup loads) are deliberately not in this list.
+ */
+@SpringBootTest
+class QueryPlanTests {
+
+	private static final Pattern TABLE_SCAN = Pattern.compile("/\\* ([\\w.\"]+)\\.tableScan");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderAssignmentRepository orderAssignmentRepository;
+
+	@Autowired
+	private OrderNotificationRepository orderNotificationRepository;
+
+	@Autowired
+	private ArchivedOrderNotificationRepository archivedOrderNotificationRepository;
+
+	@Autowired
+	private OrderApprovalHistoryRepository orderApprovalHistoryRepository;
+
+	@Autowired
+	private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+	@Autowired
+	private PaymentRecordRepository paymentRecordRepository;
+
+	@Autowired
+	private QualityInspectionRepository qualityInspectionRepository;
+
+	@Autowired
+	private InventoryMovementRepository inventoryMovementRepository;
+
+	@Autowired
+	private InventoryDailyRollupRepository inventoryDailyRollupRepository;
+
+	@Autowired
+	private CustomerNotificationRepository customerNotificationRepository;
+
+	@Autowired
+	private RawMaterialOrderRepository rawMaterialOrderRepository;
+
+	@Autowired
+	private VehiclePositionRepository vehiclePositionRepository;
+
+	@Autowired
+	private MixDesignRepository mixDesignRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void lookupFindersUseAnIndex() {
+		LocalDateTime now = LocalDateTime.now();
+		Map<String, Runnable> finders = new LinkedHashMap<>();
+		finders.put("OrderRepository.findByOrderId", () -> orderRepository.findByOrderId("ORD-PLAN"));
+		finders.put("OrderRepository.findByUserId", () -> orderRepository.findByUserId(1L));
+		finders.put("OrderRepository.findRefsByOrderIds", () -> orderRepository.findRefsByOrderIds(List.of("ORD-PLAN")));
+		finders.put("OrderRepository.findPayLaterReminderCandidates", () -> orderRepository.findPayLaterReminderCandidates(
+				0L, now, "Pay Later Reminder", PageRequest.of(0, 10)));
+		finders.put("OrderAssignmentRepository.findByOrder_Id", () -> orderAssignmentRepository.findByOrder_Id(1L));
+		finders.put("OrderAssignmentRepository.findByDriver_Id", () -> orderAssignmentRepository.findByDriver_Id(1L));
+		finders.put("OrderNotificationRepository.findByUserIdOrderByIdDesc", () -> orderNotificationRepository.findByUserIdOrderByIdDesc(
+				1L, PageRequest.of(0, 10)));
+		finders.put("OrderNotificationRepository.findByUserIdAndIdLessThanOrderByIdDesc", () -> orderNotificationRepository
+				.findByUserIdAndIdLessThanOrderByIdDesc(1L, 100L, PageRequest.of(0, 10)));
+		finders.put("OrderNotificationRepository.countByUserIdAndIsReadFalse", () -> orderNotificationRepository.countByUserIdAndIsReadFalse(1L));
+		finders.put("OrderNotificationRepository.findByIdAndUserId", () -> orderNotificationRepository.findByIdAndUserId(1L, 1L));
+		finders.put("OrderNotificationRepository.findRefsByCreatedAtBefore", () -> orderNotificationRepository.findRefsByCreatedAtBefore(
+				now, PageRequest.of(0, 10)));
+		finders.put("ArchivedOrderNotificationRepository.findByUserIdAndIdLessThanOrderByIdDesc", () -> archivedOrderNotificationRepository
+				.findByUserIdAndIdLessThanOrderByIdDesc(1L, 100L, PageRequest.of(0, 10)));
+		finders.put("OrderApprovalHistoryRepository.findByOrderIdOrderByActionTimeDesc", () -> orderApprovalHistoryRepository
+				.findByOrderIdOrderByActionTimeDesc("ORD-PLAN"));
+		finders.put("DispatchTripRecordRepository.findByOrder_IdOrderByTripNumberAsc", () -> dispatchTripRecordRepository
+				.findByOrder_IdOrderByTripNumberAsc(1L));
+		finders.put("DispatchTripRecordRepository.findByOrder_IdAndTripNumber", () -> dispatchTripRecordRepository
+				.findByOrder_IdAndTripNumber(1L, 1));
+		finders.put("DispatchTripRecordRepository.findByOrderIdsOrderByTripNumber", () -> dispatchTripRecordRepository
+				.findByOrderIdsOrderByTripNumber(List.of(1L, 2L)));
+		finders.put("PaymentRecordRepository.findByOrder_OrderIdOrderByPaidAtDesc", () -> paymentRecordRepository
+				.findByOrder_OrderIdOrderByPaidAtDesc("ORD-PLAN"));
+		finders.put("PaymentRecordRepository.findByOrder_Id", () -> paymentRecordRepository.findByOrder_Id(1L));
+		finders.put("QualityInspectionRepository.findByOrder_IdOrderByRecordedAtDesc", () -> qualityInspectionRepository
+				.findByOrder_IdOrderByRecordedAtDesc(1L));
+		finders.put("QualityInspectionRepository.findFirstByOrder_IdOrderByRecordedAtDesc", () -> qualityInspectionRepository
+				.findFirstByOrder_IdOrderByRecordedAtDesc(1L));
+		finders.put("InventoryMovementRepository.findByRawMaterial_IdOrderByCreatedAtDesc", () -> inventoryMovementRepository
+				.findByRawMaterial_IdOrderByCreatedAtDesc(1L));
+		finders.put("InventoryMovementRepository.findByRawMaterial_IdAndCreatedAtBetweenOrderByCreatedAtDesc", () -> inventoryMovementRepository
+				.findByRawMaterial_IdAndCreatedAtBetweenOrderByCreatedAtDesc(1L, now.minusDays(7), now));
+		finders.put("InventoryMovementRepository.findByCreatedAtBetweenOrderByCreatedAtDesc", () -> inventoryMovementRepository
+				.findByCreatedAtBetweenOrderByCreatedAtDesc(now.minusDays(7), now));
+		finders.put("InventoryDailyRollupRepository.findByRawMaterialIdAndRollupDate", () -> inventoryDailyRollupRepository
+				.findByRawMaterialIdAndRollupDate(1L, LocalDate.now()));
+		finders.put("CustomerNotificationRepository.findByUser_IdAndDeletedFalseOrderByCreatedAtDesc", () -> customerNotificationRepository
+				.findByUser_IdAndDeletedFalseOrderByCreatedAtDesc(1L));
+		finders.put("RawMaterialOrderRepository.findByUserIdOrderByCreatedAtDesc", () -> rawMaterialOrderRepository
+				.findByUserIdOrderByCreatedAtDesc(1L));
+		finders.put("VehiclePositionRepository.findRoute", () -> vehiclePositionRepository.findRoute(
+				"ORD-PLAN", now.minusHours(1), now, PageRequest.of(0, 10)));
+		finders.put("VehiclePositionRepository.countByOrderNumber", () -> vehiclePositionRepository.countByOrderNumber("ORD-PLAN"));
+		finders.put("MixDesignRepository.findByMixDesignId", () -> mixDesignRepository.findByMixDesignId("MD-PLAN"));
+		finders.put("UserRepository.findByEmail", () -> userRepository.findByEmail("plan@example.com"));
+		finders.put("UserRepository.findByNumber", () -> userRepository.findByNumber("9000000000"));
+		finders.put("UserRepository.findByEmailAndResetOtp", () -> userRepository.findByEmailAndResetOtp("plan@example.com", "123456"));
+
+		List<String> scans = new ArrayList<>();
+		finders.forEach((finder, call) -> {
+			CapturingStatementInspector.start();
+			try {
+				call.run();
+			} finally {
+				List<String> statements = CapturingStatementInspector.stop();
+				assertThat(statements).as(finder + " issued no SQL").isNotEmpty();
+				for (String sql : statements) {
+					String plan = explain(sql);
+					Matcher matcher = TABLE_SCAN.matcher(plan);
+					while (matcher.find()) {
+						scans.add(finder + " scans " + matcher.group(1) + ": " + plan);
+					}
+				}
+			}
+		});
+
+		assertThat(scans).isEmpty();
+	}
+
+	// Parameters are bound as NULL; H2 picks its access path from the predicates, not the values.
+	private String explain(String sql) {
+		return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+			try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+				int parameters = statement.getParameterMetaData().getParameterCount();
+				for (int i = 1; i <= parameters; i++) {
+					statement.setNull(i, Types.NULL);
+				}
+				try (ResultSet plan = statement.executeQuery()) {
+					plan.next();
+					return plan.getString(1).replace('\n', ' ');
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,72 @@
+package com.demo.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a database that already has the pre-migration schema, as an
+ * existing installation would: Flyway baselines it at version 1, runs the later
+ * migrations, and Hibernate validates the mapping against the result.
+ */
+@SpringBootTest(properties = {
+		"spring.flyway.baseline-on-migrate=true",
+		"spring.flyway.baseline-version=1"
+})
+class SchemaMigrationTests {
+
+	private static final String URL = "jdbc:h2:mem:rmc_pre_flyway;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void preFlywayDatabase(DynamicPropertyRegistry registry) throws SQLException {
+		try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+			ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/pre-flyway-schema.sql"));
+			try (Statement statement = connection.createStatement()) {
+				// Left behind by builds that created the notification indexes through ddl-auto.
+				statement.execute("create index idx_order_notifications_user_order on order_notifications (user_id, order_id, created_at)");
+				statement.execute("create index idx_order_notifications_created on order_notifications (created_at)");
+			}
+		}
+		registry.add("spring.datasource.url", () -> URL);
+	}
+
+	@Test
+	void existingSchemaIsBaselinedMigratedAndValidated() {
+		MigrationInfo[] applied = flyway.info().applied();
+		assertThat(applied[0].getVersion().getVersion()).isEqualTo("1");
+		assertThat(applied[0].getType().isBaseline()).isTrue();
+		assertThat(flyway.info().pending()).isEmpty();
+		assertThat(flyway.info().current().getVersion()).isEqualTo(flyway.info().all()[flyway.info().all().length - 1].getVersion());
+
+		assertThat(indexCount("order_notifications", "idx_order_notifications_user_order")).isZero();
+		assertThat(indexCount("order_notifications", "idx_order_notifications_user_order_type")).isPositive();
+		assertThat(indexCount("order_notifications", "idx_order_notifications_created")).isPositive();
+		assertThat(jdbcTemplate.queryForObject("select count(*) from vehicle_positions", Long.class)).isZero();
+	}
+
+	private long indexCount(String table, String index) {
+		return jdbcTemplate.queryForObject(
+				"select count(*) from information_schema.indexes where table_name = ? and index_name = ?",
+				Long.class, table, index);
+	}
+}
@@ -0,0 +1,124 @@
+package com.demo.service;
+
+import com.demo.dto.DispatchWindowView;
+import com.demo.entity.Driver;
+import com.demo.entity.Order;
+import com.demo.entity.OrderAssignment;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.TransitMixer;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DispatchAvailabilityIndexTests {
+
+	private static final LocalDateTime NINE = LocalDateTime.of(2026, 5, 4, 9, 0);
+
+	private final DispatchAvailabilityIndex index = new DispatchAvailabilityIndex();
+
+	@Test
+	void refreshMovesAnExistingWindow() {
+		Order order = order(1L, NINE, NINE.plusHours(2), OrderStatus.DISPATCHED);
+		index.refresh(order, assignment("TM-1", "Ravi"));
+
+		order.setDispatchDateTime(NINE.plusHours(4));
+		order.setExpectedArrivalTime(NINE.plusHours(6));
+		index.refresh(order, assignment("TM-1", "Ravi"));
+
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.findOverlapping(NINE, NINE.plusHours(2))).isEmpty();
+		assertThat(index.findOverlapping(NINE.plusHours(5), NINE.plusHours(5).plusMinutes(1)))
+				.extracting(DispatchWindowView::getOrderId).containsExactly(1L);
+		assertThat(index.reserve(2L, "ORD-2", "tm-1", "Ravi", NINE, NINE.plusHours(2))).isNull();
+
+		index.remove(1L);
+		assertThat(index.findOverlapping(NINE.plusHours(4), NINE.plusHours(6))).isEmpty();
+	}
+
+	@Test
+	void deliveredAndReturnedOrdersReleaseTheirMixerAndDriver() {
+		Order delivered = order(1L, NINE, NINE.plusHours(2), OrderStatus.DISPATCHED);
+		Order returned = order(2L, NINE, NINE.plusHours(2), OrderStatus.DISPATCHED);
+		index.refresh(delivered, assignment("TM-1", "Ravi"));
+		index.refresh(returned, assignment("TM-2", "Arun"));
+		assertThat(index.size()).isEqualTo(2);
+
+		delivered.setStatus(OrderStatus.DELIVERED);
+		returned.setStatus(OrderStatus.RETURNED);
+		index.refresh(delivered, assignment("TM-1", "Ravi"));
+		index.refresh(returned, assignment("TM-2", "Arun"));
+
+		assertThat(index.size()).isZero();
+		assertThat(index.reserve(3L, "ORD-3", "TM-1", "Arun", NINE, NINE.plusHours(2))).isNull();
+	}
+
+	@Test
+	void reserveRefusesATakenMixerOrDriverButNotTheOrdersOwnWindow() {
+		assertThat(index.reserve(1L, "ORD-1", "TM-1", "Ravi", NINE, NINE.plusHours(2))).isNull();
+
+		DispatchAvailabilityIndex.WindowConflict mixerTaken = index.reserve(2L, "ORD-2", " tm-1 ", "Arun", NINE.plusHours(1), NINE.plusHours(3));
+		assertThat(mixerTaken.isMixer()).isTrue();
+		assertThat(mixerTaken.getWindow().getOrderNumber()).isEqualTo("ORD-1");
+
+		DispatchAvailabilityIndex.WindowConflict driverTaken = index.reserve(2L, "ORD-2", "TM-2", "RAVI", NINE.plusHours(1), NINE.plusHours(3));
+		assertThat(driverTaken.isMixer()).isFalse();
+		assertThat(driverTaken.getWindow().getOrderNumber()).isEqualTo("ORD-1");
+		assertThat(index.size()).isEqualTo(1);
+
+		// Back to back is fine, and an order can move within its own window.
+		assertThat(index.reserve(2L, "ORD-2", "TM-1", "Ravi", NINE.plusHours(2), NINE.plusHours(4))).isNull();
+		assertThat(index.reserve(1L, "ORD-1", "TM-1", "Ravi", NINE.minusHours(1), NINE.plusHours(1))).isNull();
+		assertThat(index.findOverlapping(NINE.plusMinutes(90), NINE.plusMinutes(100))).isEmpty();
+	}
+
+	@Test
+	void concurrentReservationsBookAMixerOnce() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<DispatchAvailabilityIndex.WindowConflict>> attempts = new ArrayList<>();
+			for (long orderId = 1; orderId <= 32; orderId++) {
+				long id = orderId;
+				attempts.add(() -> index.reserve(id, "ORD-" + id, "TM-RACE", "Driver " + id, NINE, NINE.plusHours(2)));
+			}
+			int booked = 0;
+			for (Future<DispatchAvailabilityIndex.WindowConflict> result : pool.invokeAll(attempts)) {
+				if (result.get() == null) {
+					booked++;
+				}
+			}
+			assertThat(booked).isEqualTo(1);
+			assertThat(index.size()).isEqualTo(1);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static Order order(Long id, LocalDateTime dispatch, LocalDateTime arrival, OrderStatus status) {
+		Order order = new Order();
+		order.setId(id);
+		order.setOrderId("ORD-" + id);
+		order.setDispatchDateTime(dispatch);
+		order.setExpectedArrivalTime(arrival);
+		order.setStatus(status);
+		return order;
+	}
+
+	private static OrderAssignment assignment(String mixerNumber, String driverName) {
+		TransitMixer mixer = new TransitMixer();
+		mixer.setMixerNumber(mixerNumber);
+		Driver driver = new Driver();
+		driver.setDriverName(driverName);
+		OrderAssignment assignment = new OrderAssignment();
+		assignment.setTransitMixer(mixer);
+		assignment.setDriver(driver);
+		return assignment;
+	}
+}
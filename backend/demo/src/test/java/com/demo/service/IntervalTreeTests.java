@@ -0,0 +1,93 @@
+package com.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTests {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2026, 5, 4, 0, 0);
+
+	@Test
+	void touchingIntervalsDoNotOverlap() {
+		IntervalTree<String> tree = new IntervalTree<>();
+		tree.insert(at(8, 0), at(10, 0), 1, "morning");
+
+		assertThat(overlapping(tree, at(10, 0), at(12, 0))).isEmpty();
+		assertThat(overlapping(tree, at(6, 0), at(8, 0))).isEmpty();
+		assertThat(overlapping(tree, at(9, 59), at(10, 1))).containsExactly("morning");
+		assertThat(overlapping(tree, at(7, 0), at(8, 1))).containsExactly("morning");
+	}
+
+	@Test
+	void identicalStartsAreKeptApartById() {
+		IntervalTree<String> tree = new IntervalTree<>();
+		tree.insert(at(9, 0), at(10, 0), 2, "second");
+		tree.insert(at(9, 0), at(11, 0), 1, "first");
+
+		assertThat(tree.size()).isEqualTo(2);
+		assertThat(overlapping(tree, at(9, 30), at(9, 45))).containsExactly("first", "second");
+		assertThat(overlapping(tree, at(10, 30), at(10, 45))).containsExactly("first");
+
+		assertThat(tree.remove(at(9, 0), 1)).isTrue();
+		assertThat(tree.remove(at(9, 0), 1)).isFalse();
+		assertThat(tree.remove(at(9, 0), 3)).isFalse();
+		assertThat(tree.size()).isEqualTo(1);
+		assertThat(overlapping(tree, at(9, 30), at(10, 45))).containsExactly("second");
+		// The removed node's end no longer counts towards the subtree maximum.
+		assertThat(overlapping(tree, at(10, 30), at(10, 45))).isEmpty();
+	}
+
+	@Test
+	void matchesABruteForceScanUnderRandomChanges() {
+		Random random = new Random(42);
+		IntervalTree<Long> tree = new IntervalTree<>();
+		Map<Long, LocalDateTime[]> intervals = new HashMap<>();
+
+		for (int step = 0; step < 5000; step++) {
+			long id = random.nextInt(400);
+			LocalDateTime[] existing = intervals.get(id);
+			if (existing != null && random.nextBoolean()) {
+				assertThat(tree.remove(existing[0], id)).isTrue();
+				intervals.remove(id);
+			} else if (existing == null) {
+				LocalDateTime start = DAY.plusMinutes(random.nextInt(24 * 60));
+				LocalDateTime end = start.plusMinutes(1 + random.nextInt(240));
+				tree.insert(start, end, id, id);
+				intervals.put(id, new LocalDateTime[]{start, end});
+			}
+
+			LocalDateTime from = DAY.plusMinutes(random.nextInt(24 * 60));
+			LocalDateTime to = from.plusMinutes(1 + random.nextInt(180));
+			List<Long> expected = new ArrayList<>();
+			intervals.forEach((key, interval) -> {
+				if (interval[0].isBefore(to) && interval[1].isAfter(from)) {
+					expected.add(key);
+				}
+			});
+			List<Long> actual = new ArrayList<>();
+			tree.collectOverlapping(from, to, actual);
+
+			assertThat(actual).as("overlaps of [%s, %s) at step %d", from, to, step)
+					.containsExactlyInAnyOrderElementsOf(expected);
+			assertThat(tree.size()).isEqualTo(intervals.size());
+		}
+	}
+
+	private static List<String> overlapping(IntervalTree<String> tree, LocalDateTime from, LocalDateTime to) {
+		List<String> out = new ArrayList<>();
+		tree.collectOverlapping(from, to, out);
+		return out;
+	}
+
+	private static LocalDateTime at(int hour, int minute) {
+		return DAY.withHour(hour).withMinute(minute);
+	}
+}
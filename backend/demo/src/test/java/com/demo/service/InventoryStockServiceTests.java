@@ -0,0 +1,145 @@
+package com.demo.service;
+
+import com.demo.entity.ConcreteProductStock;
+import com.demo.entity.RawMaterial;
+import com.demo.repository.ConcreteProductStockRepository;
+import com.demo.repository.InventoryMovementRepository;
+import com.demo.repository.RawMaterialRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class InventoryStockServiceTests {
+
+	private static final int THREADS = 16;
+	private static final int ATTEMPTS_PER_THREAD = 25;
+
+	@Autowired
+	private InventoryStockService inventoryStockService;
+
+	@Autowired
+	private RawMaterialRepository rawMaterialRepository;
+
+	@Autowired
+	private ConcreteProductStockRepository productStockRepository;
+
+	@Autowired
+	private InventoryMovementRepository inventoryMovementRepository;
+
+	@Test
+	void concurrentConsumptionNeverOverdrawsAndLedgerMatches() throws Exception {
+		RawMaterial material = new RawMaterial();
+		material.setName("Stress Cement");
+		material.setUnit("Bags");
+		material.setQuantity(500);
+		material = rawMaterialRepository.save(material);
+		Long materialId = material.getId();
+
+		AtomicInteger succeeded = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		runConcurrently(() -> {
+			try {
+				inventoryStockService.adjustMaterial(materialId, InventoryStockService.CONSUMPTION, 2.0, "TEST", "", "");
+				succeeded.incrementAndGet();
+			} catch (IllegalStateException e) {
+				rejected.incrementAndGet();
+			}
+			return null;
+		});
+
+		// 400 attempts of 2 units against 500 in stock: exactly 250 fit.
+		assertThat(succeeded.get()).isEqualTo(250);
+		assertThat(rejected.get()).isEqualTo(THREADS * ATTEMPTS_PER_THREAD - 250);
+		assertThat(rawMaterialRepository.findById(materialId).orElseThrow().getQuantity()).isZero();
+		assertThat(inventoryMovementRepository.findByRawMaterial_IdOrderByCreatedAtDesc(materialId)).hasSize(250);
+	}
+
+	@Test
+	void concurrentRestockAndConsumptionKeepExactBalance() throws Exception {
+		RawMaterial material = new RawMaterial();
+		material.setName("Stress Sand");
+		material.setUnit("Tons");
+		material.setQuantity(1000);
+		material = rawMaterialRepository.save(material);
+		Long materialId = material.getId();
+
+		AtomicInteger calls = new AtomicInteger();
+		runConcurrently(() -> {
+			String movementType = calls.incrementAndGet() % 2 == 0
+					? InventoryStockService.RESTOCK
+					: InventoryStockService.CONSUMPTION;
+			inventoryStockService.adjustMaterial(materialId, movementType, 1.5, "TEST", "", "");
+			return null;
+		});
+
+		assertThat(rawMaterialRepository.findById(materialId).orElseThrow().getQuantity()).isEqualTo(1000.0);
+		assertThat(inventoryMovementRepository.findByRawMaterial_IdOrderByCreatedAtDesc(materialId))
+				.hasSize(THREADS * ATTEMPTS_PER_THREAD);
+	}
+
+	@Test
+	void productReservationsStopAtZero() throws Exception {
+		ConcreteProductStock product = new ConcreteProductStock();
+		product.setName("Stress M40");
+		product.setUnit("m3");
+		product.setAvailableQuantity(30);
+		product = productStockRepository.save(product);
+		Long productId = product.getId();
+
+		AtomicInteger reserved = new AtomicInteger();
+		runConcurrently(() -> {
+			if (inventoryStockService.reserveProduct(productId, 1.0)) {
+				reserved.incrementAndGet();
+			}
+			return null;
+		});
+
+		assertThat(reserved.get()).isEqualTo(30);
+		assertThat(productStockRepository.findById(productId).orElseThrow().getAvailableQuantity()).isZero();
+	}
+
+	@Test
+	void consumingMissingMaterialIsReportedAsNotFound() {
+		assertThatThrownBy(() -> inventoryStockService.adjustMaterial(
+				Long.MAX_VALUE, InventoryStockService.CONSUMPTION, 1.0, "TEST", "", ""))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Material not found");
+	}
+
+	private void runConcurrently(Callable<Void> attempt) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int thread = 0; thread < THREADS; thread++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+						attempt.call();
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.demo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveUpdateBrokerTests {
+
+	private final LiveUpdateBroker broker = new LiveUpdateBroker();
+	private final CountDownLatch unblock = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() {
+		unblock.countDown();
+		broker.shutdown();
+	}
+
+	@Test
+	void clientsThatStopReadingDoNotHoldUpOthers() throws Exception {
+		BlockingQueue<Object> started = new LinkedBlockingQueue<>();
+		for (int i = 0; i < 8; i++) {
+			broker.subscribe("order:STALLED", new BlockedEmitter(started), null, null);
+		}
+		broker.publish("order:STALLED", "tracking", "stalled", null);
+		for (int i = 0; i < 8; i++) {
+			assertThat(started.poll(5, TimeUnit.SECONDS)).as("send %d started", i).isNotNull();
+		}
+
+		RecordingEmitter healthy = new RecordingEmitter();
+		broker.subscribe("order:HEALTHY", healthy, null, null);
+		broker.publish("order:HEALTHY", "tracking", "moving", null);
+
+		assertThat(healthy.sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+	}
+
+	@Test
+	void subscriberStuckInOneSendIsDropped() throws Exception {
+		BlockingQueue<Object> started = new LinkedBlockingQueue<>();
+		BlockedEmitter stalled = new BlockedEmitter(started);
+		broker.subscribe("order:SLOW", stalled, null, null);
+		broker.subscribe("order:SLOW", new RecordingEmitter(), null, null);
+		broker.publish("order:SLOW", "tracking", "first", null);
+		assertThat(started.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+		assertThat(broker.dropStalledSubscribers(System.currentTimeMillis())).isZero();
+		assertThat(broker.dropStalledSubscribers(System.currentTimeMillis() + LiveUpdateBroker.SEND_TIMEOUT_MS + 1)).isEqualTo(1);
+		assertThat(broker.subscriberCount()).isEqualTo(1);
+
+		unblock.countDown();
+		assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	// A client whose socket has stopped accepting writes.
+	private class BlockedEmitter extends SseEmitter {
+		private final BlockingQueue<Object> started;
+		private final CountDownLatch completed = new CountDownLatch(1);
+
+		private BlockedEmitter(BlockingQueue<Object> started) {
+			this.started = started;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			started.add(builder);
+			try {
+				unblock.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public void complete() {
+			completed.countDown();
+		}
+	}
+
+	private static class RecordingEmitter extends SseEmitter {
+		private final BlockingQueue<Object> sent = new LinkedBlockingQueue<>();
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			sent.add(builder);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package com.demo.service;
+
+import com.demo.entity.MailDeliveryFailure;
+import com.demo.entity.User;
+import com.demo.repository.MailDeliveryFailureRepository;
+import com.demo.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MailDeliveryServiceTests {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	@Autowired
+	private MailDeliveryService mailDeliveryService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MailDeliveryFailureRepository mailDeliveryFailureRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void resetOtpIsMailedOffTheRequestThread() throws Exception {
+		User user = new User();
+		user.setName("Mail customer");
+		user.setEmail("mail.customer@example.com");
+		user.setRole("CUSTOMER");
+		userRepository.save(user);
+
+		userService.sendResetOtp("mail.customer@example.com");
+
+		assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+		MimeMessage received = greenMail.getReceivedMessages()[0];
+		String otp = userRepository.findByEmail("mail.customer@example.com").orElseThrow().getResetOtp();
+		assertThat(GreenMailUtil.getBody(received)).contains(otp);
+		assertThat(GreenMailUtil.getAddressList(received.getAllRecipients())).isEqualTo("mail.customer@example.com");
+	}
+
+	@Test
+	void failedSendIsRetriedUntilTheServerIsBack() throws Exception {
+		long retriedBefore = ((Number) mailDeliveryService.getStats().get("retried")).longValue();
+		greenMail.stop();
+
+		SimpleMailMessage message = new SimpleMailMessage();
+		message.setFrom("erp@example.com");
+		message.setTo("retry.customer@example.com");
+		message.setSubject("Retry check");
+		message.setText("Sent after a retry");
+		assertThat(mailDeliveryService.submit(message, "TEST")).isTrue();
+		Thread.sleep(300);
+		greenMail.start();
+
+		assertThat(greenMail.waitForIncomingEmail(10000, 1)).isTrue();
+		assertThat(greenMail.getReceivedMessages()[0].getSubject()).isEqualTo("Retry check");
+		assertThat(((Number) mailDeliveryService.getStats().get("retried")).longValue()).isGreaterThan(retriedBefore);
+	}
+
+	@Test
+	void failedResetMailIsLoggedWithoutItsOtp() throws Exception {
+		greenMail.stop();
+
+		mailDeliveryService.submit(mail("reset.failure@example.com", "Reset OTP", "Your OTP is 482913"), "PASSWORD_RESET");
+		mailDeliveryService.submit(mail("update.failure@example.com", "Order update", "Your order is on the way"), "TEST");
+
+		MailDeliveryFailure reset = awaitFailure("reset.failure@example.com");
+		MailDeliveryFailure update = awaitFailure("update.failure@example.com");
+		assertThat(reset.getSubject()).isEqualTo("Reset OTP");
+		assertThat(reset.getLastError()).isNotBlank();
+		assertThat(reset.getBody()).isNull();
+		assertThat(update.getBody()).isEqualTo("Your order is on the way");
+
+		String adminView = objectMapper.writeValueAsString(mailDeliveryService.getRecentFailures());
+		assertThat(adminView).contains("reset.failure@example.com").doesNotContain("482913").doesNotContain("\"body\"");
+	}
+
+	private SimpleMailMessage mail(String to, String subject, String text) {
+		SimpleMailMessage message = new SimpleMailMessage();
+		message.setFrom("erp@example.com");
+		message.setTo(to);
+		message.setSubject(subject);
+		message.setText(text);
+		return message;
+	}
+
+	private MailDeliveryFailure awaitFailure(String recipient) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 15000;
+		while (System.currentTimeMillis() < deadline) {
+			List<MailDeliveryFailure> failures = mailDeliveryFailureRepository.findAll();
+			Optional<MailDeliveryFailure> match = failures.stream()
+					.filter(failure -> recipient.equals(failure.getRecipients()))
+					.findFirst();
+			if (match.isPresent()) {
+				return match.get();
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("No failure recorded for " + recipient);
+	}
+}
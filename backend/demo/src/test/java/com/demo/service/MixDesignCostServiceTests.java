@@ -0,0 +1,105 @@
+package com.demo.service;
+
+import com.demo.dto.MixDesignBatchCostRequest;
+import com.demo.dto.MixDesignLineUpdateRequest;
+import com.demo.dto.MixDesignSheetUpdateRequest;
+import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
+import com.demo.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class MixDesignCostServiceTests {
+
+	@Autowired
+	private MixDesignCostService mixDesignCostService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void batchPricesActiveOrdersUnderHypotheticalRates() {
+		saveOrder("ORD-MIXCOST-1", "M 7.5", 10, OrderStatus.APPROVED);
+		saveOrder("ORD-MIXCOST-2", "M-7.5", 4, OrderStatus.DELIVERED);
+		saveOrder("ORD-MIXCOST-3", "M99", 2, OrderStatus.IN_PRODUCTION);
+
+		MixDesignBatchCostRequest request = new MixDesignBatchCostRequest();
+		request.setRates(Map.of("admixture", 100.0));
+		Map<String, Object> result = mixDesignCostService.priceBatch(request);
+
+		// M7.5 sheet: 2614 per m3, of which admixture is 2 kg at 59.
+		Map<String, Object> row = orderRow(result, "ORD-MIXCOST-1");
+		assertThat(row.get("costPerM3")).isEqualTo(2696.0);
+		assertThat(row.get("totalCost")).isEqualTo(26960.0);
+		assertThat(row.get("baselineTotalCost")).isEqualTo(26140.0);
+		assertThat(orderRow(result, "ORD-MIXCOST-2")).isNull();
+		assertThat((List<Object>) result.get("unpricedOrders")).contains("ORD-MIXCOST-3");
+
+		request.setIncludeCompleted(true);
+		assertThat(orderRow(mixDesignCostService.priceBatch(request), "ORD-MIXCOST-2").get("totalCost"))
+				.isEqualTo(10784.0);
+
+		request.setRates(Map.of("Unobtainium", 1.0));
+		assertThatThrownBy(() -> mixDesignCostService.priceBatch(request))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Unknown ingredient Unobtainium");
+	}
+
+	@Test
+	void sheetEditsReplaceTheCachedCatalog() {
+		saveOrder("ORD-MIXCOST-4", "M7.5", 1, OrderStatus.DISPATCHED);
+		assertThat(summary("ORD-MIXCOST-4").get("costPerM3")).isEqualTo(2614.0);
+
+		try {
+			mixDesignCostService.updateSheet("m7.5", sheetUpdate("Admixture", 60.0));
+
+			assertThat(summary("ORD-MIXCOST-4").get("costPerM3")).isEqualTo(2616.0);
+		} finally {
+			mixDesignCostService.updateSheet("M7.5", sheetUpdate("Admixture", 59.0));
+		}
+		assertThat(summary("ORD-MIXCOST-4").get("costPerM3")).isEqualTo(2614.0);
+
+		assertThatThrownBy(() -> mixDesignCostService.updateSheet("M7.5", sheetUpdate("Steel", 1.0)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> summary(String orderId) {
+		return (Map<String, Object>) mixDesignCostService.calculateForOrder(orderId).get("summary");
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> orderRow(Map<String, Object> result, String orderId) {
+		return ((List<Map<String, Object>>) result.get("orders")).stream()
+				.filter(row -> orderId.equals(row.get("orderId")))
+				.findFirst()
+				.orElse(null);
+	}
+
+	private MixDesignSheetUpdateRequest sheetUpdate(String ingredient, double rate) {
+		MixDesignLineUpdateRequest line = new MixDesignLineUpdateRequest();
+		line.setIngredient(ingredient);
+		line.setRate(rate);
+		MixDesignSheetUpdateRequest request = new MixDesignSheetUpdateRequest();
+		request.setLines(List.of(line));
+		return request;
+	}
+
+	private void saveOrder(String orderNumber, String grade, double quantity, OrderStatus status) {
+		Order order = new Order();
+		order.setOrderId(orderNumber);
+		order.setGrade(grade);
+		order.setQuantity(quantity);
+		order.setStatus(status);
+		orderRepository.save(order);
+	}
+}
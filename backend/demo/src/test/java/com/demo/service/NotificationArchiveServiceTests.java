@@ -0,0 +1,98 @@
+package com.demo.service;
+
+import com.demo.entity.NotificationType;
+import com.demo.entity.OrderNotification;
+import com.demo.entity.User;
+import com.demo.repository.ArchivedOrderNotificationRepository;
+import com.demo.repository.OrderNotificationRepository;
+import com.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class NotificationArchiveServiceTests {
+
+	@Autowired
+	private NotificationArchiveService notificationArchiveService;
+
+	@Autowired
+	private OrderNotificationService orderNotificationService;
+
+	@Autowired
+	private OrderNotificationRepository orderNotificationRepository;
+
+	@Autowired
+	private ArchivedOrderNotificationRepository archivedOrderNotificationRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void oldNotificationsMoveToArchiveAndStayInPagedHistory() {
+		User customer = new User();
+		customer.setName("Archive customer");
+		customer.setEmail("archive.customer@example.com");
+		customer.setRole("CUSTOMER");
+		userRepository.save(customer);
+		LocalDateTime now = LocalDateTime.now();
+
+		OrderNotification oldest = saveNotification(customer.getId(), "ORD-ARCHIVE-1", now.minusDays(400), true);
+		OrderNotification old = saveNotification(customer.getId(), "ORD-ARCHIVE-2", now.minusDays(200), false);
+		OrderNotification recent = saveNotification(customer.getId(), "ORD-ARCHIVE-3", now.minusDays(2), false);
+		assertThat(orderNotificationService.getUnreadCount(customer.getId())).isEqualTo(2);
+
+		NotificationArchiveService.RunReport report = notificationArchiveService.archive();
+
+		assertThat(report.getNotificationsMoved()).isGreaterThanOrEqualTo(2);
+		assertThat(orderNotificationRepository.findAllById(List.of(oldest.getId(), old.getId()))).isEmpty();
+		assertThat(archivedOrderNotificationRepository.findById(old.getId()))
+				.hasValueSatisfying(archived -> {
+					assertThat(archived.getOrderId()).isEqualTo("ORD-ARCHIVE-2");
+					assertThat(archived.isRead()).isFalse();
+					assertThat(archived.getArchivedAt()).isNotNull();
+				});
+		assertThat(orderNotificationService.getUnreadCount(customer.getId())).isEqualTo(1);
+		assertThat(orderNotificationService.getRecentNotifications(customer.getId()))
+				.extracting(OrderNotification::getId)
+				.containsExactly(recent.getId());
+		assertThat(orderNotificationService.getNotificationsBefore(customer.getId(), recent.getId(), 10))
+				.extracting(OrderNotification::getId)
+				.containsExactly(old.getId(), oldest.getId());
+	}
+
+	@Test
+	void markAllAsReadUpdatesEveryUnreadRowAtOnce() {
+		User customer = new User();
+		customer.setName("Read-all customer");
+		customer.setEmail("readall.customer@example.com");
+		customer.setRole("CUSTOMER");
+		userRepository.save(customer);
+		LocalDateTime now = LocalDateTime.now();
+		saveNotification(customer.getId(), "ORD-READALL-1", now.minusHours(3), false);
+		saveNotification(customer.getId(), "ORD-READALL-2", now.minusHours(2), false);
+		saveNotification(customer.getId(), "ORD-READALL-3", now.minusHours(1), true);
+
+		assertThat(orderNotificationService.markAllAsRead(customer.getId())).isEqualTo(2);
+		assertThat(orderNotificationRepository.countByUserIdAndIsReadFalse(customer.getId())).isZero();
+		assertThat(orderNotificationService.getUnreadCount(customer.getId())).isZero();
+		assertThat(orderNotificationService.markAllAsRead(customer.getId())).isZero();
+	}
+
+	private OrderNotification saveNotification(Long userId, String orderNumber, LocalDateTime createdAt, boolean read) {
+		OrderNotification notification = new OrderNotification();
+		notification.setUserId(userId);
+		notification.setOrderId(orderNumber);
+		notification.setTitle("Order Approved");
+		notification.setMessage("Your order has been approved.");
+		notification.setType(NotificationType.ORDER_APPROVED);
+		notification.setRead(read);
+		notification.setCreatedAt(createdAt);
+		return orderNotificationRepository.save(notification);
+	}
+}
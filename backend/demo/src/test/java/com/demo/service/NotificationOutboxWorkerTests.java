@@ -0,0 +1,82 @@
+package com.demo.service;
+
+import com.demo.entity.NotificationType;
+import com.demo.entity.Order;
+import com.demo.entity.OrderNotification;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.User;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class NotificationOutboxWorkerTests {
+
+	@Autowired
+	private OrderNotificationService orderNotificationService;
+
+	@Autowired
+	private NotificationOutboxWorker notificationOutboxWorker;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	void drainStoresQueuedNotificationsAndDropsRepeats() {
+		Order order = saveOrder("ORD-OUTBOX-1", "outbox.customer@example.com");
+
+		orderNotificationService.createNotification(order, NotificationType.DISPATCH_SCHEDULED);
+		orderNotificationService.createNotification(order, NotificationType.DISPATCH_SCHEDULED);
+		orderNotificationService.createNotification(order, NotificationType.VEHICLE_ASSIGNED);
+		notificationOutboxWorker.drain();
+
+		List<OrderNotification> stored = orderNotificationService.getNotificationsByUser(order.getUser().getId());
+		assertThat(stored).extracting(OrderNotification::getType)
+				.containsExactlyInAnyOrder(NotificationType.DISPATCH_SCHEDULED, NotificationType.VEHICLE_ASSIGNED);
+		assertThat(stored).allSatisfy(notification -> assertThat(notification.getId()).isNotNull());
+		assertThat(orderNotificationService.getUnreadCount(order.getUser().getId())).isEqualTo(2);
+		assertThat(notificationOutboxWorker.pendingCount()).isZero();
+	}
+
+	@Test
+	void rolledBackWriteLeavesNoNotification() {
+		Order order = saveOrder("ORD-OUTBOX-2", "outbox.customer2@example.com");
+
+		transactionTemplate.executeWithoutResult(status -> {
+			orderNotificationService.createNotification(order, NotificationType.ORDER_APPROVED);
+			status.setRollbackOnly();
+		});
+		notificationOutboxWorker.drain();
+
+		assertThat(orderNotificationService.getNotificationsByUser(order.getUser().getId())).isEmpty();
+	}
+
+	private Order saveOrder(String orderNumber, String email) {
+		User customer = new User();
+		customer.setName("Outbox customer");
+		customer.setEmail(email);
+		customer.setRole("CUSTOMER");
+		userRepository.save(customer);
+
+		Order order = new Order();
+		order.setOrderId(orderNumber);
+		order.setGrade("M20");
+		order.setQuantity(3);
+		order.setUser(customer);
+		order.setStatus(OrderStatus.APPROVED);
+		return orderRepository.save(order);
+	}
+}
@@ -0,0 +1,96 @@
+package com.demo.service;
+
+import com.demo.entity.NotificationType;
+import com.demo.entity.Order;
+import com.demo.entity.OrderNotification;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.User;
+import com.demo.repository.OrderNotificationRepository;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PayLaterReminderServiceTests {
+
+	@Autowired
+	private PayLaterReminderService payLaterReminderService;
+
+	@Autowired
+	private NotificationOutboxWorker notificationOutboxWorker;
+
+	@Autowired
+	private OrderNotificationRepository orderNotificationRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	void remindsOnlyUnpaidApprovedCreditOrdersNotRemindedRecently() {
+		User customer = new User();
+		customer.setName("Reminder customer");
+		customer.setEmail("reminder.customer@example.com");
+		customer.setRole("CUSTOMER");
+		userRepository.save(customer);
+		LocalDateTime now = LocalDateTime.now();
+
+		saveCreditOrder("ORD-REMIND-DUE", customer, now.minusDays(3), null);
+		saveCreditOrder("ORD-REMIND-RECENT", customer, now.minusDays(5), null);
+		saveCreditOrder("ORD-REMIND-PAID", customer, now.minusDays(3), now.minusDays(1));
+		saveCreditOrder("ORD-REMIND-NEW", customer, now.minusHours(12), null);
+		OrderNotification earlier = new OrderNotification();
+		earlier.setUserId(customer.getId());
+		earlier.setOrderId("ORD-REMIND-RECENT");
+		earlier.setTitle("Pay Later Reminder");
+		earlier.setMessage("Pay Later reminder: payment is pending for order ORD-REMIND-RECENT.");
+		earlier.setType(NotificationType.DELIVERY_STATUS_UPDATED);
+		earlier.setCreatedAt(now.minusDays(1));
+		orderNotificationRepository.save(earlier);
+
+		PayLaterReminderService.RunReport report = payLaterReminderService.sendReminders();
+		notificationOutboxWorker.drain();
+
+		assertThat(report.getOrdersScanned()).isGreaterThanOrEqualTo(2);
+		assertThat(report.getRemindersSent()).isGreaterThanOrEqualTo(1);
+		assertThat(payLaterReminderService.getLastReport()).isSameAs(report);
+		List<OrderNotification> reminders = orderNotificationRepository.findByUserIdOrderByCreatedAtDesc(customer.getId());
+		assertThat(reminders).extracting(OrderNotification::getOrderId)
+				.containsExactlyInAnyOrder("ORD-REMIND-DUE", "ORD-REMIND-RECENT");
+		assertThat(reminders).filteredOn(n -> n.getOrderId().equals("ORD-REMIND-DUE"))
+				.singleElement()
+				.satisfies(n -> assertThat(n.getMessage()).startsWith("Pay Later reminder: payment is pending for order ORD-REMIND-DUE."));
+
+		// The reminder just sent holds off the next one for two days.
+		payLaterReminderService.sendReminders();
+		notificationOutboxWorker.drain();
+		assertThat(orderNotificationRepository.findByUserIdOrderByCreatedAtDesc(customer.getId())).hasSize(2);
+	}
+
+	private void saveCreditOrder(String orderNumber, User customer, LocalDateTime requestedAt, LocalDateTime paidAt) {
+		Order order = new Order();
+		order.setOrderId(orderNumber);
+		order.setGrade("M25");
+		order.setQuantity(4);
+		order.setUser(customer);
+		order.setStatus(OrderStatus.APPROVED);
+		order.setPaymentOption("PAY_LATER");
+		order.setPaymentType("PAY_LATER");
+		order.setCreditStatus("APPROVED");
+		order.setCreditApprovalStatus("APPROVED");
+		order.setOrderWorkflowStatus("CREDIT_APPROVED");
+		order.setCreditRequestedAt(requestedAt);
+		order.setCreatedAt(requestedAt);
+		order.setPaymentReceivedAt(paidAt);
+		orderRepository.save(order);
+	}
+}
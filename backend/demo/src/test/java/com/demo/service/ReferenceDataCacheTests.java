@@ -0,0 +1,68 @@
+package com.demo.service;
+
+import com.demo.dto.StockMovementRequest;
+import com.demo.entity.Driver;
+import com.demo.entity.RawMaterial;
+import com.demo.repository.CapturingStatementInspector;
+import com.demo.repository.DriverRepository;
+import com.demo.repository.RawMaterialRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReferenceDataCacheTests {
+
+	@Autowired
+	private DriverRepository driverRepository;
+
+	@Autowired
+	private RawMaterialRepository rawMaterialRepository;
+
+	@Autowired
+	private InventoryStockService inventoryStockService;
+
+	@Test
+	void cachedFinderSkipsTheDatabaseAndSeesUpdates() {
+		Driver driver = new Driver();
+		driver.setDriverName("Cache Driver");
+		driver.setDriverShift("DAY");
+		driver = driverRepository.save(driver);
+
+		driverRepository.findByDriverNameIgnoreCase("cache driver").orElseThrow();
+		CapturingStatementInspector.start();
+		Driver cached = driverRepository.findByDriverNameIgnoreCase("cache driver").orElseThrow();
+		List<String> statements = CapturingStatementInspector.stop();
+
+		assertThat(statements).isEmpty();
+		assertThat(cached.getDriverShift()).isEqualTo("DAY");
+
+		driver.setDriverShift("NIGHT");
+		driverRepository.save(driver);
+		assertThat(driverRepository.findByDriverNameIgnoreCase("cache driver").orElseThrow().getDriverShift())
+				.isEqualTo("NIGHT");
+		assertThat(driverRepository.findById(driver.getId()).orElseThrow().getDriverShift()).isEqualTo("NIGHT");
+	}
+
+	@Test
+	void bulkMovementEvictsCachedMaterial() {
+		RawMaterial material = new RawMaterial();
+		material.setName("Cache Cement");
+		material.setUnit("Bags");
+		material.setQuantity(100);
+		Long materialId = rawMaterialRepository.save(material).getId();
+		assertThat(rawMaterialRepository.findById(materialId).orElseThrow().getQuantity()).isEqualTo(100.0);
+
+		StockMovementRequest consume = new StockMovementRequest();
+		consume.setMaterialId(materialId);
+		consume.setMovementType(InventoryStockService.CONSUMPTION);
+		consume.setQuantity(30.0);
+		inventoryStockService.applyBulk(List.of(consume));
+
+		assertThat(rawMaterialRepository.findById(materialId).orElseThrow().getQuantity()).isEqualTo(70.0);
+	}
+}
@@ -0,0 +1,175 @@
+package com.demo.service;
+
+import com.demo.entity.DispatchTripRecord;
+import com.demo.entity.DispatchTripStatus;
+import com.demo.entity.Order;
+import com.demo.entity.OrderStatus;
+import com.demo.entity.User;
+import com.demo.repository.DispatchTripRecordRepository;
+import com.demo.repository.OrderRepository;
+import com.demo.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TripSummaryServiceTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AuthTokenService authTokenService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TripSummaryService tripSummaryService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private DispatchTripRecordRepository dispatchTripRecordRepository;
+
+	@Test
+	void applyTripChangeTracksDeliveredTripsAndFuelDeltas() {
+		Order order = new Order();
+		order.setPlannedTrips(3);
+
+		DispatchTripRecord trip = new DispatchTripRecord();
+		trip.setTripNumber(1);
+		trip.setStatus(DispatchTripStatus.DISPATCHED);
+		trip.setFuelUsedLiters(10.0);
+		tripSummaryService.applyTripChange(order, false, null, trip);
+
+		assertThat(order.getCompletedTrips()).isZero();
+		assertThat(order.getTotalFuelUsedLiters()).isEqualTo(10.0);
+
+		LocalDateTime deliveredTime = LocalDateTime.of(2026, 3, 1, 14, 0);
+		trip.setStatus(DispatchTripStatus.DELIVERED);
+		trip.setFuelUsedLiters(18.0);
+		trip.setDeliveredTime(deliveredTime);
+		tripSummaryService.applyTripChange(order, false, 10.0, trip);
+
+		assertThat(order.getCompletedTrips()).isEqualTo(1);
+		assertThat(order.getTotalFuelUsedLiters()).isEqualTo(18.0);
+		assertThat(order.getDeliveredAt()).isEqualTo(deliveredTime);
+
+		trip.setStatus(DispatchTripStatus.RETURNED);
+		tripSummaryService.applyTripChange(order, true, 18.0, trip);
+
+		assertThat(order.getCompletedTrips()).isZero();
+		assertThat(order.getTotalFuelUsedLiters()).isEqualTo(18.0);
+	}
+
+	@Test
+	void reconcileRepairsDriftedCountersOnly() {
+		LocalDateTime deliveredTime = LocalDateTime.of(2026, 3, 2, 9, 30);
+		Order drifted = saveOrderWithTrips("ORD-DRIFT-1", deliveredTime);
+		drifted.setCompletedTrips(5);
+		drifted.setTotalFuelUsedLiters(1.0);
+		drifted.setDeliveredAt(null);
+		orderRepository.save(drifted);
+
+		Order inSync = saveOrderWithTrips("ORD-DRIFT-2", deliveredTime);
+		tripSummaryService.recalculate(inSync);
+		orderRepository.save(inSync);
+
+		tripSummaryService.reconcile();
+
+		Order repaired = orderRepository.findById(drifted.getId()).orElseThrow();
+		assertThat(repaired.getCompletedTrips()).isEqualTo(1);
+		assertThat(repaired.getTotalFuelUsedLiters()).isEqualTo(45.0);
+		assertThat(repaired.getDeliveredAt()).isEqualTo(deliveredTime);
+
+		assertThat(tripSummaryService.reconcile()).isZero();
+	}
+
+	@Test
+	void concurrentTripDeliveriesAreAllCounted() throws Exception {
+		User admin = new User();
+		admin.setName("Trip admin");
+		admin.setEmail("trip.admin@example.com");
+		admin.setRole("ADMIN");
+		admin.setApprovalStatus("APPROVED");
+		String bearer = "Bearer " + authTokenService.issue(userRepository.save(admin));
+
+		Order order = new Order();
+		order.setOrderId("ORD-TRIP-RACE");
+		order.setGrade("M25");
+		order.setQuantity(24);
+		order.setStatus(OrderStatus.DISPATCHED);
+		order.setPlannedTrips(4);
+		orderRepository.save(order);
+
+		ExecutorService callers = Executors.newFixedThreadPool(4);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> calls = new ArrayList<>();
+		for (int trip = 1; trip <= 4; trip++) {
+			String body = "{\"tripNumber\": " + trip + ", \"status\": \"DELIVERED\", \"fuelUsedLiters\": 10.0}";
+			calls.add(callers.submit(() -> {
+				start.await();
+				mockMvc.perform(post("/api/admin/orders/{orderId}/trips", "ORD-TRIP-RACE")
+								.header(HttpHeaders.AUTHORIZATION, bearer)
+								.contentType("application/json")
+								.content(body))
+						.andExpect(status().isOk());
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> call : calls) {
+			call.get();
+		}
+		callers.shutdown();
+
+		Order saved = orderRepository.findByOrderId("ORD-TRIP-RACE").orElseThrow();
+		assertThat(saved.getCompletedTrips()).isEqualTo(4);
+		assertThat(saved.getTotalFuelUsedLiters()).isEqualTo(40.0);
+		assertThat(saved.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+	}
+
+	private Order saveOrderWithTrips(String orderNumber, LocalDateTime deliveredTime) {
+		Order order = new Order();
+		order.setOrderId(orderNumber);
+		order.setGrade("M30");
+		order.setQuantity(12);
+		order.setStatus(OrderStatus.DELIVERED);
+		order.setPlannedTrips(2);
+		order = orderRepository.save(order);
+
+		DispatchTripRecord delivered = new DispatchTripRecord();
+		delivered.setOrder(order);
+		delivered.setTripNumber(1);
+		delivered.setStatus(DispatchTripStatus.DELIVERED);
+		delivered.setDeliveredTime(deliveredTime);
+		delivered.setFuelUsedLiters(25.0);
+		dispatchTripRecordRepository.save(delivered);
+
+		DispatchTripRecord returned = new DispatchTripRecord();
+		returned.setOrder(order);
+		returned.setTripNumber(2);
+		returned.setStatus(DispatchTripStatus.RETURNED);
+		returned.setFuelUsedLiters(20.0);
+		dispatchTripRecordRepository.save(returned);
+		return order;
+	}
+}
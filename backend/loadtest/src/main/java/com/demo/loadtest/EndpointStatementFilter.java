@@ -0,0 +1,48 @@
+package com.demo.loadtest;
+
+import com.demo.config.RequestSqlStatistics;
+import com.demo.config.SqlStatementBudgetFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Books the SQL statements the application recorded for each request the driver
+ * sends under the endpoint named in its {@value #ENDPOINT_HEADER} header. Runs
+ * outside the application's own {@link SqlStatementBudgetFilter}, so the request's
+ * statistics are in place once the chain returns.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EndpointStatementFilter extends OncePerRequestFilter {
+
+    static final String ENDPOINT_HEADER = "X-Load-Test-Endpoint";
+
+    @Autowired
+    private LoadTestMetrics metrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String endpoint = request.getHeader(ENDPOINT_HEADER);
+        if (endpoint == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.getAttribute(RequestSqlStatistics.REQUEST_ATTRIBUTE) instanceof RequestSqlStatistics.Snapshot snapshot) {
+                metrics.recordStatements(endpoint, snapshot.getStatements());
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.demo.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Virtual users hitting the running application over loopback HTTP. Each one loops
+ * over the three scenarios, picked by weight from its own seeded {@link Random}:
+ * a customer polling an order's tracking page and inbox, an admin scheduling a
+ * dispatch, and a burst of plant stock consumption. A warm-up pass runs first and
+ * is not reported.
+ */
+class LoadTestDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestDriver.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int BULK_LINES = 10;
+
+    private final String baseUrl;
+    private final LoadTestSettings settings;
+    private final LoadTestSeeder seeded;
+    private final LoadTestMetrics metrics;
+    private final HttpClient client;
+
+    LoadTestDriver(int port, LoadTestSettings settings, LoadTestSeeder seeded, LoadTestMetrics metrics) {
+        this.baseUrl = "http://localhost:" + port;
+        this.settings = settings;
+        this.seeded = seeded;
+        this.metrics = metrics;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    LoadTestReport run() throws Exception {
+        log.info("Warming up with {} requests", settings.getWarmupRequests());
+        drive(settings.getWarmupRequests(), settings.getSeed() + 1_000);
+        metrics.reset();
+
+        log.info("Driving {} requests from {} virtual users", settings.getRequests(), settings.getVirtualUsers());
+        long started = System.nanoTime();
+        drive(settings.getRequests(), settings.getSeed());
+        long elapsed = System.nanoTime() - started;
+        return new LoadTestReport(LoadTestReport.describe(settings), seeded.getSeeded(), elapsed, metrics.results(elapsed));
+    }
+
+    private void drive(int requests, long seed) throws Exception {
+        AtomicInteger budget = new AtomicInteger(requests);
+        ExecutorService users = Executors.newFixedThreadPool(settings.getVirtualUsers());
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int user = 0; user < settings.getVirtualUsers(); user++) {
+                VirtualUser virtualUser = new VirtualUser(new Random(seed + user), budget);
+                running.add(users.submit(virtualUser::run));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } finally {
+            users.shutdownNow();
+        }
+    }
+
+    private final class VirtualUser {
+        private final Random random;
+        private final AtomicInteger budget;
+        private final int totalWeight;
+
+        private VirtualUser(Random random, AtomicInteger budget) {
+            this.random = random;
+            this.budget = budget;
+            this.totalWeight = settings.getCustomerTrackingWeight() + settings.getDispatchSchedulingWeight()
+                    + settings.getInventoryBurstWeight();
+        }
+
+        void run() {
+            while (budget.get() > 0) {
+                int pick = random.nextInt(totalWeight);
+                if (pick < settings.getCustomerTrackingWeight()) {
+                    customerTracking();
+                } else if (pick < settings.getCustomerTrackingWeight() + settings.getDispatchSchedulingWeight()) {
+                    dispatchScheduling();
+                } else {
+                    inventoryBurst();
+                }
+            }
+        }
+
+        private void customerTracking() {
+            LoadTestSeeder.CustomerOrder order = pick(seeded.getTrackedOrders());
+            get("GET /api/notifications/my/{userId}/unread-count",
+                    "/api/notifications/my/" + order.userId + "/unread-count");
+            get("GET /api/delivery-tracking/orders/{orderId}",
+                    "/api/delivery-tracking/orders/" + order.orderNumber + "?userId=" + order.userId);
+            if (random.nextInt(5) == 0) {
+                get("GET /api/notifications/my/{userId}", "/api/notifications/my/" + order.userId);
+            }
+            if (random.nextInt(10) == 0) {
+                get("GET /api/orders/my-orders/{userId}", "/api/orders/my-orders/" + order.userId);
+            }
+        }
+
+        private void dispatchScheduling() {
+            String adminToken = pick(seeded.getAdminTokens());
+            String orderNumber = pick(seeded.getSchedulableOrders());
+            LocalDateTime dispatchAt = LocalDate.now().plusDays(1 + random.nextInt(30)).atTime(6 + random.nextInt(12), 0);
+            LocalDateTime eta = dispatchAt.plusMinutes(90);
+
+            get("GET /api/admin/orders?status", "/api/admin/orders?limit=50&status=APPROVED");
+            send("GET /api/admin/dispatch/availability", HttpRequest.newBuilder(
+                    uri("/api/admin/dispatch/availability?windowStart=" + dispatchAt.toLocalDate().atStartOfDay()
+                            + "&windowEnd=" + dispatchAt.toLocalDate().plusDays(1).atStartOfDay()))
+                    .header("Authorization", "Bearer " + adminToken).GET());
+            send("PUT /api/admin/orders/{orderId}/schedule/dispatch", HttpRequest.newBuilder(
+                    uri("/api/admin/orders/" + orderNumber + "/schedule/dispatch"))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .PUT(json("{\"dispatchDateTime\":\"" + dispatchAt + "\",\"expectedArrivalTime\":\"" + eta
+                            + "\",\"tripPlanning\":\"AUTO\",\"deliverySequence\":\"1\"}")));
+            send("GET /api/admin/dispatch/monitoring", HttpRequest.newBuilder(uri("/api/admin/dispatch/monitoring"))
+                    .header("Authorization", "Bearer " + adminToken).GET());
+        }
+
+        private void inventoryBurst() {
+            StringBuilder lines = new StringBuilder();
+            for (int i = 0; i < BULK_LINES; i++) {
+                lines.append(i == 0 ? "" : ",")
+                        .append("{\"materialId\":").append(pick(seeded.getMaterialIds()))
+                        .append(",\"movementType\":\"").append(i % 4 == 0 ? "RESTOCK" : "CONSUMPTION")
+                        .append("\",\"quantity\":").append(1 + random.nextInt(50))
+                        .append(",\"referenceType\":\"LOAD_TEST\"}");
+            }
+            send("POST /api/admin/inventory/movements/bulk", HttpRequest.newBuilder(uri("/api/admin/inventory/movements/bulk"))
+                    .POST(json("{\"movements\":[" + lines + "]}")));
+            for (int i = 0; i < 3; i++) {
+                send("POST /api/admin/inventory/materials/{id}/consume", HttpRequest.newBuilder(
+                        uri("/api/admin/inventory/materials/" + pick(seeded.getMaterialIds()) + "/consume"))
+                        .POST(json("{\"quantity\":" + (1 + random.nextInt(20)) + ",\"referenceType\":\"LOAD_TEST\"}")));
+            }
+            get("GET /api/admin/inventory/movements?limit", "/api/admin/inventory/movements?limit=50");
+        }
+
+        private <T> T pick(List<T> values) {
+            return values.get(random.nextInt(values.size()));
+        }
+
+        private void get(String endpoint, String path) {
+            send(endpoint, HttpRequest.newBuilder(uri(path)).GET());
+        }
+
+        private void send(String endpoint, HttpRequest.Builder request) {
+            if (budget.getAndDecrement() <= 0) {
+                return;
+            }
+            HttpRequest built = request
+                    .timeout(REQUEST_TIMEOUT)
+                    .header(EndpointStatementFilter.ENDPOINT_HEADER, endpoint)
+                    .header("Content-Type", "application/json")
+                    .build();
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(built, HttpResponse.BodyHandlers.discarding());
+                metrics.recordResponse(endpoint, System.nanoTime() - started, response.statusCode());
+            } catch (IOException e) {
+                metrics.recordTransportError(endpoint);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                budget.set(0);
+            }
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+}
@@ -0,0 +1,111 @@
+package com.demo.loadtest;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint samples of one run: client-side latencies and status codes from the
+ * driver, statement counts from {@link EndpointStatementFilter}.
+ */
+@Component
+public class LoadTestMetrics {
+
+    private final Map<String, EndpointSamples> byEndpoint = new ConcurrentHashMap<>();
+
+    void recordResponse(String endpoint, long latencyNanos, int status) {
+        samples(endpoint).addResponse(latencyNanos, status);
+    }
+
+    void recordTransportError(String endpoint) {
+        samples(endpoint).addTransportError();
+    }
+
+    void recordStatements(String endpoint, int statements) {
+        samples(endpoint).addStatements(statements);
+    }
+
+    // Drops everything recorded so far; called after the warm-up.
+    void reset() {
+        byEndpoint.clear();
+    }
+
+    List<LoadTestReport.EndpointResult> results(long elapsedNanos) {
+        List<LoadTestReport.EndpointResult> results = new ArrayList<>();
+        for (Map.Entry<String, EndpointSamples> entry : byEndpoint.entrySet()) {
+            results.add(entry.getValue().toResult(entry.getKey(), elapsedNanos));
+        }
+        results.sort((a, b) -> a.getEndpoint().compareTo(b.getEndpoint()));
+        return results;
+    }
+
+    private EndpointSamples samples(String endpoint) {
+        return byEndpoint.computeIfAbsent(endpoint, key -> new EndpointSamples());
+    }
+
+    private static final class EndpointSamples {
+        private long[] latencies = new long[1024];
+        private int responses;
+        private int clientErrors;
+        private int serverErrors;
+        private int transportErrors;
+        private long statements;
+        private int statementSamples;
+        private int maxStatements;
+
+        synchronized void addResponse(long latencyNanos, int status) {
+            if (responses == latencies.length) {
+                latencies = Arrays.copyOf(latencies, responses * 2);
+            }
+            latencies[responses++] = latencyNanos;
+            if (status >= 500) {
+                serverErrors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            }
+        }
+
+        synchronized void addTransportError() {
+            transportErrors++;
+        }
+
+        synchronized void addStatements(int count) {
+            statements += count;
+            statementSamples++;
+            maxStatements = Math.max(maxStatements, count);
+        }
+
+        synchronized LoadTestReport.EndpointResult toResult(String endpoint, long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(latencies, responses);
+            Arrays.sort(sorted);
+            return new LoadTestReport.EndpointResult(
+                    endpoint,
+                    responses,
+                    responses * 1_000_000_000.0 / Math.max(1, elapsedNanos),
+                    millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                    clientErrors,
+                    serverErrors,
+                    transportErrors,
+                    statementSamples == 0 ? 0.0 : (double) statements / statementSamples,
+                    maxStatements);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+}
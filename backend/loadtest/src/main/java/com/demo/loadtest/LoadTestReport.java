@@ -0,0 +1,182 @@
+package com.demo.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a run: the settings and seeded volumes, overall throughput and one row
+ * per endpoint. Printed as a table and written as JSON for comparing runs.
+ */
+public final class LoadTestReport {
+
+    private final LocalDateTime finishedAt;
+    private final Map<String, Object> settings;
+    private final Map<String, Integer> seeded;
+    private final int requests;
+    private final double elapsedSeconds;
+    private final double throughputPerSecond;
+    private final int transportErrors;
+    private final List<EndpointResult> endpoints;
+
+    LoadTestReport(Map<String, Object> settings, Map<String, Integer> seeded, long elapsedNanos, List<EndpointResult> endpoints) {
+        this.finishedAt = LocalDateTime.now();
+        this.settings = settings;
+        this.seeded = seeded;
+        this.endpoints = endpoints;
+        this.requests = endpoints.stream().mapToInt(EndpointResult::getRequests).sum();
+        this.transportErrors = endpoints.stream().mapToInt(EndpointResult::getTransportErrors).sum();
+        this.elapsedSeconds = Math.round(elapsedNanos / 1_000_000.0) / 1000.0;
+        this.throughputPerSecond = round(requests * 1_000_000_000.0 / Math.max(1, elapsedNanos));
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Map<String, Object> getSettings() {
+        return settings;
+    }
+
+    public Map<String, Integer> getSeeded() {
+        return seeded;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public int getTransportErrors() {
+        return transportErrors;
+    }
+
+    public List<EndpointResult> getEndpoints() {
+        return endpoints;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%d requests in %.1f s, %.1f req/s, seeded %s%n%n", requests, elapsedSeconds, throughputPerSecond, seeded);
+        out.printf("%-72s %7s %9s %9s %9s %9s %6s %6s %8s %6s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p99 ms", "max ms", "4xx", "5xx", "sql avg", "sql max");
+        for (EndpointResult row : endpoints) {
+            out.printf("%-72s %7d %9.1f %9.2f %9.2f %9.2f %6d %6d %8.1f %6d%n",
+                    row.getEndpoint(), row.getRequests(), row.getThroughputPerSecond(), row.getP50Millis(),
+                    row.getP99Millis(), row.getMaxMillis(), row.getClientErrors(), row.getServerErrors(),
+                    row.getStatementsPerRequest(), row.getMaxStatements());
+        }
+        out.println();
+    }
+
+    void write(Path file) throws IOException {
+        ObjectMapper mapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        mapper.writeValue(file.toFile(), this);
+    }
+
+    static Map<String, Object> describe(LoadTestSettings settings) {
+        Map<String, Object> described = new LinkedHashMap<>();
+        described.put("seed", settings.getSeed());
+        described.put("virtualUsers", settings.getVirtualUsers());
+        described.put("requests", settings.getRequests());
+        described.put("warmupRequests", settings.getWarmupRequests());
+        described.put("customerTrackingWeight", settings.getCustomerTrackingWeight());
+        described.put("dispatchSchedulingWeight", settings.getDispatchSchedulingWeight());
+        described.put("inventoryBurstWeight", settings.getInventoryBurstWeight());
+        return described;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    public static final class EndpointResult {
+        private final String endpoint;
+        private final int requests;
+        private final double throughputPerSecond;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+        private final int clientErrors;
+        private final int serverErrors;
+        private final int transportErrors;
+        private final double statementsPerRequest;
+        private final int maxStatements;
+
+        EndpointResult(String endpoint, int requests, double throughputPerSecond, double p50Millis, double p99Millis,
+                       double maxMillis, int clientErrors, int serverErrors, int transportErrors,
+                       double statementsPerRequest, int maxStatements) {
+            this.endpoint = endpoint;
+            this.requests = requests;
+            this.throughputPerSecond = round(throughputPerSecond);
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+            this.clientErrors = clientErrors;
+            this.serverErrors = serverErrors;
+            this.transportErrors = transportErrors;
+            this.statementsPerRequest = round(statementsPerRequest);
+            this.maxStatements = maxStatements;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+
+        public double getThroughputPerSecond() {
+            return throughputPerSecond;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        public int getClientErrors() {
+            return clientErrors;
+        }
+
+        public int getServerErrors() {
+            return serverErrors;
+        }
+
+        public int getTransportErrors() {
+            return transportErrors;
+        }
+
+        public double getStatementsPerRequest() {
+            return statementsPerRequest;
+        }
+
+        public int getMaxStatements() {
+            return maxStatements;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.demo.loadtest;
+
+import com.demo.RmcBackendApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Boots the unchanged application on an in-memory H2 database in MySQL mode, lets
+ * {@link LoadTestSeeder} fill it, drives the scenarios over loopback HTTP and writes
+ * the report. The harness beans in this package are picked up by the application's
+ * own component scan.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    // Override application.properties so the run needs neither MySQL nor a mail server.
+    private static final Map<String, Object> OVERRIDES = new LinkedHashMap<>();
+
+    static {
+        OVERRIDES.put("spring.datasource.url", "jdbc:h2:mem:rmc_loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        OVERRIDES.put("spring.datasource.username", "sa");
+        OVERRIDES.put("spring.datasource.password", "");
+        OVERRIDES.put("spring.datasource.hikari.maximum-pool-size", "20");
+        OVERRIDES.put("spring.mail.host", "localhost");
+        OVERRIDES.put("spring.mail.port", "3025");
+        OVERRIDES.put("mail.order-updates.enabled", "false");
+        OVERRIDES.put("server.port", "0");
+        OVERRIDES.put("management.server.port", "-1");
+        OVERRIDES.put("logging.level.root", "WARN");
+        OVERRIDES.put("logging.level.com.demo.loadtest", "INFO");
+        // Statements per request are in the report; one budget warning per request would drown the output.
+        OVERRIDES.put("logging.level.com.demo.config.SqlStatementBudgetFilter", "ERROR");
+    }
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RmcBackendApplication.class)
+                .initializers(applicationContext -> {
+                    MutablePropertySources sources = applicationContext.getEnvironment().getPropertySources();
+                    MapPropertySource overrides = new MapPropertySource("loadTestOverrides", OVERRIDES);
+                    // Command line arguments still win, so any of these can be changed per run.
+                    if (sources.contains("commandLineArgs")) {
+                        sources.addAfter("commandLineArgs", overrides);
+                    } else {
+                        sources.addFirst(overrides);
+                    }
+                })
+                .run(args);
+
+        int exitCode;
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestSettings settings = context.getBean(LoadTestSettings.class);
+            LoadTestMetrics metrics = context.getBean(LoadTestMetrics.class);
+            LoadTestSeeder seeder = context.getBean(LoadTestSeeder.class);
+
+            LoadTestDriver driver = new LoadTestDriver(port, settings, seeder, metrics);
+            LoadTestReport report = driver.run();
+            report.print(System.out);
+            report.write(settings.getReportFile());
+            log.info("Report written to {}", settings.getReportFile().toAbsolutePath());
+            exitCode = report.getTransportErrors() == 0 ? 0 : 1;
+        } finally {
+            SpringApplication.exit(context);
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,309 @@
+package com.demo.loadtest;
+
+import com.demo.dto.AuthenticatedUser;
+import com.demo.service.AuthTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the empty database with users, fleet, orders with assignments and trips,
+ * stock movements and notifications. Runs on {@link ApplicationStartedEvent}, after
+ * Flyway and before the application's own ready-time loads (availability index,
+ * monitoring board, stock rollups), so those start from the seeded data exactly as
+ * they would in production. Rows go in as JDBC batches.
+ */
+@Component
+public class LoadTestSeeder implements ApplicationListener<ApplicationStartedEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int ADMINS = 5;
+    private static final String[] GRADES = {"M10", "M15", "M20", "M25", "M30", "M35", "M40"};
+    private static final String[] NOTIFICATION_TITLES = {
+            "Order Approved", "Dispatch Scheduled", "Vehicle Assigned", "Delivery Status Updated", "Order Delivered"};
+    private static final String[] NOTIFICATION_TYPES = {
+            "ORDER_APPROVED", "DISPATCH_SCHEDULED", "VEHICLE_ASSIGNED", "DELIVERY_STATUS_UPDATED", "ORDER_DELIVERED"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LoadTestSettings settings;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    private final List<String> adminTokens = new ArrayList<>();
+    private final List<Long> materialIds = new ArrayList<>();
+    private final List<CustomerOrder> trackedOrders = new ArrayList<>();
+    private final List<String> schedulableOrders = new ArrayList<>();
+    private final Map<String, Integer> seeded = new LinkedHashMap<>();
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        long started = System.nanoTime();
+        Random random = new Random(settings.getSeed());
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        List<Long> customerIds = seedUsers();
+        List<Long> mixerIds = seedMixers();
+        List<Long> driverIds = seedDrivers();
+        seedMaterials(now);
+        List<SeededOrder> orders = seedOrders(random, now, customerIds);
+        seedAssignments(random, orders, mixerIds, driverIds);
+        seedTrips(orders);
+        seedMovements(random, now);
+        seedNotifications(random, now, orders);
+
+        log.info("Seeded {} in {} ms", seeded, (System.nanoTime() - started) / 1_000_000L);
+    }
+
+    // Signed login tokens of the seeded admins, sent as bearer credentials.
+    List<String> getAdminTokens() {
+        return adminTokens;
+    }
+
+    List<Long> getMaterialIds() {
+        return materialIds;
+    }
+
+    // Orders a customer can open the tracking page for, with their owner.
+    List<CustomerOrder> getTrackedOrders() {
+        return trackedOrders;
+    }
+
+    // Approved orders with a mixer and driver, ready for dispatch scheduling.
+    List<String> getSchedulableOrders() {
+        return schedulableOrders;
+    }
+
+    Map<String, Integer> getSeeded() {
+        return seeded;
+    }
+
+    private List<Long> seedUsers() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= ADMINS; i++) {
+            rows.add(new Object[]{"Load Admin " + i, "load.admin" + i + "@example.com", String.format("90%08d", i), "ADMIN", "APPROVED"});
+        }
+        for (int i = 1; i <= settings.getCustomers(); i++) {
+            rows.add(new Object[]{"Load Customer " + i, "load.customer" + i + "@example.com", String.format("98%08d", i), "CUSTOMER", null});
+        }
+        List<Long> ids = insertReturningIds("users",
+                "insert into users (name, email, number, role, approval_status) values (?, ?, ?, ?, ?)", rows);
+        for (int i = 0; i < ADMINS; i++) {
+            adminTokens.add(authTokenService.issue(new AuthenticatedUser(ids.get(i), "load.admin" + (i + 1) + "@example.com", "ADMIN", "APPROVED")));
+        }
+        seeded.put("users", ids.size());
+        return ids.subList(ADMINS, ids.size());
+    }
+
+    private List<Long> seedMixers() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= settings.getFleetSize(); i++) {
+            rows.add(new Object[]{String.format("LT-TM-%03d", i), i % 3 == 0 ? 8.0 : 6.0});
+        }
+        seeded.put("transitMixers", rows.size());
+        return insertReturningIds("transit_mixers", "insert into transit_mixers (mixer_number, capacitym3) values (?, ?)", rows);
+    }
+
+    private List<Long> seedDrivers() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= settings.getFleetSize(); i++) {
+            rows.add(new Object[]{"Load Driver " + i, i % 2 == 0 ? "EVENING" : "MORNING"});
+        }
+        seeded.put("drivers", rows.size());
+        return insertReturningIds("drivers", "insert into drivers (driver_name, driver_shift) values (?, ?)", rows);
+    }
+
+    private void seedMaterials(LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= settings.getMaterials(); i++) {
+            // Deep enough that consumption bursts never run a material out during a run.
+            rows.add(new Object[]{"Load Material " + i, "kg", 10_000_000.0, 500.0, 5.0 + i, "Load Supplier", Timestamp.valueOf(now)});
+        }
+        materialIds.addAll(insertReturningIds("raw_materials",
+                "insert into raw_materials (name, unit, quantity, reorder_level, price_per_unit, supplier, updated_at) "
+                        + "values (?, ?, ?, ?, ?, ?, ?)", rows));
+        seeded.put("rawMaterials", rows.size());
+    }
+
+    /**
+     * Half delivered, a fifth on the road, the rest approved, in production or awaiting
+     * approval, created over the last 180 days.
+     */
+    private List<SeededOrder> seedOrders(Random random, LocalDateTime now, List<Long> customerIds) {
+        List<SeededOrder> orders = new ArrayList<>(settings.getOrders());
+        List<Object[]> rows = new ArrayList<>(settings.getOrders());
+        for (int i = 1; i <= settings.getOrders(); i++) {
+            int roll = random.nextInt(100);
+            String status = roll < 50 ? "DELIVERED" : roll < 70 ? "DISPATCHED" : roll < 85 ? "APPROVED" : roll < 95 ? "IN_PRODUCTION" : "PENDING_APPROVAL";
+            double quantity = 2 + random.nextInt(40);
+            int plannedTrips = (int) Math.ceil(quantity / 6.0);
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(180 * 24 * 60));
+            LocalDateTime dispatch = null;
+            LocalDateTime eta = null;
+            String tracking = null;
+            if ("DISPATCHED".equals(status)) {
+                dispatch = now.plusMinutes(random.nextInt(48 * 60) - 24 * 60);
+                eta = dispatch.plusMinutes(60 + random.nextInt(60));
+                tracking = random.nextBoolean() ? "IN_TRANSIT" : "DISPATCHED";
+            } else if ("DELIVERED".equals(status)) {
+                dispatch = createdAt.plusDays(1);
+                eta = dispatch.plusMinutes(90);
+                tracking = "DELIVERED";
+            }
+            boolean delivered = "DELIVERED".equals(status);
+            SeededOrder order = new SeededOrder(String.format("LT-%07d", i), customerIds.get(random.nextInt(customerIds.size())),
+                    status, plannedTrips, dispatch);
+            orders.add(order);
+            rows.add(new Object[]{
+                    order.orderNumber, order.userId, GRADES[random.nextInt(GRADES.length)], quantity, quantity * 5200,
+                    "Site " + i + ", Ring Road", status, "PAY_NOW", "PAY_NOW", Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(createdAt.plusDays(2)), timestamp(dispatch), timestamp(eta), tracking,
+                    plannedTrips, delivered ? plannedTrips : 0, delivered ? 12.5 * plannedTrips : 0.0,
+                    delivered ? timestamp(eta) : null});
+        }
+        List<Long> ids = insertReturningIds("orders", "insert into orders (order_id, user_id, grade, quantity, total_price, address, status, payment_option, "
+                + "payment_type, created_at, delivery_date, dispatch_date_time, expected_arrival_time, delivery_tracking_status, "
+                + "planned_trips, completed_trips, total_fuel_used_liters, delivered_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        for (int i = 0; i < orders.size(); i++) {
+            SeededOrder order = orders.get(i);
+            order.id = ids.get(i);
+            if (!"PENDING_APPROVAL".equals(order.status)) {
+                trackedOrders.add(new CustomerOrder(order.userId, order.orderNumber));
+            }
+            if ("APPROVED".equals(order.status)) {
+                schedulableOrders.add(order.orderNumber);
+            }
+        }
+        seeded.put("orders", orders.size());
+        return orders;
+    }
+
+    private void seedAssignments(Random random, List<SeededOrder> orders, List<Long> mixerIds, List<Long> driverIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (SeededOrder order : orders) {
+            if ("PENDING_APPROVAL".equals(order.status)) {
+                continue;
+            }
+            int fleetIndex = random.nextInt(mixerIds.size());
+            order.mixerIndex = fleetIndex;
+            rows.add(new Object[]{order.id, mixerIds.get(fleetIndex), driverIds.get(fleetIndex), "Plant " + (1 + fleetIndex % 3),
+                    random.nextInt(5) == 0 ? "HIGH" : "NORMAL"});
+        }
+        insert("insert into order_assignments (order_id, mixer_id, driver_id, plant_allocation, priority_level) values (?, ?, ?, ?, ?)", rows);
+        seeded.put("orderAssignments", rows.size());
+    }
+
+    private void seedTrips(List<SeededOrder> orders) {
+        List<Object[]> rows = new ArrayList<>();
+        for (SeededOrder order : orders) {
+            if (order.dispatch == null) {
+                continue;
+            }
+            boolean delivered = "DELIVERED".equals(order.status);
+            for (int trip = 1; trip <= order.plannedTrips; trip++) {
+                LocalDateTime scheduled = order.dispatch.plusMinutes(40L * (trip - 1));
+                rows.add(new Object[]{
+                        order.id, trip, 6.0, delivered ? "DELIVERED" : "SCHEDULED", trip % 2 == 0 ? "EVENING" : "MORNING",
+                        Timestamp.valueOf(scheduled), Timestamp.valueOf(scheduled.plusMinutes(45)),
+                        delivered ? Timestamp.valueOf(scheduled.plusMinutes(50)) : null, delivered ? 12.5 : null,
+                        String.format("LT-TM-%03d", order.mixerIndex + 1), "Load Driver " + (order.mixerIndex + 1)});
+            }
+        }
+        insert("insert into dispatch_trip_records (order_id, trip_number, trip_quantitym3, status, shift, scheduled_dispatch_time, "
+                + "estimated_delivery_time, delivered_time, fuel_used_liters, transit_mixer_number, driver_name) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        seeded.put("dispatchTrips", rows.size());
+    }
+
+    private void seedMovements(Random random, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>(settings.getMovements());
+        for (int i = 0; i < settings.getMovements(); i++) {
+            boolean restock = random.nextInt(4) == 0;
+            rows.add(new Object[]{
+                    materialIds.get(random.nextInt(materialIds.size())), restock ? "RESTOCK" : "CONSUMPTION",
+                    restock ? 500.0 + random.nextInt(2000) : 10.0 + random.nextInt(200), "LOAD_TEST", "SEED-" + i, "",
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(90 * 24 * 60)))});
+        }
+        insert("insert into inventory_movements (raw_material_id, movement_type, quantity, reference_type, reference_id, note, created_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", rows);
+        seeded.put("inventoryMovements", rows.size());
+    }
+
+    private void seedNotifications(Random random, LocalDateTime now, List<SeededOrder> orders) {
+        List<Object[]> rows = new ArrayList<>(settings.getNotifications());
+        for (int i = 0; i < settings.getNotifications(); i++) {
+            SeededOrder order = orders.get(random.nextInt(orders.size()));
+            int kind = random.nextInt(NOTIFICATION_TITLES.length);
+            rows.add(new Object[]{
+                    order.userId, order.orderNumber, NOTIFICATION_TITLES[kind],
+                    NOTIFICATION_TITLES[kind] + " for order " + order.orderNumber + ".", NOTIFICATION_TYPES[kind],
+                    random.nextInt(10) < 7, Timestamp.valueOf(now.minusMinutes(random.nextInt(180 * 24 * 60)))});
+        }
+        insert("insert into order_notifications (user_id, order_id, title, message, type, is_read, created_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", rows);
+        seeded.put("orderNotifications", rows.size());
+    }
+
+    // Inserts the rows and returns their generated ids in insertion order.
+    private List<Long> insertReturningIds(String table, String sql, List<Object[]> rows) {
+        Long before = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        insert(sql, rows);
+        return jdbcTemplate.queryForList("select id from " + table + " where id > ? order by id", Long.class, before);
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+
+    static final class CustomerOrder {
+        final long userId;
+        final String orderNumber;
+
+        CustomerOrder(long userId, String orderNumber) {
+            this.userId = userId;
+            this.orderNumber = orderNumber;
+        }
+    }
+
+    private static final class SeededOrder {
+        private final String orderNumber;
+        private final long userId;
+        private final String status;
+        private final int plannedTrips;
+        private final LocalDateTime dispatch;
+        private long id;
+        private int mixerIndex;
+
+        private SeededOrder(String orderNumber, long userId, String status, int plannedTrips, LocalDateTime dispatch) {
+            this.orderNumber = orderNumber;
+            this.userId = userId;
+            this.status = status;
+            this.plannedTrips = plannedTrips;
+            this.dispatch = dispatch;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.demo.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Run parameters, set as {@code --loadtest.*} command line arguments. Defaults seed
+ * roughly a year of a mid-sized plant and drive 20k requests from 32 virtual users.
+ */
+@Component
+public class LoadTestSettings {
+
+    @Value("${loadtest.seed:42}")
+    private long seed;
+
+    @Value("${loadtest.customers:2000}")
+    private int customers;
+
+    @Value("${loadtest.orders:20000}")
+    private int orders;
+
+    @Value("${loadtest.fleet-size:60}")
+    private int fleetSize;
+
+    @Value("${loadtest.materials:20}")
+    private int materials;
+
+    @Value("${loadtest.movements:50000}")
+    private int movements;
+
+    @Value("${loadtest.notifications:100000}")
+    private int notifications;
+
+    @Value("${loadtest.virtual-users:32}")
+    private int virtualUsers;
+
+    @Value("${loadtest.requests:20000}")
+    private int requests;
+
+    @Value("${loadtest.warmup-requests:2000}")
+    private int warmupRequests;
+
+    // Relative weights of the three scenarios.
+    @Value("${loadtest.mix.customer-tracking:70}")
+    private int customerTrackingWeight;
+
+    @Value("${loadtest.mix.dispatch-scheduling:15}")
+    private int dispatchSchedulingWeight;
+
+    @Value("${loadtest.mix.inventory-burst:15}")
+    private int inventoryBurstWeight;
+
+    @Value("${loadtest.report:loadtest-report.json}")
+    private String reportFile;
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public int getOrders() {
+        return orders;
+    }
+
+    public int getFleetSize() {
+        return fleetSize;
+    }
+
+    public int getMaterials() {
+        return materials;
+    }
+
+    public int getMovements() {
+        return movements;
+    }
+
+    public int getNotifications() {
+        return notifications;
+    }
+
+    public int getVirtualUsers() {
+        return virtualUsers;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public int getWarmupRequests() {
+        return warmupRequests;
+    }
+
+    public int getCustomerTrackingWeight() {
+        return customerTrackingWeight;
+    }
+
+    public int getDispatchSchedulingWeight() {
+        return dispatchSchedulingWeight;
+    }
+
+    public int getInventoryBurstWeight() {
+        return inventoryBurstWeight;
+    }
+
+    public Path getReportFile() {
+        return Path.of(reportFile);
+    }
+}
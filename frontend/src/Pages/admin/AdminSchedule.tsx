@@ -61,6 +61,7 @@ interface TripRecord {
 
 const API = "http://localhost:8080/api/admin";
 const TRACKING_API = "http://localhost:8080/api/delivery-tracking";
+const PLANTS_API = "http://localhost:8080/api/plants";
 
 const AdminSchedule = () => {
   const navigate = useNavigate();
@@ -74,7 +75,9 @@ const AdminSchedule = () => {
     productionSlotEnd: "",
     plantAllocation: "",
     priorityLevel: "NORMAL",
+    autoShift: false,
   });
+  const [plants, setPlants] = useState<{ id: number; plantName: string; batchingCapacityM3PerHour?: number }[]>([]);
 
   const [dispatch, setDispatch] = useState({
     dispatchDateTime: "",
@@ -217,6 +220,16 @@ const AdminSchedule = () => {
     }
   };
 
+  const fetchPlants = async () => {
+    try {
+      const res = await fetch(PLANTS_API);
+      const data = await res.json();
+      setPlants(Array.isArray(data) ? data : []);
+    } catch (error) {
+      console.error("Failed to fetch plants", error);
+    }
+  };
+
   useEffect(() => {
     const role = localStorage.getItem("role");
     if (role !== "ADMIN") {
@@ -224,6 +237,7 @@ const AdminSchedule = () => {
       return;
     }
     void fetchOrders();
+    void fetchPlants();
   }, [navigate]);
 
   useEffect(() => {
@@ -565,7 +579,18 @@ const AdminSchedule = () => {
             <p className="text-xs text-gray-500">Start time: {formatDateTimeWith12And24(production.productionSlotStart)}</p>
             <input type="datetime-local" value={production.productionSlotEnd} onChange={(e) => setProduction({ ...production, productionSlotEnd: e.target.value })} className="w-full px-3 py-2 border border-gray-300 rounded-md" />
             <p className="text-xs text-gray-500">End time: {formatDateTimeWith12And24(production.productionSlotEnd)}</p>
-            <input type="text" placeholder="Plant allocation" value={production.plantAllocation} onChange={(e) => setProduction({ ...production, plantAllocation: e.target.value })} className="w-full px-3 py-2 border border-gray-300 rounded-md" />
+            <input type="text" list="production-plants" placeholder="Plant allocation" value={production.plantAllocation} onChange={(e) => setProduction({ ...production, plantAllocation: e.target.value })} className="w-full px-3 py-2 border border-gray-300 rounded-md" />
+            <datalist id="production-plants">
+              {plants.map((plant) => (
+                <option key={plant.id} value={plant.plantName}>
+                  {plant.batchingCapacityM3PerHour ? `${plant.batchingCapacityM3PerHour} m³/h` : ""}
+                </option>
+              ))}
+            </datalist>
+            <label className="flex items-center gap-2 text-sm text-gray-700">
+              <input type="checkbox" checked={production.autoShift} onChange={(e) => setProduction({ ...production, autoShift: e.target.checked })} />
+              Move to the earliest slot with plant capacity if this one is full
+            </label>
             <select value={production.priorityLevel} onChange={(e) => setProduction({ ...production, priorityLevel: e.target.value })} className="w-full px-3 py-2 border border-gray-300 rounded-md">
               <option value="NORMAL">Normal</option>
               <option value="URGENT">Urgent</option>
@@ -1,6 +1,6 @@
 import { useState } from "react";
 import { useNavigate } from "react-router-dom";
-import { normalizeRole } from "../../utils/auth";
+import { AUTH_TOKEN_KEY, normalizeRole } from "../../utils/auth";
 import { useCenteredDialog } from "../../hooks/useCenteredDialog";
 
 const AdminLogin = () => {
@@ -36,6 +36,7 @@ const AdminLogin = () => {
 
       localStorage.setItem("role", role);
       localStorage.setItem("userId", data.userId);
+      localStorage.setItem(AUTH_TOKEN_KEY, data.token || "");
       localStorage.setItem("username", data.name || "");
       localStorage.setItem("userEmail", data.email || "");
       localStorage.setItem("userNumber", data.number || "");
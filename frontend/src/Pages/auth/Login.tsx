@@ -7,7 +7,7 @@ import { EffectComposer } from "three/examples/jsm/postprocessing/EffectComposer
 import { RenderPass } from "three/examples/jsm/postprocessing/RenderPass.js";
 import { UnrealBloomPass } from "three/examples/jsm/postprocessing/UnrealBloomPass.js";
 import { OutputPass } from "three/examples/jsm/postprocessing/OutputPass.js";
-import { normalizeRole } from "../../utils/auth";
+import { AUTH_TOKEN_KEY, normalizeRole } from "../../utils/auth";
 import GlobalFooter from "../../components/GlobalFooter";
 
 type LoginForm = {
@@ -1007,6 +1007,7 @@ const Login = () => {
       const role = normalizeRole(data.role);
       localStorage.setItem("role", role);
       localStorage.setItem("userId", data.userId);
+      localStorage.setItem(AUTH_TOKEN_KEY, data.token || "");
       localStorage.setItem("username", data.name || formData.email.split("@")[0]);
       localStorage.setItem("userEmail", data.email || formData.email);
       localStorage.setItem("userNumber", data.number || "");
@@ -1,10 +1,16 @@
 import { useEffect } from "react";
 import { useNavigate } from "react-router-dom";
+import { API_BASE_URL } from "../../api/api";
+import { AUTH_TOKEN_KEY } from "../../utils/auth";
 
 const Logout = () => {
   const navigate = useNavigate();
 
   useEffect(() => {
+    if (localStorage.getItem(AUTH_TOKEN_KEY)) {
+      // Revokes the token on the server; the fetch wrapper adds it as the bearer header.
+      fetch(`${API_BASE_URL}/api/users/logout`, { method: "POST" }).catch(() => undefined);
+    }
     const currentUserId = localStorage.getItem("userId");
     const deletedNotifications = currentUserId
       ? localStorage.getItem(`customer_notification_deleted_${currentUserId}`)
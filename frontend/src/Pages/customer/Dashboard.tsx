@@ -102,13 +102,23 @@ const Dashboard = () => {
     };
 
     void fetchDashboardData();
-    const intervalId = window.setInterval(() => {
-      void fetchDashboardData();
-    }, 15000);
+
+    // Refetch only when the server reports a change to one of this customer's orders.
+    let refreshTimer: number | undefined;
+    const scheduleRefresh = () => {
+      window.clearTimeout(refreshTimer);
+      refreshTimer = window.setTimeout(() => {
+        void fetchDashboardData();
+      }, 500);
+    };
+    const source = new EventSource(`http://localhost:8080/api/notifications/my/${userId}/stream`);
+    source.addEventListener("tracking", scheduleRefresh);
+    source.addEventListener("notification", scheduleRefresh);
 
     return () => {
       disposed = true;
-      window.clearInterval(intervalId);
+      window.clearTimeout(refreshTimer);
+      source.close();
     };
   }, [navigate]);
 
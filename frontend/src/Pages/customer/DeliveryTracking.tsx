@@ -145,50 +145,64 @@ const DeliveryTracking = () => {
       return;
     }
 
-    const fetchTracking = async () => {
-      try {
-        const res = await fetch(
-          `http://localhost:8080/api/delivery-tracking/orders/${selectedOrderId}?userId=${userId}`
-        );
-        if (!res.ok) {
-          setTrackingView(null);
-          return;
-        }
-        const data = await res.json();
+    const applyTracking = (data: any) => {
+      const dispatchInfo = data?.dispatchInformation ?? {};
+      const driverInfo = dispatchInfo?.driverDetails ?? {};
+      const estimatedInfo = data?.estimatedDeliveryTime ?? {};
+      const realtimeInfo = data?.realTimeTracking ?? {};
+      const liveLocation = realtimeInfo?.liveLocation ?? {};
 
-        const dispatchInfo = data?.dispatchInformation ?? {};
-        const driverInfo = dispatchInfo?.driverDetails ?? {};
-        const estimatedInfo = data?.estimatedDeliveryTime ?? {};
-        const realtimeInfo = data?.realTimeTracking ?? {};
-        const liveLocation = realtimeInfo?.liveLocation ?? {};
+      setTrackingView({
+        dispatchStatus: dispatchInfo?.dispatchStatus,
+        dispatchDateTime: dispatchInfo?.dispatchDateTime,
+        transitMixerNumber: dispatchInfo?.assignedTransitMixerNumber,
+        driverName: driverInfo?.name,
+        driverShift: driverInfo?.shift,
+        expectedArrivalTime: estimatedInfo?.expectedArrivalTime,
+        latestNotification: estimatedInfo?.delayUpdate,
+        gpsAvailable: Boolean(realtimeInfo?.gpsAvailable),
+        liveLatitude: typeof liveLocation?.latitude === "number" ? liveLocation.latitude : undefined,
+        liveLongitude: typeof liveLocation?.longitude === "number" ? liveLocation.longitude : undefined,
+      });
+      setLastGpsSyncAt(new Date());
+    };
 
-        setTrackingView({
-          dispatchStatus: dispatchInfo?.dispatchStatus,
-          dispatchDateTime: dispatchInfo?.dispatchDateTime,
-          transitMixerNumber: dispatchInfo?.assignedTransitMixerNumber,
-          driverName: driverInfo?.name,
-          driverShift: driverInfo?.shift,
-          expectedArrivalTime: estimatedInfo?.expectedArrivalTime,
-          latestNotification: estimatedInfo?.delayUpdate,
-          gpsAvailable: Boolean(realtimeInfo?.gpsAvailable),
-          liveLatitude: typeof liveLocation?.latitude === "number" ? liveLocation.latitude : undefined,
-          liveLongitude: typeof liveLocation?.longitude === "number" ? liveLocation.longitude : undefined,
-        });
+    // The stream sends the current snapshot first, then every tracking change; the
+    // browser reconnects on its own if the connection drops.
+    const source = new EventSource(
+      `http://localhost:8080/api/delivery-tracking/orders/${encodeURIComponent(selectedOrderId)}/stream?userId=${userId}`
+    );
+    source.addEventListener("tracking", (event) => {
+      try {
+        applyTracking(JSON.parse((event as MessageEvent).data));
+      } catch (error) {
+        console.error("Failed to read tracking update", error);
+      }
+    });
+    // GPS pings only move the marker; the rest of the tracking view is left as is.
+    source.addEventListener("position", (event) => {
+      try {
+        const position = JSON.parse((event as MessageEvent).data);
+        if (typeof position?.latitude !== "number" || typeof position?.longitude !== "number") return;
+        setTrackingView((current) =>
+          current
+            ? { ...current, gpsAvailable: true, liveLatitude: position.latitude, liveLongitude: position.longitude }
+            : current
+        );
         setLastGpsSyncAt(new Date());
       } catch (error) {
-        console.error("Failed to load tracking details", error);
+        console.error("Failed to read position update", error);
+      }
+    });
+    source.onerror = () => {
+      if (source.readyState === EventSource.CLOSED) {
         setTrackingView(null);
         setLastGpsSyncAt(null);
       }
     };
 
-    void fetchTracking();
-    const intervalId = window.setInterval(() => {
-      void fetchTracking();
-    }, 15000);
-
     return () => {
-      window.clearInterval(intervalId);
+      source.close();
     };
   }, [selectedOrderId]);
 
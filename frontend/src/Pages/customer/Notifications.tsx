@@ -33,9 +33,11 @@ const Notifications = () => {
     notifications,
     unreadCount,
     loading,
+    hasOlder,
     markAsRead,
     markAllAsRead,
     refreshNotifications,
+    loadOlderNotifications,
   } = useNotifications();
 
   useEffect(() => {
@@ -159,6 +161,19 @@ const Notifications = () => {
               ))}
             </div>
           )}
+
+          {hasOlder && (
+            <div className="mt-4 flex justify-center">
+              <button
+                type="button"
+                onClick={() => void loadOlderNotifications()}
+                className="px-3 py-2 rounded-md border border-gray-300 text-sm font-medium text-gray-700 hover:bg-gray-50 transition disabled:opacity-60"
+                disabled={loading}
+              >
+                Load older notifications
+              </button>
+            </div>
+          )}
         </div>
       </main>
     </div>
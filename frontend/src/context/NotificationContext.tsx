@@ -25,15 +25,17 @@ type NotificationContextValue = {
   loading: boolean;
   isPanelOpen: boolean;
   setPanelOpen: (open: boolean) => void;
+  hasOlder: boolean;
   refreshNotifications: () => Promise<void>;
+  loadOlderNotifications: () => Promise<void>;
   markAsRead: (notificationId: number) => Promise<void>;
   markAllAsRead: () => Promise<void>;
 };
 
 const NotificationContext = createContext<NotificationContextValue | null>(null);
 
-const POLL_INTERVAL_MS = 15000;
 const TOAST_AUTO_CLOSE_MS = 4500;
+const PAGE_SIZE = 50;
 
 const toToastVariant = (type: NotificationType): ToastVariant => {
   if (type === "ORDER_APPROVED" || type === "ORDER_DELIVERED") {
@@ -91,6 +93,7 @@ export const NotificationProvider = ({ children }: { children: ReactNode }) => {
   const [notifications, setNotifications] = useState<AppNotification[]>([]);
   const [unreadCount, setUnreadCount] = useState(0);
   const [loading, setLoading] = useState(false);
+  const [hasOlder, setHasOlder] = useState(false);
   const [isPanelOpen, setIsPanelOpen] = useState(false);
   const [toasts, setToasts] = useState<ToastItem[]>([]);
 
@@ -133,18 +136,26 @@ export const NotificationProvider = ({ children }: { children: ReactNode }) => {
 
     setLoading(true);
     try {
-      const res = await fetch(`http://localhost:8080/api/notifications/my/${userId}?t=${Date.now()}`, {
-        cache: "no-store",
-      });
-      if (!res.ok) {
+      // The newest page and the unread count both come from the server's inbox cache.
+      const [res, countRes] = await Promise.all([
+        fetch(`http://localhost:8080/api/notifications/my/${userId}?t=${Date.now()}`, {
+          cache: "no-store",
+        }),
+        fetch(`http://localhost:8080/api/notifications/my/${userId}/unread-count?t=${Date.now()}`, {
+          cache: "no-store",
+        }),
+      ]);
+      if (!res.ok || !countRes.ok) {
         throw new Error("Failed to fetch notifications");
       }
 
       const data = await res.json();
+      const countData = await countRes.json();
       const rows = Array.isArray(data) ? data.map(mapNotification).filter((row) => row.id > 0) : [];
 
       setNotifications(rows);
-      setUnreadCount(rows.filter((row) => !row.isRead).length);
+      setHasOlder(rows.length >= PAGE_SIZE);
+      setUnreadCount(Number(countData?.unreadCount || 0));
 
       const seenKey = `notification_toast_seen_${userId}`;
       const seenIds = parseSeenIds(sessionStorage.getItem(seenKey));
@@ -166,20 +177,77 @@ export const NotificationProvider = ({ children }: { children: ReactNode }) => {
     }
   }, [enqueueToast, isCustomerSession, userId]);
 
+  const loadOlderNotifications = useCallback(async () => {
+    if (!isCustomerSession || notifications.length === 0) {
+      return;
+    }
+
+    const oldestId = Math.min(...notifications.map((row) => row.id));
+    setLoading(true);
+    try {
+      const res = await fetch(
+        `http://localhost:8080/api/notifications/my/${userId}?beforeId=${oldestId}&size=${PAGE_SIZE}`,
+        { cache: "no-store" }
+      );
+      if (!res.ok) {
+        throw new Error("Failed to fetch older notifications");
+      }
+
+      const data = await res.json();
+      const rows = Array.isArray(data) ? data.map(mapNotification).filter((row) => row.id > 0) : [];
+      setNotifications((prev) => [...prev, ...rows.filter((row) => !prev.some((item) => item.id === row.id))]);
+      setHasOlder(rows.length >= PAGE_SIZE);
+    } catch (error) {
+      console.error("Failed to load older notifications", error);
+    } finally {
+      setLoading(false);
+    }
+  }, [isCustomerSession, notifications, userId]);
+
   useEffect(() => {
     if (!isCustomerSession) {
       return;
     }
 
     void fetchNotifications();
-    const intervalId = window.setInterval(() => {
-      void fetchNotifications();
-    }, POLL_INTERVAL_MS);
+
+    // New notifications are pushed by the server instead of polled.
+    const source = new EventSource(`http://localhost:8080/api/notifications/my/${userId}/stream`);
+    source.addEventListener("unread-count", (event) => {
+      try {
+        const data = JSON.parse((event as MessageEvent).data);
+        setUnreadCount(Number(data?.unreadCount || 0));
+      } catch (error) {
+        console.error("Failed to read unread count", error);
+      }
+    });
+    source.addEventListener("notification", (event) => {
+      try {
+        const row = mapNotification(JSON.parse((event as MessageEvent).data));
+        if (row.id <= 0) {
+          return;
+        }
+        setNotifications((prev) => [row, ...prev.filter((item) => item.id !== row.id)]);
+        if (!row.isRead) {
+          setUnreadCount((prev) => prev + 1);
+        }
+
+        const seenKey = `notification_toast_seen_${userId}`;
+        const seenIds = parseSeenIds(sessionStorage.getItem(seenKey));
+        if (!row.isRead && !seenIds.has(row.id)) {
+          enqueueToast(row);
+          seenIds.add(row.id);
+          saveSeenIds(userId, seenIds);
+        }
+      } catch (error) {
+        console.error("Failed to read notification", error);
+      }
+    });
 
     return () => {
-      window.clearInterval(intervalId);
+      source.close();
     };
-  }, [fetchNotifications, isCustomerSession]);
+  }, [enqueueToast, fetchNotifications, isCustomerSession, userId]);
 
   useEffect(() => {
     return () => {
@@ -238,11 +306,23 @@ export const NotificationProvider = ({ children }: { children: ReactNode }) => {
       loading,
       isPanelOpen,
       setPanelOpen: setIsPanelOpen,
+      hasOlder,
       refreshNotifications: fetchNotifications,
+      loadOlderNotifications,
       markAsRead,
       markAllAsRead,
     }),
-    [fetchNotifications, isPanelOpen, loading, markAllAsRead, markAsRead, notifications, unreadCount]
+    [
+      fetchNotifications,
+      hasOlder,
+      isPanelOpen,
+      loadOlderNotifications,
+      loading,
+      markAllAsRead,
+      markAsRead,
+      notifications,
+      unreadCount,
+    ]
   );
 
   return (
@@ -1,3 +1,5 @@
+import { api, API_BASE_URL } from "../api/api";
+
 export const normalizeRole = (value: unknown): string => {
   const raw = String(value ?? "").trim().toUpperCase();
 
@@ -11,3 +13,31 @@ export const normalizeRole = (value: unknown): string => {
 
   return raw;
 };
+
+export const AUTH_TOKEN_KEY = "authToken";
+
+const requestUrl = (input: RequestInfo | URL): string =>
+  typeof input === "string" ? input : input instanceof URL ? input.href : input.url;
+
+// Sends the login token as a bearer header on every backend call, through fetch and axios alike.
+export const installAuthHeader = () => {
+  const originalFetch = window.fetch.bind(window);
+
+  window.fetch = (input: RequestInfo | URL, init?: RequestInit) => {
+    const token = localStorage.getItem(AUTH_TOKEN_KEY);
+    if (!token || !requestUrl(input).startsWith(API_BASE_URL)) {
+      return originalFetch(input, init);
+    }
+    const headers = new Headers(init?.headers ?? (input instanceof Request ? input.headers : undefined));
+    headers.set("Authorization", `Bearer ${token}`);
+    return originalFetch(input, { ...init, headers });
+  };
+
+  api.interceptors.request.use((config) => {
+    const token = localStorage.getItem(AUTH_TOKEN_KEY);
+    if (token) {
+      config.headers.set("Authorization", `Bearer ${token}`);
+    }
+    return config;
+  });
+};